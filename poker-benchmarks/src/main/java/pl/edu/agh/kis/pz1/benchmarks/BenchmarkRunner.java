@@ -0,0 +1,28 @@
+package pl.edu.agh.kis.pz1.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar. Accepts the usual JMH command line options
+ * (e.g. a benchmark name pattern, {@code -f}, {@code -wi}, {@code -rf json})
+ * and always adds the GC profiler, so every result reports the allocation rate
+ * ({@code gc.alloc.rate.norm} is the number of bytes allocated per operation).
+ *
+ * Usage: {@code java -jar poker-benchmarks/target/benchmarks.jar [JMH options]}
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
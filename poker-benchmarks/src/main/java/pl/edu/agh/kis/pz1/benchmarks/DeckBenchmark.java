@@ -0,0 +1,85 @@
+package pl.edu.agh.kis.pz1.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.edu.agh.kis.pz1.model.Card;
+import pl.edu.agh.kis.pz1.model.Deck;
+import pl.edu.agh.kis.pz1.model.SecureShuffleSource;
+import pl.edu.agh.kis.pz1.model.SeededShuffleSource;
+import pl.edu.agh.kis.pz1.model.ShuffleSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link Deck}: building a full deck, shuffling it and drawing cards,
+ * with the secure shuffle source used by games and the seeded one used by simulations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+    @Param({"secure", "seeded"})
+    private String source;
+
+    private Deck fullDeck;
+    private Deck drawDeck;
+
+    /**
+     * Prepares a full deck for shuffling and one for drawing.
+     */
+    @Setup
+    public void setUp() {
+        ShuffleSource shuffleSource = "seeded".equals(source)
+                ? new SeededShuffleSource(42L) : SecureShuffleSource.getInstance();
+        fullDeck = new Deck(shuffleSource);
+        fullDeck.fabryki();
+        drawDeck = new Deck(shuffleSource);
+        drawDeck.fabryki();
+    }
+
+    /**
+     * Creates a new deck and fills it with 52 cards.
+     *
+     * @return The filled deck.
+     */
+    @Benchmark
+    public List<Card> fabryki() {
+        return new Deck().fabryki();
+    }
+
+    /**
+     * Shuffles a full deck.
+     *
+     * @return The shuffled deck.
+     */
+    @Benchmark
+    public List<Card> shuffle() {
+        return fullDeck.shuffle();
+    }
+
+    /**
+     * Draws one card. The deck is refilled once every 52 draws.
+     *
+     * @return The drawn card.
+     */
+    @Benchmark
+    public Card getRandomCard() {
+        if (drawDeck.isEmpty()) {
+            drawDeck.fabryki();
+        }
+        return drawDeck.getRandomCard();
+    }
+}
@@ -0,0 +1,141 @@
+package pl.edu.agh.kis.pz1.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.edu.agh.kis.pz1.model.DeckPool;
+import pl.edu.agh.kis.pz1.model.Game;
+import pl.edu.agh.kis.pz1.model.GameState;
+import pl.edu.agh.kis.pz1.model.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link Game} life cycle: starting a hand and playing a complete hand
+ * from the blinds to the showdown.
+ *
+ * Every operation starts with {@link Game#resetAfterGame()} and restores the stacks, as the server does
+ * between hands. The reset only returns the drawn cards to the same deck in constant time; no deck is built
+ * or shuffled, since every card is drawn at random when it is dealt. {@link #resetAfterGame()} measures that part alone.
+ * With {@code pooled} the hands are dealt from shuffled decks taken from a {@link DeckPool} by
+ * {@link Game#startGameCycle()}, so the parameter does not affect {@link #resetAfterGame()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+    private static final int STACK = 1000;
+    private static final List<Integer> EXCHANGED = List.of(0, 1, 2);
+
+    @Param({"2", "4"})
+    private int players;
+
+    @Param({"false", "true"})
+    private boolean pooled;
+
+    private Game game;
+    private DeckPool deckPool;
+
+    /**
+     * Creates a game with the given number of players.
+     */
+    @Setup
+    public void setUp() {
+        game = new Game("benchmark");
+        for (int i = 0; i < players; i++) {
+            game.addPlayer(new Player("player" + i, STACK));
+        }
+        if (pooled) {
+            deckPool = new DeckPool();
+            game.setDeckPool(deckPool);
+        }
+    }
+
+    /**
+     * Stops the producer of the deck pool.
+     */
+    @TearDown
+    public void tearDown() {
+        if (deckPool != null) {
+            deckPool.close();
+        }
+    }
+
+    /**
+     * Resets the game for the next hand: clears the hand state, returns the drawn cards to the deck
+     * and restores the stacks.
+     *
+     * @return The game state.
+     */
+    @Benchmark
+    public GameState resetAfterGame() {
+        newHand();
+        return game.getGameState();
+    }
+
+    /**
+     * Posts the blinds, deals the cards and opens the first betting round.
+     *
+     * @return The game state.
+     */
+    @Benchmark
+    public GameState startGameCycle() {
+        newHand();
+        game.startGameCycle();
+        return game.getGameState();
+    }
+
+    /**
+     * Plays a complete hand: blinds, first betting round (everybody calls), exchange of three cards per player,
+     * second betting round (the first player bets, everybody calls) and the showdown.
+     *
+     * @return The game state, GAME_OVER after the showdown.
+     */
+    @Benchmark
+    public GameState fullHand() {
+        newHand();
+        game.startGameCycle();
+        playBettingRound();
+        while (game.getGameState() == GameState.EXCHANGE_PHASE) {
+            String playerId = game.getPlayers().get(game.getCurrentPlayerIndex()).getPlayerId();
+            game.exchangeCards(playerId, new ArrayList<>(EXCHANGED));
+        }
+        playBettingRound();
+        return game.getGameState();
+    }
+
+    private void newHand() {
+        game.resetAfterGame();
+        for (Player p : game.getPlayers()) {
+            p.setStack(STACK);
+        }
+    }
+
+    private void playBettingRound() {
+        GameState round = game.getGameState();
+        while (game.getGameState() == round) {
+            Player p = game.getPlayers().get(game.getCurrentPlayerIndex());
+            if (p.getCurrentBetInThisRound() < game.getCurrentBet()) {
+                game.playerCall(p.getPlayerId());
+            } else if (game.getCurrentBet() == 0) {
+                game.playerRaise(p.getPlayerId(), game.getBigBlindAmount());
+            } else {
+                game.playerCheck(p.getPlayerId());
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package pl.edu.agh.kis.pz1.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.edu.agh.kis.pz1.model.Card;
+import pl.edu.agh.kis.pz1.model.Deck;
+import pl.edu.agh.kis.pz1.model.HandCompare;
+import pl.edu.agh.kis.pz1.model.HandRank;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of hand evaluation: {@link HandCompare#checkHand(List)}, {@link HandCompare#compareHandRank(HandRank, HandRank)}
+ * and, for reference, the table-driven {@link HandCompare#evaluate(List)} used by the game at showdown.
+ *
+ * Each benchmark cycles through a fixed set of random hands, so branch prediction cannot learn a single hand.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandCompareBenchmark {
+    private static final int HANDS = 1024;
+    private static final int MASK = HANDS - 1;
+
+    private final HandCompare handCompare = new HandCompare();
+    private final List<List<Card>> hands = new ArrayList<>(HANDS);
+    private final HandRank[] ranks = new HandRank[HANDS];
+    private int next;
+
+    /**
+     * Deals the hands from shuffled decks with a fixed seed and evaluates them once.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < HANDS; i++) {
+            List<Card> cards = new Deck().fabryki();
+            Collections.shuffle(cards, random);
+            hands.add(new ArrayList<>(cards.subList(0, 5)));
+            ranks[i] = handCompare.checkHand(new ArrayList<>(hands.get(i)));
+        }
+    }
+
+    /**
+     * Evaluates a hand into a HandRank. checkHand sorts its argument in place,
+     * so after the first pass the hands are already sorted, as in repeated evaluations of one hand.
+     *
+     * @return The hand rank.
+     */
+    @Benchmark
+    public HandRank checkHand() {
+        return handCompare.checkHand(hands.get(next++ & MASK));
+    }
+
+    /**
+     * Compares two precomputed hand ranks.
+     *
+     * @return The comparison result.
+     */
+    @Benchmark
+    public int compareHandRank() {
+        int i = next++;
+        return handCompare.compareHandRank(ranks[i & MASK], ranks[(i + 1) & MASK]);
+    }
+
+    /**
+     * Evaluates a hand into its packed strength.
+     *
+     * @return The hand strength.
+     */
+    @Benchmark
+    public int evaluate() {
+        return handCompare.evaluate(hands.get(next++ & MASK));
+    }
+}
@@ -0,0 +1,169 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Bulk evaluation of five-card hands stored as primitives.
+ * A hand is packed into a single int, six bits per card code (see {@link CardEncoding}),
+ * first card in the lowest bits. Strengths are the ones of {@link HandEvaluator},
+ * so they order hands exactly like {@link HandCompare#compareHandRank(HandRank, HandRank)}.
+ */
+public class BatchEvaluator {
+    private static final int CARD_BITS = 6;
+    private static final int CARD_MASK = (1 << CARD_BITS) - 1;
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private final HandEvaluator evaluator;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a batch evaluator using the shared HandEvaluator and the common fork/join pool.
+     */
+    public BatchEvaluator() {
+        this(HandEvaluator.getInstance(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a batch evaluator with the given evaluator and pool for the parallel version.
+     *
+     * @param evaluator The evaluator used for single hands.
+     * @param pool      The pool used by {@link #evaluateParallel(int[], int[])}.
+     */
+    public BatchEvaluator(HandEvaluator evaluator, ForkJoinPool pool) {
+        this.evaluator = evaluator;
+        this.pool = pool;
+    }
+
+    /**
+     * Packs five card codes into one int.
+     *
+     * @param c0 The code of the first card.
+     * @param c1 The code of the second card.
+     * @param c2 The code of the third card.
+     * @param c3 The code of the fourth card.
+     * @param c4 The code of the fifth card.
+     * @return The packed hand.
+     */
+    public static int pack(int c0, int c1, int c2, int c3, int c4) {
+        return c0 | (c1 << CARD_BITS) | (c2 << (2 * CARD_BITS)) | (c3 << (3 * CARD_BITS)) | (c4 << (4 * CARD_BITS));
+    }
+
+    /**
+     * Packs a list of five cards into one int.
+     *
+     * @param hand The cards of the hand, exactly five of them.
+     * @return The packed hand.
+     */
+    public static int pack(List<Card> hand) {
+        return pack(hand.get(0).getCode(), hand.get(1).getCode(), hand.get(2).getCode(),
+                hand.get(3).getCode(), hand.get(4).getCode());
+    }
+
+    /**
+     * Returns the code of one card of a packed hand.
+     *
+     * @param packedHand The packed hand.
+     * @param index      The index of the card (0..4).
+     * @return The code of the card.
+     */
+    public static int cardAt(int packedHand, int index) {
+        return (packedHand >>> (index * CARD_BITS)) & CARD_MASK;
+    }
+
+    /**
+     * Evaluates a single packed hand.
+     *
+     * @param packedHand The packed hand.
+     * @return The strength of the hand, larger is stronger.
+     */
+    public int evaluate(int packedHand) {
+        return evaluator.evaluate(packedHand & CARD_MASK,
+                (packedHand >>> CARD_BITS) & CARD_MASK,
+                (packedHand >>> (2 * CARD_BITS)) & CARD_MASK,
+                (packedHand >>> (3 * CARD_BITS)) & CARD_MASK,
+                (packedHand >>> (4 * CARD_BITS)) & CARD_MASK);
+    }
+
+    /**
+     * Evaluates all packed hands in order, writing the strength of {@code hands[i]} to {@code strengths[i]}.
+     *
+     * @param hands     The packed hands.
+     * @param strengths The array receiving the strengths, at least as long as hands.
+     * @throws IllegalArgumentException if the strengths array is too short.
+     */
+    public void evaluate(int[] hands, int[] strengths) {
+        checkLength(hands.length, strengths);
+        evaluateRange(hands, strengths, 0, hands.length);
+    }
+
+    /**
+     * Evaluates packed hands stored as ints between the position and the limit of the buffer.
+     * The position of the buffer is not changed.
+     *
+     * @param hands     The buffer with packed hands, in the buffer's byte order.
+     * @param strengths The array receiving the strengths.
+     * @throws IllegalArgumentException if the strengths array is too short.
+     */
+    public void evaluate(ByteBuffer hands, int[] strengths) {
+        int start = hands.position();
+        int count = hands.remaining() / Integer.BYTES;
+        checkLength(count, strengths);
+        for (int i = 0; i < count; i++) {
+            strengths[i] = evaluate(hands.getInt(start + i * Integer.BYTES));
+        }
+    }
+
+    /**
+     * Evaluates all packed hands, splitting the array into chunks evaluated on the fork/join pool.
+     *
+     * @param hands     The packed hands.
+     * @param strengths The array receiving the strengths, at least as long as hands.
+     * @throws IllegalArgumentException if the strengths array is too short.
+     */
+    public void evaluateParallel(int[] hands, int[] strengths) {
+        checkLength(hands.length, strengths);
+        pool.invoke(new EvaluateTask(hands, strengths, 0, hands.length));
+    }
+
+    private void evaluateRange(int[] hands, int[] strengths, int from, int to) {
+        for (int i = from; i < to; i++) {
+            strengths[i] = evaluate(hands[i]);
+        }
+    }
+
+    private static void checkLength(int count, int[] strengths) {
+        if (strengths.length < count) {
+            throw new IllegalArgumentException("Strengths array too short: " + strengths.length + " < " + count);
+        }
+    }
+
+    /**
+     * Fork/join task evaluating a range of the hands array.
+     */
+    private final class EvaluateTask extends RecursiveAction {
+        private final int[] hands;
+        private final int[] strengths;
+        private final int from;
+        private final int to;
+
+        EvaluateTask(int[] hands, int[] strengths, int from, int to) {
+            this.hands = hands;
+            this.strengths = strengths;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                evaluateRange(hands, strengths, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new EvaluateTask(hands, strengths, from, mid), new EvaluateTask(hands, strengths, mid, to));
+        }
+    }
+}
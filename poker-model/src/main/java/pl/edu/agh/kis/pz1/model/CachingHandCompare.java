@@ -0,0 +1,59 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HandCompare backed by a {@link HandRankCache}.
+ * Hands are looked up by their suit-canonical key, so a hand evaluated once is not evaluated again
+ * for any permutation of its suits or order of its cards. The cache is optional: set an instance on a game
+ * with {@link Game#setHandCompare(HandCompare)} to use it, and share one cache between games if needed.
+ *
+ * Unlike {@link HandCompare#checkHand(List)}, {@link #checkHand(List)} does not sort the given list.
+ */
+public class CachingHandCompare extends HandCompare {
+    private final HandRankCache cache;
+
+    /**
+     * Constructs a HandCompare with its own cache of the default size.
+     */
+    public CachingHandCompare() {
+        this(new HandRankCache());
+    }
+
+    /**
+     * Constructs a HandCompare using the given (possibly shared) cache.
+     *
+     * @param cache The cache of hand ranks.
+     */
+    public CachingHandCompare(HandRankCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Evaluates the hand and returns its rank, from the cache if the hand (up to suit permutation) was seen before.
+     * The list is not modified.
+     *
+     * @param hand The list of cards representing the player's hand.
+     * @return A HandRank object representing the evaluated hand's type and kickers.
+     */
+    @Override
+    public HandRank checkHand(List<Card> hand) {
+        return cache.get(SuitCanonicalizer.canonicalKey(hand), key -> super.checkHand(new ArrayList<>(hand)));
+    }
+
+    /**
+     * Evaluates the hand to its strength through the cache, so that games using this HandCompare share the cache.
+     *
+     * @param hand The list of five cards representing the player's hand.
+     * @return The strength of the hand.
+     */
+    @Override
+    public int evaluate(List<Card> hand) {
+        return checkHand(hand).getKey();
+    }
+
+    public HandRankCache getCache() {
+        return cache;
+    }
+}
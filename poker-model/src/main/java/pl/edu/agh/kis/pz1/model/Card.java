@@ -1,16 +1,28 @@
 package pl.edu.agh.kis.pz1.model;
 
-import java.util.Objects;
-
 /**
  * Class representing a playing card.
  * This class is immutable, meaning that once the card is created, its rank and suit cannot be changed.
  * It provides methods to access the card's rank and suit, and also overrides the equals and hashCode methods.
  * The rank and suit are represented by enumerations 'Rank' and 'Suit', respectively.
+ * Each card also carries its compact int code (see {@link CardEncoding}), and the 52 canonical
+ * instances returned by {@link #of(Rank, Suit)} are shared, so no new objects are needed when building a deck.
  */
 public class Card {
+    private static final Card[] CANONICAL = new Card[CardEncoding.DECK_SIZE];
+
+    static {
+        for (Rank r : Rank.values()) {
+            for (Suit s : Suit.values()) {
+                Card card = new Card(r, s);
+                CANONICAL[card.code] = card;
+            }
+        }
+    }
+
     private final Rank rank;
     private final Suit suit;
+    private final int code;
 
     /**
      * Constructs a card with the specified rank and suit.
@@ -21,6 +33,32 @@ public class Card {
     public Card(Rank r, Suit s){
         this.rank = r;
         this.suit = s;
+        this.code = CardEncoding.encode(r, s);
+    }
+
+    /**
+     * Returns the shared, canonical card with the specified rank and suit.
+     *
+     * @param r the rank of the card
+     * @param s the suit of the card
+     * @return the canonical card instance
+     */
+    public static Card of(Rank r, Suit s) {
+        return CANONICAL[CardEncoding.encode(r, s)];
+    }
+
+    /**
+     * Returns the shared, canonical card with the specified int code.
+     *
+     * @param code the int code of the card (0..51)
+     * @return the canonical card instance
+     * @throws IllegalArgumentException if the code is out of range
+     */
+    public static Card fromCode(int code) {
+        if (code < 0 || code >= CardEncoding.DECK_SIZE) {
+            throw new IllegalArgumentException("Invalid card code: " + code);
+        }
+        return CANONICAL[code];
     }
 
     /**
@@ -41,6 +79,15 @@ public class Card {
         return this.suit;
     }
 
+    /**
+     * Returns the compact int code of this card (rank index * 4 + suit index).
+     *
+     * @return the int code of the card, in range 0..51
+     */
+    public int getCode() {
+        return this.code;
+    }
+
     /**
      * Indicates whether some other object is "equal to" this one.
      * Two cards are considered equal if they have the same rank and suit.
@@ -53,18 +100,18 @@ public class Card {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Card card = (Card) o;
-        return rank == card.rank && suit == card.suit;
+        return code == card.code;
     }
 
     /**
      * Returns a hash code value for the card.
-     * This is based on the card's rank and suit, ensuring that cards with the same rank and suit have the same hash code.
+     * This is the card's int code, ensuring that cards with the same rank and suit have the same hash code.
      *
      * @return a hash code value for this card
      */
     @Override
     public int hashCode() {
-        return Objects.hash(rank, suit);
+        return code;
     }
 
     /**
@@ -0,0 +1,173 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class with the primitive encodings of a playing card.
+ * A card can be represented as a compact int code in range 0..51 (rank index * 4 + suit index)
+ * or as a bit-field of the form {@code xxxbbbbb bbbbbbbb cdhsrrrr xxpppppp}, where:
+ * <ul>
+ *     <li>{@code b} - one bit set for the rank of the card (bit 16 + rank index),</li>
+ *     <li>{@code cdhs} - one bit set for the suit of the card (bit 12 + suit index),</li>
+ *     <li>{@code r} - rank index (0 for TWO .. 12 for ACE),</li>
+ *     <li>{@code p} - prime number assigned to the rank (2 for TWO .. 41 for ACE).</li>
+ * </ul>
+ * Both forms allow hands to be stored and evaluated on primitives instead of Card objects.
+ */
+public final class CardEncoding {
+    /** Number of distinct cards in a standard deck. */
+    public static final int DECK_SIZE = 52;
+    /** Number of ranks in a standard deck. */
+    public static final int RANK_COUNT = 13;
+    /** Number of suits in a standard deck. */
+    public static final int SUIT_COUNT = 4;
+
+    private static final int[] PRIMES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41};
+    private static final Rank[] RANKS = Rank.values();
+    private static final Suit[] SUITS = Suit.values();
+    private static final int[] BITS = new int[DECK_SIZE];
+
+    static {
+        for (int code = 0; code < DECK_SIZE; code++) {
+            int r = code >> 2;
+            int s = code & 3;
+            BITS[code] = (1 << (16 + r)) | (1 << (12 + s)) | (r << 8) | PRIMES[r];
+        }
+    }
+
+    private CardEncoding() {
+        // Klasa narzedziowa - brak instancji
+    }
+
+    /**
+     * Encodes the given rank and suit as an int code in range 0..51.
+     *
+     * @param rank The rank of the card.
+     * @param suit The suit of the card.
+     * @return The int code of the card.
+     */
+    public static int encode(Rank rank, Suit suit) {
+        return (rank.ordinal() << 2) | suit.ordinal();
+    }
+
+    /**
+     * Returns the int code of the given card.
+     *
+     * @param card The card to encode.
+     * @return The int code of the card (0..51).
+     */
+    public static int encode(Card card) {
+        return card.getCode();
+    }
+
+    /**
+     * Returns the rank index (0 for TWO .. 12 for ACE) of the given card code.
+     *
+     * @param code The int code of the card.
+     * @return The rank index of the card.
+     */
+    public static int rankIndex(int code) {
+        return code >> 2;
+    }
+
+    /**
+     * Returns the suit index (ordinal of {@link Suit}) of the given card code.
+     *
+     * @param code The int code of the card.
+     * @return The suit index of the card.
+     */
+    public static int suitIndex(int code) {
+        return code & 3;
+    }
+
+    /**
+     * Returns the rank of the given card code.
+     *
+     * @param code The int code of the card.
+     * @return The rank of the card.
+     */
+    public static Rank rankOf(int code) {
+        return RANKS[code >> 2];
+    }
+
+    /**
+     * Returns the suit of the given card code.
+     *
+     * @param code The int code of the card.
+     * @return The suit of the card.
+     */
+    public static Suit suitOf(int code) {
+        return SUITS[code & 3];
+    }
+
+    /**
+     * Returns the canonical Card instance for the given card code.
+     *
+     * @param code The int code of the card (0..51).
+     * @return The shared Card instance.
+     */
+    public static Card toCard(int code) {
+        return Card.fromCode(code);
+    }
+
+    /**
+     * Returns the prime number assigned to the given rank index.
+     *
+     * @param rankIndex The rank index (0 for TWO .. 12 for ACE).
+     * @return The prime assigned to the rank.
+     */
+    public static int prime(int rankIndex) {
+        return PRIMES[rankIndex];
+    }
+
+    /**
+     * Returns the bit-field form of the given card code.
+     *
+     * @param code The int code of the card.
+     * @return The bit-field representation of the card.
+     */
+    public static int toBits(int code) {
+        return BITS[code];
+    }
+
+    /**
+     * Converts a bit-field card back to its int code.
+     *
+     * @param bits The bit-field representation of the card.
+     * @return The int code of the card.
+     */
+    public static int fromBits(int bits) {
+        int r = (bits >> 8) & 0xF;
+        int s = Integer.numberOfTrailingZeros((bits >> 12) & 0xF);
+        return (r << 2) | s;
+    }
+
+    /**
+     * Converts a list of cards into an array of int codes, preserving the order.
+     *
+     * @param cards The cards to convert.
+     * @return An array with the int codes of the cards.
+     */
+    public static int[] toCodes(List<Card> cards) {
+        int[] codes = new int[cards.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = cards.get(i).getCode();
+        }
+        return codes;
+    }
+
+    /**
+     * Converts an array of int codes into a list of canonical Card instances, preserving the order.
+     *
+     * @param codes The int codes to convert.
+     * @return A list of cards.
+     */
+    public static List<Card> toCards(int[] codes) {
+        List<Card> cards = new ArrayList<>(codes.length);
+        for (int code : codes) {
+            cards.add(Card.fromCode(code));
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,30 @@
+package pl.edu.agh.kis.pz1.model;
+
+/**
+ * Game actions recorded in a {@link HandRecord}, one per call of the matching {@link Game} method.
+ */
+public enum DealAction {
+    FOLD,
+    CALL,
+    CHECK,
+    RAISE,
+    EXCHANGE,
+    PROCESS_BETTING_ROUND,
+    AWARD_POT;
+
+    private static final DealAction[] VALUES = values();
+
+    /**
+     * Returns the action with the given ordinal.
+     *
+     * @param ordinal The ordinal of the action.
+     * @return The action.
+     * @throws IllegalArgumentException if there is no action with that ordinal.
+     */
+    public static DealAction fromOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= VALUES.length) {
+            throw new IllegalArgumentException("Invalid action: " + ordinal);
+        }
+        return VALUES[ordinal];
+    }
+}
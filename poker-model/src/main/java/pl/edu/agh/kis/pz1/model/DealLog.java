@@ -0,0 +1,135 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Log of the hands played by games with deal logging enabled (see {@link Game#setDealLog(DealLog)}).
+ * The log either keeps the records in memory or writes each one to a stream as soon as the hand ends.
+ * One log can be shared by many games; appending is thread-safe.
+ *
+ * Stream format: magic, version, then the records (see {@link HandRecord#write(java.io.DataOutput)}),
+ * each preceded by a marker byte. A typical hand takes a few hundred bytes.
+ */
+public class DealLog implements AutoCloseable {
+    static final int MAGIC = 0x504B444C;
+    static final int VERSION = 1;
+    private static final int RECORD_MARKER = 1;
+
+    private final List<HandRecord> records = new ArrayList<>();
+    private final DataOutputStream out;
+
+    /**
+     * Constructs a log keeping the records in memory.
+     */
+    public DealLog() {
+        this.out = null;
+    }
+
+    /**
+     * Constructs a log writing the records to a stream.
+     *
+     * @param stream The target stream, closed with the log.
+     * @throws IOException if the header cannot be written.
+     */
+    public DealLog(OutputStream stream) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.flush();
+    }
+
+    /**
+     * Appends the record of a finished hand.
+     *
+     * @param record The hand record.
+     * @throws UncheckedIOException if the record cannot be written to the stream.
+     */
+    public synchronized void append(HandRecord record) {
+        if (out == null) {
+            records.add(record);
+            return;
+        }
+        try {
+            out.writeByte(RECORD_MARKER);
+            record.write(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the records kept in memory. A log writing to a stream keeps no records.
+     *
+     * @return A copy of the records, in the order the hands ended.
+     */
+    public synchronized List<HandRecord> getRecords() {
+        return new ArrayList<>(records);
+    }
+
+    /**
+     * Writes all records kept in memory to a stream, in the format read by {@link #read(InputStream)}.
+     *
+     * @param stream The target stream, not closed.
+     * @throws IOException if the records cannot be written.
+     */
+    public synchronized void writeTo(OutputStream stream) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(stream));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        for (HandRecord record : records) {
+            data.writeByte(RECORD_MARKER);
+            record.write(data);
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads all records from a stream written by a log.
+     *
+     * @param stream The source stream, not closed.
+     * @return The records, in the order they were written.
+     * @throws IOException if the stream cannot be read, has another version or is corrupted.
+     */
+    public static List<HandRecord> read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a deal log");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported deal log version " + version + ", expected " + VERSION);
+        }
+        List<HandRecord> result = new ArrayList<>();
+        int marker;
+        while ((marker = in.read()) != -1) {
+            if (marker != RECORD_MARKER) {
+                throw new IOException("Invalid record marker in deal log: " + marker);
+            }
+            result.add(HandRecord.read(in));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Closes the stream of the log, if it has one.
+     *
+     * @throws IOException if the stream cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Replays hands recorded in a {@link DealLog}: rebuilds the game with the recorded players, stacks,
+ * dealer position and deck order, calls the recorded actions in order and checks the state hash
+ * after each of them and at the end of the hand.
+ *
+ * Hands are independent, so {@link #verify(Collection)} replays them in parallel on a fork/join pool.
+ */
+public class DealReplayer {
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a replayer verifying hands on the common fork/join pool.
+     */
+    public DealReplayer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a replayer verifying hands on the given pool.
+     *
+     * @param pool The pool running the replays.
+     */
+    public DealReplayer(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Replays a hand and checks that it reaches the recorded states.
+     *
+     * @param record The hand record.
+     * @return The game in the state at the end of the hand.
+     * @throws IllegalStateException if the replay diverges from the record.
+     */
+    public Game replay(HandRecord record) {
+        Game game = new Game(record.getGameId());
+        for (int seat = 0; seat < record.getPlayerCount(); seat++) {
+            game.addPlayer(new Player(record.getPlayerId(seat), record.getStack(seat)));
+        }
+        game.setDealerIndex(record.getDealerIndex());
+        game.setDeck(Deck.fromCodes(record.getDeckCodes()));
+        game.startGameCycle();
+
+        int count = record.getActionCount();
+        for (int i = 0; i < count; i++) {
+            DealAction action = record.getAction(i);
+            try {
+                apply(game, record, i);
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                throw new IllegalStateException(divergence(record, i) + ": " + e.getMessage(), e);
+            }
+            // Po przyznaniu puli gra jest resetowana, stan sprawdza hash koncowy
+            if (action != DealAction.AWARD_POT && game.stateHash() != record.getStateHash(i)) {
+                throw new IllegalStateException(divergence(record, i) + ": state differs from the record");
+            }
+        }
+        if (record.isClosedByReset() && game.getGameState() != GameState.WAITING_FOR_PLAYERS) {
+            game.resetAfterGame();
+        }
+        if (game.stateHash() != record.getFinalStateHash()) {
+            throw new IllegalStateException("Hand " + record.getHandNumber() + " of game " + record.getGameId()
+                    + ": final state differs from the record");
+        }
+        return game;
+    }
+
+    /**
+     * Checks whether a hand replays to the recorded states.
+     *
+     * @param record The hand record.
+     * @return true if the replay matches the record.
+     */
+    public boolean matches(HandRecord record) {
+        try {
+            replay(record);
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Replays many hands in parallel and returns the ones that do not match their records.
+     *
+     * @param records The hand records.
+     * @return The records whose replay diverged, in the order of the input.
+     */
+    public List<HandRecord> verify(Collection<HandRecord> records) {
+        List<HandRecord> list = new ArrayList<>(records);
+        return pool.submit(() -> list.parallelStream()
+                .filter(record -> !matches(record))
+                .collect(Collectors.toList())).join();
+    }
+
+    private static void apply(Game game, HandRecord record, int index) {
+        int seat = record.getSeat(index);
+        String playerId = seat >= 0 ? record.getPlayerId(seat) : null;
+        switch (record.getAction(index)) {
+            case FOLD:
+                game.playerFold(playerId);
+                break;
+            case CALL:
+                game.playerCall(playerId);
+                break;
+            case CHECK:
+                game.playerCheck(playerId);
+                break;
+            case RAISE:
+                game.playerRaise(playerId, record.getArgument(index));
+                break;
+            case EXCHANGE:
+                game.exchangeCards(playerId, record.getExchangedIndices(index));
+                break;
+            case PROCESS_BETTING_ROUND:
+                game.processBettingRound();
+                break;
+            case AWARD_POT:
+                game.awardPotToLastStanding();
+                break;
+            default:
+                throw new IllegalStateException("Unknown action " + record.getAction(index));
+        }
+    }
+
+    private static String divergence(HandRecord record, int index) {
+        return "Hand " + record.getHandNumber() + " of game " + record.getGameId() + " diverges at action "
+                + index + " (" + record.getAction(index) + ")";
+    }
+}
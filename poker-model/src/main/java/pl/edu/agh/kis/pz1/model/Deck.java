@@ -1,33 +1,100 @@
 package pl.edu.agh.kis.pz1.model;
 
-import java.security.SecureRandom;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
 
 /**
  * Class representing a deck of cards.
  * Provides methods to create a deck, add cards, shuffle the deck,
  * and retrieve a random card.
+ *
+ * The cards are kept as codes (see {@link CardEncoding}) in an int array. The first {@code size} codes
+ * are the cards still in the deck, the codes behind them are the cards already drawn. Every draw is
+ * one step of a Fisher-Yates shuffle: a random remaining card is swapped to the top of the deck and
+ * the top pointer moves down, so only the cards actually dealt are randomized, a draw takes O(1)
+ * and {@link #reset()} returns all drawn cards by moving the pointer back.
+ *
+ * After {@link #shuffle()} the remaining cards are already in random order, so until the deck is changed
+ * or reset the draws take the top card and use no random numbers. This is what makes decks shuffled
+ * in advance (see {@link DeckPool}) cheap to deal from.
+ *
+ * All random numbers of shuffles and draws come from the {@link ShuffleSource} given to the constructor.
  */
 public class Deck {
-    private final SecureRandom rand = new SecureRandom();
-    private ArrayList<Card> cardDeck;
+    private final ShuffleSource source;
+    private final List<Card> view = new CardView();
+    private int[] cards;
+    private int size;
+    private int count;
+    private boolean shuffled;
 
     /**
-     * Constructs an empty deck.
+     * Constructs an empty deck shuffled by the shared {@link SecureShuffleSource}.
      */
     public Deck(){
-        this.cardDeck = new ArrayList<>();
+        this(SecureShuffleSource.getInstance());
+    }
+
+    /**
+     * Constructs an empty deck.
+     *
+     * @param source The source of the random numbers of shuffles and draws.
+     */
+    public Deck(ShuffleSource source){
+        this.source = source;
+        this.cards = new int[CardEncoding.DECK_SIZE];
+    }
+
+    /**
+     * Creates a deck dealing the given cards in a fixed order, from the last code to the first one,
+     * e.g. to replay a recorded hand (see {@link #getCardCodes()}).
+     *
+     * @param codes The card codes (see {@link CardEncoding}), the next card dealt being the last one.
+     * @return The deck.
+     * @throws IllegalArgumentException if a code is not a valid card code.
+     */
+    public static Deck fromCodes(int[] codes) {
+        Deck deck = new Deck();
+        for (int code : codes) {
+            deck.addCard(Card.fromCode(code));
+        }
+        deck.shuffled = true;
+        return deck;
+    }
+
+    /**
+     * Creates a deck in a saved state, see {@link #getAllCardCodes()}.
+     *
+     * @param codes    The codes of the cards left in the deck followed by the codes of the drawn cards.
+     * @param size     The number of cards left in the deck.
+     * @param shuffled Whether the deck deals from the top.
+     * @return The deck.
+     * @throws IllegalArgumentException if a code is not a valid card code or the size is out of range.
+     */
+    static Deck restore(int[] codes, int size, boolean shuffled) {
+        if (size < 0 || size > codes.length) {
+            throw new IllegalArgumentException("Invalid deck size: " + size);
+        }
+        Deck deck = new Deck();
+        for (int code : codes) {
+            deck.addCard(Card.fromCode(code));
+        }
+        deck.size = size;
+        deck.shuffled = shuffled;
+        return deck;
     }
 
     /**
      * Returns the current list of cards in the deck.
+     * The list is a live view: it reflects later draws and changes made through it change the deck.
      *
-     * @return An ArrayList of cards representing the deck.
+     * @return A list of cards representing the deck.
      */
     public List<Card> getDeck(){
-        return this.cardDeck;
+        return this.view;
     }
 
 
@@ -37,7 +104,7 @@ public class Deck {
      * @param c The card to be added to the deck.
      */
     public void addCard(Card c){
-        this.cardDeck.add(c);
+        insert(size, c.getCode());
     }
 
 
@@ -46,16 +113,19 @@ public class Deck {
 
     /**
      * Retrieves a random card from the deck and removes it.
-     * If the deck is empty, returns null.
      *
-     * @return A randomly selected card from the deck, or null if the deck is empty.
+     * @return A randomly selected card from the deck.
+     * @throws IllegalStateException if the deck is empty.
      */
     public Card getRandomCard() {
-        if (cardDeck.isEmpty()) {
+        if (size == 0) {
             throw new IllegalStateException("The deck is empty!");
         }
-        int randIndex = rand.nextInt(cardDeck.size());
-        return cardDeck.remove(randIndex);
+        if (shuffled) {
+            return Card.fromCode(cards[--size]);
+        }
+        swap(source.nextInt(size), --size);
+        return Card.fromCode(cards[size]);
     }
 
 
@@ -65,10 +135,10 @@ public class Deck {
      *  if it doesn't, card is added and method returns true.
      **/
     public boolean addCartToDeck(Card card){
-        if(cardDeck.contains(card)){
+        if(view.contains(card)){
             return false;
         }
-        cardDeck.add(card);
+        addCard(card);
         return true;
     }
 
@@ -81,11 +151,10 @@ public class Deck {
     public List<Card> fabryki(){
         for (Rank r : Rank.values()){
             for (Suit s : Suit.values()){
-                Card card = new Card(r, s);
-                cardDeck.add(card);
+                addCard(Card.of(r, s));
             }
         }
-        return cardDeck;
+        return view;
     }
 
 
@@ -96,21 +165,108 @@ public class Deck {
      * @return The shuffled deck.
      */
     public List<Card> shuffle(List<Card> d){
-        Collections.shuffle(d);
+        for (int i = d.size() - 1; i > 0; i--) {
+            d.set(i, d.set(source.nextInt(i + 1), d.get(i)));
+        }
         return d;
     }
 
     /**
-     * Shuffles the current deck. If the deck is empty, it doesn't do anything
+     * Shuffles the current deck. If the deck is empty, it doesn't do anything.
+     * Until the deck is changed or reset, the following draws take the cards from the top.
      *
      * @return The shuffled deck or empty deck if it was empty.
      */
     public List<Card> shuffle(){
-        if (this.cardDeck.isEmpty()){
-            return this.cardDeck;
+        for (int i = size - 1; i > 0; i--) {
+            swap(i, source.nextInt(i + 1));
         }
-        Collections.shuffle(this.cardDeck);
-        return this.cardDeck;
+        shuffled = true;
+        return view;
+    }
+
+    /**
+     * Returns all drawn cards to the deck. Takes constant time and allocates nothing.
+     */
+    public void reset() {
+        // Wrocone karty nie sa przetasowane, wiec dalej losujemy przy kazdym pobraniu
+        shuffled = false;
+        size = count;
+    }
+
+    /**
+     * Puts the drawn cards back under the remaining cards of the deck, except the kept ones,
+     * e.g. to reuse the discards when the deck runs out during the draw.
+     * The returned cards are dealt only after the cards left in the deck; a deck dealing from the top keeps doing so,
+     * so a recorded deck order still determines every card.
+     *
+     * @param kept The bitmask of the codes of the drawn cards staying out of the deck, bit i set for code i.
+     * @return The number of cards put back.
+     */
+    public int returnDrawnCards(long kept) {
+        int[] result = new int[cards.length];
+        int returned = 0;
+        for (int i = size; i < count; i++) {
+            if ((kept & (1L << cards[i])) == 0) {
+                result[returned++] = cards[i];
+            }
+        }
+        System.arraycopy(cards, 0, result, returned, size);
+        int drawn = returned + size;
+        for (int i = size; i < count; i++) {
+            if ((kept & (1L << cards[i])) != 0) {
+                result[drawn++] = cards[i];
+            }
+        }
+        cards = result;
+        size += returned;
+        return returned;
+    }
+
+    /**
+     * Gets the source of the random numbers of shuffles and draws.
+     *
+     * @return The shuffle source.
+     */
+    public ShuffleSource getShuffleSource() {
+        return source;
+    }
+
+    /**
+     * Gets the codes of the cards left in the deck, in the order of {@link #getDeck()}.
+     * For a shuffled deck the next card dealt is the last one.
+     *
+     * @return A new array of card codes.
+     */
+    public int[] getCardCodes() {
+        return Arrays.copyOf(cards, size);
+    }
+
+    /**
+     * Gets the codes of all cards of the deck: the cards left, as in {@link #getCardCodes()}, followed by the drawn ones.
+     *
+     * @return A new array of card codes.
+     */
+    int[] getAllCardCodes() {
+        return Arrays.copyOf(cards, count);
+    }
+
+    /**
+     * Checks whether the deck was shuffled and not changed or reset since, so it deals from the top.
+     *
+     * @return true if the next draws take the cards from the top.
+     */
+    public boolean isShuffled() {
+        return shuffled;
+    }
+
+    /**
+     * Gets the number of cards left in the deck.
+     *
+     * @return The number of cards.
+     */
+    public int size() {
+        return size;
     }
 
 
@@ -119,9 +275,66 @@ public class Deck {
      * @return true if deck is empty, false if it is not.
      */
     public boolean isEmpty() {
-        return cardDeck.isEmpty();
+        return size == 0;
+    }
+
+    private void swap(int i, int j) {
+        int code = cards[i];
+        cards[i] = cards[j];
+        cards[j] = code;
     }
 
+    private void insert(int index, int code) {
+        if (count == cards.length) {
+            cards = Arrays.copyOf(cards, cards.length * 2);
+        }
+        System.arraycopy(cards, index, cards, index + 1, count - index);
+        cards[index] = code;
+        size++;
+        count++;
+        shuffled = false;
+    }
+
+    /**
+     * List view of the cards left in the deck, backed by the code array.
+     */
+    private final class CardView extends AbstractList<Card> implements RandomAccess {
+        @Override
+        public Card get(int index) {
+            Objects.checkIndex(index, size);
+            return Card.fromCode(cards[index]);
+        }
+
+        @Override
+        public Card set(int index, Card card) {
+            Card previous = get(index);
+            cards[index] = card.getCode();
+            shuffled = false;
+            return previous;
+        }
 
+        @Override
+        public void add(int index, Card card) {
+            Objects.checkIndex(index, size + 1);
+            insert(index, card.getCode());
+            modCount++;
+        }
 
-}
\ No newline at end of file
+        @Override
+        public Card remove(int index) {
+            Card removed = get(index);
+            // Usuniete karty nie wracaja przy reset()
+            System.arraycopy(cards, index + 1, cards, index, count - index - 1);
+            size--;
+            count--;
+            shuffled = false;
+            modCount++;
+            return removed;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of full, shuffled decks, kept filled by a background producer thread, so a game
+ * can start a hand by taking a deck in constant time instead of building and shuffling one
+ * on the thread handling player commands. When the pool is empty, {@link #take()} builds the deck
+ * inline and counts a miss.
+ *
+ * The pool is thread-safe and one pool can serve many games. The shuffle source is used by the
+ * producer and by callers of {@link #take()} at the same time, so it has to be thread-safe,
+ * like {@link SecureShuffleSource}.
+ */
+public class DeckPool implements AutoCloseable {
+    /** Default number of decks kept ready. */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 1000;
+
+    private final BlockingQueue<Deck> decks;
+    private final ShuffleSource source;
+    private final Thread producer;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder produced = new LongAdder();
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a pool of the default capacity with decks shuffled by {@link SecureShuffleSource}
+     * and starts its producer.
+     */
+    public DeckPool() {
+        this(DEFAULT_CAPACITY, SecureShuffleSource.getInstance());
+    }
+
+    /**
+     * Constructs a pool and starts its producer.
+     *
+     * @param capacity The largest number of decks kept ready.
+     * @param source   The thread-safe source of the random numbers of shuffles and draws.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public DeckPool(int capacity, ShuffleSource source) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.decks = new ArrayBlockingQueue<>(capacity);
+        this.source = source;
+        this.producer = new Thread(this::produce, "deck-pool-producer");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    /**
+     * Takes a full, shuffled deck from the pool, or builds one if the pool is empty.
+     *
+     * @return A deck of 52 shuffled cards, owned by the caller.
+     */
+    public Deck take() {
+        Deck deck = decks.poll();
+        if (deck != null) {
+            hits.increment();
+            return deck;
+        }
+        misses.increment();
+        return newDeck();
+    }
+
+    /**
+     * Stops the producer. Decks already in the pool can still be taken and {@link #take()}
+     * keeps working, building decks inline.
+     */
+    @Override
+    public void close() {
+        running = false;
+        producer.interrupt();
+        try {
+            producer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of decks ready in the pool.
+     *
+     * @return The pool depth.
+     */
+    public int getDepth() {
+        return decks.size();
+    }
+
+    /**
+     * Gets the largest number of decks kept ready.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return decks.size() + decks.remainingCapacity();
+    }
+
+    /**
+     * Gets the number of decks taken from the pool.
+     *
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of decks built inline because the pool was empty.
+     *
+     * @return The number of misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of decks built by the producer.
+     *
+     * @return The number of produced decks.
+     */
+    public long getProducedCount() {
+        return produced.sum();
+    }
+
+    /**
+     * Checks whether the producer is still filling the pool.
+     *
+     * @return true until the pool is closed.
+     */
+    public boolean isRunning() {
+        return running && producer.isAlive();
+    }
+
+    private void produce() {
+        try {
+            while (running) {
+                decks.put(newDeck());
+                produced.increment();
+            }
+        } catch (InterruptedException e) {
+            // Zamkniecie puli
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Deck newDeck() {
+        Deck deck = new Deck(source);
+        deck.fabryki();
+        deck.shuffle();
+        return deck;
+    }
+}
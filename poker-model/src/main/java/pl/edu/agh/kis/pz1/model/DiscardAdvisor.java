@@ -0,0 +1,252 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Advisor for the exchange phase: evaluates every legal way of exchanging cards of a five-card hand
+ * and ranks them by the expected value of the final hand (see {@link DiscardOption}).
+ *
+ * Exchanges of up to three cards are evaluated exactly, by enumerating every combination of replacement
+ * cards from the unseen cards. The enumeration is shared between discards of the same size: each
+ * combination of replacement cards is combined once and then completed with the kept cards of every discard,
+ * using the partial bit fields of {@link HandEvaluator}. Exchanges of four cards are sampled,
+ * again sharing every sampled draw between all four-card discards.
+ */
+public class DiscardAdvisor {
+    private static final int MAX_DISCARDS = 4;
+    private static final int EXACT_DISCARDS = 3;
+    private static final int SUBSETS = 1 << 5;
+
+    private final HandEvaluator evaluator = HandEvaluator.getInstance();
+    private final HandPercentileTable percentiles = HandPercentileTable.getInstance();
+    private int sampleSize = 20_000;
+    private int maxDiscards = MAX_DISCARDS;
+    private Long seed;
+
+    /**
+     * Evaluates all legal discards of a hand and ranks them by expected value, best first.
+     *
+     * @param hand      The hand of the player.
+     * @param deadCards Cards known not to be in the deck (may be empty).
+     * @return The evaluated discards, best first.
+     * @throws IllegalArgumentException if the hand does not have five cards.
+     */
+    public List<DiscardOption> advise(Hand hand, Collection<Card> deadCards) {
+        return advise(hand.getCards(), deadCards);
+    }
+
+    /**
+     * Evaluates all legal discards of a hand and ranks them by expected value, best first.
+     * Ties are resolved in favour of exchanging fewer cards.
+     *
+     * @param cards     The five cards of the player.
+     * @param deadCards Cards known not to be in the deck (may be empty).
+     * @return The evaluated discards, best first.
+     * @throws IllegalArgumentException if the hand does not have five cards.
+     */
+    public List<DiscardOption> advise(List<Card> cards, Collection<Card> deadCards) {
+        if (cards.size() != 5) {
+            throw new IllegalArgumentException("Hand must have 5 cards");
+        }
+        int[] hand = CardEncoding.toCodes(cards);
+        int[] unseen = unseenCodes(hand, deadCards);
+        if (unseen.length < MAX_DISCARDS) {
+            throw new IllegalArgumentException("Not enough unseen cards");
+        }
+        int[] unseenBits = new int[unseen.length];
+        for (int i = 0; i < unseen.length; i++) {
+            unseenBits[i] = CardEncoding.toBits(unseen[i]);
+        }
+
+        Accumulator acc = new Accumulator(hand);
+        for (int k = 0; k <= Math.min(EXACT_DISCARDS, maxDiscards); k++) {
+            acc.selectSize(k);
+            enumerate(acc, unseenBits, 0, k, 0, 0xFFFF, 1);
+        }
+        if (maxDiscards > EXACT_DISCARDS) {
+            acc.selectSize(MAX_DISCARDS);
+            sample(acc, unseenBits);
+        }
+
+        List<DiscardOption> options = new ArrayList<>();
+        for (int mask = 0; mask < SUBSETS; mask++) {
+            int discards = Integer.bitCount(mask);
+            if (discards <= maxDiscards) {
+                long outcomes = acc.outcomes[mask];
+                options.add(new DiscardOption(mask, outcomes, acc.typeCounts[mask],
+                        acc.percentileSums[mask] / outcomes, discards <= EXACT_DISCARDS));
+            }
+        }
+        options.sort(Comparator.comparingDouble(DiscardOption::getExpectedValue).reversed()
+                .thenComparingInt(DiscardOption::getDiscardCount)
+                .thenComparingInt(DiscardOption::getDiscardMask));
+        return Collections.unmodifiableList(options);
+    }
+
+    /**
+     * Finds the discard with the highest expected value.
+     *
+     * @param hand      The hand of the player.
+     * @param deadCards Cards known not to be in the deck (may be empty).
+     * @return The best discard.
+     */
+    public DiscardOption best(Hand hand, Collection<Card> deadCards) {
+        return advise(hand, deadCards).get(0);
+    }
+
+    /**
+     * Enumerates the combinations of {@code remaining} more replacement cards starting from index {@code from},
+     * carrying the combined bit fields of the cards chosen so far.
+     */
+    private void enumerate(Accumulator acc, int[] unseenBits, int from, int remaining, int orBits, int andBits, int product) {
+        if (remaining == 0) {
+            acc.add(orBits, andBits, product);
+            return;
+        }
+        for (int i = from; i <= unseenBits.length - remaining; i++) {
+            int bits = unseenBits[i];
+            enumerate(acc, unseenBits, i + 1, remaining - 1, orBits | bits, andBits & bits, product * (bits & 0xFF));
+        }
+    }
+
+    private void sample(Accumulator acc, int[] unseenBits) {
+        SplittableRandom random = seed == null ? new SplittableRandom() : new SplittableRandom(seed);
+        int[] deck = unseenBits.clone();
+        for (int s = 0; s < sampleSize; s++) {
+            int orBits = 0;
+            int andBits = 0xFFFF;
+            int product = 1;
+            for (int i = 0; i < MAX_DISCARDS; i++) {
+                int j = i + random.nextInt(deck.length - i);
+                int bits = deck[j];
+                deck[j] = deck[i];
+                deck[i] = bits;
+                orBits |= bits;
+                andBits &= bits;
+                product *= bits & 0xFF;
+            }
+            acc.add(orBits, andBits, product);
+        }
+    }
+
+    private static int[] unseenCodes(int[] hand, Collection<Card> deadCards) {
+        long used = 0;
+        for (int code : hand) {
+            used |= 1L << code;
+        }
+        for (Card card : deadCards) {
+            used |= 1L << card.getCode();
+        }
+        int[] unseen = new int[CardEncoding.DECK_SIZE - Long.bitCount(used)];
+        int n = 0;
+        for (int code = 0; code < CardEncoding.DECK_SIZE; code++) {
+            if ((used & (1L << code)) == 0) {
+                unseen[n++] = code;
+            }
+        }
+        return unseen;
+    }
+
+    /**
+     * Per-discard counters, together with the combined bit fields of the cards kept by every discard.
+     */
+    private final class Accumulator {
+        private final int[] keptOr = new int[SUBSETS];
+        private final int[] keptAnd = new int[SUBSETS];
+        private final int[] keptProduct = new int[SUBSETS];
+        private final long[] outcomes = new long[SUBSETS];
+        private final long[][] typeCounts = new long[SUBSETS][HandType.RoyalFlush.getValue() + 1];
+        private final double[] percentileSums = new double[SUBSETS];
+        private final int[] masks = new int[SUBSETS];
+        private int maskCount;
+
+        Accumulator(int[] hand) {
+            for (int mask = 0; mask < SUBSETS; mask++) {
+                int orBits = 0;
+                int andBits = 0xFFFF;
+                int product = 1;
+                for (int i = 0; i < 5; i++) {
+                    if ((mask & (1 << i)) == 0) {
+                        int bits = CardEncoding.toBits(hand[i]);
+                        orBits |= bits;
+                        andBits &= bits;
+                        product *= bits & 0xFF;
+                    }
+                }
+                keptOr[mask] = orBits;
+                keptAnd[mask] = andBits;
+                keptProduct[mask] = product;
+            }
+        }
+
+        /**
+         * Selects the discards of the given size as the ones completed by the following draws.
+         */
+        void selectSize(int discards) {
+            maskCount = 0;
+            for (int mask = 0; mask < SUBSETS; mask++) {
+                if (Integer.bitCount(mask) == discards) {
+                    masks[maskCount++] = mask;
+                }
+            }
+        }
+
+        /**
+         * Completes every selected discard with the same replacement cards.
+         */
+        void add(int orBits, int andBits, int product) {
+            for (int m = 0; m < maskCount; m++) {
+                int mask = masks[m];
+                int strength = evaluator.evaluateBits(keptOr[mask] | orBits, keptAnd[mask] & andBits,
+                        keptProduct[mask] * product);
+                outcomes[mask]++;
+                typeCounts[mask][strength >>> HandEvaluator.TYPE_SHIFT]++;
+                percentileSums[mask] += percentiles.percentile(strength);
+            }
+        }
+    }
+
+    // gettery, settery :
+
+    public int getMaxDiscards() {
+        return maxDiscards;
+    }
+
+    /**
+     * Limits the evaluated discards to the given number of exchanged cards.
+     *
+     * @param maxDiscards The largest number of exchanged cards, from 0 to 4.
+     */
+    public void setMaxDiscards(int maxDiscards) {
+        if (maxDiscards < 0 || maxDiscards > MAX_DISCARDS) {
+            throw new IllegalArgumentException("Cannot exchange more than 4 cards");
+        }
+        this.maxDiscards = maxDiscards;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    public void setSampleSize(int sampleSize) {
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("Sample size must be positive");
+        }
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Sets the seed used for sampled discards, making the results reproducible.
+     * Null means a fresh random seed for every call.
+     *
+     * @param seed The seed, or null.
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
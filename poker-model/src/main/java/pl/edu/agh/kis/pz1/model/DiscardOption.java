@@ -0,0 +1,141 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable evaluation of one way to exchange cards, as returned by {@link DiscardAdvisor}.
+ * Holds the distribution of the final hand type over all (or the sampled) replacement draws
+ * and the expected value of the final hand, measured as its {@link HandPercentileTable percentile}.
+ */
+public class DiscardOption {
+    private final int discardMask;
+    private final long outcomes;
+    private final long[] typeCounts;
+    private final double expectedValue;
+    private final boolean exact;
+
+    /**
+     * Constructs the evaluation of a discard.
+     *
+     * @param discardMask   The bitmask of the indices of the exchanged cards.
+     * @param outcomes      The number of evaluated replacement draws.
+     * @param typeCounts    The number of draws ending in each hand type, indexed by {@link HandType#getValue()}.
+     * @param expectedValue The mean percentile of the final hand.
+     * @param exact         Whether all replacement draws were enumerated.
+     */
+    public DiscardOption(int discardMask, long outcomes, long[] typeCounts, double expectedValue, boolean exact) {
+        this.discardMask = discardMask;
+        this.outcomes = outcomes;
+        this.typeCounts = typeCounts.clone();
+        this.expectedValue = expectedValue;
+        this.exact = exact;
+    }
+
+    /**
+     * Gets the exchanged cards as a bitmask, bit i set for the card at index i of the hand.
+     *
+     * @return The discard bitmask.
+     */
+    public int getDiscardMask() {
+        return discardMask;
+    }
+
+    /**
+     * Gets the indices of the exchanged cards, in ascending order,
+     * in the form accepted by {@link Game#exchangeCards(String, List)}.
+     *
+     * @return A new mutable list of indices.
+     */
+    public List<Integer> getDiscardIndices() {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            if ((discardMask & (1 << i)) != 0) {
+                indices.add(i);
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Gets the number of exchanged cards.
+     *
+     * @return The number of discards.
+     */
+    public int getDiscardCount() {
+        return Integer.bitCount(discardMask);
+    }
+
+    /**
+     * Gets the expected percentile of the final hand among all five-card hands.
+     *
+     * @return The expected value, between 0 and 1.
+     */
+    public double getExpectedValue() {
+        return expectedValue;
+    }
+
+    /**
+     * Gets the probability of finishing with the given hand type.
+     *
+     * @param type The hand type.
+     * @return The probability of the type.
+     */
+    public double getProbability(HandType type) {
+        return outcomes == 0 ? 0 : (double) typeCounts[type.getValue()] / outcomes;
+    }
+
+    /**
+     * Gets the number of evaluated draws finishing with the given hand type.
+     *
+     * @param type The hand type.
+     * @return The number of draws.
+     */
+    public long getCount(HandType type) {
+        return typeCounts[type.getValue()];
+    }
+
+    /**
+     * Gets the probability of finishing with the given hand type or better.
+     *
+     * @param type The hand type.
+     * @return The probability of at least that type.
+     */
+    public double getProbabilityAtLeast(HandType type) {
+        long count = 0;
+        for (int v = type.getValue(); v < typeCounts.length; v++) {
+            count += typeCounts[v];
+        }
+        return outcomes == 0 ? 0 : (double) count / outcomes;
+    }
+
+    /**
+     * Gets the number of replacement draws the evaluation is based on.
+     *
+     * @return The number of outcomes.
+     */
+    public long getOutcomes() {
+        return outcomes;
+    }
+
+    /**
+     * Checks whether the evaluation enumerated every replacement draw or sampled them.
+     *
+     * @return true if the values are exact.
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * Returns a string representation of the option.
+     *
+     * @return The discarded indices with the expected value.
+     */
+    @Override
+    public String toString() {
+        return String.format("DISCARD: %s, EV: %.4f%s", Collections.unmodifiableList(getDiscardIndices()),
+                expectedValue, exact ? "" : " (sampled)");
+    }
+}
@@ -0,0 +1,238 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only, memory-mapped table of draw odds written by {@link DrawOddsTableGenerator}.
+ * For every five-card hand and every discard it gives the probability of finishing the draw
+ * with each {@link HandType}, as computed by {@link DiscardAdvisor} with no dead cards.
+ *
+ * Hands are stored once per suit-isomorphism class (see {@link SuitCanonicalizer}). A lookup relabels
+ * the suits of the hand, finds its class through an index over all 2,598,960 hands and reads one
+ * 16-bit counter from the mapped file, so it takes constant time and the table stays off the heap.
+ *
+ * File layout (big-endian):
+ * <pre>
+ * header: magic, version, max discards, class count, draws per discard size (5 ints), reserved int, CRC32 (long)
+ * index:  class of every canonical hand by its colex index, -1 for other hands (2,598,960 ints)
+ * data:   for every class, for every discard mask with at most max discards bits in ascending order,
+ *         the number of draws ending in each hand type from HighCard to RoyalFlush (unsigned shorts)
+ * </pre>
+ * The CRC32 covers the index and the data.
+ */
+public final class DrawOddsTable {
+    static final int MAGIC = 0x504B444F;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 48;
+    static final int CHECKSUM_OFFSET = 40;
+    static final int TYPE_COUNT = HandType.values().length;
+    static final int MAX_DISCARDS = 4;
+
+    private static final int[][] BINOMIAL = new int[CardEncoding.DECK_SIZE][6];
+
+    static {
+        for (int n = 0; n < CardEncoding.DECK_SIZE; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= 5; k++) {
+                BINOMIAL[n][k] = n == 0 ? 0 : BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+    }
+
+    private final ByteBuffer buffer;
+    private final int maxDiscards;
+    private final int classCount;
+    private final int[] outcomes = new int[MAX_DISCARDS + 1];
+    private final int[] slots;
+    private final int slotCount;
+    private final int dataOffset;
+
+    private DrawOddsTable(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a draw odds table");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported draw odds table version " + version + ", expected " + VERSION);
+        }
+        maxDiscards = buffer.getInt(8);
+        classCount = buffer.getInt(12);
+        if (maxDiscards < 0 || maxDiscards > MAX_DISCARDS || classCount != SuitCanonicalizer.FIVE_CARD_CLASSES) {
+            throw new IOException("Invalid draw odds table header");
+        }
+        for (int k = 0; k <= MAX_DISCARDS; k++) {
+            outcomes[k] = buffer.getInt(16 + k * Integer.BYTES);
+        }
+        slots = slots(maxDiscards);
+        slotCount = slotCount(maxDiscards);
+        dataOffset = HEADER_BYTES + HandPercentileTable.HAND_COUNT * Integer.BYTES;
+        long expectedSize = dataOffset + (long) classCount * slotCount * TYPE_COUNT * Character.BYTES;
+        if (buffer.capacity() != expectedSize) {
+            throw new IOException("Draw odds table has " + buffer.capacity() + " bytes, expected " + expectedSize);
+        }
+        if (buffer.getLong(CHECKSUM_OFFSET) != checksum(buffer)) {
+            throw new IOException("Draw odds table checksum mismatch");
+        }
+    }
+
+    /**
+     * Maps a table file into memory and validates its header and checksum.
+     *
+     * @param file The table file.
+     * @return The table.
+     * @throws IOException if the file cannot be read, has another version or is corrupted.
+     */
+    public static DrawOddsTable open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new DrawOddsTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Gets the probability of finishing the draw with the given hand type.
+     *
+     * @param hand           The five cards of the hand.
+     * @param discardIndices The indices of the exchanged cards.
+     * @param type           The hand type.
+     * @return The probability of the type.
+     * @throws IllegalArgumentException if the hand or the discard is not covered by the table.
+     */
+    public double getProbability(List<Card> hand, List<Integer> discardIndices, HandType type) {
+        int discardMask = 0;
+        for (int index : discardIndices) {
+            if (index < 0 || index >= 5) {
+                throw new IllegalArgumentException("Invalid card index: " + index);
+            }
+            discardMask |= 1 << index;
+        }
+        return getProbability(CardEncoding.toCodes(hand), discardMask, type);
+    }
+
+    /**
+     * Gets the probability of finishing the draw with the given hand type.
+     *
+     * @param codes       The codes of the five cards of the hand.
+     * @param discardMask The bitmask of the indices of the exchanged cards.
+     * @param type        The hand type.
+     * @return The probability of the type.
+     * @throws IllegalArgumentException if the hand or the discard is not covered by the table.
+     */
+    public double getProbability(int[] codes, int discardMask, HandType type) {
+        int discards = Integer.bitCount(discardMask);
+        return (double) buffer.getChar(offset(codes, discardMask) + (type.getValue() - 1) * Character.BYTES)
+                / outcomes[discards];
+    }
+
+    /**
+     * Gets the probability of finishing the draw with the given hand type or better.
+     *
+     * @param codes       The codes of the five cards of the hand.
+     * @param discardMask The bitmask of the indices of the exchanged cards.
+     * @param type        The hand type.
+     * @return The probability of at least that type.
+     * @throws IllegalArgumentException if the hand or the discard is not covered by the table.
+     */
+    public double getProbabilityAtLeast(int[] codes, int discardMask, HandType type) {
+        int offset = offset(codes, discardMask);
+        long count = 0;
+        for (int v = type.getValue(); v <= TYPE_COUNT; v++) {
+            count += buffer.getChar(offset + (v - 1) * Character.BYTES);
+        }
+        return (double) count / outcomes[Integer.bitCount(discardMask)];
+    }
+
+    /**
+     * Gets the largest number of exchanged cards covered by the table.
+     *
+     * @return The largest discard size.
+     */
+    public int getMaxDiscards() {
+        return maxDiscards;
+    }
+
+    /**
+     * Finds the position of the counters of a hand and discard in the mapped file.
+     * The suits are relabeled to the canonical form and the discard mask is translated
+     * to the positions of the discarded cards in the sorted canonical hand.
+     */
+    private int offset(int[] codes, int discardMask) {
+        if (codes.length != 5) {
+            throw new IllegalArgumentException("Hand must have 5 cards");
+        }
+        if (discardMask < 0 || discardMask >= slots.length || slots[discardMask] < 0) {
+            throw new IllegalArgumentException("Discard not covered by the table: " + discardMask);
+        }
+        int[] permutation = SuitCanonicalizer.suitPermutation(SuitCanonicalizer.toMask(codes));
+        long canonical = 0;
+        for (int code : codes) {
+            canonical |= 1L << SuitCanonicalizer.relabelCard(code, permutation);
+        }
+        if (Long.bitCount(canonical) != 5) {
+            throw new IllegalArgumentException("Hand contains duplicate cards");
+        }
+        int canonicalMask = 0;
+        for (int i = 0; i < 5; i++) {
+            if ((discardMask & (1 << i)) != 0) {
+                // Pozycja karty w posortowanej rece kanonicznej
+                long below = canonical & ((1L << SuitCanonicalizer.relabelCard(codes[i], permutation)) - 1);
+                canonicalMask |= 1 << Long.bitCount(below);
+            }
+        }
+        int classIndex = buffer.getInt(HEADER_BYTES + handIndex(canonical) * Integer.BYTES);
+        return dataOffset + ((classIndex * slotCount + slots[canonicalMask]) * TYPE_COUNT) * Character.BYTES;
+    }
+
+    /**
+     * Computes the colex index of a five-card hand, from 0 to 2,598,959.
+     *
+     * @param cardMask The card mask of the hand.
+     * @return The index of the hand.
+     */
+    static int handIndex(long cardMask) {
+        int index = 0;
+        int k = 1;
+        long bits = cardMask;
+        while (bits != 0) {
+            index += BINOMIAL[Long.numberOfTrailingZeros(bits)][k++];
+            bits &= bits - 1;
+        }
+        return index;
+    }
+
+    /**
+     * Maps every discard mask to its slot in the data of a class, or -1 if it has too many discards.
+     */
+    static int[] slots(int maxDiscards) {
+        int[] slots = new int[1 << 5];
+        int slot = 0;
+        for (int mask = 0; mask < slots.length; mask++) {
+            slots[mask] = Integer.bitCount(mask) <= maxDiscards ? slot++ : -1;
+        }
+        return slots;
+    }
+
+    static int slotCount(int maxDiscards) {
+        int count = 0;
+        for (int mask = 0; mask < 1 << 5; mask++) {
+            if (Integer.bitCount(mask) <= maxDiscards) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static long checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        ByteBuffer body = buffer.duplicate();
+        body.position(HEADER_BYTES);
+        crc.update(body);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,176 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Generator of the draw odds file read by {@link DrawOddsTable}.
+ * Every suit-isomorphism class of five-card hands is evaluated once with {@link DiscardAdvisor},
+ * so discards of up to three cards are exact and four-card discards are sampled with a fixed seed.
+ *
+ * The full table (up to four discards) takes a while to build and about 93 MB on disk,
+ * so it is meant to be generated once, e.g. with
+ * {@code java pl.edu.agh.kis.pz1.model.DrawOddsTableGenerator draw-odds.bin}.
+ */
+public final class DrawOddsTableGenerator {
+    /** Largest sample size whose counters still fit the unsigned 16-bit cells of the table. */
+    public static final int MAX_SAMPLE_SIZE = Character.MAX_VALUE;
+
+    private final DiscardAdvisor advisor = new DiscardAdvisor();
+    private final int maxDiscards;
+    private final int sampleSize;
+
+    /**
+     * Constructs a generator.
+     *
+     * @param maxDiscards The largest number of exchanged cards covered by the table, from 0 to 4.
+     * @param sampleSize  The number of sampled draws for four-card discards.
+     * @param seed        The seed of the sampled draws.
+     * @throws IllegalArgumentException if the parameters are out of range.
+     */
+    public DrawOddsTableGenerator(int maxDiscards, int sampleSize, long seed) {
+        if (sampleSize < 1 || sampleSize > MAX_SAMPLE_SIZE) {
+            throw new IllegalArgumentException("Sample size must be between 1 and " + MAX_SAMPLE_SIZE);
+        }
+        advisor.setMaxDiscards(maxDiscards);
+        advisor.setSampleSize(sampleSize);
+        advisor.setSeed(seed);
+        this.maxDiscards = maxDiscards;
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Generates the table and writes it to a file, replacing the file if it exists.
+     *
+     * @param file The target file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path file) throws IOException {
+        int[] index = new int[HandPercentileTable.HAND_COUNT];
+        Arrays.fill(index, -1);
+        long[] classes = new long[SuitCanonicalizer.FIVE_CARD_CLASSES];
+        int classCount = 0;
+        for (long hand : allHands()) {
+            if (SuitCanonicalizer.isCanonical(hand)) {
+                index[DrawOddsTable.handIndex(hand)] = classCount;
+                classes[classCount++] = hand;
+            }
+        }
+
+        int[] slots = DrawOddsTable.slots(maxDiscards);
+        int slotCount = DrawOddsTable.slotCount(maxDiscards);
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(DrawOddsTable.HEADER_BYTES);
+            ByteBuffer indexBuffer = ByteBuffer.allocate(index.length * Integer.BYTES);
+            indexBuffer.asIntBuffer().put(index);
+            write(channel, crc, indexBuffer);
+
+            ByteBuffer classBuffer = ByteBuffer.allocate(slotCount * DrawOddsTable.TYPE_COUNT * Character.BYTES);
+            List<Card> dead = Collections.emptyList();
+            for (int c = 0; c < classCount; c++) {
+                for (DiscardOption option : advisor.advise(toCards(classes[c]), dead)) {
+                    int position = slots[option.getDiscardMask()] * DrawOddsTable.TYPE_COUNT * Character.BYTES;
+                    for (HandType type : HandType.values()) {
+                        classBuffer.putChar(position + (type.getValue() - 1) * Character.BYTES,
+                                (char) option.getCount(type));
+                    }
+                }
+                write(channel, crc, classBuffer);
+                classBuffer.clear();
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(DrawOddsTable.HEADER_BYTES);
+            header.putInt(DrawOddsTable.MAGIC).putInt(DrawOddsTable.VERSION).putInt(maxDiscards).putInt(classCount);
+            for (int k = 0; k <= DrawOddsTable.MAX_DISCARDS; k++) {
+                header.putInt(draws(k));
+            }
+            header.putInt(0).putLong(crc.getValue());
+            header.flip();
+            channel.position(0);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        }
+    }
+
+    /**
+     * Generates the table file given as the first argument. Optional further arguments are
+     * the largest number of discards (default 4) and the sample size (default 20000).
+     *
+     * @param args The command line arguments.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("USAGE: DrawOddsTableGenerator <file> [maxDiscards] [sampleSize]");
+            return;
+        }
+        int maxDiscards = args.length > 1 ? Integer.parseInt(args[1]) : DrawOddsTable.MAX_DISCARDS;
+        int sampleSize = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+        long start = System.nanoTime();
+        new DrawOddsTableGenerator(maxDiscards, sampleSize, 1L).write(Paths.get(args[0]));
+        System.out.println("DRAW ODDS TABLE WRITTEN IN " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Gets the number of draws behind the counters of a discard size.
+     */
+    private int draws(int discards) {
+        if (discards > maxDiscards) {
+            return 0;
+        }
+        if (discards == DrawOddsTable.MAX_DISCARDS) {
+            return sampleSize;
+        }
+        int unseen = CardEncoding.DECK_SIZE - 5;
+        long draws = 1;
+        for (int i = 0; i < discards; i++) {
+            draws = draws * (unseen - i) / (i + 1);
+        }
+        return (int) draws;
+    }
+
+    private static void write(FileChannel channel, CRC32 crc, ByteBuffer buffer) throws IOException {
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static long[] allHands() {
+        long[] hands = new long[HandPercentileTable.HAND_COUNT];
+        int n = 0;
+        int size = CardEncoding.DECK_SIZE;
+        for (int a = 0; a < size; a++) {
+            for (int b = a + 1; b < size; b++) {
+                for (int c = b + 1; c < size; c++) {
+                    for (int d = c + 1; d < size; d++) {
+                        for (int e = d + 1; e < size; e++) {
+                            hands[n++] = (1L << a) | (1L << b) | (1L << c) | (1L << d) | (1L << e);
+                        }
+                    }
+                }
+            }
+        }
+        return hands;
+    }
+
+    private static List<Card> toCards(long cardMask) {
+        int[] codes = new int[5];
+        int n = 0;
+        for (long bits = cardMask; bits != 0; bits &= bits - 1) {
+            codes[n++] = Long.numberOfTrailingZeros(bits);
+        }
+        return CardEncoding.toCards(codes);
+    }
+}
@@ -0,0 +1,302 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo equity calculator for five-card draw hands.
+ * Each trial deals random hands to the opponents from the unseen cards, optionally plays the draw
+ * (the player discards the given cards, opponents follow a simple keep-the-made-hand rule) and compares
+ * the final hands with {@link HandEvaluator}.
+ *
+ * Trials are cut into a fixed number of tasks run on the cores of a fork/join pool. Every task gets its own
+ * {@link SplittableRandom} stream split from one root generator and its own copy of the unseen cards, so tasks
+ * share no mutable state, and the split of the trials does not depend on the parallelism of the pool.
+ * The calculation stops after the trial budget is used up or the time budget runs out, whichever comes first.
+ */
+public class EquityCalculator {
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+    private static final int MAX_DISCARDS = 4;
+    private static final int TASK_COUNT = 64; // stala liczba zadan - wynik z ziarnem nie zalezy od puli watkow
+
+    private final ForkJoinPool pool;
+    private int trialBudget = 20_000;
+    private long timeBudgetMillis = 40;
+    private Long seed;
+
+    /**
+     * Constructs a calculator running on the common fork/join pool.
+     */
+    public EquityCalculator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a calculator running on the given fork/join pool.
+     *
+     * @param pool The pool the trials are run on.
+     */
+    public EquityCalculator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Calculates the equity of a hand against unknown opponents.
+     * All cards other than the hand and the dead cards are treated as unseen.
+     *
+     * @param hand           The five cards of the player.
+     * @param discardIndices The indices of the cards the player exchanges in the draw,
+     *                       or null if there is no draw left (e.g. in the second betting round).
+     * @param opponents      The number of opponents still in the hand.
+     * @param deadCards      Cards known not to be in the deck or in the opponents' hands (may be empty).
+     * @return The estimated equity.
+     * @throws IllegalArgumentException if the arguments are invalid or there are not enough unseen cards.
+     */
+    public EquityResult calculate(List<Card> hand, List<Integer> discardIndices, int opponents, Collection<Card> deadCards) {
+        long used = 0;
+        for (Card card : hand) {
+            used |= 1L << card.getCode();
+        }
+        for (Card card : deadCards) {
+            used |= 1L << card.getCode();
+        }
+        List<Card> unseen = new ArrayList<>();
+        for (int code = 0; code < CardEncoding.DECK_SIZE; code++) {
+            if ((used & (1L << code)) == 0) {
+                unseen.add(Card.fromCode(code));
+            }
+        }
+        return calculate(hand, discardIndices, opponents, unseen);
+    }
+
+    /**
+     * Calculates the equity of a hand against unknown opponents whose cards come from the remaining deck.
+     *
+     * @param hand           The five cards of the player.
+     * @param discardIndices The indices of the cards the player exchanges in the draw, or null if there is no draw left.
+     * @param opponents      The number of opponents still in the hand.
+     * @param remaining      The deck holding the cards the opponents and the draws are dealt from.
+     * @return The estimated equity.
+     * @throws IllegalArgumentException if the arguments are invalid or there are not enough cards in the deck.
+     */
+    public EquityResult calculate(List<Card> hand, List<Integer> discardIndices, int opponents, Deck remaining) {
+        return calculate(hand, discardIndices, opponents, remaining.getDeck());
+    }
+
+    private EquityResult calculate(List<Card> hand, List<Integer> discardIndices, int opponents, List<Card> unseen) {
+        if (hand.size() != 5) {
+            throw new IllegalArgumentException("Hand must have 5 cards");
+        }
+        if (opponents < 1) {
+            throw new IllegalArgumentException("At least one opponent is required");
+        }
+        boolean draw = discardIndices != null;
+        int heroDiscards = 0;
+        if (draw) {
+            if (discardIndices.size() > MAX_DISCARDS) {
+                throw new IllegalArgumentException("Cannot exchange more than 4 cards");
+            }
+            for (int index : discardIndices) {
+                if (index < 0 || index >= 5) {
+                    throw new IllegalArgumentException("Invalid card index: " + index);
+                }
+                heroDiscards |= 1 << index;
+            }
+        }
+        int needed = opponents * 5 + (draw ? MAX_DISCARDS * (opponents + 1) : 0);
+        if (needed > unseen.size()) {
+            throw new IllegalArgumentException("Not enough cards for " + opponents + " opponents");
+        }
+
+        int[] heroCodes = CardEncoding.toCodes(hand);
+        int[] unseenCodes = CardEncoding.toCodes(unseen);
+        int tasks = TASK_COUNT;
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        SplittableRandom root = seed == null ? new SplittableRandom() : new SplittableRandom(seed);
+
+        List<TrialTask> work = new ArrayList<>(tasks);
+        for (int t = 0; t < tasks; t++) {
+            int trials = trialBudget / tasks + (t < trialBudget % tasks ? 1 : 0);
+            work.add(new TrialTask(heroCodes, heroDiscards, draw, opponents, unseenCodes.clone(), trials, deadline, root.split()));
+        }
+        return pool.invoke(new RecursiveTask<EquityResult>() {
+            @Override
+            protected EquityResult compute() {
+                EquityResult result = new EquityResult(0, 0, 0, 0, 0);
+                for (TrialTask task : invokeAll(work)) {
+                    result = result.merge(task.join());
+                }
+                return result;
+            }
+        });
+    }
+
+    /**
+     * Returns the cards an opponent exchanges in the simulated draw, as a bitmask of indices.
+     * Made hands of a straight or better are kept, otherwise all cards not paired with another card are exchanged,
+     * and with no pair the highest card is kept.
+     *
+     * @param hand The codes of the opponent's five cards.
+     * @return The bitmask of indices to exchange.
+     */
+    static int opponentDiscards(int[] hand) {
+        int strength = HandEvaluator.getInstance().evaluate(hand);
+        if (HandEvaluator.getType(strength).getValue() >= HandType.Straight.getValue()) {
+            return 0;
+        }
+        int discards = 0;
+        int highest = 0;
+        for (int i = 0; i < 5; i++) {
+            int rank = CardEncoding.rankIndex(hand[i]);
+            boolean paired = false;
+            for (int j = 0; j < 5; j++) {
+                if (j != i && CardEncoding.rankIndex(hand[j]) == rank) {
+                    paired = true;
+                }
+            }
+            if (!paired) {
+                discards |= 1 << i;
+            }
+            if (rank > CardEncoding.rankIndex(hand[highest])) {
+                highest = i;
+            }
+        }
+        if (Integer.bitCount(discards) == 5) {
+            discards &= ~(1 << highest);
+        }
+        return discards;
+    }
+
+    /**
+     * Task running a share of the trials with its own random stream and its own copy of the unseen cards.
+     */
+    private static final class TrialTask extends RecursiveTask<EquityResult> {
+        private final int[] heroCodes;
+        private final int heroDiscards;
+        private final boolean draw;
+        private final int opponents;
+        private final int[] unseen;
+        private final int trials;
+        private final long deadline;
+        private final SplittableRandom random;
+        private int next;
+
+        TrialTask(int[] heroCodes, int heroDiscards, boolean draw, int opponents, int[] unseen,
+                  int trials, long deadline, SplittableRandom random) {
+            this.heroCodes = heroCodes;
+            this.heroDiscards = heroDiscards;
+            this.draw = draw;
+            this.opponents = opponents;
+            this.unseen = unseen;
+            this.trials = trials;
+            this.deadline = deadline;
+            this.random = random;
+        }
+
+        @Override
+        protected EquityResult compute() {
+            HandEvaluator evaluator = HandEvaluator.getInstance();
+            int[] hero = new int[5];
+            int[] opponent = new int[5];
+            long done = 0;
+            long wins = 0;
+            long ties = 0;
+            double sum = 0;
+            double squares = 0;
+
+            for (int trial = 0; trial < trials; trial++) {
+                if (trial % DEADLINE_CHECK_INTERVAL == 0 && trial > 0 && System.nanoTime() > deadline) {
+                    break;
+                }
+                next = 0;
+                System.arraycopy(heroCodes, 0, hero, 0, 5);
+                if (draw) {
+                    replace(hero, heroDiscards);
+                }
+                int best = evaluator.evaluate(hero);
+                boolean heroBest = true;
+                int tied = 1;
+
+                for (int o = 0; o < opponents; o++) {
+                    for (int i = 0; i < 5; i++) {
+                        opponent[i] = dealCard();
+                    }
+                    if (draw) {
+                        replace(opponent, opponentDiscards(opponent));
+                    }
+                    int strength = evaluator.evaluate(opponent);
+                    if (strength > best) {
+                        best = strength;
+                        heroBest = false;
+                        tied = 1;
+                    } else if (strength == best) {
+                        tied++;
+                    }
+                }
+
+                double share = heroBest ? 1.0 / tied : 0;
+                if (heroBest && tied == 1) {
+                    wins++;
+                } else if (heroBest) {
+                    ties++;
+                }
+                sum += share;
+                squares += share * share;
+                done++;
+            }
+            return new EquityResult(done, wins, ties, sum, squares);
+        }
+
+        private void replace(int[] hand, int discards) {
+            for (int i = 0; i < 5; i++) {
+                if ((discards & (1 << i)) != 0) {
+                    hand[i] = dealCard();
+                }
+            }
+        }
+
+        /**
+         * Deals the next card with one step of a partial Fisher-Yates shuffle of the unseen cards.
+         */
+        private int dealCard() {
+            int j = next + random.nextInt(unseen.length - next);
+            int card = unseen[j];
+            unseen[j] = unseen[next];
+            unseen[next++] = card;
+            return card;
+        }
+    }
+
+    // gettery, settery :
+
+    public int getTrialBudget() {
+        return trialBudget;
+    }
+
+    public void setTrialBudget(int trialBudget) {
+        this.trialBudget = trialBudget;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Sets the seed of the root random generator, making the results reproducible for the same trial budget,
+     * whatever the parallelism of the pool, as long as the time budget does not cut the calculation short.
+     * Null means a fresh random seed for every calculation.
+     *
+     * @param seed The seed, or null.
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
@@ -0,0 +1,122 @@
+package pl.edu.agh.kis.pz1.model;
+
+/**
+ * Immutable result of a Monte Carlo equity calculation.
+ * Equity is the expected share of the pot: 1 for a win, 1/k for a k-way tie and 0 for a loss, averaged over trials.
+ */
+public class EquityResult {
+    private static final double Z_95 = 1.96;
+
+    private final long trials;
+    private final long wins;
+    private final long ties;
+    private final double equitySum;
+    private final double equitySquaresSum;
+
+    /**
+     * Constructs the result from the counters of the simulation.
+     *
+     * @param trials           The number of simulated deals.
+     * @param wins             The number of deals won outright.
+     * @param ties             The number of deals with a shared best hand.
+     * @param equitySum        The sum of the per-deal pot shares.
+     * @param equitySquaresSum The sum of the squares of the per-deal pot shares.
+     */
+    public EquityResult(long trials, long wins, long ties, double equitySum, double equitySquaresSum) {
+        this.trials = trials;
+        this.wins = wins;
+        this.ties = ties;
+        this.equitySum = equitySum;
+        this.equitySquaresSum = equitySquaresSum;
+    }
+
+    /**
+     * Combines this result with another one, as if all trials were run together.
+     *
+     * @param other The other result.
+     * @return The combined result.
+     */
+    public EquityResult merge(EquityResult other) {
+        return new EquityResult(trials + other.trials, wins + other.wins, ties + other.ties,
+                equitySum + other.equitySum, equitySquaresSum + other.equitySquaresSum);
+    }
+
+    /**
+     * Gets the number of simulated deals.
+     *
+     * @return The number of trials.
+     */
+    public long getTrials() {
+        return trials;
+    }
+
+    /**
+     * Gets the probability of winning the whole pot.
+     *
+     * @return The win probability.
+     */
+    public double getWinProbability() {
+        return trials == 0 ? 0 : (double) wins / trials;
+    }
+
+    /**
+     * Gets the probability of sharing the best hand with other players.
+     *
+     * @return The tie probability.
+     */
+    public double getTieProbability() {
+        return trials == 0 ? 0 : (double) ties / trials;
+    }
+
+    /**
+     * Gets the estimated equity (expected share of the pot).
+     *
+     * @return The equity, between 0 and 1.
+     */
+    public double getEquity() {
+        return trials == 0 ? 0 : equitySum / trials;
+    }
+
+    /**
+     * Gets the half-width of the 95% confidence interval of the equity.
+     *
+     * @return The margin of error.
+     */
+    public double getMarginOfError() {
+        if (trials < 2) {
+            return 1;
+        }
+        double mean = getEquity();
+        double variance = Math.max(0, (equitySquaresSum - trials * mean * mean) / (trials - 1));
+        return Z_95 * Math.sqrt(variance / trials);
+    }
+
+    /**
+     * Gets the lower bound of the 95% confidence interval of the equity.
+     *
+     * @return The lower bound.
+     */
+    public double getLowerBound() {
+        return Math.max(0, getEquity() - getMarginOfError());
+    }
+
+    /**
+     * Gets the upper bound of the 95% confidence interval of the equity.
+     *
+     * @return The upper bound.
+     */
+    public double getUpperBound() {
+        return Math.min(1, getEquity() + getMarginOfError());
+    }
+
+    /**
+     * Returns a string representation of the result.
+     *
+     * @return The equity with its confidence interval and the number of trials.
+     */
+    @Override
+    public String toString() {
+        return String.format("EQUITY: %.4f [%.4f, %.4f], WIN: %.4f, TIE: %.4f, TRIALS: %d",
+                getEquity(), getLowerBound(), getUpperBound(), getWinProbability(), getTieProbability(), trials);
+    }
+}
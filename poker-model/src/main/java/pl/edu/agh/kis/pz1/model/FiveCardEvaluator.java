@@ -0,0 +1,44 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.List;
+
+/**
+ * Evaluator mapping five-card hands to int strengths, where a larger value means a stronger hand.
+ * Implementations return the packed keys described in {@link HandEvaluator}, so strengths from
+ * different implementations can be compared with each other and with HandRank keys.
+ */
+public interface FiveCardEvaluator {
+
+    /**
+     * Evaluates a five-card hand given as card codes (see {@link CardEncoding}).
+     *
+     * @param c0 The code of the first card.
+     * @param c1 The code of the second card.
+     * @param c2 The code of the third card.
+     * @param c3 The code of the fourth card.
+     * @param c4 The code of the fifth card.
+     * @return The strength of the hand, larger is stronger.
+     */
+    int evaluate(int c0, int c1, int c2, int c3, int c4);
+
+    /**
+     * Evaluates a five-card hand given as an array of card codes.
+     *
+     * @param codes The codes of the cards, exactly five of them.
+     * @return The strength of the hand, larger is stronger.
+     */
+    default int evaluate(int[] codes) {
+        return evaluate(codes[0], codes[1], codes[2], codes[3], codes[4]);
+    }
+
+    /**
+     * Evaluates a five-card hand. The list is not modified.
+     *
+     * @param hand The cards of the hand, exactly five of them.
+     * @return The strength of the hand, larger is stronger.
+     */
+    default int evaluate(List<Card> hand) {
+        return evaluate(hand.get(0).getCode(), hand.get(1).getCode(), hand.get(2).getCode(),
+                hand.get(3).getCode(), hand.get(4).getCode());
+    }
+}
@@ -1,8 +1,11 @@
 package pl.edu.agh.kis.pz1.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -12,7 +15,17 @@ import java.util.Objects;
  */
 public class Game extends GameAbstract{
     private List<Player> players;
+    private final Map<String, Integer> seats = new HashMap<>(); // id gracza -> indeks miejsca w players
+    // Zbiory miejsc jako maski bitowe (SeatRing): nie spasowani, all-in, oczekujacy na ruch w rundzie
+    private int activeSeats;
+    private int allInSeats;
+    private int pendingSeats;
     private Deck deck;
+    private DeckPool deckPool; // opcjonalna pula przetasowanych talii
+    private DealLog dealLog;
+    private HandRecord.Builder handRecord;
+    private GameEventLog eventLog; // opcjonalny dziennik zdarzen gry (event sourcing)
+    private long handNumber = 0;
     private GameState gameState;
     private int currentPlayerIndex;
     private HandCompare handCompare;
@@ -27,8 +40,13 @@ public class Game extends GameAbstract{
     private int smallBlindAmount = 20;
     private int bigBlindAmount = 40;
     private int pot = 0;
+    private final PotManager pots = new PotManager(); // wklady miejsc w rozdaniu, dzielone na pule boczne
+    private final int[] strengths = new int[SeatRing.MAX_SEATS]; // sila rak przy porownaniu, wg miejsc
     private int currentBet = 0; // aktualna stawka do sprawdzenia
     private int playersRemaining; // ile graczy nie spasowało
+    // Niezmienny widok stanu dla watkow czytajacych, podmieniany po kazdej zmianie stanu
+    private volatile GameView view;
+    private long viewVersion;
 
 
     /**
@@ -46,6 +64,7 @@ public class Game extends GameAbstract{
         this.gameState = GameState.WAITING_FOR_PLAYERS;
         this.currentPlayerIndex = 0;
         this.handCompare = new HandCompare();
+        publishView();
     }
 
 
@@ -65,12 +84,16 @@ public class Game extends GameAbstract{
         if (players.size() >= maxPlayers) {
             throw new IllegalStateException("Max players reached");
         }
-        for (Player player : players) {
-            if (Objects.equals(player.getPlayerId(), newPlayer.getPlayerId())) {
-                throw new IllegalStateException("ERROR: Player with that ID is already in this game");
-            }
+        if (getSeat(newPlayer.getPlayerId()) >= 0) {
+            throw new IllegalStateException("ERROR: Player with that ID is already in this game");
         }
         players.add(newPlayer);
+        seats.put(newPlayer.getPlayerId(), players.size() - 1);
+        updateSeat(players.size() - 1);
+        publishView();
+        if (eventLog != null) {
+            logEvent(GameEvent.playerJoined(newPlayer.getPlayerId(), newPlayer.getStack()));
+        }
     }
 
     /**
@@ -80,9 +103,21 @@ public class Game extends GameAbstract{
      * @param playerId The ID of the player to remove from the game.
      */
     public void removePlayer(String playerId) {
-        players.removeIf(p -> Objects.equals(p.getPlayerId(), playerId));
+        int seat = getSeat(playerId);
+        if (seat >= 0) {
+            pots.removeSeat(seat, players.size());
+            int below = SeatRing.bit(seat) - 1;
+            pendingSeats = pendingSeats & below | (pendingSeats >>> 1) & ~below;
+            players.remove(seat);
+            // Gracze za usunietym przesuwaja sie o jedno miejsce
+            reindexSeats();
+        }
         if (players.isEmpty()) {
-            resetGame();
+            resetGameState();
+        }
+        publishView();
+        if (eventLog != null) {
+            logEvent(GameEvent.playerLeft(playerId));
         }
     }
 
@@ -101,8 +136,9 @@ public class Game extends GameAbstract{
             throw new IllegalStateException("ERROR: NO PLAYER WITH ID : " + playerId + " IN THIS GAME");
         }
         p.setReady(true);
+        stateChanged(GameEventType.PLAYER_READY, getSeat(playerId), 0);
         if (canStartGame()) {
-            startGameCycle();
+            startHand();
         }
     }
 
@@ -140,17 +176,30 @@ public class Game extends GameAbstract{
      * Starts the game cycle, initializing the necessary steps for a new round of the game.
      * This includes setting up the dealer, small blind, and big blind players, resetting the game state,
      * and starting the initial stages of the round: posting blinds, dealing cards, and starting the first betting round.
+     * If the game has a deck pool, the hand is dealt from a new deck taken from the pool.
      */
     public void startGameCycle() {
+        startHand();
+    }
+
+    private void startHand() {
         started = true;
+        if (deckPool != null) {
+            deck = deckPool.take();
+        }
+        finishHandRecord(false);
 
         dealerIndex = dealerIndex % players.size();
         smallBlindIndex = (dealerIndex + 1) % players.size();
         bigBlindIndex = (dealerIndex + 2) % players.size();
 
         pot = 0;
+        pots.reset();
         currentBet = 0;
         resetPlayersForNewRound();
+        startHandRecord();
+        int handDealer = dealerIndex;
+        int[] handDeck = eventLog != null ? deck.getCardCodes() : null;
 
         gameState = GameState.POST_BLINDS;
         postBlinds();
@@ -160,6 +209,10 @@ public class Game extends GameAbstract{
 
         gameState = GameState.FIRST_BETTING_ROUND;
         startBettingRound();
+        publishView();
+        if (eventLog != null) {
+            logEvent(GameEvent.handStarted(handDealer, handDeck));
+        }
     }
 
 
@@ -180,13 +233,12 @@ public class Game extends GameAbstract{
      * Posts the blinds for the game, deducting the small blind and big blind amounts from the respective players' stacks.
      */
     private void postBlinds() {
-        Player sb = players.get(smallBlindIndex);
-        Player bb = players.get(bigBlindIndex);
-
-        postBet(sb, smallBlindAmount);
-        postBet(bb, bigBlindAmount);
+        postBet(smallBlindIndex, smallBlindAmount);
+        postBet(bigBlindIndex, bigBlindAmount);
 
         currentBet = bigBlindAmount;
+        syncSeatMasks();
+        pendingSeats = activeSeats & ~allInSeats; // kazdy, lacznie z big blindem, musi zagrac
     }
 
     /**
@@ -198,8 +250,7 @@ public class Game extends GameAbstract{
     public String getInfoBlinds(){
         Player sb = players.get(smallBlindIndex);
         Player bb = players.get(bigBlindIndex);
-        return "Small blind: " + sb.getPlayerId() + ", Big blind: " + bb.getPlayerId()
-                + ". 20$ and 40$ have been placed";
+        return GameView.infoBlinds(sb.getPlayerId(), bb.getPlayerId());
     }
 
     /**
@@ -207,25 +258,26 @@ public class Game extends GameAbstract{
      * The player's stack is reduced by the bet amount, and the bet is added to the pot.
      * If the player doesn't have enough chips, the bet is adjusted to their available stack.
      *
-     * @param p The player placing the bet.
+     * @param seat The seat index of the player placing the bet.
      * @param amount The amount of the bet.
      */
-    private void postBet(Player p, int amount) {
+    private void postBet(int seat, int amount) {
+        Player p = players.get(seat);
         if (p.getStack() < amount) {
             amount = p.getStack();
         }
         p.placeBet(amount);
         p.setCurrentBetInThisRound(amount);
         pot += amount;
+        pots.contribute(seat, amount);
     }
 
     /**
-     * Deals 5 cards to each player by drawing from a shuffled deck.
-     * The deck is shuffled before cards are dealt to ensure randomness.
+     * Deals 5 cards to each player by drawing random cards from the deck.
+     * Each draw picks a uniformly random remaining card, so the deck does not need shuffling first.
      * Each player receives 5 cards, which are assigned to their hand.
      */
     public void dealCards() {
-        deck.shuffle();
         for (Player p : players) {
             Hand hand = new Hand();
             for (int i = 0; i < 5; i++) {
@@ -263,12 +315,13 @@ public class Game extends GameAbstract{
 
     /**
      * Starts a new round of betting by setting the current player to the next in the sequence,
-     * skipping players who have folded.
+     * skipping players who have folded or are all-in.
      */
     private void startBettingRound() {
-        do {
-            currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-        } while (players.get(currentPlayerIndex).isFolded());
+        int next = SeatRing.next(pendingSeats, currentPlayerIndex, players.size());
+        if (next >= 0) {
+            currentPlayerIndex = next;
+        }
     }
 
     /**
@@ -279,24 +332,45 @@ public class Game extends GameAbstract{
      * @param playerId The ID of the player who wishes to fold.
      */
     public void playerFold(String playerId) {
-        Player p = getPlayerById(playerId);
-        if (p.isFolded()) {
-            throw new IllegalStateException("Player already folded");
-        }
+        playerFold(requireSeat(playerId));
+    }
+
+    /**
+     * Allows the player in the given seat to fold, see {@link #playerFold(String)}.
+     *
+     * @param seat The seat index of the player who wishes to fold.
+     * @throws IllegalStateException if it is not this player's turn or no betting round is in progress.
+     */
+    public void playerFold(int seat) {
+        validatePlayerAction(seat, DealAction.FOLD, 0);
+        Player p = players.get(seat);
         p.setFolded(true);
         playersRemaining--;
+        acted(seat);
 
         if (playersRemaining == 1) {
             gameState = GameState.GAME_OVER;
         } else {
             goToNextPlayerBetting();
         }
+        recordAction(DealAction.FOLD, seat, 0);
+        stateChanged(GameEventType.FOLD, seat, 0);
     }
 
 
     public void playerCall(String playerId) {
-        validatePlayerAction(playerId);
-        Player p = getPlayerById(playerId);
+        playerCall(requireSeat(playerId));
+    }
+
+    /**
+     * Lets the player in the given seat call the current bet, or go all-in if the stack is smaller.
+     *
+     * @param seat The seat index of the player.
+     * @throws IllegalStateException if it is not this player's turn or no betting round is in progress.
+     */
+    public void playerCall(int seat) {
+        validatePlayerAction(seat, DealAction.CALL, 0);
+        Player p = players.get(seat);
         int toCall = currentBet - p.getCurrentBetInThisRound();
         if (toCall > p.getStack()) {
             toCall = p.getStack();
@@ -304,90 +378,193 @@ public class Game extends GameAbstract{
         p.placeBet(toCall);
         p.setCurrentBetInThisRound(p.getCurrentBetInThisRound() + toCall);
         pot += toCall;
+        pots.contribute(seat, toCall);
+        acted(seat);
         goToNextPlayerBetting();
+        recordAction(DealAction.CALL, seat, 0);
+        stateChanged(GameEventType.CALL, seat, 0);
     }
 
 
     public void playerCheck(String playerId) {
-        validatePlayerAction(playerId);
-        Player p = getPlayerById(playerId);
-        if (p.getCurrentBetInThisRound() < currentBet) {
-            throw new IllegalStateException("Cannot check, must call or fold.");  // nie mozna dac check jak w obecnej rundzie istneieje jzu stawka
-        }
+        playerCheck(requireSeat(playerId));
+    }
+
+    /**
+     * Lets the player in the given seat check.
+     *
+     * @param seat The seat index of the player.
+     * @throws IllegalStateException if it is not this player's turn, no betting round is in progress
+     *                               or the player has a bet to call.
+     */
+    public void playerCheck(int seat) {
+        validatePlayerAction(seat, DealAction.CHECK, 0);
+        acted(seat);
         goToNextPlayerBetting();
+        recordAction(DealAction.CHECK, seat, 0);
+        stateChanged(GameEventType.CHECK, seat, 0);
     }
 
 
     public void playerRaise(String playerId, int amount) {
-        validatePlayerAction(playerId);
-        Player p = getPlayerById(playerId);
+        playerRaise(requireSeat(playerId), amount);
+    }
+
+    /**
+     * Lets the player in the given seat call the current bet and raise it by the given amount.
+     *
+     * @param seat   The seat index of the player.
+     * @param amount The amount added to the current bet.
+     * @throws IllegalStateException if it is not this player's turn, no betting round is in progress
+     *                               or the player does not have enough chips.
+     */
+    public void playerRaise(int seat, int amount) {
+        validatePlayerAction(seat, DealAction.RAISE, amount);
+        Player p = players.get(seat);
         int toCall = currentBet - p.getCurrentBetInThisRound() + amount;
-        if (toCall > p.getStack()) {
-            throw new IllegalStateException("Not enough chips to raise by " + amount);
-        }
         p.placeBet(toCall);
         p.setCurrentBetInThisRound(p.getCurrentBetInThisRound() + toCall);
         pot += toCall;
+        pots.contribute(seat, toCall);
+        int previousBet = currentBet;
         currentBet = p.getCurrentBetInThisRound();
+        if (currentBet > previousBet) {
+            // Podbicie: wszyscy pozostali, ktorzy moga grac, musza ponownie odpowiedziec
+            pendingSeats = activeSeats & ~allInSeats;
+        }
+        acted(seat);
         goToNextPlayerBetting();
+        recordAction(DealAction.RAISE, seat, amount);
+        stateChanged(GameEventType.RAISE, seat, amount);
     }
 
     private void goToNextPlayerBetting() {
-        int startIndex = currentPlayerIndex;
-        do {
-            currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-            Player p = players.get(currentPlayerIndex);
-
-            if (!p.isFolded() && p.getStack() > 0) {
-                break; // Znaleziono odpowiedniego gracza
-            }
-        } while (currentPlayerIndex != startIndex);
+        // Nastepny gracz, ktory nie spasowal i ma jeszcze zetony
+        int next = SeatRing.next(activeSeats & ~allInSeats, currentPlayerIndex, players.size());
+        if (next >= 0) {
+            currentPlayerIndex = next;
+        }
 
         if (bettingRoundFinished()) {
             finishBettingRound();
         }
     }
 
-    private void validatePlayerAction(String playerId) {
-        if (!players.get(currentPlayerIndex).getPlayerId().equals(playerId)) {
-            throw new IllegalStateException("It's not this player's turn.");
+    private void validatePlayerAction(int seat, DealAction action, int amount) {
+        String error = getActionError(seat, action, amount);
+        if (error != null) {
+            throw new IllegalStateException(error);
+        }
+    }
+
+    /**
+     * Gets the actions the player in a seat can take now, as a {@link LegalActions} bitmask.
+     * Only the current player has actions: in a betting round fold, call when there is a bet to call
+     * or check when there is not, and raise when the stack covers the call and {@link LegalActions#MIN_RAISE};
+     * in the exchange phase the exchange, unless the player has folded.
+     *
+     * @param seat The seat index.
+     * @return The legal actions, 0 if the player cannot act.
+     */
+    public int getLegalActions(int seat) {
+        if (seat != currentPlayerIndex || seat < 0 || seat >= players.size()) {
+            return 0;
+        }
+        if (gameState == GameState.EXCHANGE_PHASE) {
+            return SeatRing.contains(activeSeats, seat) ? LegalActions.EXCHANGE : 0;
         }
         if (gameState != GameState.FIRST_BETTING_ROUND && gameState != GameState.SECOND_BETTING_ROUND) {
-            throw new IllegalStateException("Action not allowed in the current game state.");
+            return 0;
         }
+        Player p = players.get(seat);
+        if (p.isFolded()) {
+            return 0;
+        }
+        int legal = LegalActions.FOLD;
+        legal |= p.getCurrentBetInThisRound() < currentBet ? LegalActions.CALL : LegalActions.CHECK;
+        if (getMaxRaise(seat) >= LegalActions.MIN_RAISE) {
+            legal |= LegalActions.RAISE;
+        }
+        return legal;
     }
 
-    private boolean bettingRoundFinished() {
-        if (playersRemaining == 1) return true;
+    /**
+     * Gets the largest amount the player in a seat can raise the current bet by: the stack left after the call.
+     *
+     * @param seat The seat index.
+     * @return The largest raise, 0 or less if the player cannot raise.
+     * @throws IndexOutOfBoundsException if there is no such seat.
+     */
+    public int getMaxRaise(int seat) {
+        Player p = players.get(seat);
+        return p.getStack() - Math.max(0, currentBet - p.getCurrentBetInThisRound());
+    }
 
-        if (currentBet == 0) {
-            return false;
+    /**
+     * Checks an action of the player in a seat against the legal actions, without changing the game.
+     *
+     * @param seat   The seat index.
+     * @param action The action: FOLD, CHECK, CALL, RAISE or EXCHANGE.
+     * @param amount The amount of a raise, ignored for the other actions.
+     * @return The reason why the action is not allowed now, null if it is legal.
+     */
+    public String getActionError(int seat, DealAction action, int amount) {
+        int legal = getLegalActions(seat);
+        if (LegalActions.contains(legal, action)
+                && (action != DealAction.RAISE || amount >= LegalActions.MIN_RAISE && amount <= getMaxRaise(seat))) {
+            return null;
         }
-
-        for (Player p : players) {
-            if (!p.isFolded() && p.getCurrentBetInThisRound() < currentBet) {
-                return false;
-            }
+        if (seat != currentPlayerIndex || seat < 0) {
+            return "It's not this player's turn.";
         }
-        return true;
+        // Akcja z innej fazy niz obecna: wymiana w licytacji albo zaklad w fazie wymiany
+        if (legal == 0 || LegalActions.contains(legal, DealAction.EXCHANGE) != (action == DealAction.EXCHANGE)) {
+            return "Action not allowed in the current game state.";
+        }
+        if (action == DealAction.CALL) {
+            return "Nothing to call, check instead.";
+        }
+        if (action == DealAction.CHECK) {
+            return "Cannot check, must call or fold."; // nie mozna dac check jak w obecnej rundzie istnieje juz stawka
+        }
+        if (action == DealAction.RAISE) {
+            return amount < LegalActions.MIN_RAISE
+                    ? "Raise must be at least " + LegalActions.MIN_RAISE
+                    : "Not enough chips to raise by " + amount;
+        }
+        return "Action not allowed: " + action;
+    }
+
+    /**
+     * Checks a betting action of a player, see {@link #getActionError(int, DealAction, int)}.
+     *
+     * @param playerId The ID of the player.
+     * @param action   The action: FOLD, CHECK, CALL, RAISE or EXCHANGE.
+     * @param amount   The amount of a raise, ignored for the other actions.
+     * @return The reason why the action is not allowed now, null if it is legal.
+     */
+    public String getActionError(String playerId, DealAction action, int amount) {
+        return getActionError(getSeat(playerId), action, amount);
+    }
+
+    private boolean bettingRoundFinished() {
+        // Runda konczy sie, gdy kazdy, kto moze grac, zagral od ostatniego podbicia - takze gdy wszyscy sprawdzili
+        return playersRemaining == 1 || pendingSeats == 0;
     }
 
     void finishBettingRound() {
         if (playersRemaining == 1) {
             gameState = GameState.FINISHED;
-            awardPotToLastStanding();
+            awardPot();
         } else {
             switch (gameState) {
                 case FIRST_BETTING_ROUND:
                     gameState = GameState.EXCHANGE_PHASE;
-                    currentPlayerIndex = -1;
-                    do {
-                        currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-                    } while (players.get(currentPlayerIndex).isFolded());
+                    currentPlayerIndex = Math.max(SeatRing.first(activeSeats), 0);
                     break;
                 case SECOND_BETTING_ROUND:
                     gameState = GameState.SHOWDOWN;
-                    determineWinner();
+                    showdown();
                     break;
                 default:
                     break;
@@ -396,11 +573,13 @@ public class Game extends GameAbstract{
     }
 
     public boolean processBettingRound() {
-        if (bettingRoundFinished()) {
+        boolean finished = bettingRoundFinished();
+        if (finished) {
             finishBettingRound();
-            return true;
         }
-        return false;
+        recordAction(DealAction.PROCESS_BETTING_ROUND, -1, finished ? 1 : 0);
+        stateChanged(GameEventType.PROCESS_BETTING_ROUND, -1, 0);
+        return finished;
     }
 
     public boolean isBettingRoundFinished() {
@@ -408,31 +587,26 @@ public class Game extends GameAbstract{
             return true; // Tylko jeden gracz, koniec gry.
         }
 
-        for (Player p : players) {
-            if (!p.isFolded() && p.getCurrentBetInThisRound() < currentBet) {
-                return false; // Runda betowania wciąż trwa.
-            }
-        }
-        return true;
+        return pendingSeats == 0; // Kazdy zagral od ostatniego podbicia
     }
 
     public void exchangeCards(String playerId, List<Integer> cardIndices) {
-        if (gameState != GameState.EXCHANGE_PHASE) {
-            throw new IllegalStateException("Not exchange phase");
-        }
-
-        while (players.get(currentPlayerIndex).isFolded()) {
-            currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-            if (currentPlayerIndex == 0) {
-                finishExchangePhase();
-                return;
-            }
-        }
+        exchangeCards(requireSeat(playerId), cardIndices);
+    }
 
-        Player currentPlayer = players.get(currentPlayerIndex);
-        if (!Objects.equals(currentPlayer.getPlayerId(), playerId)) {
-            throw new IllegalStateException("Not this player's turn");
-        }
+    /**
+     * Exchanges cards of the player in the given seat for new cards from the deck.
+     * The turn passes to the next player who has not folded; after the last one the exchange phase ends.
+     * When the deck runs out, the discards of the other players and the cards of the folded ones go back under the deck.
+     * If there are still not enough cards, the hand of the player is left unchanged.
+     *
+     * @param seat        The seat index of the player.
+     * @param cardIndices The indices of the exchanged cards, at most 4. The list is sorted in place.
+     * @throws IllegalStateException if it is not the exchange phase, not this player's turn, the indices are invalid
+     *                               or there are not enough cards left to exchange.
+     */
+    public void exchangeCards(int seat, List<Integer> cardIndices) {
+        validatePlayerAction(seat, DealAction.EXCHANGE, 0);
         if (cardIndices.size() > 4) {
             throw new IllegalStateException("Cannot exchange more than 4 cards");
         }
@@ -441,19 +615,53 @@ public class Game extends GameAbstract{
                 throw new IllegalStateException("Invalid card index: " + index);
             }
         }
-        Hand hand = currentPlayer.getPlayerHand();
+        ensureDeckHolds(cardIndices.size());
+        int exchanged = HandRecord.packIndices(cardIndices);
+        Hand hand = players.get(seat).getPlayerHand();
         cardIndices.sort(Collections.reverseOrder());
         for (int index : cardIndices) {
             hand.removeCard(index);
             hand.addCard(deck.getRandomCard());
         }
-        currentPlayerIndex++;
-        if (currentPlayerIndex >= players.size()) {
-            finishExchangePhase();
+        // Spasowani nie wymieniaja - kolejka przechodzi od razu do nastepnego gracza w grze
+        int next = SeatRing.nextAfter(activeSeats, seat);
+        if (next < 0) {
+            endExchangePhase();
+        } else {
+            currentPlayerIndex = next;
+        }
+        recordAction(DealAction.EXCHANGE, seat, exchanged);
+        stateChanged(GameEventType.EXCHANGE, seat, exchanged);
+    }
+
+    /**
+     * Makes sure the deck holds the given number of cards, putting the cards no player in the hand holds back under it
+     * if needed. Cards of the player exchanging are still in their hand, so they never come back to them.
+     */
+    private void ensureDeckHolds(int needed) {
+        if (deck.size() >= needed) {
+            return;
+        }
+        long held = 0;
+        for (int seat = 0; seat < players.size(); seat++) {
+            if (SeatRing.contains(activeSeats, seat)) {
+                for (int code : players.get(seat).getPlayerHand().getCardCodes()) {
+                    held |= 1L << code;
+                }
+            }
+        }
+        deck.returnDrawnCards(held);
+        if (deck.size() < needed) {
+            throw new IllegalStateException("Not enough cards left in the deck");
         }
     }
 
     public void finishExchangePhase() {
+        endExchangePhase();
+        stateChanged(GameEventType.FINISH_EXCHANGE, -1, 0);
+    }
+
+    private void endExchangePhase() {
         gameState = GameState.SECOND_BETTING_ROUND;
         currentBet = 0;
 
@@ -462,43 +670,58 @@ public class Game extends GameAbstract{
                 p.setCurrentBetInThisRound(0);
             }
         }
+        pendingSeats = activeSeats & ~allInSeats;
 
         startBettingRound();
+        if (pendingSeats == 0) {
+            // Wszyscy w grze sa all-in - nie ma juz kto licytowac
+            finishBettingRound();
+        }
     }
 
     public void determineWinner() {
-        Player winner = null;
-        HandRank bestRank = null;
-        for (Player p : players) {
+        showdown();
+        stateChanged(GameEventType.SHOWDOWN, -1, 0);
+    }
+
+    /**
+     * Pays the main pot and the side pots to the best hands eligible for each of them, see {@link PotManager}.
+     * Chips in the pot not put in by a seat at the table, e.g. by a player who left during the hand,
+     * go to the main pot.
+     */
+    private void showdown() {
+        int inHand = 0;
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player p = players.get(seat);
             if (!p.isFolded()) {
-                HandRank hr = handCompare.checkHand(p.getPlayerHand().getCards());
-                if (bestRank == null || handCompare.compareHandRank(hr, bestRank) > 0) {
-                    bestRank = hr;
-                    winner = p;
-                }
+                strengths[seat] = handCompare.evaluate(p.getPlayerHand().getCards());
+                inHand |= SeatRing.bit(seat);
             }
         }
-        if (winner != null) {
-            winner.addWinnings(pot);
+        if (inHand != 0) {
+            pots.build(inHand, players.size(), pot - pots.getTotal());
+            pots.award(players, strengths, dealerIndex);
         }
         gameState = GameState.GAME_OVER;
     }
 
     public void resetGame() {
         resetGameState();
+        stateChanged(GameEventType.RESET, -1, 0);
     }
 
     public void resetAfterGame() {
         resetGameState();
+        stateChanged(GameEventType.RESET, -1, 0);
     }
 
     private void resetGameState() {
+        boolean recording = handRecord != null;
         this.gameState = GameState.WAITING_FOR_PLAYERS;
-        this.deck = new Deck();
-        deck.fabryki();
-        deck.shuffle();
+        deck.reset();
         this.currentPlayerIndex = 0;
         this.pot = 0;
+        pots.reset();
         this.currentBet = 0;
         this.players.forEach(player -> {
             player.setReady(false);
@@ -506,17 +729,186 @@ public class Game extends GameAbstract{
             player.setCurrentBetInThisRound(0);
             player.setPlayerHand(null);
         });
+        pendingSeats = 0;
+        syncSeatMasks();
         this.started = false;
+        if (recording) {
+            finishHandRecord(true);
+        }
+    }
+
+    /**
+     * Starts the record of a new hand if deal logging is enabled. With deal or event logging the deck is shuffled
+     * first unless it already deals from the top, so the recorded deck order alone determines every card of the hand.
+     */
+    private void startHandRecord() {
+        if (dealLog == null && eventLog == null) {
+            return;
+        }
+        if (!deck.isShuffled()) {
+            deck.reset();
+            deck.shuffle();
+        }
+        if (dealLog == null) {
+            return;
+        }
+        handRecord = new HandRecord.Builder(gameID, ++handNumber, dealerIndex, players, deck.getCardCodes());
+    }
+
+    private void recordAction(DealAction action, int seat, int argument) {
+        if (handRecord != null) {
+            handRecord.add(action, seat, argument, stateHash());
+        }
+    }
+
+    /**
+     * Appends the record of the current hand to the deal log.
+     *
+     * @param closedByReset Whether the hand ends with a reset of the game.
+     */
+    private void finishHandRecord(boolean closedByReset) {
+        if (handRecord != null) {
+            HandRecord record = handRecord.build(closedByReset, stateHash());
+            handRecord = null;
+            if (dealLog != null) {
+                dealLog.append(record);
+            }
+        }
+    }
+
+    /**
+     * Publishes a new view of the game and logs the event of the public method that changed the state.
+     */
+    private void stateChanged(GameEventType type, int seat, int argument) {
+        publishView();
+        if (eventLog != null) {
+            logEvent(GameEvent.of(type, seat, argument));
+        }
+    }
+
+    /**
+     * Replaces the published view with a view of the current state.
+     * Called by the thread running the game; readers on other threads see either the old or the new view.
+     */
+    void publishView() {
+        view = GameView.of(this, ++viewVersion);
+    }
+
+    /**
+     * Appends an event to the event log and takes a snapshot when the snapshot interval has passed.
+     * Called at the end of the public methods only, so the effects of an event are never logged as events.
+     */
+    private void logEvent(GameEvent event) {
+        eventLog.append(event);
+        if (eventLog.isSnapshotDue()) {
+            eventLog.snapshot(this);
+        }
+    }
+
+    /**
+     * Rebuilds a game from a snapshot and the events logged after it (see {@link GameEventLog}).
+     *
+     * @param snapshot The snapshot.
+     * @param events   The events logged after the snapshot, in order.
+     * @return A new game in the state after the last event, without a deck pool or logs.
+     * @throws IllegalStateException if an event cannot be applied.
+     */
+    public static Game replay(GameSnapshot snapshot, List<GameEvent> events) {
+        Game game = snapshot.restore();
+        for (int i = 0; i < events.size(); i++) {
+            GameEvent event = events.get(i);
+            try {
+                game.apply(event);
+            } catch (IllegalStateException | IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalStateException("Game " + snapshot.getGameId() + " cannot apply event "
+                        + (snapshot.getSequence() + i) + " (" + event + "): " + e.getMessage(), e);
+            }
+        }
+        return game;
+    }
+
+    /**
+     * Applies a logged event by calling the method that logged it.
+     */
+    private void apply(GameEvent event) {
+        int seat = event.getSeat();
+        switch (event.getType()) {
+            case PLAYER_JOINED:
+                addPlayer(new Player(event.getPlayerId(), event.getArgument()));
+                break;
+            case PLAYER_LEFT:
+                removePlayer(event.getPlayerId());
+                break;
+            case PLAYER_READY:
+                // Start rozdania jest osobnym zdarzeniem HAND_STARTED
+                getPlayer(seat).setReady(true);
+                break;
+            case HAND_STARTED:
+                dealerIndex = event.getArgument();
+                deck = Deck.fromCodes(event.getDeckCodes());
+                startHand();
+                break;
+            case FOLD:
+                playerFold(seat);
+                break;
+            case CALL:
+                playerCall(seat);
+                break;
+            case CHECK:
+                playerCheck(seat);
+                break;
+            case RAISE:
+                playerRaise(seat, event.getArgument());
+                break;
+            case EXCHANGE:
+                exchangeCards(seat, event.getExchangedIndices());
+                break;
+            case PROCESS_BETTING_ROUND:
+                processBettingRound();
+                break;
+            case FINISH_EXCHANGE:
+                endExchangePhase();
+                break;
+            case AWARD_POT:
+                awardPot();
+                break;
+            case SHOWDOWN:
+                showdown();
+                break;
+            case RESET:
+                resetGameState();
+                break;
+            default:
+                throw new IllegalStateException("Unknown event " + event.getType());
+        }
+    }
+
+    /**
+     * Computes a hash of the state changed by game actions: stacks, bets, folds and hands of the players,
+     * the pot, the current bet, the state, the current player and the number of cards left in the deck.
+     * Used to check that a replayed hand follows the recorded one. The hash is stored in deal logs, so it
+     * is built from values hashed the same way in every JVM; the state is hashed by its ordinal.
+     *
+     * @return The state hash.
+     */
+    int stateHash() {
+        int hash = Objects.hash(pot, currentBet, gameState.ordinal(), currentPlayerIndex, deck == null ? -1 : deck.size());
+        for (Player p : players) {
+            hash = 31 * hash + Objects.hash(p.getStack(), p.getCurrentBetInThisRound(), p.isFolded());
+            Hand hand = p.getPlayerHand();
+            hash = 31 * hash + (hand == null ? 0 : Arrays.hashCode(hand.getCardCodes()));
+        }
+        return hash;
     }
 
     public Player getWinner() {
         Player winner = null;
-        HandRank bestRank = null;
+        int bestStrength = 0;
         for (Player p : players) {
             if (!p.isFolded()) {
-                HandRank hr = handCompare.checkHand(p.getPlayerHand().getCards());
-                if (bestRank == null || handCompare.compareHandRank(hr, bestRank) > 0) {
-                    bestRank = hr;
+                int strength = handCompare.evaluate(p.getPlayerHand().getCards());
+                if (winner == null || strength > bestStrength) {
+                    bestStrength = strength;
                     winner = p;
                 }
             }
@@ -524,46 +916,162 @@ public class Game extends GameAbstract{
         return winner;
     }
 
+    /**
+     * Gets the pots of the current hand. After the showdown they hold the main pot and the side pots
+     * with their amounts and winners, until the next hand starts or the game is reset.
+     *
+     * @return The pot manager of the game.
+     */
+    public PotManager getPots() {
+        return pots;
+    }
+
     public HandRank getWinnerHandRank(Player winner){
-        return handCompare.checkHand(winner.getPlayerHand().getCards());
+        return HandEvaluator.toHandRank(handCompare.evaluate(winner.getPlayerHand().getCards()));
     }
 
     public void awardPotToLastStanding() {
-        for (Player p : players) {
-            if (!p.isFolded()) {
-                p.addWinnings(pot);
-                break;
-            }
+        awardPot();
+        stateChanged(GameEventType.AWARD_POT, -1, 0);
+    }
+
+    private void awardPot() {
+        Player p = getLastPlayerStanding();
+        if (p != null) {
+            p.addWinnings(pot);
         }
-        resetGame();
+        // Gra jest resetowana, wiec stan po tej akcji sprawdza dopiero hash koncowy rozdania
+        recordAction(DealAction.AWARD_POT, -1, 0);
+        resetGameState();
     }
 
     public Player getPlayerById(String playerId) {
-        for (Player player : players){
-            if (Objects.equals(player.getPlayerId(), playerId)){
-                return player;
-            }
+        return players.get(requireSeat(playerId));
+    }
+
+    /**
+     * Gets the seat index of a player, i.e. the player's index in {@link #getPlayers()}.
+     * The lookup takes constant time. If the list of players was changed from outside and the ID is not found,
+     * the index is rebuilt once from the list.
+     *
+     * @param playerId The ID of the player.
+     * @return The seat index, or -1 if there is no player with that ID.
+     */
+    public int getSeat(String playerId) {
+        Integer seat = seats.get(playerId);
+        if (seat != null && seat < players.size() && Objects.equals(players.get(seat).getPlayerId(), playerId)) {
+            return seat;
         }
-        throw new IllegalStateException("No such player");
+        // Brak trafienia - lista graczy mogla byc zmieniona z zewnatrz (getPlayers/setPlayers), odbudowa indeksu
+        reindexSeats();
+        seat = seats.get(playerId);
+        return seat == null ? -1 : seat;
     }
 
-    public int getActivePlayersCount() {
-        int count = 0;
-        for (Player p : players) {
-            if (!p.isFolded()) {
-                count++;
-            }
+    /**
+     * Gets the player in a seat.
+     *
+     * @param seat The seat index.
+     * @return The player.
+     * @throws IllegalStateException if there is no player in the seat.
+     */
+    public Player getPlayer(int seat) {
+        if (seat < 0 || seat >= players.size()) {
+            throw new IllegalStateException("No such player");
         }
-        return count;
+        return players.get(seat);
     }
 
-    public Player getLastPlayerStanding() {
-        for (Player p : players) {
-            if (!p.isFolded()) {
-                return p;
-            }
+    private int requireSeat(String playerId) {
+        int seat = getSeat(playerId);
+        if (seat < 0) {
+            throw new IllegalStateException("No such player");
+        }
+        return seat;
+    }
+
+    private void reindexSeats() {
+        seats.clear();
+        for (int i = 0; i < players.size(); i++) {
+            seats.put(players.get(i).getPlayerId(), i);
         }
-        return null;
+        syncSeatMasks();
+    }
+
+    /**
+     * Rebuilds the active and all-in seat masks from the state of every player.
+     * Pending seats cannot be told from the players, so they are only cleared for seats that can no longer act.
+     */
+    private void syncSeatMasks() {
+        activeSeats = 0;
+        allInSeats = 0;
+        for (int i = 0; i < players.size(); i++) {
+            updateSeat(i);
+        }
+        pendingSeats &= activeSeats & ~allInSeats;
+    }
+
+    /**
+     * Updates the bits of one seat in the seat masks from the state of the player in it.
+     * A seat stays pending only while its player has not folded and still has chips.
+     */
+    private void updateSeat(int seat) {
+        Player p = players.get(seat);
+        int bit = SeatRing.bit(seat);
+        boolean active = !p.isFolded();
+        boolean allIn = active && p.getStack() == 0;
+        activeSeats = active ? activeSeats | bit : activeSeats & ~bit;
+        allInSeats = allIn ? allInSeats | bit : allInSeats & ~bit;
+        pendingSeats = active && !allIn ? pendingSeats : pendingSeats & ~bit;
+    }
+
+    /**
+     * Marks the player in a seat as having acted in this betting round.
+     */
+    private void acted(int seat) {
+        pendingSeats &= ~SeatRing.bit(seat);
+        updateSeat(seat);
+    }
+
+    public int getActivePlayersCount() {
+        return SeatRing.count(activeSeats);
+    }
+
+    public Player getLastPlayerStanding() {
+        int seat = SeatRing.first(activeSeats);
+        return seat < 0 ? null : players.get(seat);
+    }
+
+    /**
+     * Gets the seats of the players who have not folded, as a {@link SeatRing} bitmask.
+     *
+     * @return The active seats.
+     */
+    public int getActiveSeats() {
+        return activeSeats;
+    }
+
+    /**
+     * Gets the seats of the players who have not folded and have no chips left, as a {@link SeatRing} bitmask.
+     *
+     * @return The all-in seats.
+     */
+    public int getAllInSeats() {
+        return allInSeats;
+    }
+
+    /**
+     * Gets the seats of the players who have not acted in this betting round since it started or since the last raise,
+     * as a {@link SeatRing} bitmask. The round ends when no seat is pending.
+     *
+     * @return The pending seats.
+     */
+    public int getPendingSeats() {
+        return pendingSeats;
+    }
+
+    void setPendingSeats(int pendingSeats) {
+        this.pendingSeats = pendingSeats;
     }
 
     public String getFoldNotification(String playerId) {
@@ -586,12 +1094,27 @@ public class Game extends GameAbstract{
         this.gameID = gameID;
     }
 
+    /**
+     * Gets the view of the game published after the last public method that changed its state.
+     * The view is immutable and can be read from any thread without locking the game.
+     * State changed only through the setters is published with the next such method.
+     *
+     * @return The latest view of the game.
+     */
+    public GameView getView() {
+        return view;
+    }
+
     public List<Player> getPlayers() {
         return players;
     }
 
     public void setPlayers(List<Player> players) {
+        if (players.size() > SeatRing.MAX_SEATS) {
+            throw new IllegalArgumentException("At most " + SeatRing.MAX_SEATS + " players can sit at a table");
+        }
         this.players = players;
+        reindexSeats();
     }
 
     public Deck getDeck() {
@@ -602,6 +1125,47 @@ public class Game extends GameAbstract{
         this.deck = deck;
     }
 
+    public DealLog getDealLog() {
+        return dealLog;
+    }
+
+    public void setDealLog(DealLog dealLog) {
+        this.dealLog = dealLog;
+    }
+
+    public long getHandNumber() {
+        return handNumber;
+    }
+
+    void setHandNumber(long handNumber) {
+        this.handNumber = handNumber;
+    }
+
+    public GameEventLog getEventLog() {
+        return eventLog;
+    }
+
+    /**
+     * Enables event sourcing with the given log, or disables it with null.
+     * A snapshot of the current state is appended first, so the log can rebuild the game from this point.
+     *
+     * @param eventLog The event log of this game.
+     */
+    public void setEventLog(GameEventLog eventLog) {
+        this.eventLog = eventLog;
+        if (eventLog != null) {
+            eventLog.snapshot(this);
+        }
+    }
+
+    public DeckPool getDeckPool() {
+        return deckPool;
+    }
+
+    public void setDeckPool(DeckPool deckPool) {
+        this.deckPool = deckPool;
+    }
+
     public GameState getGameState() {
         return gameState;
     }
@@ -639,6 +1203,9 @@ public class Game extends GameAbstract{
     }
 
     public void setMaxPlayers(int maxPlayers) {
+        if (maxPlayers > SeatRing.MAX_SEATS) {
+            throw new IllegalArgumentException("At most " + SeatRing.MAX_SEATS + " players can sit at a table");
+        }
         this.maxPlayers = maxPlayers;
     }
 
@@ -690,6 +1257,20 @@ public class Game extends GameAbstract{
         this.bigBlindAmount = bigBlindAmount;
     }
 
+    /**
+     * Gets the number of chips the player in a seat has put into the pot during the current hand.
+     *
+     * @param seat The seat index.
+     * @return The contribution of the seat.
+     */
+    public int getContribution(int seat) {
+        return pots.getContribution(seat);
+    }
+
+    void setContribution(int seat, int amount) {
+        pots.setContribution(seat, amount);
+    }
+
     public int getPot() {
         return pot;
     }
@@ -704,6 +1285,7 @@ public class Game extends GameAbstract{
 
     public void setCurrentBet(int currentBet) {
         this.currentBet = currentBet;
+        syncSeatMasks();
     }
 
     public int getPlayersRemaining() {
@@ -0,0 +1,249 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Immutable event of a {@link Game}, appended to its {@link GameEventLog} and applied again by
+ * {@link Game#replay(GameSnapshot, List)}.
+ *
+ * Binary form: the type byte followed by the fields of the type, so a betting action takes two bytes
+ * (six for a raise) and the start of a hand about 57 bytes:
+ * <ul>
+ *     <li>{@code PLAYER_JOINED} - player ID (modified UTF-8), stack (int),</li>
+ *     <li>{@code PLAYER_LEFT} - player ID,</li>
+ *     <li>{@code HAND_STARTED} - dealer index (int), number of cards and the card codes of the deck (bytes),</li>
+ *     <li>{@code PLAYER_READY}, {@code FOLD}, {@code CALL}, {@code CHECK} - seat (byte),</li>
+ *     <li>{@code RAISE} - seat, amount (int),</li>
+ *     <li>{@code EXCHANGE} - seat, packed card indices (short),</li>
+ *     <li>other types - no fields.</li>
+ * </ul>
+ */
+public final class GameEvent {
+    private final GameEventType type;
+    private final int seat;
+    private final int argument;
+    private final String playerId;
+    private final byte[] deck;
+
+    private GameEvent(GameEventType type, int seat, int argument, String playerId, byte[] deck) {
+        this.type = type;
+        this.seat = seat;
+        this.argument = argument;
+        this.playerId = playerId;
+        this.deck = deck;
+    }
+
+    /**
+     * Creates an event of a player action or of a game step without a player.
+     *
+     * @param type     The event type.
+     * @param seat     The seat of the player, -1 if the event has no player.
+     * @param argument The raise amount, the packed exchanged indices or 0.
+     * @return The event.
+     */
+    public static GameEvent of(GameEventType type, int seat, int argument) {
+        return new GameEvent(type, seat, argument, null, null);
+    }
+
+    /**
+     * Creates the event of a player joining the game.
+     *
+     * @param playerId The ID of the player.
+     * @param stack    The stack of the player.
+     * @return The event.
+     */
+    public static GameEvent playerJoined(String playerId, int stack) {
+        return new GameEvent(GameEventType.PLAYER_JOINED, -1, stack, playerId, null);
+    }
+
+    /**
+     * Creates the event of a player leaving the game.
+     *
+     * @param playerId The ID of the player.
+     * @return The event.
+     */
+    public static GameEvent playerLeft(String playerId) {
+        return new GameEvent(GameEventType.PLAYER_LEFT, -1, 0, playerId, null);
+    }
+
+    /**
+     * Creates the event of the start of a hand.
+     *
+     * @param dealerIndex The dealer index before the hand started.
+     * @param deckCodes   The card codes of the deck the hand is dealt from, the next card dealt being the last one.
+     * @return The event.
+     */
+    public static GameEvent handStarted(int dealerIndex, int[] deckCodes) {
+        byte[] deck = new byte[deckCodes.length];
+        for (int i = 0; i < deckCodes.length; i++) {
+            deck[i] = (byte) deckCodes[i];
+        }
+        return new GameEvent(GameEventType.HAND_STARTED, -1, dealerIndex, null, deck);
+    }
+
+    /**
+     * Writes the event in the binary format read by {@link #read(DataInput)}.
+     *
+     * @param out The output.
+     * @throws IOException if the event cannot be written.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeByte(type.ordinal());
+        switch (type) {
+            case PLAYER_JOINED:
+                out.writeUTF(playerId);
+                out.writeInt(argument);
+                break;
+            case PLAYER_LEFT:
+                out.writeUTF(playerId);
+                break;
+            case HAND_STARTED:
+                out.writeInt(argument);
+                out.writeByte(deck.length);
+                out.write(deck);
+                break;
+            case PLAYER_READY:
+            case FOLD:
+            case CALL:
+            case CHECK:
+                out.writeByte(seat);
+                break;
+            case RAISE:
+                out.writeByte(seat);
+                out.writeInt(argument);
+                break;
+            case EXCHANGE:
+                out.writeByte(seat);
+                out.writeShort(argument);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Reads an event written by {@link #write(DataOutput)}.
+     *
+     * @param in The input.
+     * @return The event.
+     * @throws IOException if the event cannot be read or is invalid.
+     */
+    public static GameEvent read(DataInput in) throws IOException {
+        GameEventType type;
+        try {
+            type = GameEventType.fromOrdinal(in.readUnsignedByte());
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        switch (type) {
+            case PLAYER_JOINED:
+                String playerId = in.readUTF();
+                return playerJoined(playerId, in.readInt());
+            case PLAYER_LEFT:
+                return playerLeft(in.readUTF());
+            case HAND_STARTED:
+                int dealerIndex = in.readInt();
+                byte[] deck = new byte[in.readUnsignedByte()];
+                in.readFully(deck);
+                for (byte code : deck) {
+                    if (code < 0 || code >= CardEncoding.DECK_SIZE) {
+                        throw new IOException("Invalid card code in game event: " + code);
+                    }
+                }
+                return new GameEvent(type, -1, dealerIndex, null, deck);
+            case PLAYER_READY:
+            case FOLD:
+            case CALL:
+            case CHECK:
+                return of(type, in.readUnsignedByte(), 0);
+            case RAISE:
+                int seat = in.readUnsignedByte();
+                return of(type, seat, in.readInt());
+            case EXCHANGE:
+                int exchangeSeat = in.readUnsignedByte();
+                return of(type, exchangeSeat, in.readUnsignedShort());
+            default:
+                return of(type, -1, 0);
+        }
+    }
+
+    public GameEventType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the seat of the player of the event.
+     *
+     * @return The seat index, -1 if the event has no seat.
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Gets the argument of the event: the raise amount, the packed exchanged indices, the stack of a joining player
+     * or the dealer index of a started hand.
+     *
+     * @return The argument, 0 if the event has none.
+     */
+    public int getArgument() {
+        return argument;
+    }
+
+    /**
+     * Gets the ID of the player joining or leaving the game.
+     *
+     * @return The player ID, null for other events.
+     */
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * Gets the card indices of an exchange event, in the order they were given.
+     *
+     * @return A new mutable list of the indices.
+     */
+    public List<Integer> getExchangedIndices() {
+        return HandRecord.unpackIndices(argument);
+    }
+
+    /**
+     * Gets the card codes of the deck of a started hand.
+     *
+     * @return A new array of card codes, the next card dealt being the last one; empty for other events.
+     */
+    public int[] getDeckCodes() {
+        if (deck == null) {
+            return new int[0];
+        }
+        int[] codes = new int[deck.length];
+        for (int i = 0; i < deck.length; i++) {
+            codes[i] = deck[i];
+        }
+        return codes;
+    }
+
+    /**
+     * Returns a string representation of the event.
+     *
+     * @return The type with the seat or player and the argument.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(type.name());
+        if (playerId != null) {
+            sb.append(' ').append(playerId);
+        }
+        if (seat >= 0) {
+            sb.append(" SEAT ").append(seat);
+        }
+        if (argument != 0) {
+            sb.append(' ').append(argument);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,289 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Event log of one game with event sourcing enabled (see {@link Game#setEventLog(GameEventLog)}).
+ * Every public game method that changes the state appends one {@link GameEvent}, and every
+ * snapshot interval of events the game appends a {@link GameSnapshot}, so {@link #recover()}
+ * restores the latest snapshot and applies only the events after it.
+ *
+ * The log either keeps the events encoded in memory or writes each one to a stream as soon as it is appended,
+ * e.g. to a file that survives a crash of the server and is read back with {@link #read(InputStream)}.
+ *
+ * Stream format: magic, version, then the records, each preceded by a marker byte: an event
+ * (see {@link GameEvent#write(java.io.DataOutput)}) or a snapshot (see {@link GameSnapshot#write(java.io.DataOutput)}).
+ * The events are numbered in the order they appear; a snapshot holds the number of the events before it.
+ */
+public class GameEventLog implements AutoCloseable {
+    static final int MAGIC = 0x504B4745;
+    static final int VERSION = 2;
+    /** Default number of events between snapshots. */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 256;
+
+    private static final int EVENT_MARKER = 1;
+    private static final int SNAPSHOT_MARKER = 2;
+
+    private final ByteArrayOutputStream events;
+    private final DataOutputStream out;
+    private final int snapshotInterval;
+    private long eventCount;
+    private GameSnapshot snapshot;
+
+    /**
+     * Constructs a log keeping the events in memory, with the default snapshot interval.
+     */
+    public GameEventLog() {
+        this(DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Constructs a log keeping the events in memory.
+     *
+     * @param snapshotInterval The number of events between snapshots, 0 for no periodic snapshots.
+     * @throws IllegalArgumentException if the interval is negative.
+     */
+    public GameEventLog(int snapshotInterval) {
+        this.snapshotInterval = checkInterval(snapshotInterval);
+        this.events = new ByteArrayOutputStream();
+        this.out = new DataOutputStream(events);
+    }
+
+    /**
+     * Constructs a log writing the events and snapshots to a stream.
+     *
+     * @param stream           The target stream, closed with the log.
+     * @param snapshotInterval The number of events between snapshots, 0 for no periodic snapshots.
+     * @throws IOException if the header cannot be written.
+     * @throws IllegalArgumentException if the interval is negative.
+     */
+    public GameEventLog(OutputStream stream, int snapshotInterval) throws IOException {
+        this.snapshotInterval = checkInterval(snapshotInterval);
+        this.events = null;
+        this.out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.flush();
+    }
+
+    private static int checkInterval(int snapshotInterval) {
+        if (snapshotInterval < 0) {
+            throw new IllegalArgumentException("Snapshot interval must not be negative");
+        }
+        return snapshotInterval;
+    }
+
+    /**
+     * Appends an event.
+     *
+     * @param event The event.
+     * @throws UncheckedIOException if the event cannot be written to the stream.
+     */
+    public synchronized void append(GameEvent event) {
+        try {
+            out.writeByte(EVENT_MARKER);
+            event.write(out);
+            if (events == null) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        eventCount++;
+    }
+
+    /**
+     * Takes a snapshot of the game after the events appended so far and appends it to the log.
+     *
+     * @param game The game of the log.
+     * @return The snapshot.
+     * @throws UncheckedIOException if the snapshot cannot be written to the stream.
+     */
+    public synchronized GameSnapshot snapshot(Game game) {
+        GameSnapshot taken = GameSnapshot.of(game, eventCount);
+        if (events == null) {
+            try {
+                out.writeByte(SNAPSHOT_MARKER);
+                taken.write(out);
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        snapshot = taken;
+        return taken;
+    }
+
+    /**
+     * Checks whether the snapshot interval has passed since the latest snapshot.
+     *
+     * @return true if a new snapshot should be taken.
+     */
+    public synchronized boolean isSnapshotDue() {
+        if (snapshot == null) {
+            return true;
+        }
+        return snapshotInterval > 0 && eventCount - snapshot.getSequence() >= snapshotInterval;
+    }
+
+    /**
+     * Gets the number of events appended to the log.
+     *
+     * @return The number of events.
+     */
+    public synchronized long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Gets the latest snapshot of the game.
+     *
+     * @return The snapshot, null if none was taken.
+     */
+    public synchronized GameSnapshot getLatestSnapshot() {
+        return snapshot;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * Gets all events kept in memory.
+     *
+     * @return The events, in the order they were appended.
+     * @throws IllegalStateException if the log writes to a stream and keeps no events.
+     */
+    public synchronized List<GameEvent> getEvents() {
+        return getEventsSince(0);
+    }
+
+    /**
+     * Gets the events kept in memory, starting from the given sequence number.
+     *
+     * @param sequence The number of the first event, e.g. {@link GameSnapshot#getSequence()}.
+     * @return The events, in the order they were appended.
+     * @throws IllegalStateException if the log writes to a stream and keeps no events.
+     */
+    public synchronized List<GameEvent> getEventsSince(long sequence) {
+        if (events == null) {
+            throw new IllegalStateException("Events of a log writing to a stream are not kept in memory");
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(events.toByteArray()));
+        List<GameEvent> result = new ArrayList<>();
+        try {
+            for (long i = 0; i < eventCount; i++) {
+                in.readUnsignedByte();
+                GameEvent event = GameEvent.read(in);
+                if (i >= sequence) {
+                    result.add(event);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    /**
+     * Rebuilds the game from the latest snapshot and the events appended after it.
+     *
+     * @return A new game in the state after the last event, without a deck pool or logs.
+     * @throws IllegalStateException if there is no snapshot, the log keeps no events or an event cannot be applied.
+     */
+    public synchronized Game recover() {
+        if (snapshot == null) {
+            throw new IllegalStateException("No snapshot to recover from");
+        }
+        return Game.replay(snapshot, getEventsSince(snapshot.getSequence()));
+    }
+
+    /**
+     * Writes the events kept in memory and the latest snapshot to a stream, in the format read by
+     * {@link #read(InputStream)}.
+     *
+     * @param stream The target stream, not closed.
+     * @throws IOException if the log cannot be written.
+     * @throws IllegalStateException if the log writes to a stream and keeps no events.
+     */
+    public synchronized void writeTo(OutputStream stream) throws IOException {
+        if (events == null) {
+            throw new IllegalStateException("Events of a log writing to a stream are not kept in memory");
+        }
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(stream));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        events.writeTo(data);
+        if (snapshot != null) {
+            data.writeByte(SNAPSHOT_MARKER);
+            snapshot.write(data);
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a log from a stream written by a log. The result keeps the events in memory
+     * and has the latest snapshot of the stream, so it can {@link #recover()} the game.
+     * A log cut off in the middle of a record, e.g. by a crash, is read up to the last complete record.
+     *
+     * @param stream The source stream, not closed.
+     * @return The log, with the default snapshot interval.
+     * @throws IOException if the stream cannot be read, has another version or is corrupted.
+     */
+    public static GameEventLog read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a game event log");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported game event log version " + version + ", expected " + VERSION);
+        }
+        GameEventLog log = new GameEventLog();
+        int marker;
+        try {
+            while ((marker = in.read()) != -1) {
+                if (marker == EVENT_MARKER) {
+                    log.append(GameEvent.read(in));
+                } else if (marker == SNAPSHOT_MARKER) {
+                    GameSnapshot read = GameSnapshot.read(in);
+                    if (log.snapshot == null || read.getSequence() >= log.snapshot.getSequence()) {
+                        log.snapshot = read;
+                    }
+                } else {
+                    throw new IOException("Invalid record marker in game event log: " + marker);
+                }
+            }
+        } catch (EOFException e) {
+            // Ostatni rekord niedokonczony - zostaja rekordy zapisane w calosci
+        }
+        if (log.snapshot != null && log.snapshot.getSequence() > log.eventCount) {
+            throw new IOException("Snapshot of the game event log is ahead of its events");
+        }
+        return log;
+    }
+
+    /**
+     * Closes the stream of the log, if it has one.
+     *
+     * @throws IOException if the stream cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (events == null) {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package pl.edu.agh.kis.pz1.model;
+
+/**
+ * Types of the events appended to a {@link GameEventLog}, one per call of the matching public {@link Game} method.
+ * Blinds and the deal are part of {@link #HAND_STARTED}; the effects of an event that follow from the game rules,
+ * like finishing a betting round, are not logged separately.
+ */
+public enum GameEventType {
+    PLAYER_JOINED,
+    PLAYER_LEFT,
+    PLAYER_READY,
+    HAND_STARTED,
+    FOLD,
+    CALL,
+    CHECK,
+    RAISE,
+    EXCHANGE,
+    PROCESS_BETTING_ROUND,
+    FINISH_EXCHANGE,
+    AWARD_POT,
+    SHOWDOWN,
+    RESET;
+
+    private static final GameEventType[] VALUES = values();
+
+    /**
+     * Returns the event type with the given ordinal.
+     *
+     * @param ordinal The ordinal of the event type.
+     * @return The event type.
+     * @throws IllegalArgumentException if there is no event type with that ordinal.
+     */
+    public static GameEventType fromOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= VALUES.length) {
+            throw new IllegalArgumentException("Invalid event type: " + ordinal);
+        }
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,299 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable copy of the full state of a {@link Game}, taken by a {@link GameEventLog} after a given number of events.
+ * {@link Game#replay(GameSnapshot, List)} restores the snapshot and applies the events appended after it,
+ * so a game is rebuilt without replaying its whole history.
+ *
+ * The snapshot holds the game fields, the players with their hands and pot contributions and the deck with its
+ * drawn cards.
+ * The shuffle source, the deck pool and the logs of the game are not part of the state.
+ */
+public final class GameSnapshot {
+    private static final int NO_HAND = 0xFF;
+
+    // Kolejnosc pol w tablicy fields
+    private static final int CURRENT_PLAYER = 0;
+    private static final int DEALER = 1;
+    private static final int SMALL_BLIND_INDEX = 2;
+    private static final int BIG_BLIND_INDEX = 3;
+    private static final int SMALL_BLIND = 4;
+    private static final int BIG_BLIND = 5;
+    private static final int MIN_PLAYERS = 6;
+    private static final int MAX_PLAYERS = 7;
+    private static final int POT = 8;
+    private static final int CURRENT_BET = 9;
+    private static final int PLAYERS_REMAINING = 10;
+    private static final int PENDING_SEATS = 11;
+    private static final int FIELD_COUNT = 12;
+
+    private final String gameId;
+    private final long sequence;
+    private final long handNumber;
+    private final GameState gameState;
+    private final int[] fields;
+    private final boolean started;
+    private final String[] playerIds;
+    private final int[] stacks;
+    private final int[] bets;
+    private final int[] contributions;
+    private final boolean[] ready;
+    private final boolean[] folded;
+    private final int[][] hands;
+    private final int[] deck;
+    private final int deckSize;
+    private final boolean deckShuffled;
+
+    private GameSnapshot(String gameId, long sequence, long handNumber, GameState gameState, int[] fields,
+                         boolean started, String[] playerIds, int[] stacks, int[] bets, int[] contributions, boolean[] ready,
+                         boolean[] folded, int[][] hands, int[] deck, int deckSize, boolean deckShuffled) {
+        this.gameId = gameId;
+        this.sequence = sequence;
+        this.handNumber = handNumber;
+        this.gameState = gameState;
+        this.fields = fields;
+        this.started = started;
+        this.playerIds = playerIds;
+        this.stacks = stacks;
+        this.bets = bets;
+        this.contributions = contributions;
+        this.ready = ready;
+        this.folded = folded;
+        this.hands = hands;
+        this.deck = deck;
+        this.deckSize = deckSize;
+        this.deckShuffled = deckShuffled;
+    }
+
+    /**
+     * Takes a snapshot of a game.
+     *
+     * @param game     The game.
+     * @param sequence The number of events of the game logged before the snapshot.
+     * @return The snapshot.
+     */
+    public static GameSnapshot of(Game game, long sequence) {
+        int[] fields = new int[FIELD_COUNT];
+        fields[CURRENT_PLAYER] = game.getCurrentPlayerIndex();
+        fields[DEALER] = game.getDealerIndex();
+        fields[SMALL_BLIND_INDEX] = game.getSmallBlindIndex();
+        fields[BIG_BLIND_INDEX] = game.getBigBlindIndex();
+        fields[SMALL_BLIND] = game.getSmallBlindAmount();
+        fields[BIG_BLIND] = game.getBigBlindAmount();
+        fields[MIN_PLAYERS] = game.getMinPlayers();
+        fields[MAX_PLAYERS] = game.getMaxPlayers();
+        fields[POT] = game.getPot();
+        fields[CURRENT_BET] = game.getCurrentBet();
+        fields[PLAYERS_REMAINING] = game.getPlayersRemaining();
+        fields[PENDING_SEATS] = game.getPendingSeats();
+
+        List<Player> players = game.getPlayers();
+        int n = players.size();
+        String[] playerIds = new String[n];
+        int[] stacks = new int[n];
+        int[] bets = new int[n];
+        int[] contributions = new int[n];
+        boolean[] ready = new boolean[n];
+        boolean[] folded = new boolean[n];
+        int[][] hands = new int[n][];
+        for (int i = 0; i < n; i++) {
+            Player p = players.get(i);
+            playerIds[i] = p.getPlayerId();
+            stacks[i] = p.getStack();
+            bets[i] = p.getCurrentBetInThisRound();
+            contributions[i] = game.getContribution(i);
+            ready[i] = p.isReady();
+            folded[i] = p.isFolded();
+            hands[i] = p.getPlayerHand() == null ? null : p.getPlayerHand().getCardCodes();
+        }
+        Deck deck = game.getDeck();
+        return new GameSnapshot(game.getGameID(), sequence, game.getHandNumber(), game.getGameState(), fields,
+                game.isStarted(), playerIds, stacks, bets, contributions, ready, folded, hands,
+                deck.getAllCardCodes(), deck.size(), deck.isShuffled());
+    }
+
+    /**
+     * Creates a new game in the state of the snapshot, without a deck pool or logs.
+     *
+     * @return The game.
+     */
+    public Game restore() {
+        Game game = new Game(gameId);
+        List<Player> players = new ArrayList<>(playerIds.length);
+        for (int i = 0; i < playerIds.length; i++) {
+            Player p = new Player(playerIds[i], stacks[i]);
+            p.setCurrentBetInThisRound(bets[i]);
+            p.setReady(ready[i]);
+            p.setFolded(folded[i]);
+            if (hands[i] != null) {
+                p.setPlayerHand(new Hand(CardEncoding.toCards(hands[i])));
+            }
+            players.add(p);
+        }
+        game.setMaxPlayers(fields[MAX_PLAYERS]);
+        game.setMinPlayers(fields[MIN_PLAYERS]);
+        game.setPlayers(players);
+        game.setDeck(Deck.restore(deck, deckSize, deckShuffled));
+        game.setGameState(gameState);
+        game.setStarted(started);
+        game.setHandNumber(handNumber);
+        game.setCurrentPlayerIndex(fields[CURRENT_PLAYER]);
+        game.setDealerIndex(fields[DEALER]);
+        game.setSmallBlindIndex(fields[SMALL_BLIND_INDEX]);
+        game.setBigBlindIndex(fields[BIG_BLIND_INDEX]);
+        game.setSmallBlindAmount(fields[SMALL_BLIND]);
+        game.setBigBlindAmount(fields[BIG_BLIND]);
+        game.setPot(fields[POT]);
+        for (int i = 0; i < contributions.length; i++) {
+            game.setContribution(i, contributions[i]);
+        }
+        game.setPlayersRemaining(fields[PLAYERS_REMAINING]);
+        game.setCurrentBet(fields[CURRENT_BET]);
+        game.setPendingSeats(fields[PENDING_SEATS]);
+        game.publishView();
+        return game;
+    }
+
+    /**
+     * Writes the snapshot in the binary format read by {@link #read(DataInput)}.
+     *
+     * @param out The output.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeUTF(gameId);
+        out.writeLong(sequence);
+        out.writeLong(handNumber);
+        out.writeByte(gameState.ordinal());
+        for (int field : fields) {
+            out.writeInt(field);
+        }
+        out.writeBoolean(started);
+        out.writeByte(playerIds.length);
+        for (int i = 0; i < playerIds.length; i++) {
+            out.writeUTF(playerIds[i]);
+            out.writeInt(stacks[i]);
+            out.writeInt(bets[i]);
+            out.writeInt(contributions[i]);
+            out.writeBoolean(ready[i]);
+            out.writeBoolean(folded[i]);
+            if (hands[i] == null) {
+                out.writeByte(NO_HAND);
+            } else {
+                out.writeByte(hands[i].length);
+                for (int code : hands[i]) {
+                    out.writeByte(code);
+                }
+            }
+        }
+        out.writeShort(deck.length);
+        out.writeShort(deckSize);
+        out.writeBoolean(deckShuffled);
+        for (int code : deck) {
+            out.writeByte(code);
+        }
+    }
+
+    /**
+     * Reads a snapshot written by {@link #write(DataOutput)}.
+     *
+     * @param in The input.
+     * @return The snapshot.
+     * @throws IOException if the snapshot cannot be read or is invalid.
+     */
+    public static GameSnapshot read(DataInput in) throws IOException {
+        String gameId = in.readUTF();
+        long sequence = in.readLong();
+        long handNumber = in.readLong();
+        int state = in.readUnsignedByte();
+        GameState[] states = GameState.values();
+        if (state >= states.length) {
+            throw new IOException("Invalid game state in snapshot: " + state);
+        }
+        int[] fields = new int[FIELD_COUNT];
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            fields[i] = in.readInt();
+        }
+        boolean started = in.readBoolean();
+        int n = in.readUnsignedByte();
+        if (n > SeatRing.MAX_SEATS) {
+            throw new IOException("Invalid player count in snapshot: " + n);
+        }
+        String[] playerIds = new String[n];
+        int[] stacks = new int[n];
+        int[] bets = new int[n];
+        int[] contributions = new int[n];
+        boolean[] ready = new boolean[n];
+        boolean[] folded = new boolean[n];
+        int[][] hands = new int[n][];
+        for (int i = 0; i < n; i++) {
+            playerIds[i] = in.readUTF();
+            stacks[i] = in.readInt();
+            bets[i] = in.readInt();
+            contributions[i] = in.readInt();
+            ready[i] = in.readBoolean();
+            folded[i] = in.readBoolean();
+            int handSize = in.readUnsignedByte();
+            if (handSize != NO_HAND) {
+                hands[i] = readCodes(in, handSize);
+            }
+        }
+        int deckLength = in.readUnsignedShort();
+        int deckSize = in.readUnsignedShort();
+        boolean deckShuffled = in.readBoolean();
+        if (deckSize > deckLength) {
+            throw new IOException("Invalid deck size in snapshot: " + deckSize);
+        }
+        int[] deck = readCodes(in, deckLength);
+        return new GameSnapshot(gameId, sequence, handNumber, states[state], fields, started, playerIds, stacks,
+                bets, contributions, ready, folded, hands, deck, deckSize, deckShuffled);
+    }
+
+    private static int[] readCodes(DataInput in, int length) throws IOException {
+        int[] codes = new int[length];
+        for (int i = 0; i < length; i++) {
+            codes[i] = in.readUnsignedByte();
+            if (codes[i] >= CardEncoding.DECK_SIZE) {
+                throw new IOException("Invalid card code in snapshot: " + codes[i]);
+            }
+        }
+        return codes;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Gets the number of events logged before the snapshot was taken.
+     * The events to apply to the snapshot are the ones from this index on.
+     *
+     * @return The event sequence number of the snapshot.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getHandNumber() {
+        return handNumber;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Gets the number of players in the snapshot.
+     *
+     * @return The number of players.
+     */
+    public int getPlayerCount() {
+        return playerIds.length;
+    }
+}
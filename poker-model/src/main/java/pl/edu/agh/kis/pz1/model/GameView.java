@@ -0,0 +1,300 @@
+package pl.edu.agh.kis.pz1.model;
+
+/**
+ * Immutable view of the public state of a {@link Game}, published by the game after each public method
+ * that changes its state (see {@link Game#getView()}).
+ *
+ * The game replaces the view through a volatile reference, so threads other than the one running the game,
+ * e.g. status, spectator or metrics readers, get a consistent table without locking the game.
+ * A view holds what every player at the table can see: no cards and no deck.
+ * Views of one game have increasing versions, so a reader can cache what it derives from a view.
+ */
+public final class GameView {
+    private final long version;
+    private final String gameId;
+    private final GameState gameState;
+    private final long handNumber;
+    private final int pot;
+    private final int currentBet;
+    private final int currentPlayerIndex;
+    private final int dealerIndex;
+    private final int smallBlindIndex;
+    private final int bigBlindIndex;
+    private final int smallBlindAmount;
+    private final int bigBlindAmount;
+    private final int activeSeats;
+    private final int allInSeats;
+    private final int pendingSeats;
+    private final int legalActions;
+    private final int maxRaise;
+    private final String[] playerIds;
+    private final int[] stacks;
+    private final int[] bets;
+    private final boolean[] ready;
+    private final boolean[] folded;
+
+    private GameView(Game game, long version) {
+        this.version = version;
+        this.gameId = game.getGameID();
+        this.gameState = game.getGameState();
+        this.handNumber = game.getHandNumber();
+        this.pot = game.getPot();
+        this.currentBet = game.getCurrentBet();
+        this.currentPlayerIndex = game.getCurrentPlayerIndex();
+        this.dealerIndex = game.getDealerIndex();
+        this.smallBlindIndex = game.getSmallBlindIndex();
+        this.bigBlindIndex = game.getBigBlindIndex();
+        this.smallBlindAmount = game.getSmallBlindAmount();
+        this.bigBlindAmount = game.getBigBlindAmount();
+        this.activeSeats = game.getActiveSeats();
+        this.allInSeats = game.getAllInSeats();
+        this.pendingSeats = game.getPendingSeats();
+        // Akcje i granice podbicia gracza na ruchu, liczone raz na decyzje
+        this.legalActions = game.getLegalActions(currentPlayerIndex);
+        this.maxRaise = (legalActions & LegalActions.RAISE) != 0 ? game.getMaxRaise(currentPlayerIndex) : 0;
+
+        int n = game.getPlayers().size();
+        this.playerIds = new String[n];
+        this.stacks = new int[n];
+        this.bets = new int[n];
+        this.ready = new boolean[n];
+        this.folded = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            Player p = game.getPlayers().get(i);
+            playerIds[i] = p.getPlayerId();
+            stacks[i] = p.getStack();
+            bets[i] = p.getCurrentBetInThisRound();
+            ready[i] = p.isReady();
+            folded[i] = p.isFolded();
+        }
+    }
+
+    /**
+     * Takes a view of the current state of a game.
+     *
+     * @param game    The game.
+     * @param version The version of the view, greater than the versions of the earlier views of the game.
+     * @return The view.
+     */
+    static GameView of(Game game, long version) {
+        return new GameView(game, version);
+    }
+
+    /**
+     * Formats the information about the blinds of a hand.
+     *
+     * @param smallBlindId The ID of the small blind player.
+     * @param bigBlindId   The ID of the big blind player.
+     * @return A string with information about the small blind and big blind.
+     */
+    static String infoBlinds(String smallBlindId, String bigBlindId) {
+        return "Small blind: " + smallBlindId + ", Big blind: " + bigBlindId
+                + ". 20$ and 40$ have been placed";
+    }
+
+    /**
+     * Gets the version of the view. Each view published by a game has a greater version than the previous one.
+     *
+     * @return The version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public long getHandNumber() {
+        return handNumber;
+    }
+
+    public int getPot() {
+        return pot;
+    }
+
+    public int getCurrentBet() {
+        return currentBet;
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    public int getDealerIndex() {
+        return dealerIndex;
+    }
+
+    public int getSmallBlindIndex() {
+        return smallBlindIndex;
+    }
+
+    public int getBigBlindIndex() {
+        return bigBlindIndex;
+    }
+
+    public int getSmallBlindAmount() {
+        return smallBlindAmount;
+    }
+
+    public int getBigBlindAmount() {
+        return bigBlindAmount;
+    }
+
+    /**
+     * Gets the seats of the players who have not folded, as a {@link SeatRing} bitmask.
+     *
+     * @return The active seats.
+     */
+    public int getActiveSeats() {
+        return activeSeats;
+    }
+
+    /**
+     * Gets the seats of the players who have not folded and have no chips left, as a {@link SeatRing} bitmask.
+     *
+     * @return The all-in seats.
+     */
+    public int getAllInSeats() {
+        return allInSeats;
+    }
+
+    /**
+     * Gets the seats of the players who have not acted in the betting round since it started or since the last raise,
+     * as a {@link SeatRing} bitmask.
+     *
+     * @return The pending seats.
+     */
+    public int getPendingSeats() {
+        return pendingSeats;
+    }
+
+    /**
+     * Gets the actions the current player can take, as a {@link LegalActions} bitmask
+     * (see {@link Game#getLegalActions(int)}).
+     *
+     * @return The legal actions of the current player, 0 if nobody can act.
+     */
+    public int getLegalActions() {
+        return legalActions;
+    }
+
+    /**
+     * Gets the smallest raise of the current player, {@link LegalActions#MIN_RAISE} if raising is legal.
+     *
+     * @return The smallest raise, 0 if the current player cannot raise.
+     */
+    public int getMinRaise() {
+        return maxRaise > 0 ? LegalActions.MIN_RAISE : 0;
+    }
+
+    /**
+     * Gets the largest raise of the current player: the stack left after the call.
+     *
+     * @return The largest raise, 0 if the current player cannot raise.
+     */
+    public int getMaxRaise() {
+        return maxRaise;
+    }
+
+    /**
+     * Gets the number of players at the table.
+     *
+     * @return The number of players.
+     */
+    public int getPlayerCount() {
+        return playerIds.length;
+    }
+
+    /**
+     * Gets the ID of the player in a seat.
+     *
+     * @param seat The seat index.
+     * @return The player ID.
+     * @throws IndexOutOfBoundsException if there is no such seat.
+     */
+    public String getPlayerId(int seat) {
+        return playerIds[seat];
+    }
+
+    /**
+     * Gets the stack of the player in a seat.
+     *
+     * @param seat The seat index.
+     * @return The number of chips of the player.
+     * @throws IndexOutOfBoundsException if there is no such seat.
+     */
+    public int getStack(int seat) {
+        return stacks[seat];
+    }
+
+    /**
+     * Gets the bet of the player in a seat in the current betting round.
+     *
+     * @param seat The seat index.
+     * @return The bet of the player.
+     * @throws IndexOutOfBoundsException if there is no such seat.
+     */
+    public int getBet(int seat) {
+        return bets[seat];
+    }
+
+    /**
+     * Checks whether the player in a seat is ready.
+     *
+     * @param seat The seat index.
+     * @return true if the player is ready.
+     * @throws IndexOutOfBoundsException if there is no such seat.
+     */
+    public boolean isReady(int seat) {
+        return ready[seat];
+    }
+
+    /**
+     * Checks whether the player in a seat has folded.
+     *
+     * @param seat The seat index.
+     * @return true if the player has folded.
+     * @throws IndexOutOfBoundsException if there is no such seat.
+     */
+    public boolean isFolded(int seat) {
+        return folded[seat];
+    }
+
+    /**
+     * Gets the number of chips the player in a seat has to add to match the current bet.
+     *
+     * @param seat The seat index.
+     * @return The amount to call, 0 if the player can check.
+     * @throws IndexOutOfBoundsException if there is no such seat.
+     */
+    public int getAmountToCall(int seat) {
+        return Math.max(0, currentBet - bets[seat]);
+    }
+
+    /**
+     * Gets the ID of the player whose turn it is.
+     *
+     * @return The player ID, null if the current player index is not a seat at the table.
+     */
+    public String getCurrentPlayerId() {
+        return playerIdAt(currentPlayerIndex);
+    }
+
+    /**
+     * Gets the information about the blinds, like {@link Game#getInfoBlinds()}.
+     *
+     * @return A string with information about the small blind and big blind.
+     */
+    public String getInfoBlinds() {
+        return infoBlinds(playerIdAt(smallBlindIndex), playerIdAt(bigBlindIndex));
+    }
+
+    private String playerIdAt(int seat) {
+        return seat >= 0 && seat < playerIds.length ? playerIds[seat] : null;
+    }
+}
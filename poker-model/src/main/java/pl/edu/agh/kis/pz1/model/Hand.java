@@ -62,6 +62,28 @@ public class Hand {
         return new ArrayList<>(cards);
     }
 
+    /**
+     * Returns the int codes of the cards in the hand (see {@link CardEncoding}), in hand order.
+     *
+     * @return An array with the codes of the cards in the hand.
+     */
+    public int[] getCardCodes() {
+        return CardEncoding.toCodes(cards);
+    }
+
+    /**
+     * Copies the int codes of the cards in the hand into the given array, without allocating.
+     *
+     * @param target The array to fill, at least as long as the hand.
+     * @return The number of codes written.
+     */
+    public int copyCardCodes(int[] target) {
+        for (int i = 0; i < cards.size(); i++) {
+            target[i] = cards.get(i).getCode();
+        }
+        return cards.size();
+    }
+
     /**
      * Returns the number of cards in the hand.
      *
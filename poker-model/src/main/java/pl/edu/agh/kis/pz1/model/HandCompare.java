@@ -9,6 +9,26 @@ import java.util.List;
  * among a list of players based on poker hand rankings.
  */
 public class HandCompare {
+    private static final int RANK_COUNT_BITS = 3;
+
+    private final FiveCardEvaluator evaluator;
+
+    /**
+     * Constructs a HandCompare evaluating hands with the shared {@link HandEvaluator}.
+     */
+    public HandCompare() {
+        this(HandEvaluator.getInstance());
+    }
+
+    /**
+     * Constructs a HandCompare evaluating hands with the given evaluator,
+     * e.g. an {@link OffHeapHandEvaluator} with tables mapped from a file shared between processes.
+     *
+     * @param evaluator The evaluator used by {@link #evaluate(List)} and {@link #determineWinner(List)}.
+     */
+    public HandCompare(FiveCardEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
 
     /**
      * Evaluates the hand and returns its rank.
@@ -65,9 +85,113 @@ public class HandCompare {
         }
     }
 
+    /**
+     * Evaluates the hand given as five card codes (see {@link CardEncoding}) and returns the packed key
+     * of its HandRank (see {@link HandRank#getKey()}).
+     * Unlike {@link #checkHand(List)}, the input is not modified and nothing is allocated.
+     *
+     * @param codes The codes of the five cards of the hand.
+     * @return The packed key of the hand's rank, equal to {@code checkHand(cards).getKey()}.
+     */
+    public int checkHandKey(int[] codes) {
+        long histogram = 0;
+        int suits = 0xF;
+        for (int i = 0; i < 5; i++) {
+            histogram += 1L << (RANK_COUNT_BITS * CardEncoding.rankIndex(codes[i]));
+            suits &= 1 << CardEncoding.suitIndex(codes[i]);
+        }
+        return checkHandKey(histogram, suits != 0);
+    }
+
+    /**
+     * Evaluates the hand given as a rank-count histogram and returns the packed key of its HandRank.
+     * The histogram holds, for every rank index (0 for TWO .. 12 for ACE), the number of cards of that rank.
+     * The input is not modified and nothing is allocated.
+     *
+     * @param rankCounts The number of cards of each rank, 13 entries summing up to five.
+     * @param flush      True if all five cards are of the same suit.
+     * @return The packed key of the hand's rank.
+     */
+    public int checkHandKey(int[] rankCounts, boolean flush) {
+        long histogram = 0;
+        for (int r = 0; r < CardEncoding.RANK_COUNT; r++) {
+            histogram |= (long) rankCounts[r] << (RANK_COUNT_BITS * r);
+        }
+        return checkHandKey(histogram, flush);
+    }
+
+    /**
+     * Evaluates the hand from a histogram packed into a long, with 3 bits of count per rank index.
+     * Kickers are written group by group (fours, threes, pairs, singles), higher ranks first,
+     * except for straights, whose ranks are written in ascending order like in {@link #checkHand(List)}.
+     *
+     * @param histogram The packed rank-count histogram.
+     * @param flush     True if all five cards are of the same suit.
+     * @return The packed key of the hand's rank.
+     */
+    private int checkHandKey(long histogram, boolean flush) {
+        int mask = 0;
+        int maxCount = 0;
+        for (int r = 0; r < CardEncoding.RANK_COUNT; r++) {
+            int count = (int) (histogram >>> (RANK_COUNT_BITS * r)) & 7;
+            if (count != 0) {
+                mask |= 1 << r;
+                maxCount = Math.max(maxCount, count);
+            }
+        }
+
+        int distinct = Integer.bitCount(mask);
+        HandType type;
+        if (distinct == 5) {
+            int low = Integer.numberOfTrailingZeros(mask);
+            if (mask == (0x1F << low)) {
+                // Strit - kickery rosnąco, jak w getRanks
+                if (flush) {
+                    type = (low + 4 == Rank.ACE.ordinal()) ? HandType.RoyalFlush : HandType.StraightFlush;
+                } else {
+                    type = HandType.Straight;
+                }
+                int key = type.getValue();
+                for (int r = low; r < low + 5; r++) {
+                    key = (key << HandEvaluator.KICKER_BITS) | (r + 2);
+                }
+                return key;
+            }
+            type = flush ? HandType.Flush : HandType.HighCard;
+        } else if (distinct == 2) {
+            type = maxCount == 4 ? HandType.FourOfAKind : HandType.FullHouse;
+        } else if (distinct == 3) {
+            type = maxCount == 3 ? HandType.ThreeOfAKind : HandType.TwoPair;
+        } else {
+            type = HandType.OnePair;
+        }
+
+        int key = type.getValue();
+        for (int count = 4; count >= 1; count--) {
+            for (int r = CardEncoding.RANK_COUNT - 1; r >= 0; r--) {
+                if (((histogram >>> (RANK_COUNT_BITS * r)) & 7) == count) {
+                    key = (key << HandEvaluator.KICKER_BITS) | (r + 2);
+                }
+            }
+        }
+        return key << (HandEvaluator.KICKER_BITS * (5 - distinct));
+    }
+
+    /**
+     * Evaluates the hand to a single int strength using the lookup tables of the evaluator of this HandCompare.
+     * Larger values mean stronger hands, and the ordering is the same as {@link #compareHandRank(HandRank, HandRank)}
+     * applied to the results of {@link #checkHand(List)}. The list is not modified.
+     *
+     * @param hand The list of five cards representing the player's hand.
+     * @return The strength of the hand.
+     */
+    public int evaluate(List<Card> hand) {
+        return evaluator.evaluate(hand);
+    }
+
     /**
      * Determines the winner among a list of players by comparing their hands.
-     * The method checks each player's hand and evaluates its rank using the `checkHand` method.
+     * The method evaluates each player's hand to its strength using the `evaluate` method.
      * It then compares each hand to find the highest ranked hand and returns the player with that hand.
      *
      * @param players The list of players to evaluate.
@@ -75,12 +199,12 @@ public class HandCompare {
      */
     public Player determineWinner(List<Player> players) {
         Player bestPlayer = null;
-        HandRank bestHandRank = null;
+        int bestStrength = 0;
 
         for (Player p : players) {
-            HandRank current = checkHand(p.getPlayerHand().getCards());
-            if (bestHandRank == null || compareHandRank(current, bestHandRank) > 0) {
-                bestHandRank = current;
+            int current = evaluate(p.getPlayerHand().getCards());
+            if (bestPlayer == null || current > bestStrength) {
+                bestStrength = current;
                 bestPlayer = p;
             }
         }
@@ -450,28 +574,20 @@ public class HandCompare {
 
     /**
      * Compares two HandRank objects.
-     * This method compares the types of the hands first. If the types are the same, it compares the kickers in descending order.
+     * The packed keys hold the type first and then the kickers in order, so a single int comparison
+     * compares the types and, if they are the same, the kickers one by one.
+     * When the ranks have different numbers of kickers, only the kickers both of them have are compared.
      *
      * @param h1 The first HandRank to compare.
      * @param h2 The second HandRank to compare.
      * @return A positive number if h1 is better, a negative number if h2 is better, or 0 if they are equal.
      */
     public int compareHandRank(HandRank h1, HandRank h2) {
-        if (h1.getType().getValue() != h2.getType().getValue()) {
-            return Integer.compare(h1.getType().getValue(), h2.getType().getValue());
-        }
-
-        // Jeśli typ taki sam, porównujemy kickery po kolei
-        List<Rank> k1 = h1.getKickers();
-        List<Rank> k2 = h2.getKickers();
-
-        int size = Math.min(k1.size(), k2.size());
-        for (int i = 0; i < size; i++) {
-            int comp = Integer.compare(k1.get(i).getValue(), k2.get(i).getValue());
-            if (comp != 0) return comp;
+        if (h1.getKickerCount() == h2.getKickerCount()) {
+            return Integer.compare(h1.getKey(), h2.getKey());
         }
-
-        return 0;
+        // Rozna liczba kickerow: porownujemy tylko wspolne, jak przy porownaniu list
+        int shift = HandEvaluator.KICKER_BITS * (5 - Math.min(h1.getKickerCount(), h2.getKickerCount()));
+        return Integer.compare(h1.getKey() >>> shift, h2.getKey() >>> shift);
     }
 }
-
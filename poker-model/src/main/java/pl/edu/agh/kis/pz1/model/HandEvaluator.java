@@ -0,0 +1,311 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lookup-table evaluator for five-card poker hands.
+ * Every hand is mapped to a single int strength, where a larger value means a stronger hand.
+ * The ordering is exactly the one of {@link HandCompare#compareHandRank(HandRank, HandRank)}
+ * applied to the results of {@link HandCompare#checkHand(List)}.
+ *
+ * The strength is packed as {@code type << 20 | k0 << 16 | k1 << 12 | k2 << 8 | k3 << 4 | k4},
+ * where {@code type} is {@link HandType#getValue()} and {@code k0..k4} are the kicker rank values
+ * in the order used by {@link HandCompare} (unused slots are zero), so the type and kickers
+ * can be recovered from the strength on demand.
+ *
+ * Hands are looked up in three tables, as in the prime-product evaluators:
+ * flushes and five distinct ranks are indexed directly by the 13-bit rank mask,
+ * all other hands by the product of the primes assigned to their ranks.
+ */
+public final class HandEvaluator implements FiveCardEvaluator {
+    /** Number of bits used by a single kicker slot in the packed strength. */
+    static final int KICKER_BITS = 4;
+    /** Position of the hand type in the packed strength. */
+    static final int TYPE_SHIFT = 20;
+
+    private static final int RANK_MASKS = 1 << CardEncoding.RANK_COUNT;
+    private static final HandType[] TYPES_BY_VALUE = new HandType[11];
+    private static final HandEvaluator INSTANCE = new HandEvaluator();
+
+    static {
+        for (HandType type : HandType.values()) {
+            TYPES_BY_VALUE[type.getValue()] = type;
+        }
+    }
+
+    private final int[] flushes = new int[RANK_MASKS];
+    private final int[] unique5 = new int[RANK_MASKS];
+    private final int[] products;
+    private final int[] productValues;
+
+    /**
+     * Builds the lookup tables. The tables are immutable afterwards, so a single instance
+     * can be shared between threads, see {@link #getInstance()}.
+     */
+    private HandEvaluator() {
+        buildDistinctRankTables();
+
+        List<long[]> entries = new ArrayList<>();
+        buildPairedTables(entries);
+        entries.sort((a, b) -> Long.compare(a[0], b[0]));
+        products = new int[entries.size()];
+        productValues = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            products[i] = (int) entries.get(i)[0];
+            productValues[i] = (int) entries.get(i)[1];
+        }
+    }
+
+    /**
+     * Returns the shared evaluator instance.
+     *
+     * @return The evaluator instance.
+     */
+    public static HandEvaluator getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Evaluates a five-card hand given as card codes (see {@link CardEncoding}).
+     *
+     * @param c0 The code of the first card.
+     * @param c1 The code of the second card.
+     * @param c2 The code of the third card.
+     * @param c3 The code of the fourth card.
+     * @param c4 The code of the fifth card.
+     * @return The strength of the hand, larger is stronger.
+     */
+    @Override
+    public int evaluate(int c0, int c1, int c2, int c3, int c4) {
+        int b0 = CardEncoding.toBits(c0);
+        int b1 = CardEncoding.toBits(c1);
+        int b2 = CardEncoding.toBits(c2);
+        int b3 = CardEncoding.toBits(c3);
+        int b4 = CardEncoding.toBits(c4);
+        int mask = (b0 | b1 | b2 | b3 | b4) >>> 16;
+
+        if ((b0 & b1 & b2 & b3 & b4 & 0xF000) != 0) {
+            return flushes[mask];
+        }
+        int value = unique5[mask];
+        if (value != 0) {
+            return value;
+        }
+        int product = (b0 & 0xFF) * (b1 & 0xFF) * (b2 & 0xFF) * (b3 & 0xFF) * (b4 & 0xFF);
+        return productValues[Arrays.binarySearch(products, product)];
+    }
+
+    /**
+     * Evaluates a five-card hand from the combined bit fields of its cards (see {@link CardEncoding#toBits(int)}).
+     * Lets callers enumerating many hands with common cards combine the shared part only once.
+     *
+     * @param orBits  The bitwise OR of the bit fields of the five cards.
+     * @param andBits The bitwise AND of the bit fields of the five cards.
+     * @param product The product of the rank primes of the five cards.
+     * @return The strength of the hand, larger is stronger.
+     */
+    int evaluateBits(int orBits, int andBits, int product) {
+        int mask = orBits >>> 16;
+        if ((andBits & 0xF000) != 0) {
+            return flushes[mask];
+        }
+        int value = unique5[mask];
+        if (value != 0) {
+            return value;
+        }
+        return productValues[Arrays.binarySearch(products, product)];
+    }
+
+    /**
+     * Evaluates a five-card hand given as an array of card codes.
+     *
+     * @param codes The codes of the cards, exactly five of them.
+     * @return The strength of the hand, larger is stronger.
+     */
+    @Override
+    public int evaluate(int[] codes) {
+        return evaluate(codes[0], codes[1], codes[2], codes[3], codes[4]);
+    }
+
+    /**
+     * Evaluates a five-card hand. The list is not modified.
+     *
+     * @param hand The cards of the hand, exactly five of them.
+     * @return The strength of the hand, larger is stronger.
+     */
+    @Override
+    public int evaluate(List<Card> hand) {
+        return evaluate(hand.get(0).getCode(), hand.get(1).getCode(), hand.get(2).getCode(),
+                hand.get(3).getCode(), hand.get(4).getCode());
+    }
+
+    /**
+     * Recovers the hand type from a strength returned by this evaluator.
+     *
+     * @param strength The strength of the hand.
+     * @return The type of the hand.
+     */
+    public static HandType getType(int strength) {
+        return TYPES_BY_VALUE[strength >>> TYPE_SHIFT];
+    }
+
+    /**
+     * Recovers the kickers from a strength returned by this evaluator,
+     * in the same order as {@link HandCompare#checkHand(List)} reports them.
+     *
+     * @param strength The strength of the hand.
+     * @return The list of kicker ranks.
+     */
+    public static List<Rank> getKickers(int strength) {
+        List<Rank> kickers = new ArrayList<>(5);
+        Rank[] ranks = Rank.values();
+        for (int shift = TYPE_SHIFT - KICKER_BITS; shift >= 0; shift -= KICKER_BITS) {
+            int value = (strength >>> shift) & 0xF;
+            if (value == 0) {
+                break;
+            }
+            kickers.add(ranks[value - 2]);
+        }
+        return kickers;
+    }
+
+    /**
+     * Converts a strength returned by this evaluator into a HandRank.
+     * The strength is the packed key of the HandRank, so the kickers are only unpacked when asked for.
+     *
+     * @param strength The strength of the hand.
+     * @return The HandRank with the type and kickers of the hand.
+     */
+    public static HandRank toHandRank(int strength) {
+        return new HandRank(strength);
+    }
+
+    /**
+     * Gets the number of entries of the prime product table.
+     *
+     * @return The number of hand classes with a repeated rank.
+     */
+    int productCount() {
+        return products.length;
+    }
+
+    /**
+     * Copies the lookup tables into int buffers, e.g. to keep them off the heap (see {@link OffHeapHandEvaluator}).
+     *
+     * @param flushOut   The target for the flush table (8192 entries).
+     * @param unique5Out The target for the five distinct ranks table (8192 entries).
+     * @param productOut The target for the sorted prime products ({@link #productCount()} entries).
+     * @param valueOut   The target for the strengths of the prime products ({@link #productCount()} entries).
+     */
+    void copyTables(IntBuffer flushOut, IntBuffer unique5Out, IntBuffer productOut, IntBuffer valueOut) {
+        flushOut.put(flushes);
+        unique5Out.put(unique5);
+        productOut.put(products);
+        valueOut.put(productValues);
+    }
+
+    /**
+     * Packs a hand type and kicker rank values into a strength.
+     *
+     * @param type    The type of the hand.
+     * @param kickers The kicker rank values (2..14), at most five.
+     * @return The packed strength.
+     */
+    static int pack(HandType type, int... kickers) {
+        int key = type.getValue();
+        for (int i = 0; i < 5; i++) {
+            key = (key << KICKER_BITS) | (i < kickers.length ? kickers[i] : 0);
+        }
+        return key;
+    }
+
+    // ---------------- Budowanie tablic ---------------- //
+
+    /**
+     * Fills the tables for hands with five distinct ranks: flushes, straights and high cards.
+     * A straight needs five consecutive rank values, so A-2-3-4-5 is not a straight.
+     */
+    private void buildDistinctRankTables() {
+        for (int mask = 0; mask < RANK_MASKS; mask++) {
+            if (Integer.bitCount(mask) != 5) {
+                continue;
+            }
+            int low = Integer.numberOfTrailingZeros(mask);
+            boolean straight = mask == (0x1F << low);
+            int[] ascending = new int[5];
+            int[] descending = new int[5];
+            int n = 0;
+            for (int r = 0; r < CardEncoding.RANK_COUNT; r++) {
+                if ((mask & (1 << r)) != 0) {
+                    ascending[n] = r + 2;
+                    descending[4 - n] = r + 2;
+                    n++;
+                }
+            }
+            if (straight) {
+                boolean royal = ascending[4] == Rank.ACE.getValue();
+                flushes[mask] = pack(royal ? HandType.RoyalFlush : HandType.StraightFlush, ascending);
+                unique5[mask] = pack(HandType.Straight, ascending);
+            } else {
+                flushes[mask] = pack(HandType.Flush, descending);
+                unique5[mask] = pack(HandType.HighCard, descending);
+            }
+        }
+    }
+
+    /**
+     * Collects the (prime product, strength) pairs of all hands with at least one repeated rank.
+     *
+     * @param entries The list the pairs are added to.
+     */
+    private static void buildPairedTables(List<long[]> entries) {
+        int n = CardEncoding.RANK_COUNT;
+        for (int a = n - 1; a >= 0; a--) {
+            for (int b = n - 1; b >= 0; b--) {
+                if (b == a) {
+                    continue;
+                }
+                // Kareta i full
+                entries.add(entry(pack(HandType.FourOfAKind, a + 2, b + 2), a, a, a, a, b));
+                entries.add(entry(pack(HandType.FullHouse, a + 2, b + 2), a, a, a, b, b));
+                for (int c = b - 1; c >= 0; c--) {
+                    if (c == a) {
+                        continue;
+                    }
+                    // Trojka
+                    entries.add(entry(pack(HandType.ThreeOfAKind, a + 2, b + 2, c + 2), a, a, a, b, c));
+                    // Dwie pary: a > b to pary, c to kicker (dowolny inny)
+                    if (a > b) {
+                        entries.add(entry(pack(HandType.TwoPair, a + 2, b + 2, c + 2), a, a, b, b, c));
+                    }
+                    for (int d = c - 1; d >= 0; d--) {
+                        if (d == a) {
+                            continue;
+                        }
+                        // Para
+                        entries.add(entry(pack(HandType.OnePair, a + 2, b + 2, c + 2, d + 2), a, a, b, c, d));
+                    }
+                }
+                // Dwie pary z kickerem wyzszym niz druga para
+                if (a > b) {
+                    for (int c = n - 1; c > b; c--) {
+                        if (c != a) {
+                            entries.add(entry(pack(HandType.TwoPair, a + 2, b + 2, c + 2), a, a, b, b, c));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static long[] entry(int strength, int... rankIndexes) {
+        long product = 1;
+        for (int r : rankIndexes) {
+            product *= CardEncoding.prime(r);
+        }
+        return new long[]{product, strength};
+    }
+}
@@ -0,0 +1,165 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.Arrays;
+
+/**
+ * Table mapping every five-card hand strength to its percentile among all 2,598,960 five-card hands.
+ * The percentile counts the weaker hands plus half of the equal ones, so it is the chance of beating
+ * a random hand with ties counted as half. It turns the strength returned by {@link HandEvaluator}
+ * into a number that can be averaged, e.g. as the expected value of a draw.
+ *
+ * The number of hands in each of the 7462 strength classes is counted from the rank multisets,
+ * so the table is built without enumerating all hands.
+ */
+public final class HandPercentileTable {
+    /** Number of distinct five-card hands. */
+    public static final int HAND_COUNT = 2_598_960;
+
+    private static final HandPercentileTable INSTANCE = new HandPercentileTable();
+
+    private final int[] strengths;
+    private final int[] counts;
+    private final double[] percentiles;
+
+    private HandPercentileTable() {
+        long[] classes = new long[8192];
+        int n = 0;
+        int[] ranks = new int[5];
+        int[] codes = new int[5];
+        int r = CardEncoding.RANK_COUNT;
+        for (ranks[0] = 0; ranks[0] < r; ranks[0]++) {
+            for (ranks[1] = ranks[0]; ranks[1] < r; ranks[1]++) {
+                for (ranks[2] = ranks[1]; ranks[2] < r; ranks[2]++) {
+                    for (ranks[3] = ranks[2]; ranks[3] < r; ranks[3]++) {
+                        for (ranks[4] = ranks[3]; ranks[4] < r; ranks[4]++) {
+                            if (!assignSuits(ranks, codes)) {
+                                continue;
+                            }
+                            int count = suitCombinations(ranks);
+                            if (count == 0) {
+                                // Piec roznych rang: osobno kolor i reszta
+                                classes[n++] = entry(codes, 4);
+                                codes[4] = CardEncoding.encode(Rank.values()[ranks[4]], Suit.values()[1]);
+                                count = 1020;
+                            }
+                            classes[n++] = entry(codes, count);
+                        }
+                    }
+                }
+            }
+        }
+
+        Arrays.sort(classes, 0, n);
+        strengths = new int[n];
+        counts = new int[n];
+        percentiles = new double[n];
+        long below = 0;
+        for (int i = 0; i < n; i++) {
+            strengths[i] = (int) (classes[i] >>> 32);
+            counts[i] = (int) classes[i];
+            percentiles[i] = (below + counts[i] / 2.0) / HAND_COUNT;
+            below += counts[i];
+        }
+    }
+
+    /**
+     * Returns the shared table instance.
+     *
+     * @return The table instance.
+     */
+    public static HandPercentileTable getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the percentile of a hand strength.
+     *
+     * @param strength The strength returned by {@link HandEvaluator}.
+     * @return The fraction of hands beaten, ties counted as half, between 0 and 1.
+     * @throws IllegalArgumentException if the strength is not the strength of any hand.
+     */
+    public double percentile(int strength) {
+        return percentiles[indexOf(strength)];
+    }
+
+    /**
+     * Gets the number of five-card hands with the given strength.
+     *
+     * @param strength The strength returned by {@link HandEvaluator}.
+     * @return The number of hands of that strength.
+     * @throws IllegalArgumentException if the strength is not the strength of any hand.
+     */
+    public int handCount(int strength) {
+        return counts[indexOf(strength)];
+    }
+
+    /**
+     * Gets the number of distinct hand strengths.
+     *
+     * @return The number of strength classes.
+     */
+    public int classCount() {
+        return strengths.length;
+    }
+
+    private int indexOf(int strength) {
+        int index = Arrays.binarySearch(strengths, strength);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown hand strength: " + strength);
+        }
+        return index;
+    }
+
+    /**
+     * Gives every card of the rank multiset a suit, using suits 0, 1, ... within each group of equal ranks.
+     *
+     * @return false if a rank occurs more than four times.
+     */
+    private static boolean assignSuits(int[] ranks, int[] codes) {
+        int suit = 0;
+        for (int i = 0; i < 5; i++) {
+            suit = i > 0 && ranks[i] == ranks[i - 1] ? suit + 1 : 0;
+            if (suit >= CardEncoding.SUIT_COUNT) {
+                return false;
+            }
+            codes[i] = CardEncoding.encode(Rank.values()[ranks[i]], Suit.values()[suit]);
+        }
+        return true;
+    }
+
+    /**
+     * Counts the suit assignments of a rank multiset with a repeated rank, or returns 0 for five distinct ranks.
+     */
+    private static int suitCombinations(int[] ranks) {
+        int count = 1;
+        boolean repeated = false;
+        int run = 1;
+        for (int i = 1; i <= 5; i++) {
+            if (i < 5 && ranks[i] == ranks[i - 1]) {
+                run++;
+                repeated = true;
+            } else {
+                count *= choose4(run);
+                run = 1;
+            }
+        }
+        return repeated ? count : 0;
+    }
+
+    private static int choose4(int k) {
+        switch (k) {
+            case 1:
+            case 3:
+                return 4;
+            case 2:
+                return 6;
+            default:
+                return 1;
+        }
+    }
+
+    private static long entry(int[] codes, int count) {
+        long strength = HandEvaluator.getInstance().evaluate(codes);
+        return (strength << 32) | count;
+    }
+}
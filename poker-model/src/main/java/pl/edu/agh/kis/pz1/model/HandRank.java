@@ -1,25 +1,57 @@
 package pl.edu.agh.kis.pz1.model;
 
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Represents a hand ranking in poker, consisting of the hand's type (e.g., STRAIGHT_FLUSH)
  * and a list of kickers (additional cards used for comparison in case of ties).
+ *
+ * Internally the rank is kept as a packed int key: the hand type value in bits 20-23 and up to five
+ * kicker rank values in the 4-bit slots below it (unused slots are zero). Comparing two keys gives the
+ * same result as comparing the type and then the kickers one by one, so ordering, equality and hashing
+ * need no list work. The kicker list is only built when {@link #getKickers()} is called.
+ * Ranks built from kicker lists of different lengths compare only the kickers both of them have,
+ * see {@link HandCompare#compareHandRank(HandRank, HandRank)}.
  */
 public class HandRank {
     private final HandType type; // np. STRAIGHT_FLUSH
-    private final List<Rank> kickers; // np. [KING, QUEEN, TEN]
+    private final int key;
+    private final int kickerCount; // liczba kickerow zapisanych w kluczu
+    private List<Rank> kickers; // np. [KING, QUEEN, TEN], budowane leniwie
 
     /**
      * Constructs a HandRank object with the given hand type and kickers.
      *
      * @param type    The type of the hand (e.g., FULL_HOUSE, STRAIGHT).
-     * @param kickers A list of ranks representing the kickers (tiebreaker cards).
+     * @param kickers A list of ranks representing the kickers (tiebreaker cards), at most five.
      */
     public HandRank(HandType type, List<Rank> kickers){
         this.type = type;
         this.kickers = kickers;
+        int packed = type.getValue();
+        for (int i = 0; i < 5; i++) {
+            packed = (packed << HandEvaluator.KICKER_BITS) | (i < kickers.size() ? kickers.get(i).getValue() : 0);
+        }
+        this.key = packed;
+        this.kickerCount = Math.min(kickers.size(), 5);
+    }
+
+    /**
+     * Constructs a HandRank object from a packed key, such as a strength returned by {@link HandEvaluator}.
+     * The kicker list is built on the first call to {@link #getKickers()}.
+     *
+     * @param key The packed key of the hand rank.
+     */
+    public HandRank(int key) {
+        this.type = HandEvaluator.getType(key);
+        this.key = key;
+        int count = 0;
+        for (int shift = HandEvaluator.TYPE_SHIFT - HandEvaluator.KICKER_BITS;
+             shift >= 0 && ((key >>> shift) & 0xF) != 0; shift -= HandEvaluator.KICKER_BITS) {
+            count++;
+        }
+        this.kickerCount = count;
     }
 
     /**
@@ -37,9 +69,30 @@ public class HandRank {
      * @return A list of ranks representing the kickers of the hand.
      */
     public List<Rank> getKickers() {
+        if (kickers == null) {
+            kickers = Collections.unmodifiableList(HandEvaluator.getKickers(key));
+        }
         return kickers;
     }
 
+    /**
+     * Gets the packed key of the hand rank. A larger key means a stronger hand.
+     *
+     * @return The packed key.
+     */
+    public int getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the number of kickers held in the packed key.
+     *
+     * @return The number of kickers, at most five.
+     */
+    int getKickerCount() {
+        return kickerCount;
+    }
+
     /**
      * Compares this HandRank object to another object for equality.
      * Two HandRank objects are considered equal if their hand type and kickers are the same.
@@ -53,17 +106,17 @@ public class HandRank {
         if (o == null || getClass() != o.getClass()) return false;
 
         HandRank handRank = (HandRank) o;
-        return type == handRank.type && kickers.equals(handRank.kickers);
+        return key == handRank.key;
     }
 
     /**
      * Returns a hash code value for this HandRank object.
-     * The hash code is computed based on the hand type and kickers.
+     * The hash code is the packed key, which covers the hand type and kickers.
      *
      * @return The hash code for this HandRank object.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(type, kickers);
+        return key;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,292 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Bounded, thread-safe cache of HandRank objects keyed by canonical card masks
+ * (see {@link SuitCanonicalizer#canonicalKey(java.util.Collection)}), so all suit permutations
+ * of a hand share one entry. The cache counts hits, misses and evictions.
+ *
+ * Two eviction policies are available:
+ * <ul>
+ *     <li>{@link Eviction#LRU} - least-recently-used order, kept per segment in lock-striped access-ordered maps,</li>
+ *     <li>{@link Eviction#CLOCK} - second-chance approximation of LRU; reads take no lock and only set a reference bit,
+ *     inserts sweep a ring of slots under a lock.</li>
+ * </ul>
+ */
+public class HandRankCache {
+    /** Default number of cached hand ranks. */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Eviction policy of the cache.
+     */
+    public enum Eviction {
+        LRU,
+        CLOCK
+    }
+
+    private final int capacity;
+    private final Eviction eviction;
+    private final Store store;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a CLOCK cache with the default capacity.
+     */
+    public HandRankCache() {
+        this(DEFAULT_CAPACITY, Eviction.CLOCK);
+    }
+
+    /**
+     * Constructs a cache.
+     *
+     * @param capacity The largest number of cached hand ranks.
+     * @param eviction The eviction policy.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public HandRankCache(int capacity, Eviction eviction) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.eviction = eviction;
+        this.store = eviction == Eviction.LRU ? new LruStore(capacity) : new ClockStore(capacity);
+    }
+
+    /**
+     * Returns the cached hand rank for the key, computing and caching it on a miss.
+     * The loader may be called more than once for the same key by concurrent callers.
+     *
+     * @param key    The canonical key of the hand.
+     * @param loader The function computing the hand rank of a key.
+     * @return The hand rank.
+     */
+    public HandRank get(long key, LongFunction<HandRank> loader) {
+        HandRank rank = store.get(key);
+        if (rank != null) {
+            hits.increment();
+            return rank;
+        }
+        misses.increment();
+        rank = loader.apply(key);
+        // Lista kickerow budowana przed publikacja, bo HandRank buduje ja leniwie
+        rank.getKickers();
+        store.put(key, rank);
+        return rank;
+    }
+
+    /**
+     * Removes all entries. The counters are kept.
+     */
+    public void clear() {
+        store.clear();
+    }
+
+    /**
+     * Gets the number of cached hand ranks.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that had to compute the hand rank.
+     *
+     * @return The number of misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of entries removed to make room for new ones.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the fraction of lookups answered from the cache.
+     *
+     * @return The hit rate, 0 if there were no lookups.
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Eviction getEviction() {
+        return eviction;
+    }
+
+    private interface Store {
+        HandRank get(long key);
+
+        void put(long key, HandRank rank);
+
+        void clear();
+
+        int size();
+    }
+
+    /**
+     * LRU store split into segments by key hash, each one an access-ordered LinkedHashMap behind its own lock.
+     */
+    private final class LruStore implements Store {
+        private static final int MAX_SEGMENTS = 16;
+
+        private final LinkedHashMap<Long, HandRank>[] segments;
+
+        @SuppressWarnings("unchecked")
+        LruStore(int capacity) {
+            int count = Math.min(MAX_SEGMENTS, Integer.highestOneBit(capacity));
+            segments = new LinkedHashMap[count];
+            for (int i = 0; i < count; i++) {
+                int segmentCapacity = capacity / count + (i < capacity % count ? 1 : 0);
+                segments[i] = new LinkedHashMap<Long, HandRank>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Long, HandRank> eldest) {
+                        if (size() > segmentCapacity) {
+                            evictions.increment();
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+            }
+        }
+
+        private LinkedHashMap<Long, HandRank> segment(long key) {
+            return segments[(Long.hashCode(key) * 0x9E3779B9 >>> 16) & (segments.length - 1)];
+        }
+
+        @Override
+        public HandRank get(long key) {
+            LinkedHashMap<Long, HandRank> segment = segment(key);
+            synchronized (segment) {
+                return segment.get(key);
+            }
+        }
+
+        @Override
+        public void put(long key, HandRank rank) {
+            LinkedHashMap<Long, HandRank> segment = segment(key);
+            synchronized (segment) {
+                segment.put(key, rank);
+            }
+        }
+
+        @Override
+        public void clear() {
+            for (LinkedHashMap<Long, HandRank> segment : segments) {
+                synchronized (segment) {
+                    segment.clear();
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (LinkedHashMap<Long, HandRank> segment : segments) {
+                synchronized (segment) {
+                    size += segment.size();
+                }
+            }
+            return size;
+        }
+    }
+
+    /**
+     * CLOCK store: a concurrent map from key to slot entry and a ring of slots swept by the clock hand.
+     */
+    private final class ClockStore implements Store {
+        private final ConcurrentHashMap<Long, Entry> map;
+        private final Entry[] ring;
+        private int hand;
+
+        ClockStore(int capacity) {
+            map = new ConcurrentHashMap<>(capacity * 4 / 3 + 1);
+            ring = new Entry[capacity];
+        }
+
+        @Override
+        public HandRank get(long key) {
+            Entry entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            entry.referenced = true;
+            return entry.rank;
+        }
+
+        @Override
+        public synchronized void put(long key, HandRank rank) {
+            if (map.containsKey(key)) {
+                return;
+            }
+            // Druga szansa: wpisy z ustawionym bitem odwolania sa pomijane raz
+            while (ring[hand] != null && ring[hand].referenced) {
+                ring[hand].referenced = false;
+                hand = (hand + 1) % ring.length;
+            }
+            if (ring[hand] != null) {
+                map.remove(ring[hand].key);
+                evictions.increment();
+            }
+            Entry entry = new Entry(key, rank);
+            ring[hand] = entry;
+            map.put(key, entry);
+            hand = (hand + 1) % ring.length;
+        }
+
+        @Override
+        public synchronized void clear() {
+            map.clear();
+            Arrays.fill(ring, null);
+            hand = 0;
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+    }
+
+    private static final class Entry {
+        private final long key;
+        private final HandRank rank;
+        private volatile boolean referenced;
+
+        Entry(long key, HandRank rank) {
+            this.key = key;
+            this.rank = rank;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable record of one hand of a {@link Game}, written to a {@link DealLog} and replayed by {@link DealReplayer}.
+ *
+ * A record holds everything needed to play the hand again: the players with their stacks before the blinds,
+ * the dealer position, the order of the shuffled deck (one byte per card code, dealt from the last one)
+ * and the list of actions in the order they were called. After every action the record stores a hash
+ * of the game state, so a replay can tell the exact action where it diverges.
+ */
+public final class HandRecord {
+    private static final int MAX_EXCHANGED = 4;
+    private static final int INDEX_BITS = 3;
+
+    private final String gameId;
+    private final long handNumber;
+    private final int dealerIndex;
+    private final String[] playerIds;
+    private final int[] stacks;
+    private final byte[] deck;
+    private final byte[] actions;
+    private final byte[] seats;
+    private final int[] arguments;
+    private final int[] stateHashes;
+    private final boolean closedByReset;
+    private final int finalStateHash;
+
+    private HandRecord(Builder builder, boolean closedByReset, int finalStateHash) {
+        this(builder.gameId, builder.handNumber, builder.dealerIndex, builder.playerIds, builder.stacks, builder.deck,
+                builder.actions.toByteArray(), builder.seats.toByteArray(),
+                Arrays.copyOf(builder.arguments, builder.count), Arrays.copyOf(builder.stateHashes, builder.count),
+                closedByReset, finalStateHash);
+    }
+
+    private HandRecord(String gameId, long handNumber, int dealerIndex, String[] playerIds, int[] stacks, byte[] deck,
+                       byte[] actions, byte[] seats, int[] arguments, int[] stateHashes,
+                       boolean closedByReset, int finalStateHash) {
+        this.gameId = gameId;
+        this.handNumber = handNumber;
+        this.dealerIndex = dealerIndex;
+        this.playerIds = playerIds;
+        this.stacks = stacks;
+        this.deck = deck;
+        this.actions = actions;
+        this.seats = seats;
+        this.arguments = arguments;
+        this.stateHashes = stateHashes;
+        this.closedByReset = closedByReset;
+        this.finalStateHash = finalStateHash;
+    }
+
+    /**
+     * Writes the record in the binary format read by {@link #read(DataInput)}.
+     *
+     * @param out The output.
+     * @throws IOException if the record cannot be written.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeUTF(gameId);
+        out.writeLong(handNumber);
+        out.writeByte(dealerIndex);
+        out.writeByte(playerIds.length);
+        for (int i = 0; i < playerIds.length; i++) {
+            out.writeUTF(playerIds[i]);
+            out.writeInt(stacks[i]);
+        }
+        out.writeByte(deck.length);
+        out.write(deck);
+        out.writeInt(actions.length);
+        for (int i = 0; i < actions.length; i++) {
+            out.writeByte(actions[i]);
+            out.writeByte(seats[i]);
+            out.writeInt(arguments[i]);
+            out.writeInt(stateHashes[i]);
+        }
+        out.writeBoolean(closedByReset);
+        out.writeInt(finalStateHash);
+    }
+
+    /**
+     * Reads a record written by {@link #write(DataOutput)}.
+     *
+     * @param in The input.
+     * @return The record.
+     * @throws IOException if the record cannot be read or is invalid.
+     */
+    public static HandRecord read(DataInput in) throws IOException {
+        String gameId = in.readUTF();
+        long handNumber = in.readLong();
+        int dealerIndex = in.readUnsignedByte();
+        int playerCount = in.readUnsignedByte();
+        String[] playerIds = new String[playerCount];
+        int[] stacks = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            playerIds[i] = in.readUTF();
+            stacks[i] = in.readInt();
+        }
+        byte[] deck = new byte[in.readUnsignedByte()];
+        in.readFully(deck);
+        for (byte code : deck) {
+            if (code < 0 || code >= CardEncoding.DECK_SIZE) {
+                throw new IOException("Invalid card code in hand record: " + code);
+            }
+        }
+        int actionCount = in.readInt();
+        if (actionCount < 0) {
+            throw new IOException("Invalid action count in hand record: " + actionCount);
+        }
+        byte[] actions = new byte[actionCount];
+        byte[] seats = new byte[actionCount];
+        int[] arguments = new int[actionCount];
+        int[] stateHashes = new int[actionCount];
+        for (int i = 0; i < actionCount; i++) {
+            actions[i] = in.readByte();
+            seats[i] = in.readByte();
+            arguments[i] = in.readInt();
+            stateHashes[i] = in.readInt();
+        }
+        boolean closedByReset = in.readBoolean();
+        int finalStateHash = in.readInt();
+        return new HandRecord(gameId, handNumber, dealerIndex, playerIds, stacks, deck, actions, seats, arguments,
+                stateHashes, closedByReset, finalStateHash);
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public long getHandNumber() {
+        return handNumber;
+    }
+
+    public int getDealerIndex() {
+        return dealerIndex;
+    }
+
+    public int getPlayerCount() {
+        return playerIds.length;
+    }
+
+    public String getPlayerId(int seat) {
+        return playerIds[seat];
+    }
+
+    public int getStack(int seat) {
+        return stacks[seat];
+    }
+
+    /**
+     * Gets the codes of the cards of the shuffled deck, the next card dealt being the last one.
+     *
+     * @return A copy of the deck order.
+     */
+    public int[] getDeckCodes() {
+        int[] codes = new int[deck.length];
+        for (int i = 0; i < deck.length; i++) {
+            codes[i] = deck[i];
+        }
+        return codes;
+    }
+
+    public int getActionCount() {
+        return actions.length;
+    }
+
+    public DealAction getAction(int index) {
+        return DealAction.fromOrdinal(actions[index]);
+    }
+
+    /**
+     * Gets the seat of the player who took an action.
+     *
+     * @param index The index of the action.
+     * @return The seat, or -1 for actions not taken by a player.
+     */
+    public int getSeat(int index) {
+        return seats[index];
+    }
+
+    /**
+     * Gets the argument of an action: the amount of a raise, the result of processing a betting round (1 or 0)
+     * or the exchanged indices (see {@link #getExchangedIndices(int)}).
+     *
+     * @param index The index of the action.
+     * @return The argument, 0 if the action has none.
+     */
+    public int getArgument(int index) {
+        return arguments[index];
+    }
+
+    /**
+     * Gets the card indices of an exchange action, in the order they were given.
+     *
+     * @param index The index of the action.
+     * @return A new mutable list of the indices.
+     */
+    public List<Integer> getExchangedIndices(int index) {
+        return unpackIndices(arguments[index]);
+    }
+
+    /**
+     * Unpacks card indices packed by {@link #packIndices(List)}.
+     *
+     * @param packed The packed indices.
+     * @return A new mutable list of the indices.
+     */
+    static List<Integer> unpackIndices(int packed) {
+        int count = packed & ((1 << INDEX_BITS) - 1);
+        List<Integer> indices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            indices.add((packed >>> (INDEX_BITS * (i + 1))) & ((1 << INDEX_BITS) - 1));
+        }
+        return indices;
+    }
+
+    public int getStateHash(int index) {
+        return stateHashes[index];
+    }
+
+    /**
+     * Checks whether the hand was closed by a reset of the game, rather than by the start of the next hand.
+     *
+     * @return true if the game was reset after the last action.
+     */
+    public boolean isClosedByReset() {
+        return closedByReset;
+    }
+
+    public int getFinalStateHash() {
+        return finalStateHash;
+    }
+
+    /**
+     * Packs the card indices of an exchange into an action argument.
+     *
+     * @param indices The indices, at most four, each from 0 to 4.
+     * @return The packed argument, or -1 if the indices cannot be packed.
+     */
+    static int packIndices(List<Integer> indices) {
+        if (indices.size() > MAX_EXCHANGED) {
+            return -1;
+        }
+        int packed = indices.size();
+        for (int i = 0; i < indices.size(); i++) {
+            Integer index = indices.get(i);
+            if (index == null || index < 0 || index >= 5) {
+                return -1;
+            }
+            packed |= index << (INDEX_BITS * (i + 1));
+        }
+        return packed;
+    }
+
+    /**
+     * Collects the actions of a hand while it is played.
+     */
+    static final class Builder {
+        private final String gameId;
+        private final long handNumber;
+        private final int dealerIndex;
+        private final String[] playerIds;
+        private final int[] stacks;
+        private final byte[] deck;
+        private final ByteArrayOutputStream actions = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream seats = new ByteArrayOutputStream();
+        private int[] arguments = new int[32];
+        private int[] stateHashes = new int[32];
+        private int count;
+
+        Builder(String gameId, long handNumber, int dealerIndex, List<Player> players, int[] deckCodes) {
+            this.gameId = gameId == null ? "" : gameId;
+            this.handNumber = handNumber;
+            this.dealerIndex = dealerIndex;
+            this.playerIds = new String[players.size()];
+            this.stacks = new int[players.size()];
+            for (int i = 0; i < players.size(); i++) {
+                playerIds[i] = players.get(i).getPlayerId();
+                stacks[i] = players.get(i).getStack();
+            }
+            this.deck = new byte[deckCodes.length];
+            for (int i = 0; i < deckCodes.length; i++) {
+                deck[i] = (byte) deckCodes[i];
+            }
+        }
+
+        void add(DealAction action, int seat, int argument, int stateHash) {
+            if (count == arguments.length) {
+                arguments = Arrays.copyOf(arguments, count * 2);
+                stateHashes = Arrays.copyOf(stateHashes, count * 2);
+            }
+            actions.write(action.ordinal());
+            seats.write(seat);
+            arguments[count] = argument;
+            stateHashes[count] = stateHash;
+            count++;
+        }
+
+        HandRecord build(boolean closedByReset, int finalStateHash) {
+            return new HandRecord(this, closedByReset, finalStateHash);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Headless simulator playing complete hands of {@link Game} between {@link PlayerStrategy} seats,
+ * e.g. to tune the blinds or compare bots over millions of hands.
+ *
+ * Every hand goes through the public game methods the server uses: {@link Game#startGameCycle()},
+ * the betting actions and {@link Game#exchangeCards(int, List)}, and the game itself ends the betting rounds
+ * and plays the showdown, so the simulated hands follow the same rules as the real ones. All stacks are reset to the starting stack
+ * before each hand and the dealer button moves one seat per hand.
+ *
+ * Hands are spread over one table per core of a fork/join pool. Every table has its own game, its own strategy
+ * instances and its own {@link SeededShuffleSource} split from one root source, so tables share no mutable state.
+ */
+public class HandSimulator {
+    private static final int MAX_ACTIONS_PER_HAND = 1000;
+
+    private final ForkJoinPool pool;
+    private int handBudget = 10_000;
+    private int startingStack = 1000;
+    private int smallBlind = 20;
+    private int bigBlind = 40;
+    private Long seed;
+
+    /**
+     * Constructs a simulator running on the common fork/join pool.
+     */
+    public HandSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a simulator running one table per thread of the given fork/join pool.
+     *
+     * @param pool The pool the tables are run on.
+     */
+    public HandSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Plays the hand budget split over the tables.
+     *
+     * @param seats The strategy factories of the seats, in seat order. Every table creates its own strategies.
+     * @return The results of all tables combined.
+     * @throws IllegalArgumentException if the number of seats is not between 2 and {@link SeatRing#MAX_SEATS},
+     *                                  the most the game can deal a full draw to.
+     * @throws IllegalStateException if a hand cannot be finished.
+     */
+    public SimulationResult run(List<? extends Supplier<? extends PlayerStrategy>> seats) {
+        if (seats.size() < 2 || seats.size() > SeatRing.MAX_SEATS) {
+            throw new IllegalArgumentException("Number of seats must be between 2 and " + SeatRing.MAX_SEATS);
+        }
+        int tables = Math.max(1, Math.min(pool.getParallelism(), handBudget));
+        SeededShuffleSource root = new SeededShuffleSource(seed == null ? new SplittableRandom().nextLong() : seed);
+
+        List<TableTask> work = new ArrayList<>(tables);
+        for (int t = 0; t < tables; t++) {
+            int hands = handBudget / tables + (t < handBudget % tables ? 1 : 0);
+            work.add(new TableTask("simulation-" + t, seats, hands, root.split()));
+        }
+        long start = System.nanoTime();
+        SimulationResult result = pool.invoke(new RecursiveTask<SimulationResult>() {
+            @Override
+            protected SimulationResult compute() {
+                SimulationResult merged = null;
+                for (TableTask task : invokeAll(work)) {
+                    merged = merged == null ? task.join() : merged.merge(task.join());
+                }
+                return merged;
+            }
+        });
+        return result.withElapsedNanos(System.nanoTime() - start);
+    }
+
+    /**
+     * Task playing the hands of one table with its own game, strategies and shuffle source.
+     */
+    private final class TableTask extends RecursiveTask<SimulationResult> {
+        private final String tableId;
+        private final List<? extends Supplier<? extends PlayerStrategy>> seats;
+        private final int hands;
+        private final SeededShuffleSource source;
+        private long showdowns;
+        private long invalidActions;
+
+        TableTask(String tableId, List<? extends Supplier<? extends PlayerStrategy>> seats, int hands,
+                  SeededShuffleSource source) {
+            this.tableId = tableId;
+            this.seats = seats;
+            this.hands = hands;
+            this.source = source;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            long start = System.nanoTime();
+            int n = seats.size();
+            PlayerStrategy[] strategies = new PlayerStrategy[n];
+            Game game = new Game(tableId);
+            game.setMaxPlayers(n);
+            game.setSmallBlindAmount(smallBlind);
+            game.setBigBlindAmount(bigBlind);
+            Deck deck = new Deck(source);
+            deck.fabryki();
+            game.setDeck(deck);
+            for (int i = 0; i < n; i++) {
+                strategies[i] = seats.get(i).get();
+                game.addPlayer(new Player("seat" + i, startingStack));
+            }
+
+            long[] net = new long[n];
+            long[] won = new long[n];
+            for (int hand = 0; hand < hands; hand++) {
+                for (Player p : game.getPlayers()) {
+                    p.setStack(startingStack);
+                }
+                game.setDealerIndex(hand % n);
+                game.startGameCycle();
+                playHand(game, strategies);
+                for (int i = 0; i < n; i++) {
+                    int result = game.getPlayer(i).getStack() - startingStack;
+                    net[i] += result;
+                    if (result > 0) {
+                        won[i]++;
+                    }
+                }
+            }
+            return new SimulationResult(hands, showdowns, invalidActions, System.nanoTime() - start, net, won);
+        }
+
+        /**
+         * Asks the strategies for decisions until the hand is over and the game is reset for the next one.
+         */
+        private void playHand(Game game, PlayerStrategy[] strategies) {
+            for (int actions = 0; actions < MAX_ACTIONS_PER_HAND; actions++) {
+                GameState state = game.getGameState();
+                if (state == GameState.WAITING_FOR_PLAYERS) {
+                    // Ostatni gracz dostal pule i gra zostala zresetowana
+                    return;
+                }
+                if (state == GameState.GAME_OVER) {
+                    if (game.getActivePlayersCount() == 1) {
+                        game.awardPotToLastStanding();
+                    } else {
+                        showdowns++;
+                        game.resetAfterGame();
+                    }
+                    return;
+                }
+                if (state == GameState.EXCHANGE_PHASE) {
+                    exchange(game, strategies);
+                } else {
+                    bet(game, strategies);
+                }
+            }
+            throw new IllegalStateException("Hand at table " + tableId + " did not finish after "
+                    + MAX_ACTIONS_PER_HAND + " actions");
+        }
+
+        /**
+         * Applies the decision of the current player, who is never all-in; a decision the game rejects is replaced by a fold.
+         */
+        private void bet(Game game, PlayerStrategy[] strategies) {
+            int seat = game.getCurrentPlayerIndex();
+            PlayerAction action = strategies[seat].act(game.getView(), seat, cardsOf(game, seat));
+            if (!action.isLegal(game, seat)) {
+                invalidActions++;
+                game.playerFold(seat);
+                return;
+            }
+            action.applyTo(game, seat);
+        }
+
+        /**
+         * Exchanges the cards of the current player; in the exchange phase it is always a player who has not folded.
+         * Invalid card indices are replaced by standing pat. Any other failure of the exchange is not expected
+         * with the supported number of seats and ends the simulation.
+         */
+        private void exchange(Game game, PlayerStrategy[] strategies) {
+            int seat = game.getCurrentPlayerIndex();
+            List<Integer> indices = strategies[seat].exchange(game.getView(), seat, cardsOf(game, seat));
+            if (!validIndices(indices)) {
+                invalidActions++;
+                indices = List.of();
+            }
+            game.exchangeCards(seat, new ArrayList<>(indices));
+        }
+
+        private boolean validIndices(List<Integer> indices) {
+            if (indices.size() > 4) {
+                return false;
+            }
+            for (int index : indices) {
+                if (index < 0 || index >= 5) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private List<Card> cardsOf(Game game, int seat) {
+            return Collections.unmodifiableList(game.getPlayer(seat).getPlayerHand().getCards());
+        }
+    }
+
+    // gettery, settery :
+
+    public int getHandBudget() {
+        return handBudget;
+    }
+
+    public void setHandBudget(int handBudget) {
+        this.handBudget = handBudget;
+    }
+
+    public int getStartingStack() {
+        return startingStack;
+    }
+
+    public void setStartingStack(int startingStack) {
+        this.startingStack = startingStack;
+    }
+
+    public int getSmallBlind() {
+        return smallBlind;
+    }
+
+    public void setSmallBlind(int smallBlind) {
+        this.smallBlind = smallBlind;
+    }
+
+    public int getBigBlind() {
+        return bigBlind;
+    }
+
+    public void setBigBlind(int bigBlind) {
+        this.bigBlind = bigBlind;
+    }
+
+    /**
+     * Sets the seed of the root shuffle source, making the results reproducible
+     * for the same pool parallelism, budget and strategies. Null means a fresh random seed for every run.
+     *
+     * @param seed The seed, or null.
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
@@ -0,0 +1,94 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bot playing by the strength of its hand against the opponents still in the hand.
+ *
+ * The chance of beating one random hand is the percentile of the hand in {@link HandPercentileTable};
+ * the chance of beating all opponents is estimated as that percentile to the power of their number.
+ * The bot raises by the big blind with a winning chance of at least the raise threshold (up to a raise cap),
+ * calls when the chance is at least the pot odds and otherwise checks or folds.
+ * In the exchange phase it takes the discard with the highest expected value from a {@link DiscardAdvisor}.
+ *
+ * The strategy keeps no state between decisions, but its advisor is configured per instance.
+ */
+public class HandStrengthStrategy implements PlayerStrategy {
+    private static final int DEFAULT_SAMPLE_SIZE = 2_000;
+
+    private final HandEvaluator evaluator = HandEvaluator.getInstance();
+    private final HandPercentileTable percentiles = HandPercentileTable.getInstance();
+    private final DiscardAdvisor advisor = new DiscardAdvisor();
+    private double raiseThreshold = 0.7;
+
+    /**
+     * Constructs the strategy with a discard advisor sampling 2000 draws for four-card exchanges.
+     */
+    public HandStrengthStrategy() {
+        advisor.setSampleSize(DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * Decides the betting action from the estimated chance of winning and the pot odds.
+     *
+     * @param view  The view of the game.
+     * @param seat  The seat index of the player.
+     * @param cards The five cards of the player.
+     * @return The decision.
+     */
+    @Override
+    public PlayerAction act(GameView view, int seat, List<Card> cards) {
+        double win = winChance(view, cards);
+        int toCall = view.getAmountToCall(seat);
+        int raise = Math.max(1, view.getBigBlindAmount());
+
+        if (win >= raiseThreshold
+                && view.getCurrentBet() < RuleBasedStrategy.RAISE_CAP_BIG_BLINDS * raise
+                && toCall + raise <= view.getStack(seat)) {
+            return PlayerAction.raise(raise);
+        }
+        if (toCall == 0) {
+            return PlayerAction.check();
+        }
+        double potOdds = (double) toCall / (view.getPot() + toCall);
+        return win >= potOdds ? PlayerAction.call() : PlayerAction.fold();
+    }
+
+    /**
+     * Exchanges the cards of the discard with the highest expected value.
+     *
+     * @param view  The view of the game.
+     * @param seat  The seat index of the player.
+     * @param cards The five cards of the player.
+     * @return The indices of the exchanged cards.
+     */
+    @Override
+    public List<Integer> exchange(GameView view, int seat, List<Card> cards) {
+        return advisor.advise(cards, Collections.emptyList()).get(0).getDiscardIndices();
+    }
+
+    /**
+     * Estimates the chance of the hand beating all opponents still in the hand.
+     *
+     * @param view  The view of the game.
+     * @param cards The five cards of the player.
+     * @return The chance, between 0 and 1.
+     */
+    double winChance(GameView view, List<Card> cards) {
+        int opponents = Math.max(1, SeatRing.count(view.getActiveSeats()) - 1);
+        return Math.pow(percentiles.percentile(evaluator.evaluate(cards)), opponents);
+    }
+
+    public double getRaiseThreshold() {
+        return raiseThreshold;
+    }
+
+    public void setRaiseThreshold(double raiseThreshold) {
+        this.raiseThreshold = raiseThreshold;
+    }
+
+    public DiscardAdvisor getAdvisor() {
+        return advisor;
+    }
+}
@@ -0,0 +1,77 @@
+package pl.edu.agh.kis.pz1.model;
+
+/**
+ * Utility class for sets of player actions stored as int bitmasks, one bit per action a player can take
+ * at a decision point: fold, check, call, raise and exchange.
+ * {@link Game#getLegalActions(int)} gives the set for a seat, so checking an action is a single bit test.
+ */
+public final class LegalActions {
+    public static final int FOLD = 1;
+    public static final int CHECK = 1 << 1;
+    public static final int CALL = 1 << 2;
+    public static final int RAISE = 1 << 3;
+    public static final int EXCHANGE = 1 << 4;
+
+    /** The smallest amount a bet can be raised by. */
+    public static final int MIN_RAISE = 1;
+
+    private static final DealAction[] PLAYER_ACTIONS = {
+            DealAction.FOLD, DealAction.CHECK, DealAction.CALL, DealAction.RAISE, DealAction.EXCHANGE
+    };
+
+    private LegalActions() {
+    }
+
+    /**
+     * Gets the bit of an action.
+     *
+     * @param action The action.
+     * @return The bit of the action, 0 for the actions not taken by players.
+     */
+    public static int bit(DealAction action) {
+        switch (action) {
+            case FOLD:
+                return FOLD;
+            case CHECK:
+                return CHECK;
+            case CALL:
+                return CALL;
+            case RAISE:
+                return RAISE;
+            case EXCHANGE:
+                return EXCHANGE;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Checks whether an action belongs to the set.
+     *
+     * @param mask   The set of actions.
+     * @param action The action.
+     * @return true if the bit of the action is set.
+     */
+    public static boolean contains(int mask, DealAction action) {
+        return (mask & bit(action)) != 0;
+    }
+
+    /**
+     * Formats a set of actions as the names of the actions separated by spaces, e.g. "FOLD CALL RAISE".
+     *
+     * @param mask The set of actions.
+     * @return The names of the actions, empty for an empty set.
+     */
+    public static String format(int mask) {
+        StringBuilder sb = new StringBuilder();
+        for (DealAction action : PLAYER_ACTIONS) {
+            if (contains(mask, action)) {
+                if (sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(action);
+            }
+        }
+        return sb.toString();
+    }
+}
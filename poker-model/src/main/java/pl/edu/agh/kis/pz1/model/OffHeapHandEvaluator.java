@@ -0,0 +1,240 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Five-card evaluator reading the lookup tables of {@link HandEvaluator} from memory outside the Java heap.
+ * The tables are either built once per JVM into a direct buffer ({@link #shared()}) or mapped read-only
+ * from a file ({@link #map(Path)}, {@link #load(Path)}). A read-only mapping of the same file is backed by
+ * the same page cache pages in every process, so several server JVMs on one machine share one copy.
+ *
+ * All table reads are absolute reads from int views of the buffer, with rank-mask indexes limited to 13 bits.
+ *
+ * File layout (big-endian): header (magic, version, product count, reserved int, CRC32 long of the body),
+ * then the body: flush table (8192 ints), five distinct ranks table (8192 ints),
+ * sorted prime products and their strengths (product count ints each).
+ * The tables of one {@link #VERSION} never change, so the product count and the checksum are constants:
+ * a mapped file is checked against them alone, without building the tables of {@link HandEvaluator},
+ * and {@link #build()}, the only code reading {@link HandEvaluator}, checks that the built tables still match them.
+ */
+public final class OffHeapHandEvaluator implements FiveCardEvaluator {
+    static final int MAGIC = 0x504B4556;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    static final int CHECKSUM_OFFSET = 16;
+    static final int PRODUCT_COUNT = 4888;
+    static final long TABLE_CHECKSUM = 0x2373548EL; // przy zmianie tablic trzeba podniesc VERSION
+
+    private static final int RANK_MASKS = 1 << CardEncoding.RANK_COUNT;
+
+    private final ByteBuffer buffer;
+    private final IntBuffer flushes;
+    private final IntBuffer unique5;
+    private final IntBuffer products;
+    private final IntBuffer productValues;
+    private final int productCount;
+    private final boolean mapped;
+
+    private OffHeapHandEvaluator(ByteBuffer buffer, boolean mapped) {
+        this.buffer = buffer;
+        this.mapped = mapped;
+        this.productCount = buffer.getInt(8);
+        flushes = view(buffer, HEADER_BYTES, RANK_MASKS);
+        unique5 = view(buffer, HEADER_BYTES + RANK_MASKS * Integer.BYTES, RANK_MASKS);
+        products = view(buffer, HEADER_BYTES + 2 * RANK_MASKS * Integer.BYTES, productCount);
+        productValues = view(buffer, HEADER_BYTES + (2 * RANK_MASKS + productCount) * Integer.BYTES, productCount);
+    }
+
+    /**
+     * Returns the evaluator of this JVM with tables built once into a direct buffer.
+     *
+     * @return The shared evaluator.
+     */
+    public static OffHeapHandEvaluator shared() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Builds new tables into a direct buffer from the tables of {@link HandEvaluator}.
+     *
+     * @return The evaluator.
+     * @throws IllegalStateException if the built tables do not match the constants of this {@link #VERSION}.
+     */
+    public static OffHeapHandEvaluator build() {
+        HandEvaluator source = HandEvaluator.getInstance();
+        if (source.productCount() != PRODUCT_COUNT) {
+            throw new IllegalStateException("Unexpected product count " + source.productCount());
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size(PRODUCT_COUNT));
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, PRODUCT_COUNT);
+        OffHeapHandEvaluator evaluator = new OffHeapHandEvaluator(buffer, false);
+        source.copyTables(evaluator.flushes.duplicate(), evaluator.unique5.duplicate(),
+                evaluator.products.duplicate(), evaluator.productValues.duplicate());
+        long checksum = checksum(buffer);
+        if (checksum != TABLE_CHECKSUM) {
+            throw new IllegalStateException("Evaluator tables changed, checksum " + Long.toHexString(checksum));
+        }
+        buffer.putLong(CHECKSUM_OFFSET, checksum);
+        return evaluator;
+    }
+
+    /**
+     * Maps a table file written by {@link #write(Path)} read-only into memory.
+     * The header and the checksum of the body are checked against the constants of this {@link #VERSION}.
+     *
+     * @param file The table file.
+     * @return The evaluator reading the mapped tables.
+     * @throws IOException if the file cannot be read, has another version or is corrupted.
+     */
+    public static OffHeapHandEvaluator map(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an evaluator table file");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported evaluator table version " + version + ", expected " + VERSION);
+        }
+        int productCount = buffer.getInt(8);
+        if (productCount != PRODUCT_COUNT || buffer.capacity() != size(PRODUCT_COUNT)) {
+            throw new IOException("Evaluator table file has a wrong size");
+        }
+        if (buffer.getLong(CHECKSUM_OFFSET) != TABLE_CHECKSUM || checksum(buffer) != TABLE_CHECKSUM) {
+            throw new IOException("Evaluator table checksum mismatch");
+        }
+        return new OffHeapHandEvaluator(buffer, true);
+    }
+
+    /**
+     * Maps the table file, creating it first if it does not exist or cannot be used.
+     * The file is written to a temporary file and moved into place, so concurrent processes never map a partial file.
+     *
+     * @param file The table file.
+     * @return The evaluator reading the mapped tables.
+     * @throws IOException if the file cannot be written or read.
+     */
+    public static OffHeapHandEvaluator load(Path file) throws IOException {
+        if (Files.exists(file)) {
+            try {
+                return map(file);
+            } catch (IOException e) {
+                // Nieaktualny lub uszkodzony plik - budujemy od nowa
+            }
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            build().write(temp);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return map(file);
+    }
+
+    /**
+     * Writes the tables to a file that can be mapped with {@link #map(Path)}.
+     *
+     * @param file The target file, replaced if it exists.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer source = buffer.duplicate();
+            source.clear();
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+    }
+
+    /**
+     * Evaluates a five-card hand given as card codes (see {@link CardEncoding}).
+     *
+     * @param c0 The code of the first card.
+     * @param c1 The code of the second card.
+     * @param c2 The code of the third card.
+     * @param c3 The code of the fourth card.
+     * @param c4 The code of the fifth card.
+     * @return The strength of the hand, larger is stronger.
+     */
+    @Override
+    public int evaluate(int c0, int c1, int c2, int c3, int c4) {
+        int b0 = CardEncoding.toBits(c0);
+        int b1 = CardEncoding.toBits(c1);
+        int b2 = CardEncoding.toBits(c2);
+        int b3 = CardEncoding.toBits(c3);
+        int b4 = CardEncoding.toBits(c4);
+        int mask = ((b0 | b1 | b2 | b3 | b4) >>> 16) & (RANK_MASKS - 1);
+
+        if ((b0 & b1 & b2 & b3 & b4 & 0xF000) != 0) {
+            return flushes.get(mask);
+        }
+        int value = unique5.get(mask);
+        if (value != 0) {
+            return value;
+        }
+        int product = (b0 & 0xFF) * (b1 & 0xFF) * (b2 & 0xFF) * (b3 & 0xFF) * (b4 & 0xFF);
+        return productValues.get(search(product));
+    }
+
+    /**
+     * Checks whether the tables are mapped from a file rather than built in this process.
+     *
+     * @return true if the tables are backed by a file mapping.
+     */
+    public boolean isMapped() {
+        return mapped;
+    }
+
+    private int search(int product) {
+        int low = 0;
+        int high = productCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int current = products.get(mid);
+            if (current < product) {
+                low = mid + 1;
+            } else if (current > product) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        throw new IllegalArgumentException("Invalid hand");
+    }
+
+    private static IntBuffer view(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(offset).limit(offset + length * Integer.BYTES);
+        return slice.slice().asIntBuffer();
+    }
+
+    private static int size(int productCount) {
+        return HEADER_BYTES + (2 * RANK_MASKS + 2 * productCount) * Integer.BYTES;
+    }
+
+    private static long checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        ByteBuffer body = buffer.duplicate();
+        body.clear().position(HEADER_BYTES);
+        crc.update(body);
+        return crc.getValue();
+    }
+
+    private static final class Holder {
+        private static final OffHeapHandEvaluator INSTANCE = build();
+    }
+}
@@ -0,0 +1,108 @@
+package pl.edu.agh.kis.pz1.model;
+
+/**
+ * Immutable betting decision of a player: fold, check, call or raise by an amount.
+ * Returned by a {@link PlayerStrategy} and applied to a game with {@link #applyTo(Game, int)}.
+ */
+public final class PlayerAction {
+    private static final PlayerAction FOLD = new PlayerAction(DealAction.FOLD, 0);
+    private static final PlayerAction CHECK = new PlayerAction(DealAction.CHECK, 0);
+    private static final PlayerAction CALL = new PlayerAction(DealAction.CALL, 0);
+
+    private final DealAction action;
+    private final int amount;
+
+    private PlayerAction(DealAction action, int amount) {
+        this.action = action;
+        this.amount = amount;
+    }
+
+    public static PlayerAction fold() {
+        return FOLD;
+    }
+
+    public static PlayerAction check() {
+        return CHECK;
+    }
+
+    public static PlayerAction call() {
+        return CALL;
+    }
+
+    /**
+     * Creates the decision to call the current bet and raise it.
+     *
+     * @param amount The amount added to the current bet.
+     * @return The decision.
+     * @throws IllegalArgumentException if the amount is not positive.
+     */
+    public static PlayerAction raise(int amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Raise amount must be positive");
+        }
+        return new PlayerAction(DealAction.RAISE, amount);
+    }
+
+    /**
+     * Checks the action against the legal actions of a seat, without changing the game.
+     *
+     * @param game The game.
+     * @param seat The seat index of the player.
+     * @return true if the game accepts the action now.
+     */
+    public boolean isLegal(Game game, int seat) {
+        return game.getActionError(seat, action, amount) == null;
+    }
+
+    /**
+     * Applies the decision to a game by calling the matching method for the given seat.
+     *
+     * @param game The game.
+     * @param seat The seat index of the deciding player.
+     * @throws IllegalStateException if the game does not allow the action.
+     */
+    public void applyTo(Game game, int seat) {
+        switch (action) {
+            case FOLD:
+                game.playerFold(seat);
+                break;
+            case CHECK:
+                game.playerCheck(seat);
+                break;
+            case CALL:
+                game.playerCall(seat);
+                break;
+            default:
+                game.playerRaise(seat, amount);
+                break;
+        }
+    }
+
+    /**
+     * Gets the kind of the decision.
+     *
+     * @return {@link DealAction#FOLD}, {@link DealAction#CHECK}, {@link DealAction#CALL} or {@link DealAction#RAISE}.
+     */
+    public DealAction getAction() {
+        return action;
+    }
+
+    /**
+     * Gets the raise amount.
+     *
+     * @return The amount added to the current bet, 0 for other decisions.
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * Returns a string representation of the decision.
+     *
+     * @return The action, with the amount of a raise.
+     */
+    @Override
+    public String toString() {
+        return action == DealAction.RAISE ? action + " " + amount : action.name();
+    }
+}
@@ -0,0 +1,36 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decision maker of a seat played without a human, e.g. in a {@link HandSimulator}.
+ * A strategy sees the published {@link GameView} of the table and its own cards only.
+ *
+ * A strategy instance may keep state between decisions, so it must not be shared between tables
+ * played on different threads; simulations create a new instance for every table.
+ */
+public interface PlayerStrategy {
+
+    /**
+     * Decides the action of the player in a betting round, when it is the player's turn.
+     *
+     * @param view  The view of the game.
+     * @param seat  The seat index of the player.
+     * @param cards The five cards of the player, read-only.
+     * @return The decision.
+     */
+    PlayerAction act(GameView view, int seat, List<Card> cards);
+
+    /**
+     * Decides which cards the player exchanges in the exchange phase. Keeps all cards by default.
+     *
+     * @param view  The view of the game.
+     * @param seat  The seat index of the player.
+     * @param cards The five cards of the player, read-only.
+     * @return The indices of the exchanged cards, at most 4.
+     */
+    default List<Integer> exchange(GameView view, int seat, List<Card> cards) {
+        return new ArrayList<>();
+    }
+}
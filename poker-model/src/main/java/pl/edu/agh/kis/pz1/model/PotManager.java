@@ -0,0 +1,232 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.List;
+
+/**
+ * Keeps the chips every seat has put into the pot during a hand and splits them into the main pot and side pots.
+ *
+ * A player who is all-in for less than the others can only win from each opponent as much as they put in
+ * themselves. {@link #build(int, int, int)} therefore cuts the contributions into layers at the distinct
+ * contributions of the players still in the hand: the main pot holds the chips up to the smallest one and
+ * every side pot the chips between two consecutive ones. A pot can be won only by the players who put in
+ * at least its upper level; chips of folded players count, but their seats are never eligible.
+ * {@link #award(List, int[], int)} pays every pot to its best eligible hands, splitting ties evenly.
+ *
+ * The manager works on arrays of {@link SeatRing#MAX_SEATS} seats allocated once, so building and paying
+ * the pots allocates nothing. It is not thread-safe; it belongs to one {@link Game}.
+ */
+public class PotManager {
+    private final int[] contributions = new int[SeatRing.MAX_SEATS];
+    private int total;
+
+    // Wynik build(): poziomy, kwoty i maski uprawnionych kolejnych pul (glowna ma indeks 0)
+    private final int[] levels = new int[SeatRing.MAX_SEATS];
+    private final int[] amounts = new int[SeatRing.MAX_SEATS];
+    private final int[] eligible = new int[SeatRing.MAX_SEATS];
+    private final int[] winners = new int[SeatRing.MAX_SEATS]; // wynik award()
+    private int potCount;
+
+    /**
+     * Clears the contributions and the pots for a new hand.
+     */
+    public void reset() {
+        for (int i = 0; i < contributions.length; i++) {
+            contributions[i] = 0;
+        }
+        total = 0;
+        potCount = 0;
+    }
+
+    /**
+     * Adds chips put into the pot by a seat.
+     *
+     * @param seat   The seat index.
+     * @param amount The number of chips.
+     */
+    public void contribute(int seat, int amount) {
+        contributions[seat] += amount;
+        total += amount;
+    }
+
+    /**
+     * Forgets the contribution of a seat leaving the table; the seats after it move down by one,
+     * like the players of the game. The chips stay in the pot as dead money.
+     *
+     * @param seat      The seat index.
+     * @param seatCount The number of seats before the removal.
+     */
+    public void removeSeat(int seat, int seatCount) {
+        total -= contributions[seat];
+        System.arraycopy(contributions, seat + 1, contributions, seat, seatCount - seat - 1);
+        contributions[seatCount - 1] = 0;
+    }
+
+    /**
+     * Splits the contributions into the main pot and the side pots.
+     * Dead money, chips in the pot put in by no current seat, goes to the main pot.
+     *
+     * @param activeSeats The seats still in the hand, as a {@link SeatRing} bitmask.
+     * @param seatCount   The number of seats at the table.
+     * @param deadMoney   The chips in the pot not counted as contributions of the seats.
+     * @return The number of pots.
+     */
+    public int build(int activeSeats, int seatCount, int deadMoney) {
+        // Rozne wklady graczy w grze, posortowane rosnaco (co najwyzej 10, wiec sortowanie przez wstawianie)
+        potCount = 0;
+        for (int seat = 0; seat < seatCount; seat++) {
+            int c = contributions[seat];
+            if (!SeatRing.contains(activeSeats, seat) || c == 0) {
+                continue;
+            }
+            int i = potCount;
+            while (i > 0 && levels[i - 1] > c) {
+                i--;
+            }
+            if (i > 0 && levels[i - 1] == c) {
+                continue;
+            }
+            System.arraycopy(levels, i, levels, i + 1, potCount - i);
+            levels[i] = c;
+            potCount++;
+        }
+        if (potCount == 0) {
+            // Nikt z grajacych nic nie wplacil: cala pula jest jedna, wspolna
+            levels[0] = Integer.MAX_VALUE;
+            potCount = 1;
+        }
+        for (int k = 0; k < potCount; k++) {
+            amounts[k] = 0;
+            eligible[k] = 0;
+            winners[k] = 0;
+        }
+
+        // Jedno przejscie po miejscach: wklad jest rozkladany na kolejne warstwy
+        for (int seat = 0; seat < seatCount; seat++) {
+            int c = contributions[seat];
+            boolean active = SeatRing.contains(activeSeats, seat);
+            int previous = 0;
+            int k = 0;
+            while (k < potCount && previous < c) {
+                amounts[k] += Math.min(c, levels[k]) - previous;
+                if (active && c >= levels[k]) {
+                    eligible[k] |= SeatRing.bit(seat);
+                }
+                previous = levels[k];
+                k++;
+            }
+            if (c > previous) {
+                // Spasowany wplacil wiecej niz ktokolwiek z grajacych: nadwyzka idzie do ostatniej puli
+                amounts[potCount - 1] += c - previous;
+            }
+        }
+        if (eligible[0] == 0) {
+            eligible[0] = activeSeats;
+        }
+        amounts[0] += deadMoney;
+        return potCount;
+    }
+
+    /**
+     * Pays the pots of the last {@link #build(int, int, int)} to the players. Every pot goes to its eligible
+     * seats with the highest strength; equal strengths, i.e. hands equal by rank, split the pot, and the
+     * chips that cannot be split evenly go one by one to the winners closest clockwise after the given seat.
+     *
+     * @param players   The players of the game, by seat.
+     * @param strengths The hand strengths by seat, as returned by {@link HandCompare#evaluate(List)};
+     *                  read only for the eligible seats.
+     * @param afterSeat The seat after which the odd chips are handed out, usually the dealer.
+     * @return The seats that won chips, as a {@link SeatRing} bitmask.
+     */
+    public int award(List<Player> players, int[] strengths, int afterSeat) {
+        int seatCount = players.size();
+        int winnersOfAll = 0;
+        for (int k = 0; k < potCount; k++) {
+            winners[k] = 0;
+            if (amounts[k] == 0 || eligible[k] == 0) {
+                continue;
+            }
+            int potWinners = 0;
+            int best = Integer.MIN_VALUE;
+            for (int seat = 0; seat < seatCount; seat++) {
+                if (!SeatRing.contains(eligible[k], seat)) {
+                    continue;
+                }
+                if (potWinners == 0 || strengths[seat] > best) {
+                    best = strengths[seat];
+                    potWinners = SeatRing.bit(seat);
+                } else if (strengths[seat] == best) {
+                    potWinners |= SeatRing.bit(seat);
+                }
+            }
+            winners[k] = potWinners;
+            int count = SeatRing.count(potWinners);
+            int share = amounts[k] / count;
+            int oddChips = amounts[k] % count;
+            int seat = afterSeat;
+            for (int i = 0; i < count; i++) {
+                seat = SeatRing.next(potWinners, seat, seatCount);
+                players.get(seat).addWinnings(share + (i < oddChips ? 1 : 0));
+            }
+            winnersOfAll |= potWinners;
+        }
+        return winnersOfAll;
+    }
+
+    /**
+     * Gets the number of chips a seat has put into the pot during the hand.
+     *
+     * @param seat The seat index.
+     * @return The contribution of the seat.
+     */
+    public int getContribution(int seat) {
+        return contributions[seat];
+    }
+
+    void setContribution(int seat, int amount) {
+        total += amount - contributions[seat];
+        contributions[seat] = amount;
+    }
+
+    /**
+     * Gets the sum of the contributions of all seats.
+     *
+     * @return The total contribution.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    public int getPotCount() {
+        return potCount;
+    }
+
+    /**
+     * Gets the number of chips in a pot of the last {@link #build(int, int, int)}.
+     *
+     * @param pot The pot index, 0 for the main pot.
+     * @return The amount of the pot.
+     */
+    public int getPotAmount(int pot) {
+        return amounts[pot];
+    }
+
+    /**
+     * Gets the seats that can win a pot of the last {@link #build(int, int, int)}.
+     *
+     * @param pot The pot index, 0 for the main pot.
+     * @return The eligible seats, as a {@link SeatRing} bitmask.
+     */
+    public int getEligibleSeats(int pot) {
+        return eligible[pot];
+    }
+
+    /**
+     * Gets the seats that won a pot in the last {@link #award(List, int[], int)}.
+     *
+     * @param pot The pot index, 0 for the main pot.
+     * @return The winners of the pot, as a {@link SeatRing} bitmask, 0 if the pot was not paid.
+     */
+    public int getPotWinners(int pot) {
+        return winners[pot];
+    }
+}
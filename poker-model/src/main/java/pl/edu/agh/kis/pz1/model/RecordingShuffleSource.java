@@ -0,0 +1,74 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.Arrays;
+
+/**
+ * Shuffle source that passes the numbers of another source through and records them,
+ * so the same shuffles and draws can be played back with {@link ReplayShuffleSource}.
+ *
+ * An instance is not thread-safe.
+ */
+public final class RecordingShuffleSource implements ShuffleSource {
+    private final ShuffleSource delegate;
+    private int[] values = new int[64];
+    private int count;
+
+    /**
+     * Constructs a source recording the numbers of the delegate.
+     *
+     * @param delegate The source of the numbers.
+     */
+    public RecordingShuffleSource(ShuffleSource delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the next number of the delegate and records it.
+     *
+     * @param bound The upper bound, must be positive.
+     * @return The random number from 0 (inclusive) to the bound (exclusive).
+     */
+    @Override
+    public int nextInt(int bound) {
+        int value = delegate.nextInt(bound);
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = value;
+        return value;
+    }
+
+    /**
+     * Gets the numbers recorded so far, in the order they were returned.
+     *
+     * @return A copy of the recorded numbers.
+     */
+    public int[] getValues() {
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Gets the number of recorded numbers.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Discards the recorded numbers, e.g. at the start of a new hand.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Creates a source playing back the numbers recorded so far.
+     *
+     * @return The replay source.
+     */
+    public ReplayShuffleSource replay() {
+        return new ReplayShuffleSource(getValues());
+    }
+}
@@ -0,0 +1,53 @@
+package pl.edu.agh.kis.pz1.model;
+
+/**
+ * Shuffle source returning previously recorded numbers (see {@link RecordingShuffleSource}) in order.
+ * A deck driven by it repeats the recorded shuffles and draws exactly, as long as the same
+ * operations are called in the same order.
+ *
+ * An instance is not thread-safe.
+ */
+public final class ReplayShuffleSource implements ShuffleSource {
+    private final int[] values;
+    private int position;
+
+    /**
+     * Constructs a source playing back the given numbers.
+     *
+     * @param values The recorded numbers, in the order they are returned.
+     */
+    public ReplayShuffleSource(int[] values) {
+        this.values = values.clone();
+    }
+
+    /**
+     * Returns the next recorded number.
+     *
+     * @param bound The upper bound the recorded number must be below.
+     * @return The recorded number.
+     * @throws IllegalStateException if all numbers were used or the recorded number does not fit the bound,
+     *                               i.e. the operations differ from the recorded ones.
+     */
+    @Override
+    public int nextInt(int bound) {
+        if (position == values.length) {
+            throw new IllegalStateException("No more recorded values");
+        }
+        int value = values[position];
+        if (value < 0 || value >= bound) {
+            throw new IllegalStateException("Recorded value " + value + " at position " + position
+                    + " does not fit bound " + bound);
+        }
+        position++;
+        return value;
+    }
+
+    /**
+     * Gets the number of recorded numbers not yet returned.
+     *
+     * @return The number of remaining values.
+     */
+    public int remaining() {
+        return values.length - position;
+    }
+}
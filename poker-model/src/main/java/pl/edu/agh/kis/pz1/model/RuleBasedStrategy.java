@@ -0,0 +1,71 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simple bot playing by the type of its hand:
+ * <ul>
+ *     <li>two pair or better - raises by the big blind while the bet is below the raise cap, otherwise calls,</li>
+ *     <li>one pair - calls,</li>
+ *     <li>high card - checks, calls at most one big blind and folds to a larger bet.</li>
+ * </ul>
+ * In the exchange phase it keeps a straight or better, otherwise exchanges all cards not paired with another card
+ * (keeping the highest card when there is no pair), the same rule {@link EquityCalculator} uses for opponents.
+ *
+ * The strategy keeps no state, so one instance can be shared.
+ */
+public class RuleBasedStrategy implements PlayerStrategy {
+    /** The bet, in big blinds, above which the strategy stops raising. */
+    static final int RAISE_CAP_BIG_BLINDS = 4;
+
+    private final HandEvaluator evaluator = HandEvaluator.getInstance();
+
+    /**
+     * Decides the betting action from the type of the hand.
+     *
+     * @param view  The view of the game.
+     * @param seat  The seat index of the player.
+     * @param cards The five cards of the player.
+     * @return The decision.
+     */
+    @Override
+    public PlayerAction act(GameView view, int seat, List<Card> cards) {
+        HandType type = HandEvaluator.getType(evaluator.evaluate(cards));
+        int toCall = view.getAmountToCall(seat);
+        int raise = Math.max(1, view.getBigBlindAmount());
+
+        if (type.getValue() >= HandType.TwoPair.getValue()
+                && view.getCurrentBet() < RAISE_CAP_BIG_BLINDS * raise
+                && toCall + raise <= view.getStack(seat)) {
+            return PlayerAction.raise(raise);
+        }
+        if (toCall == 0) {
+            return PlayerAction.check();
+        }
+        if (type == HandType.HighCard && toCall > raise) {
+            return PlayerAction.fold();
+        }
+        return PlayerAction.call();
+    }
+
+    /**
+     * Exchanges the cards not paired with another card, unless the hand is a straight or better.
+     *
+     * @param view  The view of the game.
+     * @param seat  The seat index of the player.
+     * @param cards The five cards of the player.
+     * @return The indices of the exchanged cards.
+     */
+    @Override
+    public List<Integer> exchange(GameView view, int seat, List<Card> cards) {
+        int discards = EquityCalculator.opponentDiscards(CardEncoding.toCodes(cards));
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            if ((discards & (1 << i)) != 0) {
+                indices.add(i);
+            }
+        }
+        return indices;
+    }
+}
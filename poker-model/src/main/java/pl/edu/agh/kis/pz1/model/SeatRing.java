@@ -0,0 +1,90 @@
+package pl.edu.agh.kis.pz1.model;
+
+/**
+ * Utility class for sets of seats stored as int bitmasks, bit i set for the seat with index i.
+ * The seats form a ring, so the next seat after the last one is the first one.
+ * All operations take constant time, whatever the number of seats.
+ */
+public final class SeatRing {
+    /**
+     * Largest number of seats at a table. Nine players are dealt 45 cards, so the first of them can still draw four;
+     * later players draw the discards put back under the deck.
+     */
+    public static final int MAX_SEATS = 9;
+
+    private SeatRing() {
+        // Klasa narzedziowa - brak instancji
+    }
+
+    /**
+     * Gets the bitmask of a single seat.
+     *
+     * @param seat The seat index, from 0 to 31.
+     * @return The bitmask with only the bit of the seat set, 0 for a negative index.
+     */
+    public static int bit(int seat) {
+        return seat < 0 || seat >= Integer.SIZE ? 0 : 1 << seat;
+    }
+
+    /**
+     * Checks whether a seat belongs to the set.
+     *
+     * @param mask The set of seats.
+     * @param seat The seat index.
+     * @return true if the bit of the seat is set.
+     */
+    public static boolean contains(int mask, int seat) {
+        return (mask & bit(seat)) != 0;
+    }
+
+    /**
+     * Gets the first seat of the set going clockwise after the given seat. The given seat itself is checked last,
+     * so it is returned only if it is the only seat in the set.
+     *
+     * @param mask The set of seats, with no seats at or above size.
+     * @param from The seat to start from, taken modulo size (so -1 starts before seat 0).
+     * @param size The number of seats in the ring.
+     * @return The next seat, or -1 if the set is empty.
+     */
+    public static int next(int mask, int from, int size) {
+        int above = mask & (-2 << Math.floorMod(from, size));
+        if (above != 0) {
+            return Integer.numberOfTrailingZeros(above);
+        }
+        return first(mask);
+    }
+
+    /**
+     * Gets the first seat of the set with a larger index than the given seat, without wrapping around.
+     *
+     * @param mask The set of seats.
+     * @param from The seat to start from.
+     * @return The next seat, or -1 if there is no seat of the set after the given one.
+     */
+    public static int nextAfter(int mask, int from) {
+        if (from < 0) {
+            return first(mask);
+        }
+        return from >= Integer.SIZE - 1 ? -1 : first(mask & (-2 << from));
+    }
+
+    /**
+     * Gets the seat with the lowest index in the set.
+     *
+     * @param mask The set of seats.
+     * @return The first seat, or -1 if the set is empty.
+     */
+    public static int first(int mask) {
+        return mask == 0 ? -1 : Integer.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * Gets the number of seats in the set.
+     *
+     * @param mask The set of seats.
+     * @return The number of seats.
+     */
+    public static int count(int mask) {
+        return Integer.bitCount(mask);
+    }
+}
@@ -0,0 +1,58 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Cryptographically strong shuffle source for real games. Every thread gets its own DRBG
+ * (NIST SP 800-90A, through the "DRBG" SecureRandom algorithm), instantiated once with a personalization
+ * string taken from a shared SecureRandom. Threads never contend for one generator, and a new deck or hand
+ * costs nothing beyond the draws themselves.
+ *
+ * The source is stateless apart from the per-thread generators, so one instance is shared, see {@link #getInstance()}.
+ */
+public final class SecureShuffleSource implements ShuffleSource {
+    private static final SecureShuffleSource INSTANCE = new SecureShuffleSource();
+    private static final SecureRandom SEED_SOURCE = new SecureRandom();
+    private static final int PERSONALIZATION_BYTES = 32;
+
+    private final ThreadLocal<SecureRandom> generators = ThreadLocal.withInitial(SecureShuffleSource::newGenerator);
+
+    private SecureShuffleSource() {
+    }
+
+    /**
+     * Returns the shared secure shuffle source.
+     *
+     * @return The source instance.
+     */
+    public static SecureShuffleSource getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a uniformly distributed random number from the DRBG of the calling thread.
+     *
+     * @param bound The upper bound, must be positive.
+     * @return The random number from 0 (inclusive) to the bound (exclusive).
+     */
+    @Override
+    public int nextInt(int bound) {
+        return generators.get().nextInt(bound);
+    }
+
+    private static SecureRandom newGenerator() {
+        byte[] personalization = new byte[PERSONALIZATION_BYTES];
+        synchronized (SEED_SOURCE) {
+            SEED_SOURCE.nextBytes(personalization);
+        }
+        try {
+            return SecureRandom.getInstance("DRBG", DrbgParameters.instantiation(256,
+                    DrbgParameters.Capability.RESEED_ONLY, personalization));
+        } catch (NoSuchAlgorithmException e) {
+            // DRBG jest dostepny od Javy 9, ale dostawca moze go nie miec
+            return new SecureRandom(personalization);
+        }
+    }
+}
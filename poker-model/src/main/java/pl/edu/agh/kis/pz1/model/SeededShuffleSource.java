@@ -0,0 +1,46 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Fast, reproducible shuffle source based on {@link SplittableRandom}: the same seed gives the same
+ * sequence of shuffles and draws. Meant for simulations and tests, not for real games.
+ *
+ * An instance is not thread-safe; parallel simulations give each thread its own source with {@link #split()}.
+ */
+public final class SeededShuffleSource implements ShuffleSource {
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a source from a seed.
+     *
+     * @param seed The seed.
+     */
+    public SeededShuffleSource(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private SeededShuffleSource(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Returns a uniformly distributed random number.
+     *
+     * @param bound The upper bound, must be positive.
+     * @return The random number from 0 (inclusive) to the bound (exclusive).
+     */
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * Creates a new source with a statistically independent sequence, derived deterministically from this one.
+     *
+     * @return The new source.
+     */
+    public SeededShuffleSource split() {
+        return new SeededShuffleSource(random.split());
+    }
+}
@@ -0,0 +1,179 @@
+package pl.edu.agh.kis.pz1.model;
+
+/**
+ * Evaluator of the best five-card hand out of five to seven cards, e.g. for Texas Hold'em tables.
+ * Instead of evaluating all 21 five-card subsets of seven cards, the hand is reduced to a rank-count
+ * histogram, a rank bitmask and one rank bitmask per suit. A flush is found from the suit masks,
+ * straights from a precomputed table indexed by the rank mask, and the remaining categories from the histogram.
+ *
+ * The result is the packed key of the best five-card hand (see {@link HandRank#getKey()}),
+ * so it can be compared directly with {@link HandEvaluator} strengths and HandRank keys.
+ * The same rules as in {@link HandCompare} apply, in particular A-2-3-4-5 is not a straight.
+ */
+public final class SevenCardEvaluator {
+    private static final int RANK_MASKS = 1 << CardEncoding.RANK_COUNT;
+    private static final int ALL_RANKS = RANK_MASKS - 1;
+    private static final int SUIT_BITS = 16;
+    private static final int COUNT_BITS = 3;
+    private static final int KICKER_BITS = HandEvaluator.KICKER_BITS;
+    private static final SevenCardEvaluator INSTANCE = new SevenCardEvaluator();
+
+    // Najnizszy indeks rangi najwyzszego strita w masce albo -1
+    private final byte[] straightLow = new byte[RANK_MASKS];
+
+    private SevenCardEvaluator() {
+        for (int mask = 0; mask < RANK_MASKS; mask++) {
+            straightLow[mask] = -1;
+            for (int low = CardEncoding.RANK_COUNT - 5; low >= 0; low--) {
+                if (((mask >>> low) & 0x1F) == 0x1F) {
+                    straightLow[mask] = (byte) low;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the shared evaluator instance.
+     *
+     * @return The evaluator instance.
+     */
+    public static SevenCardEvaluator getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Evaluates the best five-card hand out of seven cards.
+     *
+     * @param codes The codes of the seven cards (see {@link CardEncoding}).
+     * @return The packed key of the best five-card hand.
+     */
+    public int evaluate(int[] codes) {
+        return evaluate(codes, codes.length);
+    }
+
+    /**
+     * Evaluates the best five-card hand out of the first {@code count} card codes.
+     * The array is not modified and nothing is allocated.
+     *
+     * @param codes The codes of the cards.
+     * @param count The number of cards to use, from 5 to 7.
+     * @return The packed key of the best five-card hand.
+     * @throws IllegalArgumentException if the count is out of range.
+     */
+    public int evaluate(int[] codes, int count) {
+        if (count < 5 || count > 7) {
+            throw new IllegalArgumentException("Expected 5 to 7 cards, got " + count);
+        }
+        long histogram = 0;
+        long suitMasks = 0;
+        for (int i = 0; i < count; i++) {
+            int r = CardEncoding.rankIndex(codes[i]);
+            histogram += 1L << (COUNT_BITS * r);
+            suitMasks |= 1L << (SUIT_BITS * CardEncoding.suitIndex(codes[i]) + r);
+        }
+
+        int rankMask = 0;
+        for (int s = 0; s < CardEncoding.SUIT_COUNT; s++) {
+            int suitMask = (int) (suitMasks >>> (SUIT_BITS * s)) & ALL_RANKS;
+            if (Integer.bitCount(suitMask) >= 5) {
+                // Przy 7 kartach kolor wyklucza karete i fula
+                return flushKey(suitMask);
+            }
+            rankMask |= suitMask;
+        }
+        return nonFlushKey(histogram, rankMask);
+    }
+
+    private int flushKey(int suitMask) {
+        int low = straightLow[suitMask];
+        if (low >= 0) {
+            HandType type = low == CardEncoding.RANK_COUNT - 5 ? HandType.RoyalFlush : HandType.StraightFlush;
+            return straightKey(type, low);
+        }
+        return appendTop(HandType.Flush.getValue(), suitMask, 5);
+    }
+
+    private int nonFlushKey(long histogram, int rankMask) {
+        int quads = 0;
+        int trips = 0;
+        int pairs = 0;
+        for (int r = 0; r < CardEncoding.RANK_COUNT; r++) {
+            int count = (int) (histogram >>> (COUNT_BITS * r)) & 7;
+            if (count == 4) {
+                quads |= 1 << r;
+            } else if (count == 3) {
+                trips |= 1 << r;
+            } else if (count == 2) {
+                pairs |= 1 << r;
+            }
+        }
+
+        if (quads != 0) {
+            int quad = highest(quads);
+            int key = (HandType.FourOfAKind.getValue() << KICKER_BITS) | (indexOf(quad) + 2);
+            return appendTop(key, rankMask & ~quad, 1) << (KICKER_BITS * 3);
+        }
+        if (trips != 0) {
+            int trip = highest(trips);
+            int rest = (trips & ~trip) | pairs;
+            if (rest != 0) {
+                int key = (HandType.FullHouse.getValue() << KICKER_BITS) | (indexOf(trip) + 2);
+                return ((key << KICKER_BITS) | (indexOf(highest(rest)) + 2)) << (KICKER_BITS * 3);
+            }
+        }
+        int low = straightLow[rankMask];
+        if (low >= 0) {
+            return straightKey(HandType.Straight, low);
+        }
+        if (trips != 0) {
+            int trip = highest(trips);
+            int key = (HandType.ThreeOfAKind.getValue() << KICKER_BITS) | (indexOf(trip) + 2);
+            return appendTop(key, rankMask & ~trip, 2) << (KICKER_BITS * 2);
+        }
+        if (Integer.bitCount(pairs) >= 2) {
+            int first = highest(pairs);
+            int second = highest(pairs & ~first);
+            int key = (HandType.TwoPair.getValue() << KICKER_BITS) | (indexOf(first) + 2);
+            key = (key << KICKER_BITS) | (indexOf(second) + 2);
+            return appendTop(key, rankMask & ~first & ~second, 1) << (KICKER_BITS * 2);
+        }
+        if (pairs != 0) {
+            int key = (HandType.OnePair.getValue() << KICKER_BITS) | (indexOf(pairs) + 2);
+            return appendTop(key, rankMask & ~pairs, 3) << KICKER_BITS;
+        }
+        return appendTop(HandType.HighCard.getValue(), rankMask, 5);
+    }
+
+    /**
+     * Builds the key of a straight (flush) with the given lowest rank index.
+     * Like {@link HandCompare#checkHand(java.util.List)}, straights keep their ranks in ascending order.
+     */
+    private static int straightKey(HandType type, int low) {
+        int key = type.getValue();
+        for (int r = low; r < low + 5; r++) {
+            key = (key << KICKER_BITS) | (r + 2);
+        }
+        return key;
+    }
+
+    /**
+     * Appends the values of the {@code n} highest ranks of the mask to the key, highest first.
+     */
+    private static int appendTop(int key, int mask, int n) {
+        for (int i = 0; i < n; i++) {
+            int bit = highest(mask);
+            key = (key << KICKER_BITS) | (indexOf(bit) + 2);
+            mask &= ~bit;
+        }
+        return key;
+    }
+
+    private static int highest(int mask) {
+        return Integer.highestOneBit(mask);
+    }
+
+    private static int indexOf(int bit) {
+        return Integer.numberOfTrailingZeros(bit);
+    }
+}
@@ -0,0 +1,23 @@
+package pl.edu.agh.kis.pz1.model;
+
+/**
+ * Source of the random numbers used by {@link Deck} for shuffles and draws.
+ *
+ * Implementations:
+ * <ul>
+ *     <li>{@link SecureShuffleSource} - cryptographically strong, one DRBG per thread (the default),</li>
+ *     <li>{@link SeededShuffleSource} - fast and reproducible from a seed, for simulations and tests,</li>
+ *     <li>{@link RecordingShuffleSource} and {@link ReplayShuffleSource} - record the numbers of another
+ *     source and play them back, so a deal can be reproduced.</li>
+ * </ul>
+ */
+public interface ShuffleSource {
+
+    /**
+     * Returns a uniformly distributed random number from 0 (inclusive) to the bound (exclusive).
+     *
+     * @param bound The upper bound, must be positive.
+     * @return The random number.
+     */
+    int nextInt(int bound);
+}
@@ -0,0 +1,144 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.Arrays;
+
+/**
+ * Immutable result of a {@link HandSimulator} run: the number of hands played, the throughput
+ * and the results of every seat summed over all tables.
+ * The net chips of a seat are its stack after each hand minus the starting stack, summed over the hands.
+ */
+public class SimulationResult {
+    private final long hands;
+    private final long showdowns;
+    private final long invalidActions;
+    private final long elapsedNanos;
+    private final long[] netChips;
+    private final long[] handsWon;
+
+    /**
+     * Constructs the result from the counters of the simulation.
+     *
+     * @param hands          The number of complete hands.
+     * @param showdowns      The number of hands decided by comparing the hands.
+     * @param invalidActions The number of decisions the game rejected; the player folded or kept the cards instead.
+     * @param elapsedNanos   The wall-clock time of the simulation in nanoseconds.
+     * @param netChips       The net chips of every seat, copied.
+     * @param handsWon       The number of hands every seat finished with more chips than it started with, copied.
+     */
+    public SimulationResult(long hands, long showdowns, long invalidActions, long elapsedNanos,
+                            long[] netChips, long[] handsWon) {
+        this.hands = hands;
+        this.showdowns = showdowns;
+        this.invalidActions = invalidActions;
+        this.elapsedNanos = elapsedNanos;
+        this.netChips = netChips.clone();
+        this.handsWon = handsWon.clone();
+    }
+
+    /**
+     * Combines the result of a table with the result of another table played at the same time.
+     * The counters are summed and the elapsed time is the longer of the two.
+     *
+     * @param other The other result, with the same number of seats.
+     * @return The combined result.
+     * @throws IllegalArgumentException if the results have different numbers of seats.
+     */
+    public SimulationResult merge(SimulationResult other) {
+        if (other.netChips.length != netChips.length) {
+            throw new IllegalArgumentException("Cannot merge results of tables with different numbers of seats");
+        }
+        long[] net = netChips.clone();
+        long[] won = handsWon.clone();
+        for (int i = 0; i < net.length; i++) {
+            net[i] += other.netChips[i];
+            won[i] += other.handsWon[i];
+        }
+        return new SimulationResult(hands + other.hands, showdowns + other.showdowns,
+                invalidActions + other.invalidActions, Math.max(elapsedNanos, other.elapsedNanos), net, won);
+    }
+
+    /**
+     * Returns a copy of this result with another elapsed time.
+     *
+     * @param elapsedNanos The wall-clock time of the simulation in nanoseconds.
+     * @return The result.
+     */
+    SimulationResult withElapsedNanos(long elapsedNanos) {
+        return new SimulationResult(hands, showdowns, invalidActions, elapsedNanos, netChips, handsWon);
+    }
+
+    public long getHands() {
+        return hands;
+    }
+
+    public long getShowdowns() {
+        return showdowns;
+    }
+
+    public long getInvalidActions() {
+        return invalidActions;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the number of hands played per second of wall-clock time.
+     *
+     * @return The throughput, 0 if no time was measured.
+     */
+    public double getHandsPerSecond() {
+        return elapsedNanos == 0 ? 0 : hands * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets the number of seats of the simulated tables.
+     *
+     * @return The number of seats.
+     */
+    public int getSeatCount() {
+        return netChips.length;
+    }
+
+    /**
+     * Gets the net chips won by a seat over all hands.
+     *
+     * @param seat The seat index.
+     * @return The net chips, negative for a loss.
+     */
+    public long getNetChips(int seat) {
+        return netChips[seat];
+    }
+
+    /**
+     * Gets the average number of chips won by a seat per hand.
+     *
+     * @param seat The seat index.
+     * @return The average net chips per hand, 0 if no hand was played.
+     */
+    public double getNetChipsPerHand(int seat) {
+        return hands == 0 ? 0 : (double) netChips[seat] / hands;
+    }
+
+    /**
+     * Gets the number of hands a seat finished with more chips than it started with.
+     *
+     * @param seat The seat index.
+     * @return The number of hands won.
+     */
+    public long getHandsWon(int seat) {
+        return handsWon[seat];
+    }
+
+    /**
+     * Returns a string representation of the result.
+     *
+     * @return The number of hands, the throughput and the net chips of the seats.
+     */
+    @Override
+    public String toString() {
+        return String.format("HANDS: %d, HANDS/S: %.0f, SHOWDOWNS: %d, INVALID: %d, NET CHIPS: %s",
+                hands, getHandsPerSecond(), showdowns, invalidActions, Arrays.toString(netChips));
+    }
+}
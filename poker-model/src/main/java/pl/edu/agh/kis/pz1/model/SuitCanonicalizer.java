@@ -0,0 +1,190 @@
+package pl.edu.agh.kis.pz1.model;
+
+import java.util.Collection;
+
+/**
+ * Utility class reducing sets of cards by suit isomorphism.
+ * Suits have no order in poker, so two sets of cards that differ only by a permutation of suits
+ * behave the same. The canonical form relabels the suits so that the suit with the largest rank mask
+ * becomes suit 0, the next one suit 1 and so on, which gives the same result for every permutation.
+ * For example, the 2,598,960 five-card hands fall into 134,459 classes.
+ *
+ * Sets of cards are represented as 52-bit masks, with bit {@code code} set for every card code
+ * (see {@link CardEncoding}).
+ */
+public final class SuitCanonicalizer {
+    /** Number of five-card hands that are different up to suit permutation. */
+    public static final int FIVE_CARD_CLASSES = 134_459;
+
+    private static final long SUIT_0_RANKS;
+
+    static {
+        long mask = 0;
+        for (int r = 0; r < CardEncoding.RANK_COUNT; r++) {
+            mask |= 1L << (r * CardEncoding.SUIT_COUNT);
+        }
+        SUIT_0_RANKS = mask;
+    }
+
+    private SuitCanonicalizer() {
+        // Klasa narzedziowa - brak instancji
+    }
+
+    /**
+     * Converts card codes into a card mask.
+     *
+     * @param codes The card codes.
+     * @return The mask with one bit set for every card.
+     */
+    public static long toMask(int[] codes) {
+        long mask = 0;
+        for (int code : codes) {
+            mask |= 1L << code;
+        }
+        return mask;
+    }
+
+    /**
+     * Finds the suit relabeling that brings a set of cards to its canonical form.
+     *
+     * @param cardMask The card mask.
+     * @return The array mapping every suit index to its canonical suit index.
+     */
+    public static int[] suitPermutation(long cardMask) {
+        int[] rankMasks = new int[CardEncoding.SUIT_COUNT];
+        int[] order = new int[CardEncoding.SUIT_COUNT];
+        for (int s = 0; s < CardEncoding.SUIT_COUNT; s++) {
+            rankMasks[s] = rankMask(cardMask, s);
+            order[s] = s;
+        }
+        // Sortowanie przez wstawianie po masce rang, malejaco
+        for (int i = 1; i < order.length; i++) {
+            int suit = order[i];
+            int j = i - 1;
+            while (j >= 0 && rankMasks[order[j]] < rankMasks[suit]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = suit;
+        }
+        int[] permutation = new int[CardEncoding.SUIT_COUNT];
+        for (int i = 0; i < order.length; i++) {
+            permutation[order[i]] = i;
+        }
+        return permutation;
+    }
+
+    /**
+     * Returns the canonical form of a set of cards.
+     *
+     * @param cardMask The card mask.
+     * @return The card mask of the canonical representative of the set.
+     */
+    public static long canonicalMask(long cardMask) {
+        int a = rankMask(cardMask, 0);
+        int b = rankMask(cardMask, 1);
+        int c = rankMask(cardMask, 2);
+        int d = rankMask(cardMask, 3);
+        // Siec sortujaca dla czterech mask, malejaco
+        int hi1 = Math.max(a, b);
+        int lo1 = Math.min(a, b);
+        int hi2 = Math.max(c, d);
+        int lo2 = Math.min(c, d);
+        a = Math.max(hi1, hi2);
+        c = Math.min(hi1, hi2);
+        b = Math.max(lo1, lo2);
+        d = Math.min(lo1, lo2);
+        int t = Math.max(b, c);
+        c = Math.min(b, c);
+        b = t;
+        return spread(a) | (spread(b) << 1) | (spread(c) << 2) | (spread(d) << 3);
+    }
+
+    /**
+     * Returns the canonical form of a set of cards, e.g. as a cache key shared by all suit permutations.
+     * Nothing is allocated.
+     *
+     * @param cards The cards.
+     * @return The card mask of the canonical representative of the set.
+     */
+    public static long canonicalKey(Collection<Card> cards) {
+        long mask = 0;
+        for (Card card : cards) {
+            mask |= 1L << card.getCode();
+        }
+        return canonicalMask(mask);
+    }
+
+    /**
+     * Checks whether a set of cards is already in its canonical form.
+     *
+     * @param cardMask The card mask.
+     * @return true if the set is its own canonical representative.
+     */
+    public static boolean isCanonical(long cardMask) {
+        int previous = Integer.MAX_VALUE;
+        for (int s = 0; s < CardEncoding.SUIT_COUNT; s++) {
+            int current = rankMask(cardMask, s);
+            if (current > previous) {
+                return false;
+            }
+            previous = current;
+        }
+        return true;
+    }
+
+    /**
+     * Applies a suit relabeling to a set of cards.
+     *
+     * @param cardMask    The card mask.
+     * @param permutation The array mapping every suit index to its new suit index.
+     * @return The relabeled card mask.
+     */
+    public static long relabel(long cardMask, int[] permutation) {
+        long result = 0;
+        for (int s = 0; s < CardEncoding.SUIT_COUNT; s++) {
+            result |= ((cardMask >>> s) & SUIT_0_RANKS) << permutation[s];
+        }
+        return result;
+    }
+
+    /**
+     * Applies a suit relabeling to a single card code.
+     *
+     * @param code        The card code.
+     * @param permutation The array mapping every suit index to its new suit index.
+     * @return The relabeled card code.
+     */
+    public static int relabelCard(int code, int[] permutation) {
+        return (code & ~3) | permutation[code & 3];
+    }
+
+    /**
+     * Places the bits of a rank mask at the codes of the cards of suit 0.
+     */
+    private static long spread(int rankMask) {
+        long result = 0;
+        for (int bits = rankMask; bits != 0; bits &= bits - 1) {
+            result |= 1L << (Integer.numberOfTrailingZeros(bits) * CardEncoding.SUIT_COUNT);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the 13-bit rank mask of one suit of a set of cards.
+     *
+     * @param cardMask The card mask.
+     * @param suit     The suit index.
+     * @return The mask with bit r set if the set contains the card of rank index r in the suit.
+     */
+    public static int rankMask(long cardMask, int suit) {
+        long bits = (cardMask >>> suit) & SUIT_0_RANKS;
+        int mask = 0;
+        while (bits != 0) {
+            int code = Long.numberOfTrailingZeros(bits);
+            mask |= 1 << (code >>> 2);
+            bits &= bits - 1;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,84 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchEvaluatorTest {
+
+    private final BatchEvaluator batch = new BatchEvaluator();
+    private final HandCompare handCompare = new HandCompare();
+
+    @Test
+    void testPackAndCardAt() {
+        int packed = BatchEvaluator.pack(0, 13, 27, 40, 51);
+        assertEquals(0, BatchEvaluator.cardAt(packed, 0));
+        assertEquals(13, BatchEvaluator.cardAt(packed, 1));
+        assertEquals(27, BatchEvaluator.cardAt(packed, 2));
+        assertEquals(40, BatchEvaluator.cardAt(packed, 3));
+        assertEquals(51, BatchEvaluator.cardAt(packed, 4));
+    }
+
+    @Test
+    void testBatchMatchesCheckHand() {
+        int[] hands = randomHands(50_000, 7);
+        int[] strengths = new int[hands.length];
+        batch.evaluate(hands, strengths);
+
+        for (int i = 0; i < hands.length; i += 97) {
+            List<Card> cards = new ArrayList<>();
+            for (int c = 0; c < 5; c++) {
+                cards.add(Card.fromCode(BatchEvaluator.cardAt(hands[i], c)));
+            }
+            assertEquals(handCompare.checkHand(cards).getKey(), strengths[i]);
+        }
+    }
+
+    @Test
+    void testParallelAndBufferMatchSequential() {
+        int[] hands = randomHands(100_000, 11);
+        int[] sequential = new int[hands.length];
+        int[] parallel = new int[hands.length];
+        int[] fromBuffer = new int[hands.length];
+
+        batch.evaluate(hands, sequential);
+        batch.evaluateParallel(hands, parallel);
+        ByteBuffer buffer = ByteBuffer.allocate(hands.length * Integer.BYTES);
+        buffer.asIntBuffer().put(hands);
+        batch.evaluate(buffer, fromBuffer);
+
+        assertArrayEquals(sequential, parallel);
+        assertArrayEquals(sequential, fromBuffer);
+        assertEquals(0, buffer.position(), "Pozycja bufora nie powinna sie zmienic");
+    }
+
+    @Test
+    void testTooShortOutput() {
+        int[] hands = randomHands(10, 3);
+        assertThrows(IllegalArgumentException.class, () -> batch.evaluate(hands, new int[9]));
+        assertThrows(IllegalArgumentException.class, () -> batch.evaluateParallel(hands, new int[9]));
+    }
+
+    private static int[] randomHands(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] hands = new int[count];
+        int[] deck = new int[CardEncoding.DECK_SIZE];
+        Arrays.setAll(deck, i -> i);
+        for (int h = 0; h < count; h++) {
+            for (int i = 0; i < 5; i++) {
+                int j = i + random.nextInt(deck.length - i);
+                int tmp = deck[i];
+                deck[i] = deck[j];
+                deck[j] = tmp;
+            }
+            hands[h] = BatchEvaluator.pack(deck[0], deck[1], deck[2], deck[3], deck[4]);
+        }
+        return hands;
+    }
+}
@@ -0,0 +1,78 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingHandCompareTest {
+
+    private final HandCompare plain = new HandCompare();
+
+    @Test
+    void testMatchesPlainHandCompare() {
+        CachingHandCompare caching = new CachingHandCompare(new HandRankCache(256, HandRankCache.Eviction.LRU));
+        SplittableRandom random = new SplittableRandom(21);
+        for (int i = 0; i < 20_000; i++) {
+            List<Card> hand = randomHand(random);
+            assertEquals(plain.checkHand(new ArrayList<>(hand)), caching.checkHand(hand));
+            assertEquals(plain.evaluate(hand), caching.evaluate(hand));
+        }
+    }
+
+    @Test
+    void testSuitPermutationHitsCache() {
+        CachingHandCompare caching = new CachingHandCompare();
+        List<Card> hearts = Arrays.asList(
+                Card.of(Rank.TEN, Suit.HEART), Card.of(Rank.JACK, Suit.HEART), Card.of(Rank.QUEEN, Suit.HEART),
+                Card.of(Rank.KING, Suit.HEART), Card.of(Rank.ACE, Suit.HEART));
+        List<Card> spades = Arrays.asList(
+                Card.of(Rank.ACE, Suit.SPADE), Card.of(Rank.KING, Suit.SPADE), Card.of(Rank.QUEEN, Suit.SPADE),
+                Card.of(Rank.JACK, Suit.SPADE), Card.of(Rank.TEN, Suit.SPADE));
+
+        HandRank first = caching.checkHand(hearts);
+        HandRank second = caching.checkHand(spades);
+
+        assertSame(first, second);
+        assertEquals(HandType.RoyalFlush, second.getType());
+        assertEquals(1, caching.getCache().getHitCount());
+        assertEquals(1, caching.getCache().getMissCount());
+        assertEquals(Rank.ACE, spades.get(0).getRank(), "Lista nie powinna byc sortowana");
+    }
+
+    @Test
+    void testPlugsIntoGame() {
+        Game game = new Game("cache");
+        CachingHandCompare caching = new CachingHandCompare();
+        game.setHandCompare(caching);
+
+        Player p1 = new Player("p1", new Hand(Arrays.asList(
+                Card.of(Rank.TWO, Suit.CLUB), Card.of(Rank.TWO, Suit.DIAMOND), Card.of(Rank.NINE, Suit.HEART),
+                Card.of(Rank.JACK, Suit.SPADE), Card.of(Rank.KING, Suit.CLUB))), 1000);
+        Player p2 = new Player("p2", new Hand(Arrays.asList(
+                Card.of(Rank.THREE, Suit.CLUB), Card.of(Rank.THREE, Suit.DIAMOND), Card.of(Rank.NINE, Suit.SPADE),
+                Card.of(Rank.JACK, Suit.CLUB), Card.of(Rank.KING, Suit.HEART))), 1000);
+
+        assertSame(p2, game.getHandCompare().determineWinner(Arrays.asList(p1, p2)));
+        assertSame(p2, game.getHandCompare().determineWinner(Collections.singletonList(p2)));
+        assertEquals(2, caching.getCache().getMissCount());
+        assertEquals(1, caching.getCache().getHitCount());
+    }
+
+    private static List<Card> randomHand(SplittableRandom random) {
+        int[] deck = new int[CardEncoding.DECK_SIZE];
+        Arrays.setAll(deck, i -> i);
+        for (int i = 0; i < 5; i++) {
+            int j = i + random.nextInt(deck.length - i);
+            int tmp = deck[i];
+            deck[i] = deck[j];
+            deck[j] = tmp;
+        }
+        return CardEncoding.toCards(Arrays.copyOf(deck, 5));
+    }
+}
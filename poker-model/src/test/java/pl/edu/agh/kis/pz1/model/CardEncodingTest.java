@@ -0,0 +1,60 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardEncodingTest {
+
+    @Test
+    void testCodesAreUniqueAndInRange() {
+        Set<Integer> codes = new HashSet<>();
+        for (Rank r : Rank.values()) {
+            for (Suit s : Suit.values()) {
+                int code = CardEncoding.encode(r, s);
+                assertTrue(code >= 0 && code < CardEncoding.DECK_SIZE);
+                codes.add(code);
+            }
+        }
+        assertEquals(52, codes.size());
+    }
+
+    @Test
+    void testRoundTrip() {
+        for (int code = 0; code < CardEncoding.DECK_SIZE; code++) {
+            Card card = CardEncoding.toCard(code);
+            assertEquals(code, CardEncoding.encode(card));
+            assertEquals(card.getRank(), CardEncoding.rankOf(code));
+            assertEquals(card.getSuit(), CardEncoding.suitOf(code));
+            assertEquals(code, CardEncoding.fromBits(CardEncoding.toBits(code)));
+        }
+    }
+
+    @Test
+    void testBitField() {
+        int bits = CardEncoding.toBits(CardEncoding.encode(Rank.KING, Suit.DIAMOND));
+        assertEquals(41, CardEncoding.prime(Rank.ACE.ordinal()));
+        assertEquals(37, bits & 0xFF);
+        assertEquals(Rank.KING.ordinal(), (bits >> 8) & 0xF);
+        assertEquals(1 << Suit.DIAMOND.ordinal(), (bits >> 12) & 0xF);
+        assertEquals(1 << Rank.KING.ordinal(), bits >>> 16);
+    }
+
+    @Test
+    void testListConversions() {
+        List<Card> cards = Arrays.asList(
+                new Card(Rank.TWO, Suit.CLUB),
+                new Card(Rank.ACE, Suit.HEART),
+                new Card(Rank.TEN, Suit.SPADE)
+        );
+        int[] codes = CardEncoding.toCodes(cards);
+        assertEquals(3, codes.length);
+        assertEquals(cards, CardEncoding.toCards(codes));
+        assertArrayEquals(codes, new Hand(cards).getCardCodes());
+    }
+}
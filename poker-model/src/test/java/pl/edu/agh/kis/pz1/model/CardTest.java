@@ -72,4 +72,20 @@ class CardTest {
         Card card = new Card(Rank.TEN, Suit.CLUB);
         assertEquals("TEN of CLUB", card.toString());
     }
+
+    @Test
+    void testOfReturnsCanonicalInstance() {
+        Card card1 = Card.of(Rank.ACE, Suit.SPADE);
+        Card card2 = Card.of(Rank.ACE, Suit.SPADE);
+        assertSame(card1, card2);
+        assertEquals(new Card(Rank.ACE, Suit.SPADE), card1);
+    }
+
+    @Test
+    void testFromCode() {
+        Card card = new Card(Rank.SEVEN, Suit.DIAMOND);
+        assertSame(Card.of(Rank.SEVEN, Suit.DIAMOND), Card.fromCode(card.getCode()));
+        assertThrows(IllegalArgumentException.class, () -> Card.fromCode(52));
+        assertThrows(IllegalArgumentException.class, () -> Card.fromCode(-1));
+    }
 }
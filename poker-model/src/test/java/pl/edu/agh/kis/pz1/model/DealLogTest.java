@@ -0,0 +1,72 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DealLogTest {
+
+    @Test
+    void testInMemoryLogRoundTrip() throws IOException {
+        DealLog log = new DealLog();
+        playFoldedHand(log, "g1");
+        playFoldedHand(log, "g2");
+        assertEquals(2, log.getRecords().size());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        log.writeTo(bytes);
+        List<HandRecord> read = DealLog.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(2, read.size());
+        assertEquals("g1", read.get(0).getGameId());
+        assertEquals("g2", read.get(1).getGameId());
+        assertArrayEquals(log.getRecords().get(0).getDeckCodes(), read.get(0).getDeckCodes());
+        assertTrue(new DealReplayer().verify(read).isEmpty(), "Odczytane rozdania powinny sie odtworzyc");
+    }
+
+    @Test
+    void testStreamingLogWritesEachHand() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DealLog log = new DealLog(bytes)) {
+            playFoldedHand(log, "g1");
+            assertTrue(log.getRecords().isEmpty(), "Log strumieniowy nie powinien trzymac rozdan w pamieci");
+            assertEquals(1, DealLog.read(new ByteArrayInputStream(bytes.toByteArray())).size(),
+                    "Rozdanie powinno zostac zapisane zaraz po zakonczeniu");
+            playFoldedHand(log, "g2");
+        }
+        assertEquals(2, DealLog.read(new ByteArrayInputStream(bytes.toByteArray())).size());
+    }
+
+    @Test
+    void testReadRejectsInvalidData() {
+        byte[] garbage = {1, 2, 3, 4, 0, 0, 0, 1};
+        assertThrows(IOException.class, () -> DealLog.read(new ByteArrayInputStream(garbage)));
+    }
+
+    @Test
+    void testReadRejectsTruncatedLog() throws IOException {
+        DealLog log = new DealLog();
+        playFoldedHand(log, "g1");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        log.writeTo(bytes);
+        byte[] data = bytes.toByteArray();
+        byte[] truncated = java.util.Arrays.copyOf(data, data.length - 3);
+        assertThrows(IOException.class, () -> DealLog.read(new ByteArrayInputStream(truncated)));
+    }
+
+    private static void playFoldedHand(DealLog log, String gameId) {
+        Game game = new Game(gameId);
+        game.setDealLog(log);
+        game.addPlayer(new Player("a", 500));
+        game.addPlayer(new Player("b", 500));
+        game.setPlayerReady("a");
+        game.setPlayerReady("b");
+        game.playerFold(game.getPlayers().get(game.getCurrentPlayerIndex()).getPlayerId());
+        game.awardPotToLastStanding();
+    }
+}
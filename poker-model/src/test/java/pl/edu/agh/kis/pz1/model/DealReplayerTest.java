@@ -0,0 +1,196 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DealReplayerTest {
+
+    private DealLog log;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        log = new DealLog();
+        game = new Game("audit");
+        game.setDealLog(log);
+        game.addPlayer(new Player("player1", 1000));
+        game.addPlayer(new Player("player2", 1000));
+        game.addPlayer(new Player("player3", 1000));
+    }
+
+    @Test
+    void testShowdownHandReplaysToSameState() {
+        playShowdownHand();
+        List<Integer> finalStacks = stacks(game);
+        game.resetAfterGame();
+
+        List<HandRecord> records = log.getRecords();
+        assertEquals(1, records.size(), "Po resecie gry rozdanie powinno trafic do logu");
+        HandRecord record = records.get(0);
+        assertTrue(record.isClosedByReset());
+        assertEquals(52, record.getDeckCodes().length, "Zapis powinien zawierac kolejnosc calej talii");
+
+        Game replayed = new DealReplayer().replay(record);
+        assertEquals(finalStacks, stacks(replayed), "Odtworzone rozdanie powinno dac te same stacki");
+    }
+
+    @Test
+    void testStateHashIsStableAcrossJvms() {
+        // Hash trafia do logu rozdan, wiec nie moze zalezec od JVM (np. od hashCode enuma)
+        int[] codes = new int[CardEncoding.DECK_SIZE];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = i;
+        }
+        game.setDeck(Deck.fromCodes(codes));
+        readyAll();
+        game.playerRaise(game.getCurrentPlayerIndex(), 40);
+
+        assertEquals(-828536534, game.stateHash(), "Hash ustalonego stanu powinien byc stala");
+    }
+
+    @Test
+    void testFoldedHandWithAwardedPotReplays() {
+        readyAll();
+        String first = currentPlayer().getPlayerId();
+        game.playerFold(first);
+        game.playerFold(currentPlayer().getPlayerId());
+        assertEquals(GameState.GAME_OVER, game.getGameState());
+        game.awardPotToLastStanding();
+
+        HandRecord record = log.getRecords().get(0);
+        assertEquals(DealAction.AWARD_POT, record.getAction(record.getActionCount() - 1));
+        assertTrue(new DealReplayer().matches(record), "Rozdanie zakonczone pasami powinno sie odtworzyc");
+    }
+
+    @Test
+    void testConsecutiveHandsAreNumberedAndReplay() {
+        playShowdownHand();
+        game.resetAfterGame();
+        playShowdownHand();
+        game.resetAfterGame();
+
+        List<HandRecord> records = log.getRecords();
+        assertEquals(2, records.size());
+        assertEquals(1, records.get(0).getHandNumber());
+        assertEquals(2, records.get(1).getHandNumber());
+        assertTrue(new DealReplayer().verify(records).isEmpty(), "Wszystkie rozdania powinny sie zgadzac");
+    }
+
+    @Test
+    void testTamperedRecordIsDetected() throws IOException {
+        playShowdownHand();
+        game.resetAfterGame();
+        HandRecord record = log.getRecords().get(0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        record.write(new DataOutputStream(bytes));
+        byte[] data = bytes.toByteArray();
+        // Zamiana dwoch kart na wierzchu talii zmienia rece graczy
+        int deckEnd = deckOffset(record) + 52;
+        byte top = data[deckEnd - 1];
+        data[deckEnd - 1] = data[deckEnd - 2];
+        data[deckEnd - 2] = top;
+        HandRecord tampered = HandRecord.read(new DataInputStream(new ByteArrayInputStream(data)));
+
+        DealReplayer replayer = new DealReplayer();
+        assertThrows(IllegalStateException.class, () -> replayer.replay(tampered),
+                "Zmieniona talia powinna zostac wykryta");
+        assertEquals(List.of(tampered), replayer.verify(List.of(record, tampered)));
+    }
+
+    @Test
+    void testBulkVerificationOnCustomPool() {
+        for (int i = 0; i < 20; i++) {
+            playShowdownHand();
+            game.resetAfterGame();
+            for (Player p : game.getPlayers()) {
+                p.setStack(1000);
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertTrue(new DealReplayer(pool).verify(log.getRecords()).isEmpty());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testGameWithoutDealLogRecordsNothing() {
+        game.setDealLog(null);
+        playShowdownHand();
+        game.resetAfterGame();
+        assertTrue(log.getRecords().isEmpty());
+    }
+
+    private void playShowdownHand() {
+        readyAll();
+        playBettingRound();
+        List<List<Integer>> exchanges = List.of(List.of(0, 2), List.of(4), List.of());
+        int n = 0;
+        while (game.getGameState() == GameState.EXCHANGE_PHASE) {
+            game.exchangeCards(currentPlayer().getPlayerId(), new ArrayList<>(exchanges.get(n++ % exchanges.size())));
+        }
+        playBettingRound();
+        assertEquals(GameState.GAME_OVER, game.getGameState());
+    }
+
+    private void readyAll() {
+        for (Player p : game.getPlayers()) {
+            game.setPlayerReady(p.getPlayerId());
+        }
+    }
+
+    private void playBettingRound() {
+        GameState round = game.getGameState();
+        while (game.getGameState() == round) {
+            Player p = currentPlayer();
+            if (p.getCurrentBetInThisRound() < game.getCurrentBet()) {
+                game.playerCall(p.getPlayerId());
+            } else if (game.getCurrentBet() == 0) {
+                game.playerRaise(p.getPlayerId(), 40);
+            } else {
+                game.playerCheck(p.getPlayerId());
+            }
+            game.processBettingRound();
+        }
+    }
+
+    private Player currentPlayer() {
+        return game.getPlayers().get(game.getCurrentPlayerIndex());
+    }
+
+    private static List<Integer> stacks(Game g) {
+        List<Integer> stacks = new ArrayList<>();
+        for (Player p : g.getPlayers()) {
+            stacks.add(p.getStack());
+        }
+        return stacks;
+    }
+
+    private static int deckOffset(HandRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF(record.getGameId());
+        out.writeLong(record.getHandNumber());
+        out.writeByte(record.getDealerIndex());
+        out.writeByte(record.getPlayerCount());
+        for (int i = 0; i < record.getPlayerCount(); i++) {
+            out.writeUTF(record.getPlayerId(i));
+            out.writeInt(record.getStack(i));
+        }
+        out.writeByte(52);
+        return bytes.size();
+    }
+}
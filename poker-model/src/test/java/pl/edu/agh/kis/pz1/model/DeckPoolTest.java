@@ -0,0 +1,90 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeckPoolTest {
+
+    private DeckPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void testProducerFillsPool() throws InterruptedException {
+        pool = new DeckPool(4, SecureShuffleSource.getInstance());
+        awaitDepth(4);
+        assertEquals(4, pool.getDepth(), "Pula powinna zostac zapelniona do pojemnosci");
+        assertEquals(4, pool.getCapacity());
+        assertTrue(pool.isRunning());
+    }
+
+    @Test
+    void testTakenDeckIsFullAndUnique() throws InterruptedException {
+        pool = new DeckPool(2, SecureShuffleSource.getInstance());
+        awaitDepth(1);
+        Deck deck = pool.take();
+        assertEquals(52, deck.size(), "Talia z puli powinna miec 52 karty");
+        Set<Card> cards = new HashSet<>();
+        while (!deck.isEmpty()) {
+            assertTrue(cards.add(deck.getRandomCard()), "Karty w talii nie powinny sie powtarzac");
+        }
+        assertEquals(52, cards.size());
+        assertEquals(1, pool.getHitCount(), "Pobranie z zapelnionej puli powinno byc trafieniem");
+    }
+
+    @Test
+    void testTakeFromEmptyPoolBuildsDeckInline() throws InterruptedException {
+        pool = new DeckPool(1, SecureShuffleSource.getInstance());
+        awaitDepth(1);
+        pool.close();
+        assertFalse(pool.isRunning(), "Po zamknieciu producent nie powinien dzialac");
+
+        pool.take();
+        Deck deck = pool.take();
+        assertEquals(52, deck.size(), "Talia zbudowana na miejscu powinna miec 52 karty");
+        assertEquals(1, pool.getHitCount());
+        assertEquals(1, pool.getMissCount(), "Pobranie z pustej puli powinno byc liczone jako chybienie");
+        assertTrue(pool.getProducedCount() >= 1);
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        ShuffleSource source = SecureShuffleSource.getInstance();
+        assertThrows(IllegalArgumentException.class, () -> new DeckPool(0, source));
+    }
+
+    @Test
+    void testGameDealsFromPooledDeck() throws InterruptedException {
+        pool = new DeckPool(2, SecureShuffleSource.getInstance());
+        awaitDepth(2);
+        Game game = new Game("pool");
+        game.setDeckPool(pool);
+        game.addPlayer(new Player("player1", 1000));
+        game.addPlayer(new Player("player2", 1000));
+        Deck initial = game.getDeck();
+
+        game.setPlayerReady("player1");
+        game.setPlayerReady("player2");
+
+        assertNotSame(initial, game.getDeck(), "Rozdanie powinno uzyc talii z puli");
+        assertEquals(42, game.getDeck().size(), "Po rozdaniu 10 kart w talii powinny zostac 42 karty");
+        assertEquals(1, pool.getHitCount());
+    }
+
+    private void awaitDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pool.getDepth() < depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
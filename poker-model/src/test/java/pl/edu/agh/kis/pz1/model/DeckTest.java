@@ -147,4 +147,79 @@ class DeckTest {
         deck.addCard(new Card(Rank.FIVE, Suit.CLUB));
         assertFalse(deck.isEmpty(), "Metoda isEmpty powinna zwracać false dla niepustej talii");
     }
+
+    @Test
+    void testDrawAllCardsGivesEveryCardOnce() {
+        deck.fabryki();
+        Set<Card> drawn = new HashSet<>();
+        for (int i = 0; i < 52; i++) {
+            assertEquals(52 - i, deck.size(), "Rozmiar talii powinien malec z kazdym pobraniem");
+            assertTrue(drawn.add(deck.getRandomCard()), "Zadna karta nie powinna zostac pobrana dwa razy");
+        }
+        assertTrue(deck.isEmpty(), "Talia powinna byc pusta po pobraniu 52 kart");
+    }
+
+    @Test
+    void testResetReturnsDrawnCards() {
+        deck.fabryki();
+        Card first = deck.getRandomCard();
+        deck.getRandomCard();
+        assertEquals(50, deck.getDeck().size(), "Widok talii powinien odzwierciedlac pobrane karty");
+        assertFalse(deck.getDeck().contains(first), "Pobrana karta nie powinna byc w talii");
+
+        deck.reset();
+        assertEquals(52, deck.size(), "Po resecie talia powinna znow miec 52 karty");
+        assertTrue(deck.getDeck().contains(first), "Po resecie pobrana karta powinna wrocic do talii");
+        assertEquals(52, new HashSet<>(deck.getDeck()).size(), "Po resecie karty nie powinny sie powtarzac");
+    }
+
+    @Test
+    void testCardsRemovedThroughViewDoNotReturnOnReset() {
+        deck.fabryki();
+        Card ace = new Card(Rank.ACE, Suit.SPADE);
+        assertTrue(deck.getDeck().remove(ace), "Karta powinna zostac usunieta przez widok talii");
+        deck.getRandomCard();
+
+        deck.reset();
+        assertEquals(51, deck.size(), "Karta usunieta z widoku nie powinna wrocic po resecie");
+        assertFalse(deck.getDeck().contains(ace), "Usunieta karta nie powinna byc w talii");
+    }
+
+    @Test
+    void testAddCardAfterDrawKeepsDrawnCards() {
+        deck.addCard(new Card(Rank.TWO, Suit.CLUB));
+        Card drawn = deck.getRandomCard();
+        Card added = new Card(Rank.THREE, Suit.HEART);
+        deck.addCard(added);
+
+        assertEquals(List.of(added), deck.getDeck(), "W talii powinna byc tylko dodana karta");
+        deck.reset();
+        assertEquals(2, deck.size(), "Po resecie w talii powinny byc obie karty");
+        assertTrue(deck.getDeck().containsAll(List.of(drawn, added)), "Po resecie talia powinna zawierac obie karty");
+    }
+
+    @Test
+    void testShuffledDeckDealsFromTop() {
+        deck.fabryki();
+        deck.shuffle();
+        List<Card> order = new ArrayList<>(deck.getDeck());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(order.get(order.size() - 1 - i), deck.getRandomCard(),
+                    "Przetasowana talia powinna rozdawac karty z wierzchu");
+        }
+    }
+
+    @Test
+    void testReturnDrawnCardsGoUnderDeck() {
+        Deck fixed = Deck.fromCodes(new int[]{0, 1, 2, 3});
+        Card first = fixed.getRandomCard();
+        Card second = fixed.getRandomCard();
+
+        assertEquals(1, fixed.returnDrawnCards(1L << second.getCode()), "Zatrzymana karta nie powinna wrocic");
+        assertEquals(3, fixed.size());
+        assertTrue(fixed.isShuffled(), "Talia powinna dalej rozdawac z wierzchu");
+        assertEquals(Card.fromCode(1), fixed.getRandomCard());
+        assertEquals(Card.fromCode(0), fixed.getRandomCard());
+        assertEquals(first, fixed.getRandomCard(), "Zwrocona karta powinna byc rozdana na koncu");
+    }
 }
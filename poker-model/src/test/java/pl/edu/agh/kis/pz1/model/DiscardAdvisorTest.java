@@ -0,0 +1,147 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscardAdvisorTest {
+
+    private final HandEvaluator evaluator = HandEvaluator.getInstance();
+    private final HandPercentileTable percentiles = HandPercentileTable.getInstance();
+    private DiscardAdvisor advisor;
+
+    @BeforeEach
+    void setUp() {
+        advisor = new DiscardAdvisor();
+        advisor.setSeed(3L);
+        advisor.setSampleSize(5_000);
+    }
+
+    @Test
+    void testAllLegalDiscardsRanked() {
+        List<Card> hand = Arrays.asList(
+                Card.of(Rank.TWO, Suit.CLUB), Card.of(Rank.SEVEN, Suit.DIAMOND), Card.of(Rank.NINE, Suit.HEART),
+                Card.of(Rank.JACK, Suit.SPADE), Card.of(Rank.KING, Suit.CLUB));
+
+        List<DiscardOption> options = advisor.advise(hand, Collections.emptyList());
+
+        assertEquals(31, options.size());
+        for (int i = 1; i < options.size(); i++) {
+            assertTrue(options.get(i - 1).getExpectedValue() >= options.get(i).getExpectedValue());
+        }
+        for (DiscardOption option : options) {
+            assertTrue(option.getDiscardCount() <= 4);
+            assertEquals(option.getDiscardCount() <= 3, option.isExact());
+            double total = 0;
+            for (HandType type : HandType.values()) {
+                total += option.getProbability(type);
+            }
+            assertEquals(1.0, total, 1e-9);
+        }
+    }
+
+    @Test
+    void testExactValuesMatchBruteForce() {
+        List<Card> hand = Arrays.asList(
+                Card.of(Rank.FIVE, Suit.HEART), Card.of(Rank.SIX, Suit.HEART), Card.of(Rank.SEVEN, Suit.HEART),
+                Card.of(Rank.EIGHT, Suit.HEART), Card.of(Rank.KING, Suit.SPADE));
+        List<Card> dead = Arrays.asList(Card.of(Rank.NINE, Suit.HEART), Card.of(Rank.FOUR, Suit.CLUB));
+
+        for (DiscardOption option : advisor.advise(hand, dead)) {
+            if (option.isExact()) {
+                assertEquals(bruteForce(hand, dead, option.getDiscardMask()), option.getExpectedValue(), 1e-9,
+                        option.toString());
+            }
+        }
+    }
+
+    @Test
+    void testStraightFlushStandsPat() {
+        Hand hand = new Hand();
+        for (Rank rank : Arrays.asList(Rank.FIVE, Rank.SIX, Rank.SEVEN, Rank.EIGHT, Rank.NINE)) {
+            hand.addCard(Card.of(rank, Suit.SPADE));
+        }
+
+        DiscardOption best = advisor.best(hand, Collections.emptyList());
+
+        assertEquals(Collections.emptyList(), best.getDiscardIndices());
+        assertEquals(1.0, best.getProbability(HandType.StraightFlush));
+    }
+
+    @Test
+    void testFourToAFlushDrawsOneCard() {
+        List<Card> hand = Arrays.asList(
+                Card.of(Rank.TWO, Suit.DIAMOND), Card.of(Rank.NINE, Suit.DIAMOND), Card.of(Rank.ACE, Suit.CLUB),
+                Card.of(Rank.JACK, Suit.DIAMOND), Card.of(Rank.KING, Suit.DIAMOND));
+
+        List<DiscardOption> options = advisor.advise(hand, Collections.emptyList());
+        DiscardOption drawOne = options.stream().filter(o -> o.getDiscardMask() == 0b00100).findFirst().orElseThrow();
+
+        assertEquals(9.0 / 47, drawOne.getProbability(HandType.Flush), 1e-9);
+        assertEquals(47, drawOne.getOutcomes());
+    }
+
+    @Test
+    void testSamplingIsReproducible() {
+        List<Card> hand = Arrays.asList(
+                Card.of(Rank.TWO, Suit.CLUB), Card.of(Rank.SEVEN, Suit.DIAMOND), Card.of(Rank.NINE, Suit.HEART),
+                Card.of(Rank.JACK, Suit.SPADE), Card.of(Rank.KING, Suit.CLUB));
+
+        List<DiscardOption> first = advisor.advise(hand, Collections.emptyList());
+        List<DiscardOption> second = advisor.advise(hand, Collections.emptyList());
+
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getDiscardMask(), second.get(i).getDiscardMask());
+            assertEquals(first.get(i).getExpectedValue(), second.get(i).getExpectedValue());
+        }
+    }
+
+    @Test
+    void testInvalidHand() {
+        List<Card> four = Arrays.asList(
+                Card.of(Rank.TWO, Suit.CLUB), Card.of(Rank.SEVEN, Suit.DIAMOND),
+                Card.of(Rank.NINE, Suit.HEART), Card.of(Rank.JACK, Suit.SPADE));
+        List<Card> dead = Collections.emptyList();
+        assertThrows(IllegalArgumentException.class, () -> advisor.advise(four, dead));
+        assertThrows(IllegalArgumentException.class, () -> advisor.setSampleSize(0));
+    }
+
+    private double bruteForce(List<Card> hand, List<Card> dead, int mask) {
+        List<Card> unseen = new ArrayList<>();
+        for (int code = 0; code < CardEncoding.DECK_SIZE; code++) {
+            Card card = Card.fromCode(code);
+            if (!hand.contains(card) && !dead.contains(card)) {
+                unseen.add(card);
+            }
+        }
+        List<Card> kept = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            if ((mask & (1 << i)) == 0) {
+                kept.add(hand.get(i));
+            }
+        }
+        double[] sum = new double[1];
+        long[] count = new long[1];
+        collect(unseen, 0, kept, sum, count);
+        return sum[0] / count[0];
+    }
+
+    private void collect(List<Card> unseen, int from, List<Card> cards, double[] sum, long[] count) {
+        if (cards.size() == 5) {
+            sum[0] += percentiles.percentile(evaluator.evaluate(cards));
+            count[0]++;
+            return;
+        }
+        for (int i = from; i < unseen.size(); i++) {
+            cards.add(unseen.get(i));
+            collect(unseen, i + 1, cards, sum, count);
+            cards.remove(cards.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DrawOddsTableTest {
+
+    @TempDir
+    static Path directory;
+
+    private static Path tableFile;
+    private static DrawOddsTable table;
+
+    @BeforeAll
+    static void generate() throws IOException {
+        // Pelna tabela (do 4 kart) generuje sie dlugo, w testach wystarcza wymiana jednej karty
+        tableFile = directory.resolve("draw-odds.bin");
+        new DrawOddsTableGenerator(1, 1_000, 1L).write(tableFile);
+        table = DrawOddsTable.open(tableFile);
+    }
+
+    @Test
+    void testFileSize() throws IOException {
+        long expected = DrawOddsTable.HEADER_BYTES + HandPercentileTable.HAND_COUNT * 4L
+                + SuitCanonicalizer.FIVE_CARD_CLASSES * 6L * DrawOddsTable.TYPE_COUNT * 2;
+        assertEquals(expected, Files.size(tableFile));
+        assertEquals(1, table.getMaxDiscards());
+    }
+
+    @Test
+    void testMatchesAdvisor() {
+        DiscardAdvisor advisor = new DiscardAdvisor();
+        advisor.setMaxDiscards(1);
+        SplittableRandom random = new SplittableRandom(12);
+        for (int i = 0; i < 300; i++) {
+            int[] codes = randomHand(random);
+            for (DiscardOption option : advisor.advise(CardEncoding.toCards(codes), Collections.emptyList())) {
+                for (HandType type : HandType.values()) {
+                    assertEquals(option.getProbability(type), table.getProbability(codes, option.getDiscardMask(), type),
+                            1e-12, Arrays.toString(codes) + " " + option + " " + type);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFlushDraw() {
+        List<Card> hand = Arrays.asList(
+                Card.of(Rank.TWO, Suit.DIAMOND), Card.of(Rank.NINE, Suit.DIAMOND), Card.of(Rank.ACE, Suit.CLUB),
+                Card.of(Rank.JACK, Suit.DIAMOND), Card.of(Rank.KING, Suit.DIAMOND));
+        int[] codes = CardEncoding.toCodes(hand);
+
+        assertEquals(9.0 / 47, table.getProbability(hand, Collections.singletonList(2), HandType.Flush), 1e-12);
+        assertEquals(1.0, table.getProbability(hand, Collections.emptyList(), HandType.HighCard));
+        assertEquals(21.0 / 47, table.getProbabilityAtLeast(codes, 0b00100, HandType.OnePair), 1e-12);
+    }
+
+    @Test
+    void testDiscardNotCovered() {
+        int[] codes = {0, 5, 10, 15, 20};
+        assertThrows(IllegalArgumentException.class, () -> table.getProbability(codes, 0b11, HandType.Flush));
+        assertThrows(IllegalArgumentException.class, () -> table.getProbability(new int[]{0, 0, 10, 15, 20}, 0, HandType.Flush));
+    }
+
+    @Test
+    void testRejectsOtherVersion() throws IOException {
+        Path copy = directory.resolve("old-version.bin");
+        Files.copy(tableFile, copy);
+        patch(copy, 4, 0);
+        IOException e = assertThrows(IOException.class, () -> DrawOddsTable.open(copy));
+        assertTrue(e.getMessage().contains("version"));
+    }
+
+    @Test
+    void testRejectsCorruptedData() throws IOException {
+        Path copy = directory.resolve("corrupted.bin");
+        Files.copy(tableFile, copy);
+        patch(copy, Files.size(copy) - 4, 0x7FFF);
+        IOException e = assertThrows(IOException.class, () -> DrawOddsTable.open(copy));
+        assertTrue(e.getMessage().contains("checksum"));
+    }
+
+    private static void patch(Path file, long position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(4).putInt(value);
+            buffer.flip();
+            channel.write(buffer, position);
+        }
+    }
+
+    private static int[] randomHand(SplittableRandom random) {
+        int[] deck = new int[CardEncoding.DECK_SIZE];
+        Arrays.setAll(deck, i -> i);
+        for (int i = 0; i < 5; i++) {
+            int j = i + random.nextInt(deck.length - i);
+            int tmp = deck[i];
+            deck[i] = deck[j];
+            deck[j] = tmp;
+        }
+        return Arrays.copyOf(deck, 5);
+    }
+}
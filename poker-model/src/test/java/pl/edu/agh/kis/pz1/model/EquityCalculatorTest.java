@@ -0,0 +1,164 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EquityCalculatorTest {
+
+    private ForkJoinPool pool;
+    private EquityCalculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        calculator = new EquityCalculator(pool);
+        calculator.setTimeBudgetMillis(10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testRoyalFlushNeverLoses() {
+        List<Card> royal = Arrays.asList(
+                Card.of(Rank.TEN, Suit.HEART), Card.of(Rank.JACK, Suit.HEART), Card.of(Rank.QUEEN, Suit.HEART),
+                Card.of(Rank.KING, Suit.HEART), Card.of(Rank.ACE, Suit.HEART));
+        calculator.setTrialBudget(2_000);
+        calculator.setSeed(1L); // wynik z ziarnem nie zalezy od liczby watkow puli
+
+        EquityResult result = calculator.calculate(royal, Collections.emptyList(), 3, Collections.emptyList());
+
+        assertEquals(2_000, result.getTrials());
+        // Przeciwnik moze rzadko miec poker krolewski w innym kolorze - wtedy jest remis, nigdy przegrana
+        assertEquals(1.0, result.getWinProbability() + result.getTieProbability(), 1e-9);
+        assertTrue(result.getEquity() > 0.99);
+    }
+
+    @Test
+    void testSameSeedGivesSameResult() {
+        List<Card> pair = Arrays.asList(
+                Card.of(Rank.TWO, Suit.CLUB), Card.of(Rank.TWO, Suit.DIAMOND), Card.of(Rank.NINE, Suit.HEART),
+                Card.of(Rank.JACK, Suit.SPADE), Card.of(Rank.KING, Suit.CLUB));
+        calculator.setTrialBudget(5_000);
+        calculator.setSeed(42L);
+
+        EquityResult first = calculator.calculate(pair, Arrays.asList(2, 3, 4), 2, Collections.emptyList());
+        EquityResult second = calculator.calculate(pair, Arrays.asList(2, 3, 4), 2, Collections.emptyList());
+
+        assertEquals(first.getEquity(), second.getEquity());
+        assertEquals(first.getWinProbability(), second.getWinProbability());
+        assertEquals(5_000, first.getTrials());
+    }
+
+    @Test
+    void testEquityAgainstOneOpponentWithoutDraw() {
+        // Para asow bez wymiany wygrywa z losowa reka w ponad 90% przypadkow
+        List<Card> aces = Arrays.asList(
+                Card.of(Rank.ACE, Suit.CLUB), Card.of(Rank.ACE, Suit.DIAMOND), Card.of(Rank.THREE, Suit.HEART),
+                Card.of(Rank.SEVEN, Suit.SPADE), Card.of(Rank.NINE, Suit.CLUB));
+        calculator.setTrialBudget(40_000);
+        calculator.setSeed(1L);
+
+        EquityResult result = calculator.calculate(aces, null, 1, Collections.emptyList());
+
+        assertTrue(result.getEquity() > 0.88 && result.getEquity() < 0.95, result.toString());
+        assertTrue(result.getLowerBound() <= result.getEquity() && result.getEquity() <= result.getUpperBound());
+        assertTrue(result.getMarginOfError() < 0.01);
+    }
+
+    @Test
+    void testTimeBudgetStopsEarly() {
+        List<Card> hand = fullDeck().subList(0, 5);
+        calculator.setTrialBudget(Integer.MAX_VALUE);
+        calculator.setTimeBudgetMillis(30);
+
+        EquityResult result = calculator.calculate(hand, Arrays.asList(0, 1), 4, Collections.emptyList());
+
+        assertTrue(result.getTrials() > 0);
+        assertTrue(result.getTrials() < Integer.MAX_VALUE, "Obliczenia powinien zakonczyc limit czasu, nie prob");
+    }
+
+    @Test
+    void testSeededResultDoesNotDependOnParallelism() {
+        List<Card> hand = fullDeck().subList(0, 5);
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            EquityCalculator other = new EquityCalculator(single);
+            other.setTimeBudgetMillis(10_000);
+            other.setTrialBudget(3_000);
+            other.setSeed(5L);
+            calculator.setTrialBudget(3_000);
+            calculator.setSeed(5L);
+
+            EquityResult four = calculator.calculate(hand, Arrays.asList(0, 1), 2, Collections.emptyList());
+            EquityResult one = other.calculate(hand, Arrays.asList(0, 1), 2, Collections.emptyList());
+
+            assertEquals(four.getEquity(), one.getEquity());
+            assertEquals(four.getWinProbability(), one.getWinProbability());
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void testRemainingDeck() {
+        Deck deck = new Deck();
+        deck.fabryki();
+        List<Card> hand = Arrays.asList(
+                Card.of(Rank.KING, Suit.CLUB), Card.of(Rank.KING, Suit.DIAMOND), Card.of(Rank.KING, Suit.HEART),
+                Card.of(Rank.FOUR, Suit.SPADE), Card.of(Rank.FIVE, Suit.CLUB));
+        deck.getDeck().removeAll(hand);
+        calculator.setTrialBudget(1_000);
+
+        EquityResult result = calculator.calculate(hand, Arrays.asList(3, 4), 3, deck);
+
+        assertEquals(1_000, result.getTrials());
+        assertTrue(result.getEquity() > 0.5, result.toString());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        List<Card> hand = fullDeck().subList(0, 5);
+        List<Card> dead = Collections.emptyList();
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(hand.subList(0, 4), null, 1, dead));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(hand, null, 0, dead));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(hand, Arrays.asList(0, 1, 2, 3, 4), 1, dead));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(hand, Collections.singletonList(5), 1, dead));
+        assertThrows(IllegalArgumentException.class, () -> calculator.calculate(hand, Collections.emptyList(), 9, dead));
+    }
+
+    @Test
+    void testOpponentDiscards() {
+        int[] pairOfNines = codes(Card.of(Rank.NINE, Suit.CLUB), Card.of(Rank.TWO, Suit.HEART),
+                Card.of(Rank.NINE, Suit.SPADE), Card.of(Rank.KING, Suit.CLUB), Card.of(Rank.FIVE, Suit.DIAMOND));
+        assertEquals(0b11010, EquityCalculator.opponentDiscards(pairOfNines));
+
+        int[] highCard = codes(Card.of(Rank.NINE, Suit.CLUB), Card.of(Rank.TWO, Suit.HEART),
+                Card.of(Rank.ACE, Suit.SPADE), Card.of(Rank.KING, Suit.CLUB), Card.of(Rank.FIVE, Suit.DIAMOND));
+        assertEquals(0b11011, EquityCalculator.opponentDiscards(highCard));
+
+        int[] flush = codes(Card.of(Rank.NINE, Suit.CLUB), Card.of(Rank.TWO, Suit.CLUB),
+                Card.of(Rank.ACE, Suit.CLUB), Card.of(Rank.KING, Suit.CLUB), Card.of(Rank.FIVE, Suit.CLUB));
+        assertEquals(0, EquityCalculator.opponentDiscards(flush));
+    }
+
+    private static List<Card> fullDeck() {
+        Deck deck = new Deck();
+        deck.fabryki();
+        return deck.getDeck();
+    }
+
+    private static int[] codes(Card... cards) {
+        return CardEncoding.toCodes(Arrays.asList(cards));
+    }
+}
@@ -0,0 +1,154 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventLogTest {
+
+    private GameEventLog log;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        log = new GameEventLog(7);
+        game = new Game("events");
+        game.setEventLog(log);
+        game.addPlayer(new Player("player1", 1000));
+        game.addPlayer(new Player("player2", 1000));
+        game.addPlayer(new Player("player3", 1000));
+    }
+
+    @Test
+    void testRecoverMatchesLiveGameAfterEveryEvent() {
+        for (int hand = 0; hand < 3; hand++) {
+            playShowdownHand();
+            game.resetAfterGame();
+        }
+        readyAll();
+        game.playerCall(game.getCurrentPlayerIndex());
+
+        Game recovered = log.recover();
+        assertEquals(game.stateHash(), recovered.stateHash(), "Odtworzona gra powinna miec ten sam stan");
+        assertEquals(game.getHandNumber(), recovered.getHandNumber());
+        assertEquals(game.getActiveSeats(), recovered.getActiveSeats());
+        assertTrue(log.getLatestSnapshot().getSequence() > 0, "Powinny powstac okresowe snapshoty");
+
+        Game replayedFromStart = Game.replay(GameSnapshot.of(new Game("events"), 0), log.getEvents());
+        assertEquals(game.stateHash(), replayedFromStart.stateHash(), "Pelna historia powinna dac ten sam stan");
+    }
+
+    @Test
+    void testRecoveredGameContinuesLikeLiveGame() {
+        readyAll();
+        game.playerCall(game.getCurrentPlayerIndex());
+        Game recovered = log.recover();
+
+        game.playerFold(game.getCurrentPlayerIndex());
+        recovered.playerFold(recovered.getCurrentPlayerIndex());
+
+        assertEquals(game.stateHash(), recovered.stateHash());
+        assertEquals(Arrays.toString(game.getDeck().getCardCodes()), Arrays.toString(recovered.getDeck().getCardCodes()),
+                "Talia odtworzonej gry powinna dawac te same karty");
+    }
+
+    @Test
+    void testNestedCallsAreLoggedOnce() {
+        long before = log.getEventCount();
+        readyAll();
+        List<GameEvent> events = log.getEventsSince(before);
+
+        assertEquals(4, events.size(), "Trzy zdarzenia gotowosci i jeden start rozdania");
+        assertEquals(GameEventType.PLAYER_READY, events.get(2).getType());
+        assertEquals(GameEventType.HAND_STARTED, events.get(3).getType());
+        assertEquals(52, events.get(3).getDeckCodes().length);
+    }
+
+    @Test
+    void testFailedActionIsNotLogged() {
+        readyAll();
+        long before = log.getEventCount();
+        int other = (game.getCurrentPlayerIndex() + 1) % 3;
+        assertThrows(IllegalStateException.class, () -> game.playerCall(other));
+        assertEquals(before, log.getEventCount());
+    }
+
+    @Test
+    void testStreamRoundTrip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Game streamed = new Game("stream");
+        try (GameEventLog streaming = new GameEventLog(bytes, 5)) {
+            streamed.setEventLog(streaming);
+            streamed.addPlayer(new Player("a", 500));
+            streamed.addPlayer(new Player("b", 500));
+            streamed.setPlayerReady("a");
+            streamed.setPlayerReady("b");
+            streamed.playerCall(streamed.getCurrentPlayerIndex());
+            assertThrows(IllegalStateException.class, streaming::getEvents);
+        }
+
+        GameEventLog read = GameEventLog.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(6, read.getEventCount(), "Dwa dolaczenia, dwie gotowosci, start rozdania i call");
+        assertEquals(streamed.stateHash(), read.recover().stateHash());
+    }
+
+    @Test
+    void testTruncatedStreamIsReadUpToLastCompleteRecord() throws IOException {
+        readyAll();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        log.writeTo(bytes);
+        byte[] data = bytes.toByteArray();
+
+        GameEventLog read = GameEventLog.read(new ByteArrayInputStream(Arrays.copyOf(data, data.length - 3)));
+        assertEquals(log.getEventCount(), read.getEventCount(), "Uciety snapshot nie powinien gubic zdarzen");
+        assertThrows(IOException.class,
+                () -> GameEventLog.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 0, 0, 0, 1})));
+    }
+
+    @Test
+    void testNegativeIntervalRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new GameEventLog(-1));
+    }
+
+    private void playShowdownHand() {
+        readyAll();
+        playBettingRound();
+        List<List<Integer>> exchanges = List.of(List.of(0, 2), List.of(4), List.of());
+        int n = 0;
+        while (game.getGameState() == GameState.EXCHANGE_PHASE) {
+            game.exchangeCards(game.getCurrentPlayerIndex(), new ArrayList<>(exchanges.get(n++ % exchanges.size())));
+        }
+        playBettingRound();
+        assertEquals(GameState.GAME_OVER, game.getGameState());
+    }
+
+    private void readyAll() {
+        for (Player p : game.getPlayers()) {
+            game.setPlayerReady(p.getPlayerId());
+        }
+    }
+
+    private void playBettingRound() {
+        GameState round = game.getGameState();
+        while (game.getGameState() == round) {
+            int seat = game.getCurrentPlayerIndex();
+            Player p = game.getPlayer(seat);
+            if (p.getCurrentBetInThisRound() < game.getCurrentBet()) {
+                game.playerCall(seat);
+            } else if (game.getCurrentBet() == 0) {
+                game.playerRaise(seat, 40);
+            } else {
+                game.playerCheck(seat);
+            }
+            game.processBettingRound();
+        }
+    }
+}
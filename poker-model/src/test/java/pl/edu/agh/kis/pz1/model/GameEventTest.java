@@ -0,0 +1,60 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventTest {
+
+    @Test
+    void testActionEventsAreCompact() throws IOException {
+        assertEquals(2, encode(GameEvent.of(GameEventType.CALL, 3, 0)).length);
+        assertEquals(6, encode(GameEvent.of(GameEventType.RAISE, 3, 100)).length);
+        assertEquals(1, encode(GameEvent.of(GameEventType.RESET, -1, 0)).length);
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        int packed = HandRecord.packIndices(List.of(4, 0, 2));
+        GameEvent exchange = roundTrip(GameEvent.of(GameEventType.EXCHANGE, 2, packed));
+        assertEquals(GameEventType.EXCHANGE, exchange.getType());
+        assertEquals(2, exchange.getSeat());
+        assertEquals(List.of(4, 0, 2), exchange.getExchangedIndices());
+
+        GameEvent joined = roundTrip(GameEvent.playerJoined("gracz", 750));
+        assertEquals("gracz", joined.getPlayerId());
+        assertEquals(750, joined.getArgument());
+
+        GameEvent started = roundTrip(GameEvent.handStarted(5, new int[]{51, 0, 17}));
+        assertEquals(5, started.getArgument());
+        assertArrayEquals(new int[]{51, 0, 17}, started.getDeckCodes());
+    }
+
+    @Test
+    void testInvalidEventRejected() {
+        assertThrows(IOException.class, () -> read(new byte[]{(byte) 99}));
+        byte[] badCard = {(byte) GameEventType.HAND_STARTED.ordinal(), 0, 0, 0, 0, 1, 60};
+        assertThrows(IOException.class, () -> read(badCard));
+    }
+
+    private static GameEvent roundTrip(GameEvent event) throws IOException {
+        return read(encode(event));
+    }
+
+    private static byte[] encode(GameEvent event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        event.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static GameEvent read(byte[] data) throws IOException {
+        return GameEvent.read(new DataInputStream(new ByteArrayInputStream(data)));
+    }
+}
@@ -0,0 +1,47 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSnapshotTest {
+
+    @Test
+    void testRestoreMidHand() throws IOException {
+        Game game = new Game("snap");
+        game.addPlayer(new Player("a", 1000));
+        game.addPlayer(new Player("b", 1000));
+        game.setPlayerReady("a");
+        game.setPlayerReady("b");
+        game.playerRaise(game.getCurrentPlayerIndex(), 60);
+
+        GameSnapshot snapshot = GameSnapshot.of(game, 42);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        snapshot.write(new DataOutputStream(bytes));
+        GameSnapshot read = GameSnapshot.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(42, read.getSequence());
+        assertEquals(2, read.getPlayerCount());
+        Game restored = read.restore();
+        assertEquals(game.stateHash(), restored.stateHash(), "Przywrocona gra powinna miec ten sam stan");
+        assertEquals(game.getPendingSeats(), restored.getPendingSeats());
+        assertEquals(game.getSeat("b"), restored.getSeat("b"));
+
+        game.getDeck().reset();
+        restored.getDeck().reset();
+        assertEquals(52, restored.getDeck().size(), "Pobrane karty powinny wrocic do talii po resecie");
+    }
+
+    @Test
+    void testInvalidSnapshotRejected() {
+        byte[] data = {0, 1, 'x', 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 99};
+        assertThrows(IOException.class,
+                () -> GameSnapshot.read(new DataInputStream(new ByteArrayInputStream(data))));
+    }
+}
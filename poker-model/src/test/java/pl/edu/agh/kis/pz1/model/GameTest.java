@@ -631,7 +631,7 @@ class GameTest {
             IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
                 game.exchangeCards("player1", cardIndices);
             });
-            assertEquals("Not exchange phase", exception.getMessage());
+            assertEquals("Action not allowed in the current game state.", exception.getMessage());
         }
 
         @Test
@@ -662,7 +662,7 @@ class GameTest {
             IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
                 game.exchangeCards("player1", cardIndices);
             });
-            assertEquals("Not this player's turn", exception.getMessage());
+            assertEquals("It's not this player's turn.", exception.getMessage());
         }
     }
 
@@ -702,6 +702,39 @@ class GameTest {
                 assertEquals(0, p.getCurrentBetInThisRound(), "currentBetInThisRound powinien być zresetowany do 0");
             }
         }
+
+        @Test
+        @DisplayName("Spasowany gracz jest pomijany w fazie wymiany")
+        void testExchangeSkipsFoldedPlayer() {
+            Game table = new Game("exchange");
+            for (String id : Arrays.asList("a", "b", "c")) {
+                table.addPlayer(new Player(id, 1000));
+            }
+            for (String id : Arrays.asList("a", "b", "c")) {
+                table.setPlayerReady(id);
+            }
+            int folded = table.getCurrentPlayerIndex();
+            table.playerFold(folded);
+            while (table.getGameState() == GameState.FIRST_BETTING_ROUND) {
+                int seat = table.getCurrentPlayerIndex();
+                if (LegalActions.contains(table.getLegalActions(seat), DealAction.CALL)) {
+                    table.playerCall(seat);
+                } else {
+                    table.playerCheck(seat);
+                }
+            }
+            assertEquals(GameState.EXCHANGE_PHASE, table.getGameState());
+
+            for (int exchanges = 0; exchanges < 2; exchanges++) {
+                int seat = table.getCurrentPlayerIndex();
+                assertNotEquals(folded, seat, "Spasowany gracz nie powinien miec kolejki wymiany");
+                assertThrows(IllegalStateException.class, () -> table.exchangeCards(folded, new ArrayList<>()));
+                table.exchangeCards(seat, new ArrayList<>(Arrays.asList(0)));
+            }
+            assertEquals(GameState.SECOND_BETTING_ROUND, table.getGameState(),
+                    "Po wymianie ostatniego gracza w grze faza powinna sie skonczyc");
+            assertTrue(SeatRing.contains(table.getActiveSeats(), table.getCurrentPlayerIndex()));
+        }
     }
 
 
@@ -816,29 +849,37 @@ class GameTest {
             Player player2 = new Player("player2", 1000);
             game.addPlayer(player1);
             game.addPlayer(player2);
+            game.setPlayerReady("player1");
+            game.setPlayerReady("player2");
 
-            // Tylko player1 jest aktywny
-            game.playerFold("player2");
+            // Gracz na ruchu folduje, drugi zostaje sam
+            Player folding = game.getPlayer(game.getCurrentPlayerIndex());
+            Player other = folding == player1 ? player2 : player1;
+            game.playerFold(folding.getPlayerId());
 
             Player lastStanding = game.getLastPlayerStanding();
             assertNotNull(lastStanding, "Powinien być wybrany ostatni gracz stojący");
-            assertEquals("player1", lastStanding.getPlayerId(), "Ostatnim graczem powinien być player1");
+            assertEquals(other.getPlayerId(), lastStanding.getPlayerId(), "Ostatnim graczem powinien być gracz, który nie foldował");
         }
 
         @Test
-        @DisplayName("Pobranie ostatniego gracza stojącego gdy wszyscy foldują")
-        void testGetLastPlayerStandingAllFolded() {
+        @DisplayName("Ostatni gracz stojący nie może spasować")
+        void testLastPlayerStandingCannotFold() {
             Player player1 = new Player("player1", 1000);
             Player player2 = new Player("player2", 1000);
             game.addPlayer(player1);
             game.addPlayer(player2);
+            game.setPlayerReady("player1");
+            game.setPlayerReady("player2");
 
-            // Obaj gracze foldują
-            game.playerFold("player1");
-            game.playerFold("player2");
+            // Po foldzie pierwszego gracza drugi nie moze juz foldowac
+            int first = game.getCurrentPlayerIndex();
+            game.playerFold(first);
+            assertThrows(IllegalStateException.class, () -> game.playerFold(1 - first));
 
             Player lastStanding = game.getLastPlayerStanding();
-            assertNull(lastStanding, "Nie powinien być wybrany ostatni gracz, ponieważ wszyscy foldowali");
+            assertNotNull(lastStanding, "Ostatni gracz powinien zostać w grze");
+            assertEquals(game.getPlayer(1 - first), lastStanding);
         }
     }
 
@@ -870,26 +911,32 @@ class GameTest {
             game.addPlayer(player1);
             game.addPlayer(player2);
             game.addPlayer(player3);
+            game.setPlayerReady("player1");
+            game.setPlayerReady("player2");
+            game.setPlayerReady("player3");
 
-            // Gracz2 folduje
-            game.playerFold("player2");
+            // Gracz na ruchu folduje
+            game.playerFold(game.getCurrentPlayerIndex());
 
             assertEquals(2, game.getActivePlayersCount(), "Powinno zwrócić 2 aktywnych graczy");
         }
 
         @Test
-        @DisplayName("Liczba aktywnych graczy gdy wszyscy foldują")
-        void testGetActivePlayersCountAllFolded() {
+        @DisplayName("Ostatni aktywny gracz nie może spasować, liczba aktywnych graczy zostaje 1")
+        void testActivePlayersCountWhenLastPlayerCannotFold() {
             Player player1 = new Player("player1", 1000);
             Player player2 = new Player("player2", 1000);
             game.addPlayer(player1);
             game.addPlayer(player2);
+            game.setPlayerReady("player1");
+            game.setPlayerReady("player2");
 
-            // Obaj gracze foldują
-            game.playerFold("player1");
-            game.playerFold("player2");
+            // Pierwszy gracz folduje, ostatni gracz nie moze juz foldowac
+            int first = game.getCurrentPlayerIndex();
+            game.playerFold(first);
+            assertThrows(IllegalStateException.class, () -> game.playerFold(1 - first));
 
-            assertEquals(0, game.getActivePlayersCount(), "Powinno zwrócić 0 aktywnych graczy");
+            assertEquals(1, game.getActivePlayersCount(), "Powinien zostac 1 aktywny gracz");
         }
     }
 
@@ -1042,8 +1089,363 @@ class GameTest {
         assertEquals(newPlayersRemaining, game.getPlayersRemaining(), "getPlayersRemaining() powinno zwrócić ustawioną liczbę graczy pozostających");
     }
 
+    @Nested
+    @DisplayName("Testy indeksu miejsc graczy")
+    class SeatTests {
+
+        @Test
+        @DisplayName("Miejsca graczy sa aktualizowane przy dodawaniu i usuwaniu")
+        void testSeatsFollowAddAndRemove() {
+            game.addPlayer(new Player("A", 1000));
+            game.addPlayer(new Player("B", 1000));
+            game.addPlayer(new Player("C", 1000));
+
+            assertEquals(0, game.getSeat("A"));
+            assertEquals(2, game.getSeat("C"));
+            assertEquals(-1, game.getSeat("X"), "Nieznany gracz nie powinien miec miejsca");
+
+            game.removePlayer("A");
+
+            assertEquals(-1, game.getSeat("A"));
+            assertEquals(0, game.getSeat("B"), "Gracze za usunietym powinni przesunac sie o jedno miejsce");
+            assertEquals(1, game.getSeat("C"));
+            assertSame(game.getPlayerById("C"), game.getPlayer(1));
+        }
+
+        @Test
+        @DisplayName("Indeks miejsc jest odbudowywany po setPlayers i zmianach listy z zewnatrz")
+        void testSeatsRebuiltAfterExternalChanges() {
+            game.setPlayers(new ArrayList<>(List.of(new Player("A", 1000), new Player("B", 1000))));
+            assertEquals(1, game.getSeat("B"));
+
+            game.getPlayers().add(0, new Player("C", 1000));
+
+            assertEquals(0, game.getSeat("C"));
+            assertEquals(2, game.getSeat("B"));
+            assertThrows(IllegalStateException.class, () -> game.addPlayer(new Player("C", 1000)),
+                    "Duplikat ID powinien zostac odrzucony");
+        }
+
+        @Test
+        @DisplayName("Gracz zamieniony na nowe ID przy tej samej liczbie graczy jest znajdowany")
+        void testSeatFoundAfterPlayerSwapped() {
+            game.addPlayer(new Player("A", 1000));
+            game.addPlayer(new Player("B", 1000));
+
+            game.getPlayers().set(1, new Player("D", 1000));
+
+            assertEquals(1, game.getSeat("D"));
+            assertEquals(-1, game.getSeat("B"));
+        }
+
+        @Test
+        @DisplayName("Nieprawidlowe miejsce lub ID rzuca wyjatek")
+        void testInvalidSeat() {
+            game.addPlayer(new Player("A", 1000));
+
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> game.getPlayer(1));
+            assertEquals("No such player", e.getMessage());
+            assertThrows(IllegalStateException.class, () -> game.getPlayerById("X"));
+            assertEquals("No such player", assertThrows(IllegalStateException.class, () -> game.playerFold("X")).getMessage());
+            assertEquals("No such player", assertThrows(IllegalStateException.class, () -> game.playerCall("X")).getMessage());
+            assertEquals("No such player", assertThrows(IllegalStateException.class, () -> game.playerCheck("X")).getMessage());
+            assertEquals("No such player", assertThrows(IllegalStateException.class, () -> game.playerRaise("X", 40)).getMessage());
+            assertEquals("No such player",
+                    assertThrows(IllegalStateException.class, () -> game.exchangeCards("X", new ArrayList<>())).getMessage());
+        }
+
+        @Test
+        @DisplayName("Akcje po indeksie miejsca dzialaja jak akcje po ID")
+        void testSeatActions() {
+            game.addPlayer(new Player("A", 1000));
+            game.addPlayer(new Player("B", 1000));
+            game.setPlayerReady("A");
+            game.setPlayerReady("B");
+
+            int current = game.getCurrentPlayerIndex();
+            int other = 1 - current;
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> game.playerCall(other));
+            assertEquals("It's not this player's turn.", e.getMessage());
+            assertThrows(IllegalStateException.class, () -> game.playerCall(7));
+
+            Player player = game.getPlayer(current);
+            game.playerCall(current);
+
+            assertEquals(game.getCurrentBet(), player.getCurrentBetInThisRound(), "Gracz powinien wyrownac stawke");
+        }
+    }
+
+    @Nested
+    @DisplayName("Testy masek miejsc")
+    class SeatMaskTests {
+
+        @Test
+        @DisplayName("Gracz all-in z mniejsza stawka nie blokuje konca rundy")
+        void testAllInPlayerDoesNotBlockRound() {
+            game.addPlayer(new Player("A", 1000));
+            game.addPlayer(new Player("B", 30));
+            game.addPlayer(new Player("C", 1000));
+            game.setPlayerReady("A");
+            game.setPlayerReady("B");
+            game.setPlayerReady("C");
+
+            for (int i = 0; i < 10 && game.getGameState() == GameState.FIRST_BETTING_ROUND; i++) {
+                int seat = game.getCurrentPlayerIndex();
+                if (LegalActions.contains(game.getLegalActions(seat), DealAction.CALL)) {
+                    game.playerCall(seat);
+                } else {
+                    game.playerCheck(seat);
+                }
+            }
+
+            assertEquals(GameState.EXCHANGE_PHASE, game.getGameState(), "Runda powinna sie zakonczyc");
+            assertEquals(SeatRing.bit(1), game.getAllInSeats(), "Gracz B powinien byc all-in");
+            assertEquals(0, game.getPendingSeats());
+        }
+
+        @Test
+        @DisplayName("Kolejka ruchow przy pelnym stole pomija spasowanych")
+        void testFullTableSeatRing() {
+            game.setMaxPlayers(SeatRing.MAX_SEATS);
+            for (int i = 0; i < SeatRing.MAX_SEATS; i++) {
+                game.addPlayer(new Player("P" + i, 1000));
+            }
+            for (int i = 0; i < SeatRing.MAX_SEATS; i++) {
+                game.setPlayerReady("P" + i);
+            }
+            assertEquals(GameState.FIRST_BETTING_ROUND, game.getGameState());
+            int all = (1 << SeatRing.MAX_SEATS) - 1;
+            assertEquals(all, game.getActiveSeats());
+
+            int first = game.getCurrentPlayerIndex();
+            game.playerFold(first);
+            int second = game.getCurrentPlayerIndex();
+            assertEquals((first + 1) % SeatRing.MAX_SEATS, second);
+
+            game.playerRaise(second, 100);
+            assertEquals(all & ~SeatRing.bit(first) & ~SeatRing.bit(second), game.getPendingSeats(),
+                    "Po podbiciu wszyscy pozostali powinni czekac na ruch");
+            assertEquals(SeatRing.MAX_SEATS - 1, game.getActivePlayersCount());
+        }
+
+        @Test
+        @DisplayName("Przy pelnym stole kazdy gracz moze wymienic 4 karty")
+        void testFullTableExchangesFourCardsEach() {
+            game.setMaxPlayers(SeatRing.MAX_SEATS);
+            for (int i = 0; i < SeatRing.MAX_SEATS; i++) {
+                game.addPlayer(new Player("P" + i, 1000));
+            }
+            for (int i = 0; i < SeatRing.MAX_SEATS; i++) {
+                game.setPlayerReady("P" + i);
+            }
+            while (game.getGameState() == GameState.FIRST_BETTING_ROUND) {
+                int seat = game.getCurrentPlayerIndex();
+                if (LegalActions.contains(game.getLegalActions(seat), DealAction.CALL)) {
+                    game.playerCall(seat);
+                } else {
+                    game.playerCheck(seat);
+                }
+            }
+            assertEquals(GameState.EXCHANGE_PHASE, game.getGameState());
+
+            while (game.getGameState() == GameState.EXCHANGE_PHASE) {
+                game.exchangeCards(game.getCurrentPlayerIndex(), new ArrayList<>(Arrays.asList(0, 1, 2, 3)));
+            }
+
+            long cards = 0;
+            for (Player p : game.getPlayers()) {
+                assertEquals(5, p.getPlayerHand().getCards().size(), "Kazdy gracz powinien miec 5 kart");
+                for (int code : p.getPlayerHand().getCardCodes()) {
+                    cards |= 1L << code;
+                }
+            }
+            assertEquals(5 * SeatRing.MAX_SEATS, Long.bitCount(cards), "Zadna karta nie powinna byc u dwoch graczy");
+        }
+
+        @Test
+        @DisplayName("Wymiana bez kart w talii nie zmienia reki gracza")
+        void testExchangeWithoutCardsLeavesHand() {
+            game.addPlayer(new Player("A", 1000));
+            game.addPlayer(new Player("B", 1000));
+            game.setPlayerReady("A");
+            game.setPlayerReady("B");
+            game.playerCall(1);
+            game.playerCheck(0);
+            assertEquals(GameState.EXCHANGE_PHASE, game.getGameState());
+
+            int seat = game.getCurrentPlayerIndex();
+            List<Card> before = new ArrayList<>(game.getPlayer(seat).getPlayerHand().getCards());
+            game.setDeck(Deck.fromCodes(new int[]{0}));
+
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> game.exchangeCards(seat, new ArrayList<>(Arrays.asList(0, 1))));
+            assertEquals("Not enough cards left in the deck", e.getMessage());
+            assertEquals(before, game.getPlayer(seat).getPlayerHand().getCards(), "Reka gracza nie powinna sie zmienic");
+            assertEquals(seat, game.getCurrentPlayerIndex());
+        }
+
+        @Test
+        @DisplayName("Stol nie moze miec wiecej miejsc niz pozwala talia")
+        void testMaxPlayersLimit() {
+            assertThrows(IllegalArgumentException.class, () -> game.setMaxPlayers(SeatRing.MAX_SEATS + 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Testy pul bocznych")
+    class SidePotTests {
 
+        private Hand hand(Card... cards) {
+            return new Hand(Arrays.asList(cards));
+        }
 
+        @Test
+        @DisplayName("Krotki all-in wygrywa tylko pule glowna, reszte dostaje najlepszy z pozostalych")
+        void testShortAllInWinsOnlyMainPot() {
+            Game table = new Game("SIDE");
+            table.addPlayer(new Player("A", 1000));
+            table.addPlayer(new Player("B", 1000));
+            table.addPlayer(new Player("C", 100));
+            table.setPlayerReady("A");
+            table.setPlayerReady("B");
+            table.setPlayerReady("C");
+
+            table.playerRaise(1, 200);
+            table.playerCall(2);
+            table.playerCall(0);
+            assertEquals(SeatRing.bit(2), table.getAllInSeats(), "C powinien byc all-in");
+            assertEquals(580, table.getPot());
+            assertEquals(100, table.getContribution(2));
+
+            table.getPlayer(0).setPlayerHand(hand(new Card(Rank.ACE, Suit.CLUB), new Card(Rank.ACE, Suit.HEART),
+                    new Card(Rank.THREE, Suit.SPADE), new Card(Rank.SEVEN, Suit.CLUB), new Card(Rank.NINE, Suit.DIAMOND)));
+            table.getPlayer(1).setPlayerHand(hand(new Card(Rank.KING, Suit.CLUB), new Card(Rank.KING, Suit.HEART),
+                    new Card(Rank.THREE, Suit.HEART), new Card(Rank.SEVEN, Suit.HEART), new Card(Rank.NINE, Suit.SPADE)));
+            table.getPlayer(2).setPlayerHand(hand(new Card(Rank.TWO, Suit.CLUB), new Card(Rank.TWO, Suit.HEART),
+                    new Card(Rank.TWO, Suit.SPADE), new Card(Rank.SEVEN, Suit.DIAMOND), new Card(Rank.NINE, Suit.HEART)));
+            table.determineWinner();
+
+            assertEquals(300, table.getPlayer(2).getStack(), "C wygrywa tylko pule glowna 3 x 100");
+            assertEquals(1040, table.getPlayer(0).getStack(), "A wygrywa pule boczna 2 x 140");
+            assertEquals(760, table.getPlayer(1).getStack());
+            assertEquals(SeatRing.bit(2), table.getPots().getPotWinners(0));
+            assertEquals(SeatRing.bit(0), table.getPots().getPotWinners(1));
+        }
 
+        @Test
+        @DisplayName("Rowne rece dziela pule")
+        void testEqualHandsSplitPot() {
+            Game table = new Game("SPLIT");
+            table.addPlayer(new Player("A", 1000));
+            table.addPlayer(new Player("B", 1000));
+            table.setPlayerReady("A");
+            table.setPlayerReady("B");
+            table.playerCall(table.getCurrentPlayerIndex());
+
+            table.getPlayer(0).setPlayerHand(hand(new Card(Rank.ACE, Suit.CLUB), new Card(Rank.KING, Suit.CLUB),
+                    new Card(Rank.NINE, Suit.SPADE), new Card(Rank.SEVEN, Suit.CLUB), new Card(Rank.FOUR, Suit.DIAMOND)));
+            table.getPlayer(1).setPlayerHand(hand(new Card(Rank.ACE, Suit.HEART), new Card(Rank.KING, Suit.HEART),
+                    new Card(Rank.NINE, Suit.HEART), new Card(Rank.SEVEN, Suit.SPADE), new Card(Rank.FOUR, Suit.SPADE)));
+            table.determineWinner();
+
+            assertEquals(1000, table.getPlayer(0).getStack());
+            assertEquals(1000, table.getPlayer(1).getStack());
+        }
+    }
+
+    @Nested
+    @DisplayName("Testy dozwolonych akcji")
+    class LegalActionTests {
+        private Game table;
+
+        @BeforeEach
+        void setUpTable() {
+            // Dwoch graczy: zaczyna maly blind na miejscu 1 z 20 do wyrownania
+            table = new Game("LEGAL");
+            table.addPlayer(new Player("A", 1000));
+            table.addPlayer(new Player("B", 1000));
+            table.setPlayerReady("A");
+            table.setPlayerReady("B");
+        }
+
+        @Test
+        @DisplayName("Gracz na ruchu z kwota do wyrownania nie moze czekac")
+        void testLegalActionsWithBetToCall() {
+            assertEquals(1, table.getCurrentPlayerIndex());
+            assertEquals(LegalActions.FOLD | LegalActions.CALL | LegalActions.RAISE, table.getLegalActions(1));
+            assertEquals(0, table.getLegalActions(0), "Gracz nie na ruchu nie ma akcji");
+            assertEquals(960, table.getMaxRaise(1));
+
+        }
+
+        @Test
+        @DisplayName("Bledy akcji sa zwracane bez wyjatku i bez zmiany stanu")
+        void testActionErrors() {
+            assertEquals("It's not this player's turn.", table.getActionError(0, DealAction.CALL, 0));
+            assertEquals("Cannot check, must call or fold.", table.getActionError("B", DealAction.CHECK, 0));
+            assertEquals("Not enough chips to raise by 961", table.getActionError(1, DealAction.RAISE, 961));
+            assertEquals("Raise must be at least 1", table.getActionError(1, DealAction.RAISE, 0));
+            assertNull(table.getActionError(1, DealAction.RAISE, 960));
+
+            int pot = table.getPot();
+            assertThrows(IllegalStateException.class, () -> table.playerRaise(1, 961));
+            assertEquals(pot, table.getPot());
+        }
 
-}
\ No newline at end of file
+        @Test
+        @DisplayName("W fazie wymiany jedyna akcja jest wymiana, w drugiej rundzie bez stawki mozna czekac, ale nie sprawdzac")
+        void testExchangeAndSecondRound() {
+            table.playerCall(1);
+            table.playerCheck(0);
+            assertEquals(GameState.EXCHANGE_PHASE, table.getGameState());
+
+            int current = table.getCurrentPlayerIndex();
+            assertEquals(LegalActions.EXCHANGE, table.getLegalActions(current));
+            assertEquals("Action not allowed in the current game state.",
+                    table.getActionError(current, DealAction.CALL, 0));
+
+            table.finishExchangePhase();
+            current = table.getCurrentPlayerIndex();
+            assertEquals(LegalActions.FOLD | LegalActions.CHECK | LegalActions.RAISE, table.getLegalActions(current));
+            assertEquals("Nothing to call, check instead.", table.getActionError(current, DealAction.CALL, 0));
+        }
+
+        @Test
+        @DisplayName("Big blind moze zagrac po wyrownaniu stawki przez small blinda")
+        void testBigBlindGetsOption() {
+            table.playerCall(1);
+
+            assertEquals(GameState.FIRST_BETTING_ROUND, table.getGameState(), "Big blind jeszcze nie zagral");
+            assertEquals(0, table.getCurrentPlayerIndex());
+            assertEquals(SeatRing.bit(0), table.getPendingSeats());
+            assertTrue(LegalActions.contains(table.getLegalActions(0), DealAction.CHECK));
+        }
+
+        @Test
+        @DisplayName("Runda bez stawki konczy sie, gdy wszyscy sprawdzili")
+        void testCheckAroundEndsSecondRound() {
+            table.playerCall(1);
+            table.playerCheck(0);
+            table.finishExchangePhase();
+            assertEquals(SeatRing.bit(0) | SeatRing.bit(1), table.getPendingSeats());
+
+            table.playerCheck(table.getCurrentPlayerIndex());
+            assertEquals(GameState.SECOND_BETTING_ROUND, table.getGameState());
+            table.playerCheck(table.getCurrentPlayerIndex());
+
+            assertEquals(GameState.GAME_OVER, table.getGameState(), "Po checku wszystkich gra powinna przejsc do showdownu");
+        }
+
+        @Test
+        @DisplayName("Podbicie wymaga ponownej decyzji pozostalych graczy")
+        void testRaiseReopensAction() {
+            table.playerCall(1);
+            table.playerRaise(0, 20);
+
+            assertEquals(GameState.FIRST_BETTING_ROUND, table.getGameState());
+            assertEquals(SeatRing.bit(1), table.getPendingSeats());
+            table.playerCall(1);
+            assertEquals(GameState.EXCHANGE_PHASE, table.getGameState());
+        }
+    }
+}
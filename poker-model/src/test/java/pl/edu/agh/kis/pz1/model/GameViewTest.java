@@ -0,0 +1,125 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameViewTest {
+
+    @Test
+    void testNewGamePublishesEmptyView() {
+        Game game = new Game("view");
+
+        GameView view = game.getView();
+
+        assertNotNull(view);
+        assertEquals("view", view.getGameId());
+        assertEquals(GameState.WAITING_FOR_PLAYERS, view.getGameState());
+        assertEquals(0, view.getPlayerCount());
+        assertNull(view.getCurrentPlayerId(), "Bez graczy nie ma aktualnego gracza");
+    }
+
+    @Test
+    void testViewFollowsActionsWithIncreasingVersions() {
+        Game game = new Game("view");
+        game.addPlayer(new Player("a", 1000));
+        game.addPlayer(new Player("b", 1000));
+        game.setPlayerReady("a");
+        game.setPlayerReady("b");
+        GameView started = game.getView();
+
+        assertEquals(GameState.FIRST_BETTING_ROUND, started.getGameState());
+        assertEquals(60, started.getPot());
+        assertEquals(game.getPlayers().get(game.getCurrentPlayerIndex()).getPlayerId(), started.getCurrentPlayerId());
+        assertEquals(game.getInfoBlinds(), started.getInfoBlinds());
+
+        game.playerCall(game.getCurrentPlayerIndex());
+        GameView called = game.getView();
+
+        assertTrue(called.getVersion() > started.getVersion());
+        assertEquals(80, called.getPot());
+        assertEquals(60, started.getPot(), "Wczesniejszy widok nie powinien sie zmieniac");
+    }
+
+    @Test
+    void testViewHoldsLegalActionsOfCurrentPlayer() {
+        Game game = new Game("view");
+        game.addPlayer(new Player("a", 1000));
+        game.addPlayer(new Player("b", 300));
+        game.setPlayerReady("a");
+        game.setPlayerReady("b");
+
+        GameView view = game.getView();
+
+        assertEquals(game.getLegalActions(game.getCurrentPlayerIndex()), view.getLegalActions());
+        assertEquals(LegalActions.MIN_RAISE, view.getMinRaise());
+        assertEquals(260, view.getMaxRaise(), "Maly blind b ma 280 zetonow i 20 do wyrownania");
+    }
+
+    @Test
+    void testViewDoesNotFollowPlayerObjects() {
+        Game game = new Game("view");
+        Player a = new Player("a", 1000);
+        game.addPlayer(a);
+        GameView view = game.getView();
+
+        a.setStack(1);
+        a.setFolded(true);
+
+        assertEquals(1000, view.getStack(0));
+        assertFalse(view.isFolded(0));
+        assertSame(view, game.getView(), "Zmiana przez settery nie publikuje nowego widoku");
+    }
+
+    @Test
+    void testRestoredGamePublishesView() {
+        Game game = new Game("view");
+        game.addPlayer(new Player("a", 500));
+
+        GameView view = GameSnapshot.of(game, 0).restore().getView();
+
+        assertEquals(1, view.getPlayerCount());
+        assertEquals("a", view.getPlayerId(0));
+        assertEquals(500, view.getStack(0));
+    }
+
+    @Test
+    void testReaderThreadSeesConsistentViews() throws Exception {
+        Game game = new Game("view");
+        game.addPlayer(new Player("a", 100000));
+        game.addPlayer(new Player("b", 100000));
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> consistent = reader.submit(() -> {
+                long last = 0;
+                for (int i = 0; i < 100000; i++) {
+                    GameView view = game.getView();
+                    int chips = view.getPot();
+                    for (int seat = 0; seat < view.getPlayerCount(); seat++) {
+                        chips += view.getStack(seat);
+                    }
+                    if (chips != 200000 || view.getVersion() < last) {
+                        return false;
+                    }
+                    last = view.getVersion();
+                }
+                return true;
+            });
+            for (int hand = 0; hand < 200 && !consistent.isDone(); hand++) {
+                game.setPlayerReady("a");
+                game.setPlayerReady("b");
+                game.playerFold(game.getCurrentPlayerIndex());
+                game.awardPotToLastStanding();
+                game.resetAfterGame();
+            }
+            assertTrue(consistent.get(10, TimeUnit.SECONDS), "Kazdy widok powinien miec te same zetony na stole");
+        } finally {
+            reader.shutdownNow();
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package pl.edu.agh.kis.pz1.model;
 
+import com.sun.management.ThreadMXBean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 import static org.mockito.Mockito.*;
 
 class HandCompareTest {
@@ -414,6 +417,20 @@ class HandCompareTest {
             assertEquals(0, result, "Obie ręce High Card powinny być równe");
         }
 
+        @Test
+        @DisplayName("Compare HandRank: rozna liczba kickerow - porownywane sa tylko wspolne")
+        void testCompareHandRankDifferentKickerCounts() {
+            HandRank shortPair = new HandRank(HandType.OnePair, Arrays.asList(Rank.KING));
+            HandRank fullPair = new HandRank(HandType.OnePair, Arrays.asList(Rank.KING, Rank.QUEEN, Rank.NINE, Rank.TWO));
+            HandRank lowerPair = new HandRank(HandType.OnePair, Arrays.asList(Rank.QUEEN, Rank.ACE, Rank.NINE, Rank.TWO));
+
+            assertEquals(0, handCompare.compareHandRank(shortPair, fullPair));
+            assertEquals(0, handCompare.compareHandRank(fullPair, shortPair));
+            assertTrue(handCompare.compareHandRank(shortPair, lowerPair) > 0);
+            assertTrue(handCompare.compareHandRank(fullPair, new HandRank(fullPair.getKey())) == 0,
+                    "Klucz z ewaluatora ma tyle kickerow, ile niezerowych pol");
+        }
+
         @Test
         @DisplayName("Compare HandRank: h1 == h2 z różnymi kickerami")
         void testCompareHandRankH1EqualToH2DifferentKickers() {
@@ -447,6 +464,71 @@ class HandCompareTest {
 
     }
 
+    // --- Testy dla checkHandKey(int[] codes) --- //
+
+    @Nested
+    @DisplayName("Testy metody checkHandKey")
+    class CheckHandKeyTests {
+
+        private final int[] fullHouse = {
+                CardEncoding.encode(Rank.TEN, Suit.HEART),
+                CardEncoding.encode(Rank.ACE, Suit.SPADE),
+                CardEncoding.encode(Rank.TEN, Suit.DIAMOND),
+                CardEncoding.encode(Rank.ACE, Suit.CLUB),
+                CardEncoding.encode(Rank.TEN, Suit.SPADE)
+        };
+
+        @Test
+        @DisplayName("checkHandKey zwraca klucz taki jak checkHand i nie zmienia wejscia")
+        void testCheckHandKeyMatchesCheckHand() {
+            int[] copy = fullHouse.clone();
+            int key = handCompare.checkHandKey(fullHouse);
+
+            assertArrayEquals(copy, fullHouse, "Tablica wejsciowa nie powinna zostac zmieniona");
+            assertEquals(handCompare.checkHand(CardEncoding.toCards(fullHouse)).getKey(), key);
+            assertEquals(new HandRank(HandType.FullHouse, Arrays.asList(Rank.TEN, Rank.ACE)), new HandRank(key));
+        }
+
+        @Test
+        @DisplayName("checkHandKey z histogramu rang")
+        void testCheckHandKeyFromHistogram() {
+            int[] counts = new int[CardEncoding.RANK_COUNT];
+            counts[Rank.TEN.ordinal()] = 1;
+            counts[Rank.JACK.ordinal()] = 1;
+            counts[Rank.QUEEN.ordinal()] = 1;
+            counts[Rank.KING.ordinal()] = 1;
+            counts[Rank.ACE.ordinal()] = 1;
+
+            assertEquals(HandType.RoyalFlush, new HandRank(handCompare.checkHandKey(counts, true)).getType());
+            assertEquals(HandType.Straight, new HandRank(handCompare.checkHandKey(counts, false)).getType());
+        }
+
+        @Test
+        @DisplayName("checkHandKey nie alokuje pamieci po rozgrzaniu JIT")
+        void testCheckHandKeyDoesNotAllocate() {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            assumeTrue(bean instanceof ThreadMXBean);
+            ThreadMXBean threadBean = (ThreadMXBean) bean;
+            assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+
+            long sink = 0;
+            for (int i = 0; i < 2_000_000; i++) {
+                sink += handCompare.checkHandKey(fullHouse);
+            }
+
+            long threadId = Thread.currentThread().getId();
+            long before = threadBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < 100_000; i++) {
+                sink += handCompare.checkHandKey(fullHouse);
+            }
+            long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+            assertNotEquals(0, sink);
+            assertTrue(allocated < 1024, "checkHandKey nie powinien alokowac, zaalokowano bajtow: " + allocated);
+        }
+    }
+
     // --- Dodatkowe Testy dla pomocniczych metod (opcjonalne) --- //
     // Można dodać testy dla metod takich jak isRoyalFlush, isStraightFlush, itp., jeśli są publiczne
     // Jednak zwykle testujemy je poprzez testy checkHand
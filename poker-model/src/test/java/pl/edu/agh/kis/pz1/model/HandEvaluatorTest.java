@@ -0,0 +1,82 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandEvaluatorTest {
+
+    private final HandEvaluator evaluator = HandEvaluator.getInstance();
+    private final HandCompare handCompare = new HandCompare();
+
+    @Test
+    void testRoyalFlush() {
+        List<Card> hand = Arrays.asList(
+                Card.of(Rank.ACE, Suit.HEART),
+                Card.of(Rank.KING, Suit.HEART),
+                Card.of(Rank.QUEEN, Suit.HEART),
+                Card.of(Rank.JACK, Suit.HEART),
+                Card.of(Rank.TEN, Suit.HEART)
+        );
+        int strength = evaluator.evaluate(hand);
+        assertEquals(HandType.RoyalFlush, HandEvaluator.getType(strength));
+        assertEquals(Arrays.asList(Rank.TEN, Rank.JACK, Rank.QUEEN, Rank.KING, Rank.ACE), HandEvaluator.getKickers(strength));
+        assertEquals(Card.of(Rank.ACE, Suit.HEART), hand.get(0), "Lista nie powinna zostac zmodyfikowana");
+    }
+
+    @Test
+    void testLowAceIsNotStraight() {
+        List<Card> hand = Arrays.asList(
+                Card.of(Rank.ACE, Suit.HEART),
+                Card.of(Rank.TWO, Suit.CLUB),
+                Card.of(Rank.THREE, Suit.HEART),
+                Card.of(Rank.FOUR, Suit.SPADE),
+                Card.of(Rank.FIVE, Suit.HEART)
+        );
+        assertEquals(HandType.HighCard, HandEvaluator.getType(evaluator.evaluate(hand)));
+    }
+
+    @Test
+    void testToHandRankMatchesCheckHand() {
+        List<Card> hand = Arrays.asList(
+                Card.of(Rank.NINE, Suit.HEART),
+                Card.of(Rank.FOUR, Suit.CLUB),
+                Card.of(Rank.NINE, Suit.SPADE),
+                Card.of(Rank.KING, Suit.SPADE),
+                Card.of(Rank.FOUR, Suit.HEART)
+        );
+        int strength = evaluator.evaluate(hand);
+        assertEquals(handCompare.checkHand(new ArrayList<>(hand)), HandEvaluator.toHandRank(strength));
+    }
+
+    @Test
+    void testOrderingMatchesCompareHandRankOnRandomHands() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 20000; i++) {
+            List<Card> a = randomHand(random);
+            List<Card> b = randomHand(random);
+            int expected = Integer.signum(handCompare.compareHandRank(
+                    handCompare.checkHand(new ArrayList<>(a)), handCompare.checkHand(new ArrayList<>(b))));
+            int actual = Integer.compare(evaluator.evaluate(a), evaluator.evaluate(b));
+            assertEquals(expected, actual, a + " vs " + b);
+        }
+    }
+
+    private static List<Card> randomHand(SplittableRandom random) {
+        long used = 0;
+        List<Card> hand = new ArrayList<>();
+        while (hand.size() < 5) {
+            int code = random.nextInt(CardEncoding.DECK_SIZE);
+            if ((used & (1L << code)) == 0) {
+                used |= 1L << code;
+                hand.add(Card.fromCode(code));
+            }
+        }
+        return hand;
+    }
+}
@@ -0,0 +1,71 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandPercentileTableTest {
+
+    private final HandPercentileTable table = HandPercentileTable.getInstance();
+    private final HandEvaluator evaluator = HandEvaluator.getInstance();
+
+    @Test
+    void testClassCount() {
+        assertEquals(7462, table.classCount());
+    }
+
+    @Test
+    void testHandCounts() {
+        int royal = HandEvaluator.pack(HandType.RoyalFlush, 10, 11, 12, 13, 14);
+        int quadAces = HandEvaluator.pack(HandType.FourOfAKind, 14, 13);
+        int fullHouse = HandEvaluator.pack(HandType.FullHouse, 2, 3);
+        int pairOfTwos = HandEvaluator.pack(HandType.OnePair, 2, 5, 4, 3);
+        int worstHighCard = HandEvaluator.pack(HandType.HighCard, 7, 5, 4, 3, 2);
+
+        assertEquals(4, table.handCount(royal));
+        assertEquals(4, table.handCount(quadAces));
+        assertEquals(24, table.handCount(fullHouse));
+        assertEquals(6 * 64, table.handCount(pairOfTwos));
+        assertEquals(1020, table.handCount(worstHighCard));
+    }
+
+    @Test
+    void testExtremePercentiles() {
+        int worst = HandEvaluator.pack(HandType.HighCard, 7, 5, 4, 3, 2);
+        int best = HandEvaluator.pack(HandType.RoyalFlush, 10, 11, 12, 13, 14);
+        assertEquals(510.0 / HandPercentileTable.HAND_COUNT, table.percentile(worst), 1e-12);
+        // Pod najlepsza reka musza byc wszystkie pozostale rece
+        assertEquals(1 - 2.0 / HandPercentileTable.HAND_COUNT, table.percentile(best), 1e-12);
+    }
+
+    @Test
+    void testPercentileFollowsStrength() {
+        SplittableRandom random = new SplittableRandom(9);
+        for (int i = 0; i < 20_000; i++) {
+            int a = evaluator.evaluate(randomHand(random));
+            int b = evaluator.evaluate(randomHand(random));
+            assertEquals(Integer.signum(Integer.compare(a, b)),
+                    Integer.signum(Double.compare(table.percentile(a), table.percentile(b))));
+        }
+    }
+
+    @Test
+    void testUnknownStrength() {
+        assertThrows(IllegalArgumentException.class, () -> table.percentile(HandEvaluator.pack(HandType.OnePair, 2, 2, 2, 2)));
+    }
+
+    private static int[] randomHand(SplittableRandom random) {
+        int[] deck = new int[CardEncoding.DECK_SIZE];
+        Arrays.setAll(deck, i -> i);
+        for (int i = 0; i < 5; i++) {
+            int j = i + random.nextInt(deck.length - i);
+            int tmp = deck[i];
+            deck[i] = deck[j];
+            deck[j] = tmp;
+        }
+        return Arrays.copyOf(deck, 5);
+    }
+}
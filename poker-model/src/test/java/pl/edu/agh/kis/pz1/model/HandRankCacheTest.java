@@ -0,0 +1,132 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandRankCacheTest {
+
+    @ParameterizedTest
+    @EnumSource(HandRankCache.Eviction.class)
+    void testHitsAndMisses(HandRankCache.Eviction eviction) {
+        HandRankCache cache = new HandRankCache(16, eviction);
+        AtomicInteger loads = new AtomicInteger();
+
+        HandRank first = cache.get(7L, key -> load(loads, key));
+        HandRank second = cache.get(7L, key -> load(loads, key));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate());
+        assertEquals(1, cache.size());
+    }
+
+    @ParameterizedTest
+    @EnumSource(HandRankCache.Eviction.class)
+    void testBoundedSize(HandRankCache.Eviction eviction) {
+        HandRankCache cache = new HandRankCache(32, eviction);
+        AtomicInteger loads = new AtomicInteger();
+        for (long key = 0; key < 1000; key++) {
+            cache.get(key, k -> load(loads, k));
+        }
+        assertTrue(cache.size() <= 32, "Rozmiar: " + cache.size());
+        assertEquals(1000 - cache.size(), cache.getEvictionCount());
+    }
+
+    @ParameterizedTest
+    @EnumSource(HandRankCache.Eviction.class)
+    void testRecentlyUsedEntrySurvives(HandRankCache.Eviction eviction) {
+        HandRankCache cache = new HandRankCache(1, eviction);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, k -> load(loads, k));
+        cache.get(2L, k -> load(loads, k));
+
+        cache.get(2L, k -> load(loads, k));
+        assertEquals(1, cache.getHitCount());
+
+        cache.get(1L, k -> load(loads, k));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testClockGivesSecondChance() {
+        HandRankCache cache = new HandRankCache(2, HandRankCache.Eviction.CLOCK);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, k -> load(loads, k));
+        cache.get(2L, k -> load(loads, k));
+        cache.get(1L, k -> load(loads, k));
+
+        // 1 ma ustawiony bit odwolania, wiec usuniety zostaje 2
+        cache.get(3L, k -> load(loads, k));
+        cache.get(1L, k -> load(loads, k));
+
+        assertEquals(3, loads.get());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    void testClearKeepsCounters() {
+        HandRankCache cache = new HandRankCache();
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, k -> load(loads, k));
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(HandRankCache.DEFAULT_CAPACITY, cache.getCapacity());
+        assertEquals(HandRankCache.Eviction.CLOCK, cache.getEviction());
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new HandRankCache(0, HandRankCache.Eviction.LRU));
+    }
+
+    @ParameterizedTest
+    @EnumSource(HandRankCache.Eviction.class)
+    void testConcurrentAccess(HandRankCache.Eviction eviction) throws Exception {
+        HandRankCache cache = new HandRankCache(64, eviction);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        long key = i % 100;
+                        HandRank rank = cache.get(key, HandRankCacheTest::rankOf);
+                        assertEquals(rankOf(key), rank);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(80_000, cache.getHitCount() + cache.getMissCount());
+        assertTrue(cache.size() <= 64);
+    }
+
+    private static HandRank load(AtomicInteger loads, long key) {
+        loads.incrementAndGet();
+        return rankOf(key);
+    }
+
+    private static HandRank rankOf(long key) {
+        HandType[] types = HandType.values();
+        return new HandRank(types[(int) (key % types.length)], Collections.emptyList());
+    }
+}
@@ -95,4 +95,26 @@ class HandRankTest {
 
         assertThrows(UnsupportedOperationException.class, () -> immutableKickers.add(Rank.TWO), "Lista kickerów powinna być niezmienna");
     }
+
+    @Test
+    void testPackedKeyConstructor() {
+        HandRank fromList = new HandRank(HandType.TwoPair, Arrays.asList(Rank.KING, Rank.NINE, Rank.FOUR));
+        HandRank fromKey = new HandRank(fromList.getKey());
+
+        assertEquals(fromList, fromKey, "HandRank z klucza powinien byc rowny HandRank z listy");
+        assertEquals(fromList.hashCode(), fromKey.hashCode());
+        assertEquals(HandType.TwoPair, fromKey.getType());
+        assertEquals(Arrays.asList(Rank.KING, Rank.NINE, Rank.FOUR), fromKey.getKickers());
+        assertThrows(UnsupportedOperationException.class, () -> fromKey.getKickers().add(Rank.TWO));
+    }
+
+    @Test
+    void testKeyOrdering() {
+        HandRank flush = new HandRank(HandType.Flush, Arrays.asList(Rank.KING, Rank.JACK, Rank.NINE, Rank.FIVE, Rank.TWO));
+        HandRank betterFlush = new HandRank(HandType.Flush, Arrays.asList(Rank.KING, Rank.JACK, Rank.NINE, Rank.FIVE, Rank.THREE));
+        HandRank fullHouse = new HandRank(HandType.FullHouse, Arrays.asList(Rank.TWO, Rank.THREE));
+
+        assertTrue(betterFlush.getKey() > flush.getKey());
+        assertTrue(fullHouse.getKey() > betterFlush.getKey());
+    }
 }
@@ -0,0 +1,72 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandRecordTest {
+
+    @Test
+    void testWriteReadRoundTrip() throws IOException {
+        HandRecord.Builder builder = new HandRecord.Builder("game", 7, 1,
+                List.of(new Player("a", 100), new Player("b", 200)), new int[]{0, 51, 13});
+        builder.add(DealAction.RAISE, 1, 40, 123);
+        builder.add(DealAction.EXCHANGE, 0, HandRecord.packIndices(List.of(4, 0, 2)), 456);
+        builder.add(DealAction.PROCESS_BETTING_ROUND, -1, 1, 789);
+        HandRecord record = builder.build(true, 999);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        record.write(new DataOutputStream(bytes));
+        HandRecord read = HandRecord.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals("game", read.getGameId());
+        assertEquals(7, read.getHandNumber());
+        assertEquals(1, read.getDealerIndex());
+        assertEquals(2, read.getPlayerCount());
+        assertEquals("b", read.getPlayerId(1));
+        assertEquals(200, read.getStack(1));
+        assertArrayEquals(new int[]{0, 51, 13}, read.getDeckCodes());
+        assertEquals(3, read.getActionCount());
+        assertEquals(DealAction.RAISE, read.getAction(0));
+        assertEquals(40, read.getArgument(0));
+        assertEquals(List.of(4, 0, 2), read.getExchangedIndices(1));
+        assertEquals(-1, read.getSeat(2), "Akcja bez gracza powinna miec miejsce -1");
+        assertEquals(789, read.getStateHash(2));
+        assertTrue(read.isClosedByReset());
+        assertEquals(999, read.getFinalStateHash());
+    }
+
+    @Test
+    void testPackIndices() {
+        assertEquals(List.of(), unpack(HandRecord.packIndices(List.of())));
+        assertEquals(List.of(3, 3, 1, 0), unpack(HandRecord.packIndices(List.of(3, 3, 1, 0))));
+        assertEquals(-1, HandRecord.packIndices(List.of(0, 1, 2, 3, 4)), "Piec indeksow nie powinno sie zmiescic");
+        assertEquals(-1, HandRecord.packIndices(List.of(5)), "Indeks spoza reki nie powinien byc zapisany");
+    }
+
+    @Test
+    void testInvalidCardCodeIsRejected() throws IOException {
+        HandRecord record = new HandRecord.Builder("g", 1, 0, List.of(new Player("a", 1)), new int[]{5})
+                .build(false, 0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        record.write(new DataOutputStream(bytes));
+        byte[] data = bytes.toByteArray();
+        int deckByte = data.length - 1 - 4 - 4 - 1;
+        data[deckByte] = 60;
+        assertThrows(IOException.class,
+                () -> HandRecord.read(new DataInputStream(new ByteArrayInputStream(data))));
+    }
+
+    private static List<Integer> unpack(int packed) {
+        HandRecord.Builder builder = new HandRecord.Builder("g", 1, 0, List.of(), new int[0]);
+        builder.add(DealAction.EXCHANGE, 0, packed, 0);
+        return builder.build(false, 0).getExchangedIndices(0);
+    }
+}
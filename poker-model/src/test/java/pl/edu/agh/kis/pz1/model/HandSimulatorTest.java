@@ -0,0 +1,158 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandSimulatorTest {
+
+    // Sprawdza, gdy nie ma stawki, inaczej wyrownuje
+    private static final Supplier<PlayerStrategy> CHECK_CALL = () -> (view, seat, cards) ->
+            view.getBet(seat) < view.getCurrentBet() ? PlayerAction.call() : PlayerAction.check();
+    private static final Supplier<PlayerStrategy> FOLD = () -> (view, seat, cards) -> PlayerAction.fold();
+
+    private ForkJoinPool pool;
+    private HandSimulator simulator;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        simulator = new HandSimulator(pool);
+        simulator.setSeed(7L);
+        simulator.setHandBudget(2_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testCheckDownReachesShowdownAndKeepsChips() {
+        SimulationResult result = simulator.run(List.of(CHECK_CALL, CHECK_CALL, CHECK_CALL));
+
+        assertEquals(2_000, result.getHands());
+        assertEquals(2_000, result.getShowdowns(), "Bez pasow kazde rozdanie powinno dojsc do porownania rak");
+        assertEquals(0, result.getInvalidActions());
+        assertEquals(0, result.getNetChips(0) + result.getNetChips(1) + result.getNetChips(2),
+                "Zetony nie powinny znikac ani sie pojawiac");
+        assertTrue(result.getHandsPerSecond() > 0);
+    }
+
+    @Test
+    void testFolderLosesBlinds() {
+        SimulationResult result = simulator.run(List.of(FOLD, CHECK_CALL));
+
+        assertEquals(0, result.getShowdowns());
+        assertTrue(result.getNetChips(0) < 0);
+        assertEquals(-result.getNetChips(0), result.getNetChips(1));
+        assertEquals(0, result.getHandsWon(0));
+    }
+
+    @Test
+    void testRaisesAndExchangesFollowGameRules() {
+        Supplier<PlayerStrategy> aggressive = () -> new PlayerStrategy() {
+            @Override
+            public PlayerAction act(GameView view, int seat, List<Card> cards) {
+                if (view.getStack(seat) > 200) {
+                    return PlayerAction.raise(40);
+                }
+                return view.getBet(seat) < view.getCurrentBet() ? PlayerAction.call() : PlayerAction.check();
+            }
+
+            @Override
+            public List<Integer> exchange(GameView view, int seat, List<Card> cards) {
+                return List.of(0, 1);
+            }
+        };
+        SimulationResult result = simulator.run(List.of(aggressive, CHECK_CALL, aggressive, CHECK_CALL));
+
+        assertEquals(2_000, result.getHands());
+        assertEquals(0, result.getInvalidActions());
+        long sum = 0;
+        for (int seat = 0; seat < result.getSeatCount(); seat++) {
+            sum += result.getNetChips(seat);
+        }
+        assertEquals(0, sum);
+    }
+
+    @Test
+    void testRejectedActionFoldsPlayer() {
+        Supplier<PlayerStrategy> alwaysCheck = () -> (view, seat, cards) -> PlayerAction.check();
+
+        SimulationResult result = simulator.run(List.of(alwaysCheck, alwaysCheck));
+
+        assertTrue(result.getInvalidActions() > 0, "Check przy stawce do wyrownania jest niedozwolony");
+        assertEquals(0, result.getNetChips(0) + result.getNetChips(1));
+    }
+
+    @Test
+    void testSameSeedGivesSameResult() {
+        SimulationResult first = simulator.run(List.of(CHECK_CALL, CHECK_CALL));
+        SimulationResult second = simulator.run(List.of(CHECK_CALL, CHECK_CALL));
+
+        assertEquals(first.getNetChips(0), second.getNetChips(0));
+        assertEquals(first.getHandsWon(1), second.getHandsWon(1));
+    }
+
+    @Test
+    void testFullTableDrawsFourCardsEach() {
+        Supplier<PlayerStrategy> drawFour = () -> new PlayerStrategy() {
+            @Override
+            public PlayerAction act(GameView view, int seat, List<Card> cards) {
+                return view.getBet(seat) < view.getCurrentBet() ? PlayerAction.call() : PlayerAction.check();
+            }
+
+            @Override
+            public List<Integer> exchange(GameView view, int seat, List<Card> cards) {
+                return List.of(0, 1, 2, 3);
+            }
+        };
+        List<Supplier<PlayerStrategy>> seats = new ArrayList<>();
+        for (int i = 0; i < SeatRing.MAX_SEATS; i++) {
+            seats.add(drawFour);
+        }
+
+        SimulationResult result = simulator.run(seats);
+
+        assertEquals(2_000, result.getShowdowns(), "Kazde rozdanie przy pelnym stole powinno dojsc do porownania rak");
+        assertEquals(0, result.getInvalidActions());
+    }
+
+    @Test
+    void testInvalidExchangeStandsPat() {
+        Supplier<PlayerStrategy> badDraw = () -> new PlayerStrategy() {
+            @Override
+            public PlayerAction act(GameView view, int seat, List<Card> cards) {
+                return view.getBet(seat) < view.getCurrentBet() ? PlayerAction.call() : PlayerAction.check();
+            }
+
+            @Override
+            public List<Integer> exchange(GameView view, int seat, List<Card> cards) {
+                return List.of(5);
+            }
+        };
+
+        SimulationResult result = simulator.run(List.of(badDraw, CHECK_CALL));
+
+        assertEquals(2_000, result.getInvalidActions(), "Kazda wymiana z niepoprawnym indeksem jest niedozwolona");
+        assertEquals(2_000, result.getShowdowns());
+    }
+
+    @Test
+    void testSeatCountIsChecked() {
+        assertThrows(IllegalArgumentException.class, () -> simulator.run(List.of(CHECK_CALL)));
+        List<Supplier<PlayerStrategy>> tooMany = new ArrayList<>();
+        for (int i = 0; i <= SeatRing.MAX_SEATS; i++) {
+            tooMany.add(CHECK_CALL);
+        }
+        assertThrows(IllegalArgumentException.class, () -> simulator.run(tooMany));
+    }
+}
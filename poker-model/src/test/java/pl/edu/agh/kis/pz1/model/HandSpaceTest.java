@@ -0,0 +1,202 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testy wyczerpujace - wszystkie 2 598 960 rak pieciokartowych.
+ * Sprawdza zgodnosc HandCompare.checkHand/compareHandRank z checkHandKey i HandEvaluator,
+ * liczbe klas rownowaznosci i liczbe rak kazdego typu, oraz wypisuje przepustowosc obu ewaluatorow.
+ */
+class HandSpaceTest {
+
+    private static final int ALL_HANDS = 2_598_960;
+    private static final int DISTINCT_STRENGTHS = 7462;
+
+    private final HandCompare handCompare = new HandCompare();
+    private final HandEvaluator evaluator = HandEvaluator.getInstance();
+
+    /**
+     * Consumer of a single five-card hand given as card codes.
+     */
+    private interface HandConsumer {
+        void accept(int c0, int c1, int c2, int c3, int c4);
+    }
+
+    /**
+     * Lists every five-card hand whose first (lowest) card code is in range [from, to).
+     */
+    private static void forEachHand(int from, int to, HandConsumer consumer) {
+        int n = CardEncoding.DECK_SIZE;
+        for (int a = from; a < to; a++) {
+            for (int b = a + 1; b < n; b++) {
+                for (int c = b + 1; c < n; c++) {
+                    for (int d = c + 1; d < n; d++) {
+                        for (int e = d + 1; e < n; e++) {
+                            consumer.accept(a, b, c, d, e);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("checkHand, checkHandKey i HandEvaluator daja ten sam uklad i ta sama kolejnosc dla wszystkich rak")
+    void testEvaluatorMatchesCheckHandOnAllHands() {
+        Map<Integer, HandRank> classes = new HashMap<>();
+        List<Card> cards = new ArrayList<>(5);
+        int[] codes = new int[5];
+        long[] counters = new long[2]; // [liczba rak, liczba niezgodnosci]
+
+        forEachHand(0, CardEncoding.DECK_SIZE, (c0, c1, c2, c3, c4) -> {
+            cards.clear();
+            cards.add(Card.fromCode(c0));
+            cards.add(Card.fromCode(c1));
+            cards.add(Card.fromCode(c2));
+            cards.add(Card.fromCode(c3));
+            cards.add(Card.fromCode(c4));
+            codes[0] = c0;
+            codes[1] = c1;
+            codes[2] = c2;
+            codes[3] = c3;
+            codes[4] = c4;
+            int strength = evaluator.evaluate(c0, c1, c2, c3, c4);
+            HandRank rank = handCompare.checkHand(cards);
+            HandRank known = classes.putIfAbsent(strength, rank);
+            if (!HandEvaluator.toHandRank(strength).equals(rank) || (known != null && !known.equals(rank))
+                    || handCompare.checkHandKey(codes) != rank.getKey()) {
+                counters[1]++;
+            }
+            counters[0]++;
+        });
+
+        assertEquals(ALL_HANDS, counters[0]);
+        assertEquals(0, counters[1], "Ewaluatory powinny dawac ten sam uklad dla kazdej reki");
+        assertEquals(DISTINCT_STRENGTHS, classes.size(), "Powinno byc 7462 klas rownowaznosci");
+
+        // Kolejnosc sil musi byc scisle zgodna z compareHandRank
+        List<Integer> strengths = new ArrayList<>(classes.keySet());
+        strengths.sort(Integer::compare);
+        for (int i = 1; i < strengths.size(); i++) {
+            HandRank lower = classes.get(strengths.get(i - 1));
+            HandRank higher = classes.get(strengths.get(i));
+            assertTrue(handCompare.compareHandRank(higher, lower) > 0, higher.getType() + " vs " + lower.getType());
+        }
+    }
+
+    @Test
+    @DisplayName("Liczba rak kazdego typu (liczone rownolegle na ForkJoinPool)")
+    void testHandTypeCountsInParallel() {
+        long[] counts = ForkJoinPool.commonPool().invoke(new CountTask(0, CardEncoding.DECK_SIZE));
+
+        Map<HandType, Long> expected = new EnumMap<>(HandType.class);
+        expected.put(HandType.RoyalFlush, 4L);
+        expected.put(HandType.StraightFlush, 32L);
+        expected.put(HandType.FourOfAKind, 624L);
+        expected.put(HandType.FullHouse, 3744L);
+        expected.put(HandType.Flush, 5112L);
+        expected.put(HandType.Straight, 9180L);
+        expected.put(HandType.ThreeOfAKind, 54912L);
+        expected.put(HandType.TwoPair, 123552L);
+        expected.put(HandType.OnePair, 1098240L);
+        expected.put(HandType.HighCard, 1303560L);
+
+        long total = 0;
+        for (HandType type : HandType.values()) {
+            assertEquals(expected.get(type), counts[type.getValue()], "Liczba rak typu " + type);
+            total += counts[type.getValue()];
+        }
+        assertEquals(ALL_HANDS, total);
+    }
+
+    @Test
+    @DisplayName("Przepustowosc ewaluatorow (rece na sekunde)")
+    void testThroughput() {
+        List<Card> cards = new ArrayList<>(5);
+        long[] sink = new long[1];
+
+        long start = System.nanoTime();
+        forEachHand(0, CardEncoding.DECK_SIZE, (c0, c1, c2, c3, c4) -> {
+            cards.clear();
+            cards.add(Card.fromCode(c0));
+            cards.add(Card.fromCode(c1));
+            cards.add(Card.fromCode(c2));
+            cards.add(Card.fromCode(c3));
+            cards.add(Card.fromCode(c4));
+            sink[0] += handCompare.checkHand(cards).getType().getValue();
+        });
+        report("HandCompare.checkHand", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        forEachHand(0, CardEncoding.DECK_SIZE, (c0, c1, c2, c3, c4) ->
+                sink[0] += evaluator.evaluate(c0, c1, c2, c3, c4));
+        report("HandEvaluator.evaluate", System.nanoTime() - start);
+
+        int[] codes = new int[5];
+        start = System.nanoTime();
+        forEachHand(0, CardEncoding.DECK_SIZE, (c0, c1, c2, c3, c4) -> {
+            codes[0] = c0;
+            codes[1] = c1;
+            codes[2] = c2;
+            codes[3] = c3;
+            codes[4] = c4;
+            sink[0] += handCompare.checkHandKey(codes);
+        });
+        report("HandCompare.checkHandKey", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        ForkJoinPool.commonPool().invoke(new CountTask(0, CardEncoding.DECK_SIZE));
+        report("HandEvaluator.evaluate (ForkJoinPool)", System.nanoTime() - start);
+
+        assertNotEquals(0, sink[0]);
+    }
+
+    private static void report(String name, long nanos) {
+        double handsPerSecond = ALL_HANDS / (nanos / 1e9);
+        System.out.printf("%-40s %,15.0f hands/s%n", name, handsPerSecond);
+    }
+
+    /**
+     * Counts hands per type value, splitting the range of first card codes in halves.
+     */
+    private static final class CountTask extends RecursiveTask<long[]> {
+        private final int from;
+        private final int to;
+
+        CountTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= 2) {
+                long[] counts = new long[11];
+                HandEvaluator evaluator = HandEvaluator.getInstance();
+                forEachHand(from, to, (c0, c1, c2, c3, c4) ->
+                        counts[HandEvaluator.getType(evaluator.evaluate(c0, c1, c2, c3, c4)).getValue()]++);
+                return counts;
+            }
+            int mid = (from + to) >>> 1;
+            CountTask left = new CountTask(from, mid);
+            left.fork();
+            long[] counts = new CountTask(mid, to).compute();
+            long[] other = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other[i];
+            }
+            return counts;
+        }
+    }
+}
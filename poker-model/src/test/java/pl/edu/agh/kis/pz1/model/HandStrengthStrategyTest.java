@@ -0,0 +1,66 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandStrengthStrategyTest {
+    private static final List<Card> FLUSH = List.of(
+            Card.of(Rank.TWO, Suit.HEART), Card.of(Rank.NINE, Suit.HEART), Card.of(Rank.JACK, Suit.HEART),
+            Card.of(Rank.FOUR, Suit.HEART), Card.of(Rank.KING, Suit.HEART));
+    private static final List<Card> HIGH_CARD = List.of(
+            Card.of(Rank.TWO, Suit.CLUB), Card.of(Rank.THREE, Suit.HEART), Card.of(Rank.FIVE, Suit.SPADE),
+            Card.of(Rank.SIX, Suit.CLUB), Card.of(Rank.EIGHT, Suit.DIAMOND));
+
+    private final HandStrengthStrategy strategy = new HandStrengthStrategy();
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game("GAME1");
+        game.addPlayer(new Player("PLAYER1", 1000));
+        game.addPlayer(new Player("PLAYER2", 1000));
+        game.addPlayer(new Player("PLAYER3", 1000));
+        game.setPlayerReady("PLAYER1");
+        game.setPlayerReady("PLAYER2");
+        game.setPlayerReady("PLAYER3");
+    }
+
+    @Test
+    void testStrongHandRaises() {
+        int seat = game.getCurrentPlayerIndex();
+
+        PlayerAction action = strategy.act(game.getView(), seat, FLUSH);
+
+        assertEquals(DealAction.RAISE, action.getAction());
+        assertEquals(40, action.getAmount());
+    }
+
+    @Test
+    void testWeakHandFoldsAgainstPotOdds() {
+        game.playerRaise(game.getPlayers().get(game.getCurrentPlayerIndex()).getPlayerId(), 400);
+        int seat = game.getCurrentPlayerIndex();
+
+        assertEquals(DealAction.FOLD, strategy.act(game.getView(), seat, HIGH_CARD).getAction());
+    }
+
+    @Test
+    void testWinChanceFallsWithOpponents() {
+        double threeHanded = strategy.winChance(game.getView(), FLUSH);
+        game.playerFold(game.getPlayers().get(game.getCurrentPlayerIndex()).getPlayerId());
+
+        assertTrue(strategy.winChance(game.getView(), FLUSH) > threeHanded,
+                "Z mniejsza liczba przeciwnikow szansa wygranej rosnie");
+        assertTrue(strategy.winChance(game.getView(), HIGH_CARD) < 0.1);
+    }
+
+    @Test
+    void testExchangeKeepsMadeHand() {
+        strategy.getAdvisor().setSeed(3L);
+
+        assertEquals(List.of(), strategy.exchange(game.getView(), 0, FLUSH));
+    }
+}
@@ -0,0 +1,33 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LegalActionsTest {
+
+    @Test
+    void testBitsOfPlayerActions() {
+        assertEquals(LegalActions.FOLD, LegalActions.bit(DealAction.FOLD));
+        assertEquals(LegalActions.RAISE, LegalActions.bit(DealAction.RAISE));
+        assertEquals(LegalActions.EXCHANGE, LegalActions.bit(DealAction.EXCHANGE));
+        assertEquals(0, LegalActions.bit(DealAction.AWARD_POT), "Akcje gry nie sa akcjami gracza");
+    }
+
+    @Test
+    void testContains() {
+        int mask = LegalActions.FOLD | LegalActions.CALL;
+
+        assertTrue(LegalActions.contains(mask, DealAction.CALL));
+        assertFalse(LegalActions.contains(mask, DealAction.CHECK));
+        assertFalse(LegalActions.contains(mask, DealAction.PROCESS_BETTING_ROUND));
+    }
+
+    @Test
+    void testFormat() {
+        assertEquals("FOLD CHECK CALL RAISE",
+                LegalActions.format(LegalActions.FOLD | LegalActions.CHECK | LegalActions.CALL | LegalActions.RAISE));
+        assertEquals("EXCHANGE", LegalActions.format(LegalActions.EXCHANGE));
+        assertEquals("", LegalActions.format(0));
+    }
+}
@@ -0,0 +1,142 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapHandEvaluatorTest {
+
+    @TempDir
+    Path directory;
+
+    private final HandEvaluator onHeap = HandEvaluator.getInstance();
+
+    @Test
+    void testSharedMatchesHandEvaluatorOnAllHands() {
+        OffHeapHandEvaluator offHeap = OffHeapHandEvaluator.shared();
+        assertSame(offHeap, OffHeapHandEvaluator.shared());
+        assertFalse(offHeap.isMapped());
+
+        int size = CardEncoding.DECK_SIZE;
+        for (int a = 0; a < size; a++) {
+            for (int b = a + 1; b < size; b++) {
+                for (int c = b + 1; c < size; c++) {
+                    for (int d = c + 1; d < size; d++) {
+                        for (int e = d + 1; e < size; e++) {
+                            if (onHeap.evaluate(a, b, c, d, e) != offHeap.evaluate(a, b, c, d, e)) {
+                                fail("Rozne wyniki dla " + Arrays.toString(new int[]{a, b, c, d, e}));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testWriteAndMap() throws IOException {
+        Path file = directory.resolve("evaluator.bin");
+        OffHeapHandEvaluator.build().write(file);
+
+        OffHeapHandEvaluator mapped = OffHeapHandEvaluator.map(file);
+
+        assertTrue(mapped.isMapped());
+        int[] fullHouse = {
+                CardEncoding.encode(Rank.KING, Suit.CLUB), CardEncoding.encode(Rank.KING, Suit.HEART),
+                CardEncoding.encode(Rank.KING, Suit.SPADE), CardEncoding.encode(Rank.FOUR, Suit.CLUB),
+                CardEncoding.encode(Rank.FOUR, Suit.DIAMOND)};
+        assertEquals(onHeap.evaluate(fullHouse), mapped.evaluate(fullHouse));
+        assertEquals(HandType.FullHouse, HandEvaluator.getType(mapped.evaluate(fullHouse)));
+    }
+
+    @Test
+    void testLoadCreatesAndReusesFile() throws IOException {
+        Path file = directory.resolve("shared-evaluator.bin");
+
+        OffHeapHandEvaluator first = OffHeapHandEvaluator.load(file);
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        OffHeapHandEvaluator second = OffHeapHandEvaluator.load(file);
+
+        assertTrue(first.isMapped());
+        assertTrue(second.isMapped());
+        assertEquals(modified, Files.getLastModifiedTime(file).toMillis());
+    }
+
+    @Test
+    void testLoadRebuildsCorruptedFile() throws IOException {
+        Path file = directory.resolve("corrupted.bin");
+        OffHeapHandEvaluator.build().write(file);
+        patch(file, OffHeapHandEvaluator.HEADER_BYTES + 100, 12345);
+        IOException e = assertThrows(IOException.class, () -> OffHeapHandEvaluator.map(file));
+        assertTrue(e.getMessage().contains("checksum"));
+
+        OffHeapHandEvaluator rebuilt = OffHeapHandEvaluator.load(file);
+        assertNotNull(rebuilt);
+        OffHeapHandEvaluator.map(file);
+    }
+
+    @Test
+    void testRejectsOtherVersion() throws IOException {
+        Path file = directory.resolve("old.bin");
+        OffHeapHandEvaluator.build().write(file);
+        patch(file, 4, OffHeapHandEvaluator.VERSION + 1);
+        IOException e = assertThrows(IOException.class, () -> OffHeapHandEvaluator.map(file));
+        assertTrue(e.getMessage().contains("version"));
+    }
+
+    @Test
+    void testRejectsFileWithRecomputedChecksum() throws IOException {
+        Path file = directory.resolve("forged.bin");
+        OffHeapHandEvaluator.build().write(file);
+        patch(file, OffHeapHandEvaluator.HEADER_BYTES + 100, 12345);
+        ByteBuffer contents = ByteBuffer.wrap(Files.readAllBytes(file));
+        CRC32 crc = new CRC32();
+        crc.update(contents.position(OffHeapHandEvaluator.HEADER_BYTES));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(8).putLong(crc.getValue());
+            header.flip();
+            channel.write(header, OffHeapHandEvaluator.CHECKSUM_OFFSET);
+        }
+
+        // Suma w naglowku zgadza sie z trescia, ale nie ze stala wersji
+        IOException e = assertThrows(IOException.class, () -> OffHeapHandEvaluator.map(file));
+        assertTrue(e.getMessage().contains("checksum"));
+    }
+
+    @Test
+    void testRejectsOtherProductCount() throws IOException {
+        Path file = directory.resolve("products.bin");
+        OffHeapHandEvaluator.build().write(file);
+        patch(file, 8, OffHeapHandEvaluator.PRODUCT_COUNT - 1);
+        IOException e = assertThrows(IOException.class, () -> OffHeapHandEvaluator.map(file));
+        assertTrue(e.getMessage().contains("size"));
+    }
+
+    @Test
+    void testHandCompareWithOffHeapEvaluator() {
+        HandCompare handCompare = new HandCompare(OffHeapHandEvaluator.shared());
+        List<Card> flush = Arrays.asList(
+                Card.of(Rank.TWO, Suit.HEART), Card.of(Rank.NINE, Suit.HEART), Card.of(Rank.JACK, Suit.HEART),
+                Card.of(Rank.FOUR, Suit.HEART), Card.of(Rank.KING, Suit.HEART));
+        assertEquals(new HandCompare().evaluate(flush), handCompare.evaluate(flush));
+    }
+
+    private static void patch(Path file, long position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(4).putInt(value);
+            buffer.flip();
+            channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PotManagerTest {
+    private PotManager pots;
+    private List<Player> players;
+
+    @BeforeEach
+    void setUp() {
+        pots = new PotManager();
+        players = new ArrayList<>();
+    }
+
+    private void seats(int n) {
+        for (int i = 0; i < n; i++) {
+            players.add(new Player("P" + i, 0));
+        }
+    }
+
+    @Test
+    void testLayeredSidePots() {
+        seats(4);
+        pots.contribute(0, 100); // all-in
+        pots.contribute(1, 300);
+        pots.contribute(2, 300);
+        pots.contribute(3, 50); // spasowal
+
+        int active = SeatRing.bit(0) | SeatRing.bit(1) | SeatRing.bit(2);
+        assertEquals(2, pots.build(active, 4, 0));
+        assertEquals(350, pots.getPotAmount(0));
+        assertEquals(active, pots.getEligibleSeats(0));
+        assertEquals(400, pots.getPotAmount(1));
+        assertEquals(SeatRing.bit(1) | SeatRing.bit(2), pots.getEligibleSeats(1));
+
+        int winners = pots.award(players, new int[]{30, 20, 10, 99}, 0);
+
+        assertEquals(SeatRing.bit(0) | SeatRing.bit(1), winners);
+        assertEquals(SeatRing.bit(0), pots.getPotWinners(0));
+        assertEquals(SeatRing.bit(1), pots.getPotWinners(1));
+        assertEquals(350, players.get(0).getStack());
+        assertEquals(400, players.get(1).getStack());
+        assertEquals(0, players.get(3).getStack(), "Spasowany gracz nie moze nic wygrac");
+    }
+
+    @Test
+    void testUncalledExcessGoesBack() {
+        seats(2);
+        pots.contribute(0, 500);
+        pots.contribute(1, 200);
+
+        assertEquals(2, pots.build(0b11, 2, 0));
+        assertEquals(SeatRing.bit(0), pots.getEligibleSeats(1));
+
+        pots.award(players, new int[]{1, 2}, 0);
+
+        assertEquals(400, players.get(1).getStack());
+        assertEquals(300, players.get(0).getStack(), "Niewyrownana nadwyzka wraca do gracza");
+    }
+
+    @Test
+    void testTieSplitsWithOddChipAfterDealer() {
+        seats(3);
+        pots.contribute(0, 55);
+        pots.contribute(1, 55);
+        pots.contribute(2, 1);
+
+        pots.build(0b011, 3, 0);
+        pots.award(players, new int[]{7, 7, 0}, 0);
+
+        assertEquals(0b011, pots.getPotWinners(0), "Rowne rece wygrywaja pule razem");
+        assertEquals(55, players.get(0).getStack());
+        assertEquals(56, players.get(1).getStack(), "Nieparzysty zeton dostaje pierwszy zwyciezca za rozdajacym");
+    }
+
+    @Test
+    void testRemovedSeatLeavesDeadMoney() {
+        seats(2);
+        pots.contribute(0, 40);
+        pots.contribute(1, 100);
+        pots.contribute(2, 100);
+        pots.removeSeat(0, 3);
+
+        assertEquals(100, pots.getContribution(0));
+        assertEquals(0, pots.getContribution(2));
+        assertEquals(200, pots.getTotal());
+
+        pots.build(0b11, 2, 40);
+        assertEquals(240, pots.getPotAmount(0), "Wklad gracza, ktory odszedl, trafia do puli glownej");
+    }
+
+    @Test
+    void testFullTableOfAllInsGivesPotPerSeat() {
+        seats(SeatRing.MAX_SEATS);
+        int[] strengths = new int[SeatRing.MAX_SEATS];
+        for (int seat = 0; seat < SeatRing.MAX_SEATS; seat++) {
+            pots.contribute(seat, (seat + 1) * 10);
+            strengths[seat] = SeatRing.MAX_SEATS - seat; // krotszy stos ma lepsza reke
+        }
+
+        assertEquals(SeatRing.MAX_SEATS, pots.build((1 << SeatRing.MAX_SEATS) - 1, SeatRing.MAX_SEATS, 0));
+        pots.award(players, strengths, 0);
+
+        int paid = 0;
+        for (int seat = 0; seat < SeatRing.MAX_SEATS; seat++) {
+            // Gracz z miejsca k wygrywa warstwe k od siebie i kazdego wiekszego stosu
+            assertEquals(10 * (SeatRing.MAX_SEATS - seat), players.get(seat).getStack());
+            paid += players.get(seat).getStack();
+        }
+        assertEquals(pots.getTotal(), paid);
+    }
+}
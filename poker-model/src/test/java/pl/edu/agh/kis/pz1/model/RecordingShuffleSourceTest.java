@@ -0,0 +1,65 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingShuffleSourceTest {
+
+    @Test
+    void testRecordsDelegateValues() {
+        RecordingShuffleSource recording = new RecordingShuffleSource(new SeededShuffleSource(5L));
+        SeededShuffleSource reference = new SeededShuffleSource(5L);
+        int[] expected = new int[100];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = reference.nextInt(52 - i % 52);
+            assertEquals(expected[i], recording.nextInt(52 - i % 52), "Zrodlo powinno przekazywac liczby delegata");
+        }
+        assertArrayEquals(expected, recording.getValues(), "Zapisane liczby powinny byc zgodne z wygenerowanymi");
+        assertEquals(100, recording.size());
+
+        recording.clear();
+        assertEquals(0, recording.getValues().length, "Po clear nie powinno byc zapisanych liczb");
+    }
+
+    @Test
+    void testReplayedDeckDealsTheSameCards() {
+        RecordingShuffleSource recording = new RecordingShuffleSource(SecureShuffleSource.getInstance());
+        Deck deck = new Deck(recording);
+        deck.fabryki();
+        deck.shuffle();
+        List<Card> dealt = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            dealt.add(deck.getRandomCard());
+        }
+
+        ReplayShuffleSource replay = recording.replay();
+        Deck replayed = new Deck(replay);
+        replayed.fabryki();
+        replayed.shuffle();
+        List<Card> replayedCards = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            replayedCards.add(replayed.getRandomCard());
+        }
+        assertEquals(dealt, replayedCards, "Odtworzona talia powinna rozdac te same karty");
+        assertEquals(0, replay.remaining(), "Wszystkie zapisane liczby powinny zostac uzyte");
+    }
+
+    @Test
+    void testReplayFailsWhenExhausted() {
+        ReplayShuffleSource replay = new ReplayShuffleSource(new int[]{1});
+        assertEquals(1, replay.nextInt(2));
+        assertThrows(IllegalStateException.class, () -> replay.nextInt(2),
+                "Po wyczerpaniu zapisu powinien zostac rzucony wyjatek");
+    }
+
+    @Test
+    void testReplayFailsWhenValueDoesNotFitBound() {
+        ReplayShuffleSource replay = new ReplayShuffleSource(new int[]{10});
+        assertThrows(IllegalStateException.class, () -> replay.nextInt(5),
+                "Liczba spoza zakresu powinna oznaczac inne operacje niz zapisane");
+    }
+}
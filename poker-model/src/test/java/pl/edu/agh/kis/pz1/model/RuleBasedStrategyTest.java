@@ -0,0 +1,74 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleBasedStrategyTest {
+    private static final List<Card> TWO_PAIR = List.of(
+            Card.of(Rank.NINE, Suit.CLUB), Card.of(Rank.NINE, Suit.HEART), Card.of(Rank.FOUR, Suit.SPADE),
+            Card.of(Rank.FOUR, Suit.CLUB), Card.of(Rank.KING, Suit.DIAMOND));
+    private static final List<Card> ONE_PAIR = List.of(
+            Card.of(Rank.NINE, Suit.CLUB), Card.of(Rank.NINE, Suit.HEART), Card.of(Rank.THREE, Suit.SPADE),
+            Card.of(Rank.FOUR, Suit.CLUB), Card.of(Rank.KING, Suit.DIAMOND));
+    private static final List<Card> HIGH_CARD = List.of(
+            Card.of(Rank.TWO, Suit.CLUB), Card.of(Rank.NINE, Suit.HEART), Card.of(Rank.JACK, Suit.SPADE),
+            Card.of(Rank.FOUR, Suit.CLUB), Card.of(Rank.KING, Suit.DIAMOND));
+
+    private final RuleBasedStrategy strategy = new RuleBasedStrategy();
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        // Dwoch graczy: maly blind na miejscu 1 zaczyna z 20 do wyrownania
+        game = new Game("GAME1");
+        game.addPlayer(new Player("PLAYER1", 1000));
+        game.addPlayer(new Player("PLAYER2", 1000));
+        game.setPlayerReady("PLAYER1");
+        game.setPlayerReady("PLAYER2");
+    }
+
+    @Test
+    void testTwoPairRaisesByBigBlind() {
+        PlayerAction action = strategy.act(game.getView(), 1, TWO_PAIR);
+
+        assertEquals(DealAction.RAISE, action.getAction());
+        assertEquals(40, action.getAmount());
+    }
+
+    @Test
+    void testTwoPairCallsAboveRaiseCap() {
+        game.playerRaise("PLAYER2", 200);
+
+        PlayerAction action = strategy.act(game.getView(), 0, TWO_PAIR);
+
+        assertEquals(DealAction.CALL, action.getAction(), "Powyzej limitu przebic strategia tylko wyrownuje");
+    }
+
+    @Test
+    void testPairCallsAndHighCardFoldsToRaise() {
+        assertEquals(DealAction.CALL, strategy.act(game.getView(), 1, ONE_PAIR).getAction());
+        assertEquals(DealAction.CALL, strategy.act(game.getView(), 1, HIGH_CARD).getAction(),
+                "Do jednej duzej ciemnej wysoka karta wyrownuje");
+
+        game.playerRaise("PLAYER2", 100);
+
+        assertEquals(DealAction.FOLD, strategy.act(game.getView(), 0, HIGH_CARD).getAction());
+    }
+
+    @Test
+    void testChecksWithoutBet() {
+        game.playerCall("PLAYER2");
+
+        assertEquals(DealAction.CHECK, strategy.act(game.getView(), 0, HIGH_CARD).getAction());
+    }
+
+    @Test
+    void testExchangeKeepsPairs() {
+        assertEquals(List.of(2, 3, 4), strategy.exchange(game.getView(), 0, ONE_PAIR));
+        assertEquals(List.of(4), strategy.exchange(game.getView(), 0, TWO_PAIR));
+    }
+}
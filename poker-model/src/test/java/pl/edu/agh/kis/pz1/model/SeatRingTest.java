@@ -0,0 +1,49 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatRingTest {
+
+    @Test
+    void testNextWrapsAroundTheRing() {
+        int mask = SeatRing.bit(1) | SeatRing.bit(4) | SeatRing.bit(9);
+
+        assertEquals(1, SeatRing.next(mask, 0, 10));
+        assertEquals(4, SeatRing.next(mask, 1, 10));
+        assertEquals(9, SeatRing.next(mask, 4, 10));
+        assertEquals(1, SeatRing.next(mask, 9, 10), "Po ostatnim miejscu powinno byc pierwsze");
+        assertEquals(1, SeatRing.next(mask, -1, 10), "Start od -1 powinien zaczac przed miejscem 0");
+        assertEquals(1, SeatRing.next(mask, 10, 10), "Indeks poza stolem powinien byc brany modulo");
+    }
+
+    @Test
+    void testNextReturnsStartSeatOnlyWhenAlone() {
+        assertEquals(3, SeatRing.next(SeatRing.bit(3), 3, 4));
+        assertEquals(-1, SeatRing.next(0, 2, 4));
+    }
+
+    @Test
+    void testNextAfterDoesNotWrap() {
+        int mask = SeatRing.bit(0) | SeatRing.bit(2);
+
+        assertEquals(0, SeatRing.nextAfter(mask, -1));
+        assertEquals(2, SeatRing.nextAfter(mask, 0));
+        assertEquals(-1, SeatRing.nextAfter(mask, 2));
+        assertEquals(-1, SeatRing.nextAfter(mask, 31));
+    }
+
+    @Test
+    void testFirstCountAndContains() {
+        int mask = SeatRing.bit(5) | SeatRing.bit(7);
+
+        assertEquals(5, SeatRing.first(mask));
+        assertEquals(-1, SeatRing.first(0));
+        assertEquals(2, SeatRing.count(mask));
+        assertTrue(SeatRing.contains(mask, 7));
+        assertFalse(SeatRing.contains(mask, 6));
+        assertFalse(SeatRing.contains(mask, -1));
+        assertEquals(0, SeatRing.bit(-1));
+    }
+}
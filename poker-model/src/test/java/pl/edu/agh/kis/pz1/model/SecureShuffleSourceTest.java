@@ -0,0 +1,48 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecureShuffleSourceTest {
+
+    @Test
+    void testSharedInstance() {
+        assertSame(SecureShuffleSource.getInstance(), SecureShuffleSource.getInstance());
+    }
+
+    @Test
+    void testValuesWithinBoundAndVaried() {
+        SecureShuffleSource source = SecureShuffleSource.getInstance();
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            int value = source.nextInt(52);
+            assertTrue(value >= 0 && value < 52, "Liczba powinna byc z zakresu [0, 52)");
+            seen.add(value);
+        }
+        assertTrue(seen.size() > 40, "1000 losowan powinno dac prawie wszystkie wartosci");
+    }
+
+    @Test
+    void testWorksOnOtherThreads() throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                Deck deck = new Deck();
+                deck.fabryki();
+                for (int i = 0; i < 52; i++) {
+                    deck.getRandomCard();
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNull(failure.get(), "Talia powinna dzialac na innym watku");
+    }
+}
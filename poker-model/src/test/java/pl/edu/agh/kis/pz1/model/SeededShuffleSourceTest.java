@@ -0,0 +1,58 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeededShuffleSourceTest {
+
+    @Test
+    void testSameSeedGivesSameSequence() {
+        SeededShuffleSource a = new SeededShuffleSource(7L);
+        SeededShuffleSource b = new SeededShuffleSource(7L);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a.nextInt(52), b.nextInt(52), "Ten sam seed powinien dawac te same liczby");
+        }
+    }
+
+    @Test
+    void testValuesWithinBound() {
+        SeededShuffleSource source = new SeededShuffleSource(1L);
+        for (int bound = 1; bound <= 52; bound++) {
+            int value = source.nextInt(bound);
+            assertTrue(value >= 0 && value < bound, "Liczba powinna byc z zakresu [0, bound)");
+        }
+    }
+
+    @Test
+    void testSplitIsDeterministic() {
+        SeededShuffleSource a = new SeededShuffleSource(3L).split();
+        SeededShuffleSource b = new SeededShuffleSource(3L).split();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a.nextInt(1000), b.nextInt(1000), "Podzial z tego samego seeda powinien byc powtarzalny");
+        }
+    }
+
+    @Test
+    void testSeededDecksDealTheSameCards() {
+        Deck first = new Deck(new SeededShuffleSource(11L));
+        Deck second = new Deck(new SeededShuffleSource(11L));
+        first.fabryki();
+        second.fabryki();
+        first.shuffle();
+        second.shuffle();
+        assertEquals(new ArrayList<>(first.getDeck()), new ArrayList<>(second.getDeck()),
+                "Talie z tym samym seedem powinny byc tak samo przetasowane");
+
+        List<Card> dealtFirst = new ArrayList<>();
+        List<Card> dealtSecond = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            dealtFirst.add(first.getRandomCard());
+            dealtSecond.add(second.getRandomCard());
+        }
+        assertEquals(dealtFirst, dealtSecond, "Talie z tym samym seedem powinny rozdac te same karty");
+    }
+}
@@ -0,0 +1,93 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SevenCardEvaluatorTest {
+
+    private final SevenCardEvaluator sevenCards = SevenCardEvaluator.getInstance();
+    private final HandEvaluator fiveCards = HandEvaluator.getInstance();
+
+    @Test
+    void testMatchesBestOfAllSubsets() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 50_000; i++) {
+            int[] codes = randomCards(random, 7);
+            assertEquals(bestOfSubsets(codes), sevenCards.evaluate(codes), Arrays.toString(codes));
+        }
+    }
+
+    @Test
+    void testSixCards() {
+        SplittableRandom random = new SplittableRandom(6);
+        for (int i = 0; i < 20_000; i++) {
+            int[] codes = randomCards(random, 6);
+            assertEquals(bestOfSubsets(codes), sevenCards.evaluate(codes), Arrays.toString(codes));
+        }
+    }
+
+    @Test
+    void testFiveCardsMatchHandEvaluator() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 20_000; i++) {
+            int[] codes = randomCards(random, 5);
+            assertEquals(fiveCards.evaluate(codes), sevenCards.evaluate(codes));
+        }
+    }
+
+    @Test
+    void testStraightFlushFromSevenCards() {
+        int[] codes = {
+                CardEncoding.encode(Rank.NINE, Suit.CLUB),
+                CardEncoding.encode(Rank.TEN, Suit.CLUB),
+                CardEncoding.encode(Rank.JACK, Suit.CLUB),
+                CardEncoding.encode(Rank.QUEEN, Suit.CLUB),
+                CardEncoding.encode(Rank.KING, Suit.CLUB),
+                CardEncoding.encode(Rank.KING, Suit.HEART),
+                CardEncoding.encode(Rank.KING, Suit.SPADE)
+        };
+        HandRank rank = new HandRank(sevenCards.evaluate(codes));
+        assertEquals(HandType.StraightFlush, rank.getType());
+        assertEquals(Arrays.asList(Rank.NINE, Rank.TEN, Rank.JACK, Rank.QUEEN, Rank.KING), rank.getKickers());
+    }
+
+    @Test
+    void testInvalidCount() {
+        assertThrows(IllegalArgumentException.class, () -> sevenCards.evaluate(new int[]{0, 1, 2, 3}));
+    }
+
+    private int bestOfSubsets(int[] codes) {
+        int n = codes.length;
+        int best = 0;
+        int[] hand = new int[5];
+        for (int mask = 0; mask < (1 << n); mask++) {
+            if (Integer.bitCount(mask) != 5) {
+                continue;
+            }
+            int k = 0;
+            for (int i = 0; i < n; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    hand[k++] = codes[i];
+                }
+            }
+            best = Math.max(best, fiveCards.evaluate(hand));
+        }
+        return best;
+    }
+
+    private static int[] randomCards(SplittableRandom random, int count) {
+        int[] deck = new int[CardEncoding.DECK_SIZE];
+        Arrays.setAll(deck, i -> i);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(deck.length - i);
+            int tmp = deck[i];
+            deck[i] = deck[j];
+            deck[j] = tmp;
+        }
+        return Arrays.copyOf(deck, count);
+    }
+}
@@ -0,0 +1,98 @@
+package pl.edu.agh.kis.pz1.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuitCanonicalizerTest {
+
+    @Test
+    void testFiveCardClassCount() {
+        int classes = 0;
+        int size = CardEncoding.DECK_SIZE;
+        for (int a = 0; a < size; a++) {
+            for (int b = a + 1; b < size; b++) {
+                for (int c = b + 1; c < size; c++) {
+                    for (int d = c + 1; d < size; d++) {
+                        for (int e = d + 1; e < size; e++) {
+                            long hand = (1L << a) | (1L << b) | (1L << c) | (1L << d) | (1L << e);
+                            if (SuitCanonicalizer.isCanonical(hand)) {
+                                classes++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        assertEquals(SuitCanonicalizer.FIVE_CARD_CLASSES, classes);
+    }
+
+    @Test
+    void testSameClassForEverySuitPermutation() {
+        SplittableRandom random = new SplittableRandom(4);
+        int[][] permutations = {{1, 0, 2, 3}, {3, 2, 1, 0}, {2, 3, 0, 1}, {1, 2, 3, 0}};
+        for (int i = 0; i < 10_000; i++) {
+            long hand = randomMask(random, 1 + random.nextInt(7));
+            long canonical = SuitCanonicalizer.canonicalMask(hand);
+            assertTrue(SuitCanonicalizer.isCanonical(canonical));
+            assertEquals(Long.bitCount(hand), Long.bitCount(canonical));
+            for (int[] permutation : permutations) {
+                assertEquals(canonical, SuitCanonicalizer.canonicalMask(SuitCanonicalizer.relabel(hand, permutation)));
+            }
+        }
+    }
+
+    @Test
+    void testCanonicalKeepsHandStrength() {
+        SplittableRandom random = new SplittableRandom(8);
+        HandEvaluator evaluator = HandEvaluator.getInstance();
+        for (int i = 0; i < 10_000; i++) {
+            long hand = randomMask(random, 5);
+            assertEquals(evaluator.evaluate(codes(hand)), evaluator.evaluate(codes(SuitCanonicalizer.canonicalMask(hand))));
+        }
+    }
+
+    @Test
+    void testCanonicalKeyOfCards() {
+        List<Card> hearts = Arrays.asList(Card.of(Rank.ACE, Suit.HEART), Card.of(Rank.KING, Suit.HEART),
+                Card.of(Rank.TWO, Suit.CLUB));
+        List<Card> spades = Arrays.asList(Card.of(Rank.TWO, Suit.DIAMOND), Card.of(Rank.KING, Suit.SPADE),
+                Card.of(Rank.ACE, Suit.SPADE));
+        List<Card> mixed = Arrays.asList(Card.of(Rank.ACE, Suit.HEART), Card.of(Rank.KING, Suit.SPADE),
+                Card.of(Rank.TWO, Suit.CLUB));
+
+        assertEquals(SuitCanonicalizer.canonicalKey(hearts), SuitCanonicalizer.canonicalKey(spades));
+        assertNotEquals(SuitCanonicalizer.canonicalKey(hearts), SuitCanonicalizer.canonicalKey(mixed));
+    }
+
+    @Test
+    void testRelabelCard() {
+        int[] permutation = SuitCanonicalizer.suitPermutation(SuitCanonicalizer.toMask(new int[]{
+                CardEncoding.encode(Rank.ACE, Suit.SPADE), CardEncoding.encode(Rank.KING, Suit.HEART)}));
+        assertEquals(CardEncoding.encode(Rank.ACE, Suit.values()[0]),
+                SuitCanonicalizer.relabelCard(CardEncoding.encode(Rank.ACE, Suit.SPADE), permutation));
+        assertEquals(CardEncoding.encode(Rank.KING, Suit.values()[1]),
+                SuitCanonicalizer.relabelCard(CardEncoding.encode(Rank.KING, Suit.HEART), permutation));
+    }
+
+    private static long randomMask(SplittableRandom random, int cards) {
+        long mask = 0;
+        while (Long.bitCount(mask) < cards) {
+            mask |= 1L << random.nextInt(CardEncoding.DECK_SIZE);
+        }
+        return mask;
+    }
+
+    private static int[] codes(long mask) {
+        int[] codes = new int[Long.bitCount(mask)];
+        int n = 0;
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            codes[n++] = Long.numberOfTrailingZeros(bits);
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,162 @@
+package pl.edu.agh.kis.pz1;
+
+import pl.edu.agh.kis.pz1.model.Card;
+import pl.edu.agh.kis.pz1.model.GameView;
+import pl.edu.agh.kis.pz1.model.PlayerAction;
+import pl.edu.agh.kis.pz1.model.PlayerStrategy;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the decisions of bot seats off the selector thread.
+ *
+ * The selector thread schedules a decision with the published {@link GameView} of the game and a copy of the
+ * bot's cards; a worker of the executor asks the {@link PlayerStrategy} and queues the result, then wakes the
+ * selector up. The selector thread polls the finished decisions and applies them to the games, so the games
+ * are still changed by one thread only. At most one decision per game is in flight at a time.
+ *
+ * All methods except the work done by the executor are called by the selector thread.
+ */
+public class BotScheduler {
+    private final Executor executor;
+    private final Runnable wakeup;
+    private final Queue<Decision> finished = new ConcurrentLinkedQueue<>();
+    private final Set<String> inFlight = new HashSet<>();
+
+    /**
+     * Constructs a scheduler.
+     *
+     * @param executor The executor asking the strategies, e.g. a work-stealing pool.
+     * @param wakeup   Called after a decision is queued, e.g. to wake the selector up.
+     */
+    public BotScheduler(Executor executor, Runnable wakeup) {
+        this.executor = executor;
+        this.wakeup = wakeup;
+    }
+
+    /**
+     * Schedules the decision of a bot, unless a decision for the same game is already in flight.
+     *
+     * @param botId    The ID of the bot.
+     * @param strategy The strategy of the bot.
+     * @param view     The view of the game the bot decides on.
+     * @param seat     The seat of the bot.
+     * @param cards    The cards of the bot, copied.
+     * @param exchange Whether the bot decides on the exchange instead of a betting action.
+     * @return true if the decision was scheduled.
+     */
+    public boolean schedule(String botId, PlayerStrategy strategy, GameView view, int seat, List<Card> cards,
+                            boolean exchange) {
+        if (!inFlight.add(view.getGameId())) {
+            return false;
+        }
+        List<Card> hand = List.copyOf(cards);
+        executor.execute(() -> {
+            Decision decision;
+            try {
+                decision = exchange
+                        ? new Decision(botId, view, seat, null, strategy.exchange(view, seat, hand), null)
+                        : new Decision(botId, view, seat, strategy.act(view, seat, hand), null, null);
+            } catch (RuntimeException e) {
+                decision = new Decision(botId, view, seat, null, null, e);
+            }
+            finished.add(decision);
+            wakeup.run();
+        });
+        return true;
+    }
+
+    /**
+     * Takes the next finished decision. The game of the decision can be scheduled again.
+     *
+     * @return The decision, null if none is finished.
+     */
+    public Decision poll() {
+        Decision decision = finished.poll();
+        if (decision != null) {
+            inFlight.remove(decision.getView().getGameId());
+        }
+        return decision;
+    }
+
+    /**
+     * Checks whether a decision for a game is scheduled and not yet polled.
+     *
+     * @param gameId The ID of the game.
+     * @return true if a decision is in flight.
+     */
+    public boolean isInFlight(String gameId) {
+        return inFlight.contains(gameId);
+    }
+
+    /**
+     * Finished decision of a bot: a betting action, the exchanged card indices or the error of the strategy.
+     */
+    public static final class Decision {
+        private final String botId;
+        private final GameView view;
+        private final int seat;
+        private final PlayerAction action;
+        private final List<Integer> exchanged;
+        private final RuntimeException error;
+
+        private Decision(String botId, GameView view, int seat, PlayerAction action, List<Integer> exchanged,
+                         RuntimeException error) {
+            this.botId = botId;
+            this.view = view;
+            this.seat = seat;
+            this.action = action;
+            this.exchanged = exchanged;
+            this.error = error;
+        }
+
+        public String getBotId() {
+            return botId;
+        }
+
+        /**
+         * Gets the view the bot decided on. The decision is stale when the game has published another view since.
+         *
+         * @return The view.
+         */
+        public GameView getView() {
+            return view;
+        }
+
+        public int getSeat() {
+            return seat;
+        }
+
+        /**
+         * Gets the betting action.
+         *
+         * @return The action, null for an exchange or an error.
+         */
+        public PlayerAction getAction() {
+            return action;
+        }
+
+        /**
+         * Gets the indices of the exchanged cards.
+         *
+         * @return The indices, null for a betting action or an error.
+         */
+        public List<Integer> getExchanged() {
+            return exchanged;
+        }
+
+        /**
+         * Gets the error thrown by the strategy.
+         *
+         * @return The error, null if the strategy decided.
+         */
+        public RuntimeException getError() {
+            return error;
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package pl.edu.agh.kis.pz1;
 
+import pl.edu.agh.kis.pz1.model.DealAction;
+import pl.edu.agh.kis.pz1.model.DealLog;
+import pl.edu.agh.kis.pz1.model.DeckPool;
 import pl.edu.agh.kis.pz1.model.Game;
 import pl.edu.agh.kis.pz1.model.GameState;
+import pl.edu.agh.kis.pz1.model.GameView;
+import pl.edu.agh.kis.pz1.model.HandRank;
+import pl.edu.agh.kis.pz1.model.HandStrengthStrategy;
+import pl.edu.agh.kis.pz1.model.LegalActions;
 import pl.edu.agh.kis.pz1.model.Player;
+import pl.edu.agh.kis.pz1.model.PlayerAction;
+import pl.edu.agh.kis.pz1.model.PlayerStrategy;
+import pl.edu.agh.kis.pz1.model.PotManager;
+import pl.edu.agh.kis.pz1.model.RuleBasedStrategy;
+import pl.edu.agh.kis.pz1.model.SeatRing;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
@@ -10,6 +22,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.Executors;
 
 /**
  * MainServer class to handle the communication between clients and the server using Java NIO.
@@ -28,10 +41,18 @@ public class MainServer {
     static final String POT_STRING = "\nPOT: ";
     static final String PHASE_STRING = "\nPHASE: ";
     public static final int PORT = 9999;
+    public static final int BOT_STACK = 1000;
     private Selector selector;
     private ServerSocketChannel serverChannel;
     private Map<String, Game> games = new HashMap<>();
     private Map<String, SocketChannel> clientGameMap = new HashMap<>();
+    // Odpowiedz STATUS zbudowana z ostatniego widoku gry, bez identyfikatora pytajacego gracza
+    private final Map<String, StatusCache> statusCache = new HashMap<>();
+    private final Map<String, PlayerStrategy> bots = new HashMap<>(); // id bota -> strategia
+    private BotScheduler botScheduler;
+    private DealLog dealLog;
+    // Pula talii tasowanych w tle, zeby watek selektora nie tasowal przy starcie rozdania; istnieje tylko w run()
+    private DeckPool deckPool;
     private static boolean shutdownRequested = false;
 
     /**
@@ -57,8 +78,10 @@ public class MainServer {
      * Initializes and runs the server. It sets up the server socket channel, binds it to the port,
      * and starts listening for incoming client connections. The method also processes incoming
      * commands and communicates with clients based on the game state.
+     * The pool of pre-shuffled decks used by the games is started here and closed when the loop ends.
      */
     public void run(){
+        deckPool = new DeckPool();
         try{
             selector = Selector.open();
             serverChannel = ServerSocketChannel.open();
@@ -84,10 +107,14 @@ public class MainServer {
                         handleRead(key, buffer);
                     }
                 }
+                applyBotDecisions();
             }
 
         } catch (IOException e){
             System.err.println("Blad: " + e.getMessage());
+        } finally {
+            deckPool.close();
+            deckPool = null;
         }
     }
 
@@ -167,7 +194,7 @@ public class MainServer {
             final String finalPlayerId = playerId;
             for (Map.Entry<String, Game> gameEntry : games.entrySet()) {
                 Game game = gameEntry.getValue();
-                if (game.getPlayers().stream().anyMatch(p -> p.getPlayerId().equals(finalPlayerId))) {
+                if (game.getSeat(finalPlayerId) >= 0) {
                     removePlayerFromGame(gameEntry.getKey(), finalPlayerId);
                     break;
                 }
@@ -203,6 +230,7 @@ public class MainServer {
      * - GAME_ID PLAYER_ID EXCHANGE 2,3         : The player exchanges specified cards.
      * - GAME_ID PLAYER_ID STATUS               : The player requests the current game status.
      * - GAME_ID PLAYER_ID LEAVE                : The player leaves the game.
+     * - GAME_ID PLAYER_ID BOT BOT_ID [RULES|STRENGTH] : The player seats a bot with the given strategy (RULES by default).
      *
      * @param message The command message sent by the client, which includes the game ID, player ID, and the command.
      * @param sc      The SocketChannel representing the connection to the client.
@@ -212,7 +240,8 @@ public class MainServer {
         message = message.toUpperCase();
         String[] tokens = message.split(" ");
 
-        if (tokens.length > 4 || tokens.length < 3) {
+        // Tylko BOT ma piaty token (typ bota)
+        if (tokens.length > 5 || tokens.length < 3 || tokens.length == 5 && !Objects.equals(tokens[2], "BOT")) {
             return INVALID_COMMAND_INFO;
         }
 
@@ -221,7 +250,7 @@ public class MainServer {
         String command = tokens[2];
 
         Set<String> validCommands = Set.of(CREATE_STRING, "JOIN", "READY", "FOLD", "CALL",
-                "CHECK", "RAISE", EXCHANGE_STRING, "STATUS", "LEAVE", "CARDS");
+                "CHECK", "RAISE", EXCHANGE_STRING, "STATUS", "LEAVE", "CARDS", "BOT");
         if (!validCommands.contains(command)) {
             return INVALID_COMMAND_INFO;
         }
@@ -248,7 +277,7 @@ public class MainServer {
             return ACCESS_ERROR;
         }
 
-        return switch (command) {
+        String response = switch (command) {
             case "JOIN" -> handleJoin(game, playerId, tokens, sc);
             case "READY" -> handleReady(game, playerId);
             case "CARDS" -> handleCards(game, playerId);
@@ -259,8 +288,13 @@ public class MainServer {
             case EXCHANGE_STRING -> handleExchange(game, playerId, indexes, sc);
             case "FOLD" -> handleFold(game, playerId);
             case "LEAVE" -> handleLeave(gameId, playerId);
+            case "BOT" -> handleBot(game, playerId, tokens);
             default -> INVALID_COMMAND_INFO;
         };
+        if (!bots.isEmpty() && games.get(gameId) == game) {
+            scheduleBots(game);
+        }
+        return response;
     }
 
     /**
@@ -320,6 +354,8 @@ public class MainServer {
             return "GAME WITH THAT ID HAS BEEN DONE YET";
         }
         Game game = new Game(gameId);
+        game.setDeckPool(deckPool);
+        game.setDealLog(dealLog);
         games.put(gameId, game);
         System.out.println("CREATED NEW GAME : " + gameId);
         return "CREATED NEW GAME: " + gameId;
@@ -361,6 +397,194 @@ public class MainServer {
         }
     }
 
+    /**
+     * Handles the "BOT" command, seating a bot with a built-in strategy: RULES for a {@link RuleBasedStrategy}
+     * or STRENGTH for a {@link HandStrengthStrategy}. The bot gets {@link #BOT_STACK} chips.
+     * Only a player seated in the game can add bots to it.
+     *
+     * @param game The game the bot joins.
+     * @param playerId The unique identifier of the player adding the bot, already authorized.
+     * @param tokens The command tokens, where the fourth token is the ID of the bot and the optional fifth one the strategy.
+     * @return A response string indicating the result of the "BOT" command.
+     */
+    public String handleBot(Game game, String playerId, String[] tokens) {
+        if (tokens.length < 4) {
+            return "ERROR: INVALID COMMAND (BOT + bot ID)";
+        }
+        if (game.getSeat(playerId) < 0) {
+            return "ERROR: Only players of this game can add bots";
+        }
+        String botId = tokens[3];
+        String type = tokens.length == 5 ? tokens[4] : "RULES";
+        PlayerStrategy strategy;
+        if (Objects.equals(type, "RULES")) {
+            strategy = new RuleBasedStrategy();
+        } else if (Objects.equals(type, "STRENGTH")) {
+            strategy = new HandStrengthStrategy();
+        } else {
+            return "ERROR: UNKNOWN BOT TYPE (RULES or STRENGTH)";
+        }
+        try {
+            addBot(game, botId, strategy);
+        } catch (IllegalStateException ex) {
+            return game.getGameID() + ERROR_STRING + ex.getMessage();
+        }
+        return game.getGameID() + " " + botId + " : BOT ADDED, " + game.getPlayers().size() + "/4 PLAYERS";
+    }
+
+    /**
+     * Seats a bot in a game waiting for players. The bot is ready at once, so the game starts
+     * as soon as the human players are ready. Its decisions are made by the {@link BotScheduler}.
+     *
+     * @param game The game the bot joins.
+     * @param botId The unique identifier of the bot.
+     * @param strategy The strategy of the bot.
+     * @throws IllegalStateException if the game cannot be joined or the ID is already taken.
+     */
+    public void addBot(Game game, String botId, PlayerStrategy strategy) {
+        if (game.getGameState() != GameState.WAITING_FOR_PLAYERS) {
+            throw new IllegalStateException("Cannot join: Game has already started");
+        }
+        if (bots.containsKey(botId) || clientGameMap.containsKey(botId) || game.getSeat(botId) >= 0) {
+            throw new IllegalStateException("Player with that ID is already playing");
+        }
+        game.addPlayer(new Player(botId, BOT_STACK));
+        bots.put(botId, strategy);
+        readyBots(game);
+    }
+
+    /**
+     * Marks the bots of a game waiting for players as ready and notifies the players if that starts the game.
+     */
+    private void readyBots(Game game) {
+        for (Player player : new ArrayList<>(game.getPlayers())) {
+            if (game.getGameState() == GameState.WAITING_FOR_PLAYERS
+                    && bots.containsKey(player.getPlayerId()) && !player.isReady()) {
+                game.setPlayerReady(player.getPlayerId());
+            }
+        }
+        if (game.getGameState() != GameState.WAITING_FOR_PLAYERS) {
+            notifyGameStartToPlayers(game);
+        }
+    }
+
+    /**
+     * Schedules the decision of the bot whose turn it is, if any. Bots play only while a human player
+     * is at the table, so a table left to bots does not play on its own.
+     *
+     * @param game The game.
+     */
+    public void scheduleBots(Game game) {
+        if (bots.isEmpty() || !hasHumanPlayers(game) || botScheduler().isInFlight(game.getGameID())) {
+            return;
+        }
+        if (game.getGameState() == GameState.WAITING_FOR_PLAYERS) {
+            readyBots(game);
+        }
+        GameView view = game.getView();
+        int seat = view.getCurrentPlayerIndex();
+        boolean exchange = view.getGameState() == GameState.EXCHANGE_PHASE;
+        if (!exchange && view.getGameState() != GameState.FIRST_BETTING_ROUND
+                && view.getGameState() != GameState.SECOND_BETTING_ROUND) {
+            return;
+        }
+        if (seat < 0 || seat >= view.getPlayerCount()) {
+            return;
+        }
+        String botId = view.getPlayerId(seat);
+        PlayerStrategy strategy = bots.get(botId);
+        if (strategy != null) {
+            botScheduler().schedule(botId, strategy, view, seat, game.getPlayer(seat).getPlayerHand().getCards(), exchange);
+        }
+    }
+
+    /**
+     * Applies the finished bot decisions to their games, on the selector thread, and schedules the next ones.
+     * Decisions made on a view the game has already replaced are dropped and asked again.
+     */
+    public void applyBotDecisions() {
+        if (botScheduler == null) {
+            return;
+        }
+        BotScheduler.Decision decision;
+        while ((decision = botScheduler.poll()) != null) {
+            Game game = games.get(decision.getView().getGameId());
+            if (game == null) {
+                continue;
+            }
+            if (game.getView() == decision.getView() && bots.containsKey(decision.getBotId())) {
+                applyBotDecision(game, decision);
+            }
+            scheduleBots(game);
+        }
+    }
+
+    /**
+     * Applies one bot decision with the same notifications as the matching command of a human player.
+     * A decision the game rejects, or an error of the strategy, folds the bot or keeps its cards.
+     */
+    private void applyBotDecision(Game game, BotScheduler.Decision decision) {
+        String botId = decision.getBotId();
+        int seat = decision.getSeat();
+        boolean exchange = decision.getView().getGameState() == GameState.EXCHANGE_PHASE;
+        try {
+            if (decision.getError() != null) {
+                throw new IllegalStateException("Strategy failed: " + decision.getError().getMessage());
+            }
+            if (exchange) {
+                game.exchangeCards(seat, new ArrayList<>(decision.getExchanged()));
+                notifyPlayerExchange(game, botId);
+                return;
+            }
+            PlayerAction action = decision.getAction();
+            if (action.getAction() == DealAction.FOLD) {
+                handleFold(game, botId);
+                return;
+            }
+            String error = game.getActionError(seat, action.getAction(), action.getAmount());
+            if (error != null) {
+                System.err.println("BOT " + botId + " ERROR: " + error);
+                handleFold(game, botId);
+                return;
+            }
+            action.applyTo(game, seat);
+        } catch (IllegalStateException | IllegalArgumentException ex) {
+            System.err.println("BOT " + botId + " ERROR: " + ex.getMessage());
+            if (exchange) {
+                game.exchangeCards(seat, new ArrayList<>());
+                notifyPlayerExchange(game, botId);
+            } else {
+                handleFold(game, botId);
+            }
+            return;
+        }
+        notifyGameStateToPlayers(game);
+        if (game.processBettingRound()) {
+            notifyBettingRoundFinished(game);
+        }
+    }
+
+    private boolean hasHumanPlayers(Game game) {
+        for (Player player : game.getPlayers()) {
+            if (clientGameMap.containsKey(player.getPlayerId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BotScheduler botScheduler() {
+        if (botScheduler == null) {
+            botScheduler = new BotScheduler(Executors.newWorkStealingPool(), () -> {
+                Selector s = selector;
+                if (s != null) {
+                    s.wakeup();
+                }
+            });
+        }
+        return botScheduler;
+    }
+
     /**
      * Handles the "READY" command, marking the player as ready for the game to start.
      * If all players are marked as ready, the game will notify the players to start.
@@ -410,21 +634,41 @@ public class MainServer {
      */
     public String handleStatus(Game game, String playerId) {
         try {
-            Player currentPlayer = game.getPlayers().get(game.getCurrentPlayerIndex());
-            return GAME_ID_STRING + game.getGameID() +
-                    STATE_STRING + game.getGameState() +
-                    "\nPLAYER_ID: " + playerId +
-                    "\nBLINDS: " + game.getInfoBlinds() +
-                    CURRENT_PLAYER_STRING + currentPlayer.getPlayerId() +
-                    POT_STRING + game.getPot();
+            GameView view = game.getView();
+            StatusCache cached = statusCache.get(view.getGameId());
+            if (cached == null || cached.view != view) {
+                cached = new StatusCache(view);
+                statusCache.put(view.getGameId(), cached);
+            }
+            return cached.head + playerId + cached.tail;
         } catch (IllegalStateException ex) {
             return ERROR_STRING + ex.getMessage();
         }
     }
 
+    /**
+     * Parts of the STATUS response built from one view of a game. The response of a player is the head,
+     * the player ID and the tail, so the parts are rebuilt only when the game publishes a new view.
+     */
+    private static final class StatusCache {
+        private final GameView view;
+        private final String head;
+        private final String tail;
+
+        private StatusCache(GameView view) {
+            this.view = view;
+            this.head = GAME_ID_STRING + view.getGameId() +
+                    STATE_STRING + view.getGameState() +
+                    "\nPLAYER_ID: ";
+            this.tail = "\nBLINDS: " + view.getInfoBlinds() +
+                    CURRENT_PLAYER_STRING + view.getCurrentPlayerId() +
+                    POT_STRING + view.getPot();
+        }
+    }
+
     /**
      * Handles the "FOLD" command, allowing a player to fold (quit the current round) during a betting round.
-     * The player can only fold if the game is in one of the betting rounds (either first or second betting round).
+     * The player can only fold on their turn in one of the betting rounds (either first or second betting round).
      * If the last player folds, the game is concluded.
      *
      * @param game The game in which the player is folding.
@@ -433,8 +677,9 @@ public class MainServer {
      */
     public String handleFold(Game game, String playerId) {
         try {
-            if (game.getGameState() != GameState.FIRST_BETTING_ROUND && game.getGameState() != GameState.SECOND_BETTING_ROUND) {
-                return "ERROR: You can only fold in betting rounds";
+            String error = game.getActionError(playerId, DealAction.FOLD, 0);
+            if (error != null) {
+                return ERROR_STRING + error;
             }
             game.playerFold(playerId);
             String foldNotification = game.getFoldNotification(playerId);
@@ -477,6 +722,10 @@ public class MainServer {
             if (!isPlayerAuthorized(playerId, sc)) {
                 return ACCESS_ERROR;
             }
+            String error = game.getActionError(playerId, DealAction.CALL, 0);
+            if (error != null) {
+                return ERROR_STRING + error;
+            }
             game.playerCall(playerId);
             notifyGameStateToPlayers(game);
 
@@ -510,6 +759,10 @@ public class MainServer {
                 return ACCESS_ERROR;
             }
             int raiseAmount = Integer.parseInt(tokens[3]);
+            String error = game.getActionError(playerId, DealAction.RAISE, raiseAmount);
+            if (error != null) {
+                return ERROR_STRING + error;
+            }
             game.playerRaise(playerId, raiseAmount);
             notifyGameStateToPlayers(game);
 
@@ -539,6 +792,10 @@ public class MainServer {
             if (!isPlayerAuthorized(playerId, sc)) {
                 return ACCESS_ERROR;
             }
+            String error = game.getActionError(playerId, DealAction.CHECK, 0);
+            if (error != null) {
+                return ERROR_STRING + error;
+            }
             game.playerCheck(playerId);
             notifyGameStateToPlayers(game);
 
@@ -555,7 +812,7 @@ public class MainServer {
      * Handles the "EXCHANGE" command, allowing a player to exchange a certain number of their cards.
      * The player must provide valid card indexes and can exchange up to 4 cards. The player can only exchange cards
      * if they are authorized, and the game allows the exchange.
-     * If the player has folded, the exchange will still proceed, but the folded status will be noted.
+     * A player who has folded does not exchange; the request is answered with an error.
      *
      * @param game The game in which the exchange action is taking place.
      * @param playerId The unique identifier of the player requesting the card exchange.
@@ -567,13 +824,15 @@ public class MainServer {
         try {
             Player player = game.getPlayerById(playerId);
             if (player.isFolded()) {
-                notifyPlayerExchangeIfFolded(game, playerId);
-                game.exchangeCards(playerId, indexes);
-                return " ";
+                return "ERROR: You have folded and cannot exchange cards";
             }
             if (!isPlayerAuthorized(playerId, sc)) {
                 return ACCESS_ERROR;
             }
+            String error = game.getActionError(playerId, DealAction.EXCHANGE, 0);
+            if (error != null) {
+                return ERROR_STRING + error;
+            }
             if (indexes.size() > 4) {
                 return "ERROR: You can exchange max 4 cards";
             }
@@ -621,25 +880,90 @@ public class MainServer {
      * @param game The game whose state is being notified to players.
      */
     public void notifyGameStateToPlayers(Game game) {
+        String notification = null;
         for (Player player : game.getPlayers()) {
             String playerId = player.getPlayerId();
             SocketChannel clientChannel = clientGameMap.get(playerId);
             if (clientChannel != null) {
-                StringBuilder notification = new StringBuilder();
-                notification.append(GAME_ID_STRING).append(game.getGameID())
-                        .append(STATE_STRING).append(game.getGameState())
-                        .append(CURRENT_PLAYER_STRING).append(game.getPlayers().get(game.getCurrentPlayerIndex()).getPlayerId())
-                        .append(POT_STRING).append(game.getPot())
-                        .append("\nBETTING ROUND CONTRIBUTIONS:");
-
-                for (Player p : game.getPlayers()) {
-                    notification.append("\nPLAYER_ID: ").append(p.getPlayerId())
-                            .append(" BET: ").append(p.getCurrentBetInThisRound());
+                if (notification == null) {
+                    notification = gameStateNotification(game.getView());
                 }
+                sendMessage(clientChannel, notification + legalActionsNotification(game.getView(), playerId));
+            }
+        }
+    }
 
-                sendMessage(clientChannel, notification.toString());
+    private static String gameStateNotification(GameView view) {
+        StringBuilder notification = new StringBuilder();
+        notification.append(GAME_ID_STRING).append(view.getGameId())
+                .append(STATE_STRING).append(view.getGameState())
+                .append(CURRENT_PLAYER_STRING).append(view.getCurrentPlayerId())
+                .append(POT_STRING).append(view.getPot())
+                .append("\nBETTING ROUND CONTRIBUTIONS:");
+
+        for (int seat = 0; seat < view.getPlayerCount(); seat++) {
+            notification.append("\nPLAYER_ID: ").append(view.getPlayerId(seat))
+                    .append(" BET: ").append(view.getBet(seat));
+        }
+        return notification.toString();
+    }
+
+    /**
+     * Formats the result of a showdown: the winners of the main pot and of every side pot with the amounts
+     * they split, then the hand of every winner.
+     *
+     * @param game The game after the showdown.
+     * @return The winner announcement, or an error line if no pot was paid.
+     */
+    static String showdownNotification(Game game) {
+        PotManager pots = game.getPots();
+        StringBuilder sb = new StringBuilder();
+        int winnersOfAll = 0;
+        for (int pot = 0; pot < pots.getPotCount(); pot++) {
+            int winners = pots.getPotWinners(pot);
+            if (winners == 0) {
+                continue;
             }
+            sb.append(pot == 0 ? "\nMAIN POT: " : "\nSIDE POT " + pot + ": ").append(pots.getPotAmount(pot))
+                    .append(" WON BY: ");
+            String separator = "";
+            for (int seat = SeatRing.first(winners); seat >= 0; seat = SeatRing.nextAfter(winners, seat)) {
+                sb.append(separator).append(game.getPlayer(seat).getPlayerId());
+                separator = ", ";
+            }
+            winnersOfAll |= winners;
+        }
+        if (winnersOfAll == 0) {
+            return "\nERROR: NO WINNER DETERMINED.";
+        }
+        for (int seat = SeatRing.first(winnersOfAll); seat >= 0; seat = SeatRing.nextAfter(winnersOfAll, seat)) {
+            Player winner = game.getPlayer(seat);
+            HandRank rank = game.getWinnerHandRank(winner);
+            sb.append("\nWINNER ").append(winner.getPlayerId())
+                    .append(" HAND: ").append(game.getPlayerHand(winner.getPlayerId()))
+                    .append("\nHAND RANK: ").append(rank.getType())
+                    .append("\nKICKERS: ").append(rank.getKickers());
+        }
+        return "\n## WINNER ANNOUNCEMENT ##" + GAME_ID_STRING + game.getGameID() + sb;
+    }
+
+    /**
+     * Formats the legal actions of the player whose turn it is, appended to the notifications sent to that player,
+     * e.g. "YOUR ACTIONS: FOLD CALL RAISE 1-960" with the smallest and largest raise.
+     *
+     * @param view The view of the game, may be null.
+     * @param playerId The player receiving the notification.
+     * @return The legal actions line, empty if it is not the player's turn.
+     */
+    static String legalActionsNotification(GameView view, String playerId) {
+        if (view == null || view.getLegalActions() == 0 || !Objects.equals(view.getCurrentPlayerId(), playerId)) {
+            return "";
+        }
+        String actions = "\nYOUR ACTIONS: " + LegalActions.format(view.getLegalActions());
+        if (view.getMaxRaise() > 0) {
+            actions += " " + view.getMinRaise() + "-" + view.getMaxRaise();
         }
+        return actions;
     }
 
     /**
@@ -662,7 +986,8 @@ public class MainServer {
                         .append(CURRENT_PLAYER_STRING).append(game.getPlayers().get(game.getCurrentPlayerIndex()).getPlayerId())
                         .append(PHASE_STRING).append(game.getGameState())
                         .append(POT_STRING).append(game.getPot())
-                        .append("\nYOUR CARDS: ").append(game.getPlayerHand(playerId));
+                        .append("\nYOUR CARDS: ").append(game.getPlayerHand(playerId))
+                        .append(legalActionsNotification(game.getView(), playerId));
                 sendMessage(clientChannel, startMessage.toString());
             }
         }
@@ -677,43 +1002,25 @@ public class MainServer {
      * @param playerId The unique identifier of the player who exchanged their cards.
      */
     public void notifyPlayerExchange(Game game, String playerId) {
+        String exchangeMessage = null;
         for (Player player : game.getPlayers()) {
             String targetPlayerId = player.getPlayerId();
             SocketChannel clientChannel = clientGameMap.get(targetPlayerId);
             if (clientChannel != null) {
-                StringBuilder exchangeMessage = new StringBuilder();
-                exchangeMessage.append("\nPLAYER ").append(playerId).append(" FINISHED EXCHANGING CARDS.")
-                        .append(GAME_ID_STRING).append(game.getGameID())
-                        .append(CURRENT_PLAYER_STRING).append(game.getPlayers().get(game.getCurrentPlayerIndex()).getPlayerId())
-                        .append(PHASE_STRING).append(game.getGameState())
-                        .append(POT_STRING).append(game.getPot());
-                sendMessage(clientChannel, exchangeMessage.toString());
+                if (exchangeMessage == null) {
+                    exchangeMessage = exchangeNotification(game.getView(), playerId, "FINISHED EXCHANGING CARDS.");
+                }
+                sendMessage(clientChannel, exchangeMessage);
             }
         }
     }
 
-    /**
-     * Notifies all players that a specific player has skipped their turn because they have folded.
-     * This notification includes game details such as the current game ID, the current player, the game state, and the pot.
-     * The message is sent to each player's SocketChannel.
-     *
-     * @param game The game whose status is being notified.
-     * @param playerId The player who folded and skipped their turn.
-     */
-    public void notifyPlayerExchangeIfFolded(Game game, String playerId) {
-        for (Player player : game.getPlayers()) {
-            String targetPlayerId = player.getPlayerId();
-            SocketChannel clientChannel = clientGameMap.get(targetPlayerId);
-            if (clientChannel != null) {
-                StringBuilder exchangeMessage = new StringBuilder();
-                exchangeMessage.append("\nPLAYER ").append(playerId).append(" SKIPPED BECAUSE HE IS FOLDED.")
-                        .append(GAME_ID_STRING).append(game.getGameID())
-                        .append(CURRENT_PLAYER_STRING).append(game.getPlayers().get(game.getCurrentPlayerIndex()).getPlayerId())
-                        .append(PHASE_STRING).append(game.getGameState())
-                        .append(POT_STRING).append(game.getPot());
-                sendMessage(clientChannel, exchangeMessage.toString());
-            }
-        }
+    private static String exchangeNotification(GameView view, String playerId, String action) {
+        return "\nPLAYER " + playerId + " " + action +
+                GAME_ID_STRING + view.getGameId() +
+                CURRENT_PLAYER_STRING + view.getCurrentPlayerId() +
+                PHASE_STRING + view.getGameState() +
+                POT_STRING + view.getPot();
     }
 
     /**
@@ -724,6 +1031,7 @@ public class MainServer {
      * @param game The game whose betting round is being notified.
      */
     public void notifyBettingRoundFinished(Game game) {
+        String showdownMessage = null;
         for (Player player : game.getPlayers()) {
             String playerId = player.getPlayerId();
             SocketChannel clientChannel = clientGameMap.get(playerId);
@@ -735,24 +1043,17 @@ public class MainServer {
                             .append(GAME_ID_STRING).append(game.getGameID())
                             .append(STATE_STRING).append(game.getGameState())
                             .append("\nPHASE: EXCHANGE CARDS")
-                            .append(CURRENT_PLAYER_STRING).append(game.getPlayers().get(game.getCurrentPlayerIndex()).getPlayerId());
+                            .append(CURRENT_PLAYER_STRING).append(game.getPlayers().get(game.getCurrentPlayerIndex()).getPlayerId())
+                            .append(legalActionsNotification(game.getView(), playerId));
                 } else if (game.getGameState() == GameState.SHOWDOWN) {
                     message.append("\nSECOND BETTING ROUND FINISHED!")
                             .append(GAME_ID_STRING).append(game.getGameID())
                             .append(STATE_STRING).append(game.getGameState());
                 } else if (game.getGameState() == GameState.GAME_OVER) {
-                    Player winner = game.getWinner();
-                    if (winner != null) {
-                        message.append("\n## WINNER ANNOUNCEMENT ##")
-                                .append(GAME_ID_STRING).append(game.getGameID())
-                                .append("\nTHE WINNER IS: ").append(winner.getPlayerId())
-                                .append("\nWINNER'S HAND: ").append(game.getPlayerHand(winner.getPlayerId()))
-                                .append("\nHAND RANK: ").append(game.getWinnerHandRank(winner).getType())
-                                .append("\nKICKERS: ").append(game.getWinnerHandRank(winner).getKickers())
-                                .append("\nPOT WON: ").append(game.getPot());
-                    } else {
-                        message.append("\nERROR: NO WINNER DETERMINED.");
+                    if (showdownMessage == null) {
+                        showdownMessage = showdownNotification(game);
                     }
+                    message.append(showdownMessage);
                 }
 
                 sendMessage(clientChannel, message.toString());
@@ -831,8 +1132,13 @@ public class MainServer {
             game.removePlayer(playerId);
             clientGameMap.remove(playerId);
 
-            if (game.getPlayers().isEmpty()) {
+            if (!hasHumanPlayers(game)) {
+                // Stol bez ludzi jest usuwany razem z botami
+                for (Player player : game.getPlayers()) {
+                    bots.remove(player.getPlayerId());
+                }
                 games.remove(gameId);
+                statusCache.remove(gameId);
                 System.out.println("GAME " + gameId + " REMOVED AS ALL PLAYERS LEFT.");
             }
         }
@@ -945,6 +1251,33 @@ public class MainServer {
         this.clientGameMap = clientGameMap;
     }
 
+    /**
+     * Gets the deal log recording the hands of games created by the server.
+     *
+     * @return The deal log, or null if hands are not recorded.
+     */
+    public DealLog getDealLog() {
+        return dealLog;
+    }
+
+    /**
+     * Sets the deal log recording the hands of games created from now on, so disputed hands can be replayed.
+     *
+     * @param dealLog The deal log, or null to stop recording new games.
+     */
+    public void setDealLog(DealLog dealLog) {
+        this.dealLog = dealLog;
+    }
+
+    /**
+     * Sets the scheduler running the decisions of bots, e.g. one with a direct executor in tests.
+     *
+     * @param botScheduler The bot scheduler.
+     */
+    public void setBotScheduler(BotScheduler botScheduler) {
+        this.botScheduler = botScheduler;
+    }
+
     /**
      * Initiates server shutdown.
      */
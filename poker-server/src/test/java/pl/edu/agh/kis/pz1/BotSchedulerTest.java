@@ -0,0 +1,74 @@
+package pl.edu.agh.kis.pz1;
+
+import org.junit.jupiter.api.Test;
+import pl.edu.agh.kis.pz1.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotSchedulerTest {
+
+    private Game startedGame() {
+        Game game = new Game("GAME1");
+        game.addPlayer(new Player("BOT1", 1000));
+        game.addPlayer(new Player("BOT2", 1000));
+        game.setPlayerReady("BOT1");
+        game.setPlayerReady("BOT2");
+        return game;
+    }
+
+    @Test
+    void testDecisionIsQueuedAndWakesUp() {
+        List<Runnable> tasks = new ArrayList<>();
+        AtomicInteger wakeups = new AtomicInteger();
+        BotScheduler scheduler = new BotScheduler(tasks::add, wakeups::incrementAndGet);
+        Game game = startedGame();
+        GameView view = game.getView();
+
+        assertTrue(scheduler.schedule("BOT1", (v, seat, cards) -> PlayerAction.call(), view, 1,
+                game.getPlayer(1).getPlayerHand().getCards(), false));
+        assertTrue(scheduler.isInFlight("GAME1"));
+        assertFalse(scheduler.schedule("BOT1", (v, seat, cards) -> PlayerAction.call(), view, 1,
+                game.getPlayer(1).getPlayerHand().getCards(), false), "Jedna decyzja na gre naraz");
+        assertNull(scheduler.poll(), "Decyzja jeszcze nie zostala podjeta");
+
+        tasks.get(0).run();
+
+        assertEquals(1, wakeups.get());
+        BotScheduler.Decision decision = scheduler.poll();
+        assertEquals("BOT1", decision.getBotId());
+        assertSame(view, decision.getView());
+        assertEquals(DealAction.CALL, decision.getAction().getAction());
+        assertFalse(scheduler.isInFlight("GAME1"), "Po odebraniu decyzji gra moze byc znowu zaplanowana");
+    }
+
+    @Test
+    void testExchangeDecision() {
+        BotScheduler scheduler = new BotScheduler(Runnable::run, () -> { });
+        Game game = startedGame();
+
+        scheduler.schedule("BOT1", new RuleBasedStrategy(), game.getView(), 0,
+                game.getPlayer(0).getPlayerHand().getCards(), true);
+
+        BotScheduler.Decision decision = scheduler.poll();
+        assertNull(decision.getAction());
+        assertTrue(decision.getExchanged().size() <= 4);
+    }
+
+    @Test
+    void testStrategyErrorIsReturned() {
+        BotScheduler scheduler = new BotScheduler(Runnable::run, () -> { });
+        Game game = startedGame();
+
+        scheduler.schedule("BOT1", (v, seat, cards) -> {
+            throw new IllegalArgumentException("awaria");
+        }, game.getView(), 1, game.getPlayer(1).getPlayerHand().getCards(), false);
+
+        BotScheduler.Decision decision = scheduler.poll();
+        assertEquals("awaria", decision.getError().getMessage());
+        assertNull(decision.getAction());
+    }
+}
@@ -77,6 +77,16 @@ class MainServerTest {
         assertEquals("CREATED NEW GAME: GAME1", response, "Powinien zwrócić poprawną informację o stworzeniu gry");
     }
 
+    @Test
+    @DisplayName("Test CREATE z wlaczonym logiem rozdan")
+    void testHandleCreateGameWithDealLog() {
+        DealLog dealLog = new DealLog();
+        server.setDealLog(dealLog);
+        server.handleCreateGame("GAME1");
+        assertSame(dealLog, server.getGames().get("GAME1").getDealLog(), "Nowa gra powinna zapisywac rozdania do logu serwera");
+        assertNull(new MainServer().getDealLog(), "Domyslnie serwer nie powinien zapisywac rozdan");
+    }
+
     @Test
     @DisplayName("Test usunięcia gracza z gry")
     void testRemovePlayerFromGame() {
@@ -152,6 +162,14 @@ class MainServerTest {
         assertEquals("GAME WITH THAT ID HAS BEEN DONE YET", response, "Powinna zostać zwrócona informacja, że gra już istnieje");
     }
 
+    @Test
+    @DisplayName("Gra utworzona bez uruchomionego serwera nie korzysta z puli talii")
+    void testCreateGameWithoutRunningServerHasNoDeckPool() {
+        server.handleCreateGame("GAME1");
+
+        assertNull(server.getGames().get("GAME1").getDeckPool(), "Pula talii powinna istniec tylko w trakcie run()");
+    }
+
     @Test
     @DisplayName("Test obsługi JOIN bez podania kwoty")
     void testHandleJoinWithoutAmount() {
@@ -426,7 +444,7 @@ class MainServerTest {
         // Wywołanie metody handleFold i weryfikacja odpowiedzi
         String response = server.handleFold(game, "PLAYER1");
 
-        assertEquals("ERROR: You can only fold in betting rounds", response,
+        assertEquals("ERROR: Action not allowed in the current game state.", response,
                 "Powinien zwrócić błąd przy próbie spasowania poza fazą licytacji.");
         assertFalse(player.isFolded(), "Gracz nie powinien być oznaczony jako folded.");
     }
@@ -717,13 +735,36 @@ class MainServerTest {
     @DisplayName("Test handleStatus - wyjątek IllegalStateException")
     void testHandleStatusIllegalStateException() {
         Game mockGame = mock(Game.class);
-        when(mockGame.getPlayers()).thenThrow(new IllegalStateException("Game not initialized"));
+        when(mockGame.getView()).thenThrow(new IllegalStateException("Game not initialized"));
 
         String response = server.handleStatus(mockGame, "PLAYER1");
 
         assertEquals("ERROR: Game not initialized", response,
                 "Powinna zostać zwrócona wiadomość o błędzie, gdy wystąpi wyjątek IllegalStateException.");
-        verify(mockGame, times(1)).getPlayers();
+        verify(mockGame, times(1)).getView();
+    }
+
+    @Test
+    @DisplayName("Test handleStatus - odpowiedz z widoku gry")
+    void testHandleStatusFromView() {
+        Game game = new Game("GAME1");
+        game.addPlayer(new Player("PLAYER1", 1000));
+        game.addPlayer(new Player("PLAYER2", 1000));
+        game.setPlayerReady("PLAYER1");
+        game.setPlayerReady("PLAYER2");
+        String current = game.getPlayers().get(game.getCurrentPlayerIndex()).getPlayerId();
+
+        String response = server.handleStatus(game, "PLAYER1");
+
+        assertEquals("\nGAME_ID: GAME1\nSTATE: FIRST_BETTING_ROUND\nPLAYER_ID: PLAYER1\nBLINDS: "
+                + game.getInfoBlinds() + "\nCURRENT_PLAYER: " + current + "\nPOT: 60", response);
+        assertTrue(server.handleStatus(game, "PLAYER2").contains("PLAYER_ID: PLAYER2"),
+                "Odpowiedz z pamieci podrecznej powinna zawierac pytajacego gracza");
+
+        game.playerCall(current);
+
+        assertTrue(server.handleStatus(game, "PLAYER1").endsWith("POT: 80"),
+                "Po akcji odpowiedz powinna byc zbudowana z nowego widoku");
     }
 
 
@@ -1041,9 +1082,9 @@ class MainServerTest {
 
         String response = spyServer.handleExchange(mockGame, "PLAYER1", indexes, mockChannel);
 
-        assertEquals(" ", response, "Powinna zostać zwrócona pusta odpowiedź, jeśli gracz jest folded.");
-        verify(mockGame, times(1)).exchangeCards("PLAYER1", indexes);
-        verify(spyServer, times(1)).notifyPlayerExchangeIfFolded(mockGame, "PLAYER1");
+        assertEquals("ERROR: You have folded and cannot exchange cards", response,
+                "Spasowany gracz nie powinien wymieniac kart.");
+        verify(mockGame, never()).exchangeCards("PLAYER1", indexes);
     }
 
     @Test
@@ -1148,6 +1189,44 @@ class MainServerTest {
                 "Powinna zostać zwrócona informacja o błędzie z IllegalStateException.");
     }
 
+    @Test
+    @DisplayName("Test handleExchange - wymiana poza kolejka gracza")
+    void testHandleExchangeNotPlayersTurn() {
+        Game mockGame = mock(Game.class);
+        SocketChannel mockChannel = mock(SocketChannel.class);
+        Player mockPlayer = mock(Player.class);
+        MainServer spyServer = spy(server);
+        List<Integer> indexes = Arrays.asList(0, 1);
+
+        when(mockGame.getPlayerById("PLAYER1")).thenReturn(mockPlayer);
+        when(mockPlayer.isFolded()).thenReturn(false);
+        doReturn(true).when(spyServer).isPlayerAuthorized("PLAYER1", mockChannel);
+        when(mockGame.getActionError("PLAYER1", DealAction.EXCHANGE, 0)).thenReturn("It's not this player's turn.");
+
+        String response = spyServer.handleExchange(mockGame, "PLAYER1", indexes, mockChannel);
+
+        assertEquals("ERROR: It's not this player's turn.", response,
+                "Powinien zostać zwrócony błąd z getActionError.");
+        verify(mockGame, never()).exchangeCards(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Test spasowania poza kolejka gracza")
+    void testHandleFoldNotPlayersTurn() {
+        Game game = new Game("GAME1");
+        game.addPlayer(new Player("PLAYER1", 1000));
+        game.addPlayer(new Player("PLAYER2", 1000));
+        game.setPlayerReady("PLAYER1");
+        game.setPlayerReady("PLAYER2");
+        Player waiting = game.getPlayer(1 - game.getCurrentPlayerIndex());
+
+        String response = server.handleFold(game, waiting.getPlayerId());
+
+        assertEquals("ERROR: It's not this player's turn.", response,
+                "Gracz nie na ruchu nie powinien moc spasowac.");
+        assertFalse(waiting.isFolded(), "Gracz nie powinien byc oznaczony jako folded.");
+    }
+
     @Test
     @DisplayName("Test sendMessage - IOException podczas wysyłania wiadomości")
     void testSendMessageIOException() throws IOException {
@@ -1168,6 +1247,222 @@ class MainServerTest {
 
 
 
+
+    @Test
+    @DisplayName("Test handleCheck - niedozwolona akcja zwraca blad bez zmiany gry")
+    void testHandleCheckIllegalActionFromMask() {
+        SocketChannel channel = mock(SocketChannel.class);
+        Game game = new Game("GAME1");
+        game.addPlayer(new Player("PLAYER1", 1000));
+        game.addPlayer(new Player("PLAYER2", 1000));
+        game.setPlayerReady("PLAYER1");
+        game.setPlayerReady("PLAYER2");
+        server.getClientGameMap().put("PLAYER2", channel);
+        GameView before = game.getView();
+
+        String response = server.handleCheck(game, "PLAYER2", channel);
+
+        assertEquals("ERROR: Cannot check, must call or fold.", response);
+        assertSame(before, game.getView(), "Odrzucona akcja nie powinna zmieniac gry");
+    }
+
+    @Test
+    @DisplayName("Test powiadomienia o dozwolonych akcjach gracza na ruchu")
+    void testLegalActionsNotification() {
+        Game game = new Game("GAME1");
+        game.addPlayer(new Player("PLAYER1", 1000));
+        game.addPlayer(new Player("PLAYER2", 1000));
+        game.setPlayerReady("PLAYER1");
+        game.setPlayerReady("PLAYER2");
+
+        assertEquals("\nYOUR ACTIONS: FOLD CALL RAISE 1-960",
+                MainServer.legalActionsNotification(game.getView(), "PLAYER2"));
+        assertEquals("", MainServer.legalActionsNotification(game.getView(), "PLAYER1"),
+                "Gracz nie na ruchu nie dostaje listy akcji");
+        assertEquals("", MainServer.legalActionsNotification(null, "PLAYER2"));
+    }
+
+    @Test
+    @DisplayName("Test ogloszenia zwyciezcow - kazda pula ma swoich zwyciezcow")
+    void testShowdownNotificationReportsEveryPot() {
+        Game game = new Game("GAME1");
+        game.addPlayer(new Player("A", 1000));
+        game.addPlayer(new Player("B", 1000));
+        game.addPlayer(new Player("C", 100));
+        game.setPlayerReady("A");
+        game.setPlayerReady("B");
+        game.setPlayerReady("C");
+        game.playerRaise(1, 200);
+        game.playerCall(2);
+        game.playerCall(0);
+        game.getPlayer(0).setPlayerHand(new Hand(Arrays.asList(new Card(Rank.ACE, Suit.CLUB), new Card(Rank.ACE, Suit.HEART),
+                new Card(Rank.THREE, Suit.SPADE), new Card(Rank.SEVEN, Suit.CLUB), new Card(Rank.NINE, Suit.DIAMOND))));
+        game.getPlayer(1).setPlayerHand(new Hand(Arrays.asList(new Card(Rank.KING, Suit.CLUB), new Card(Rank.KING, Suit.HEART),
+                new Card(Rank.THREE, Suit.HEART), new Card(Rank.SEVEN, Suit.HEART), new Card(Rank.NINE, Suit.SPADE))));
+        game.getPlayer(2).setPlayerHand(new Hand(Arrays.asList(new Card(Rank.TWO, Suit.CLUB), new Card(Rank.TWO, Suit.HEART),
+                new Card(Rank.TWO, Suit.SPADE), new Card(Rank.SEVEN, Suit.DIAMOND), new Card(Rank.NINE, Suit.HEART))));
+        game.determineWinner();
+
+        String message = MainServer.showdownNotification(game);
+
+        assertTrue(message.contains("\nMAIN POT: 300 WON BY: C"), message);
+        assertTrue(message.contains("\nSIDE POT 1: 280 WON BY: A"), message);
+        assertTrue(message.contains("\nWINNER A HAND: ") && message.contains("\nWINNER C HAND: "), message);
+        assertFalse(message.contains("WINNER B"), "B nie wygral zadnej puli");
+    }
+
+    private Game gameWithHumanAndBot(PlayerStrategy strategy, SocketChannel humanChannel) {
+        server.setBotScheduler(new BotScheduler(Runnable::run, () -> { }));
+        Game game = new Game("GAME1");
+        server.getGames().put("GAME1", game);
+        game.addPlayer(new Player("HUMAN", 1000));
+        server.getClientGameMap().put("HUMAN", humanChannel);
+        server.addBot(game, "BOT1", strategy);
+        return game;
+    }
+
+    private Game gameWithHuman(SocketChannel humanChannel) {
+        Game game = new Game("GAME1");
+        server.getGames().put("GAME1", game);
+        game.addPlayer(new Player("PLAYER1", 1000));
+        server.getClientGameMap().put("PLAYER1", humanChannel);
+        return game;
+    }
+
+    @Test
+    @DisplayName("Test handleBot - dodanie bota przez komende BOT")
+    void testHandleBotAddsReadyBot() {
+        SocketChannel humanChannel = mock(SocketChannel.class);
+        Game game = gameWithHuman(humanChannel);
+
+        String response = server.handleMessage("GAME1 PLAYER1 BOT BOT1 STRENGTH", humanChannel);
+
+        assertEquals("GAME1 BOT1 : BOT ADDED, 2/4 PLAYERS", response);
+        assertTrue(game.getPlayerById("BOT1").isReady(), "Bot powinien byc od razu gotowy");
+        assertEquals(MainServer.BOT_STACK, game.getPlayerById("BOT1").getStack());
+    }
+
+    @Test
+    @DisplayName("Test handleBot - nieznany typ bota, brak ID i zajete ID")
+    void testHandleBotErrors() {
+        SocketChannel humanChannel = mock(SocketChannel.class);
+        Game game = gameWithHuman(humanChannel);
+        server.getClientGameMap().put("PLAYER2", mock(SocketChannel.class));
+
+        assertEquals("ERROR: UNKNOWN BOT TYPE (RULES or STRENGTH)",
+                server.handleMessage("GAME1 PLAYER1 BOT BOT1 RANDOM", humanChannel));
+        assertEquals("ERROR: INVALID COMMAND (BOT + bot ID)",
+                server.handleMessage("GAME1 PLAYER1 BOT", humanChannel));
+        assertEquals("GAME1ERROR: Player with that ID is already playing",
+                server.handleMessage("GAME1 PLAYER1 BOT PLAYER1", humanChannel), "ID gracza przy stole jest zajete");
+        assertEquals("GAME1ERROR: Player with that ID is already playing",
+                server.handleMessage("GAME1 PLAYER1 BOT PLAYER2", humanChannel), "ID polaczonego gracza jest zajete");
+        assertEquals(1, game.getPlayers().size(), "Zaden bot nie powinien zostac dodany");
+
+        assertEquals("GAME1 BOT1 : BOT ADDED, 2/4 PLAYERS", server.handleMessage("GAME1 PLAYER1 BOT BOT1", humanChannel));
+        assertEquals("GAME1ERROR: Player with that ID is already playing",
+                server.handleMessage("GAME1 PLAYER1 BOT BOT1", humanChannel), "ID bota jest zajete");
+        assertEquals(2, game.getPlayers().size(), "Drugi bot z tym samym ID nie powinien zostac dodany");
+    }
+
+    @Test
+    @DisplayName("Test handleBot - boty dodaje tylko autoryzowany gracz siedzacy przy stole")
+    void testHandleBotRequiresSeatedPlayer() {
+        Game game = gameWithHuman(mock(SocketChannel.class));
+        SocketChannel otherChannel = mock(SocketChannel.class);
+        server.getClientGameMap().put("PLAYER2", otherChannel);
+
+        assertEquals(MainServer.ACCESS_ERROR, server.handleMessage("GAME1 PLAYER1 BOT BOT1", otherChannel),
+                "Obcy kanal nie moze dzialac w imieniu gracza");
+        assertEquals("ERROR: Only players of this game can add bots",
+                server.handleMessage("GAME1 PLAYER2 BOT BOT1", otherChannel));
+        assertEquals(1, game.getPlayers().size(), "Zaden bot nie powinien zostac dodany");
+    }
+
+    @Test
+    @DisplayName("Test handleMessage - piec tokenow tylko dla komendy BOT")
+    void testFiveTokensOnlyForBot() {
+        SocketChannel humanChannel = mock(SocketChannel.class);
+        gameWithHuman(humanChannel);
+
+        assertEquals(MainServer.INVALID_COMMAND_INFO, server.handleMessage("GAME1 PLAYER1 RAISE 10 20", humanChannel));
+    }
+
+    @Test
+    @DisplayName("Test bota - bot wykonuje ruch po rozpoczeciu gry")
+    void testBotActsAfterGameStart() {
+        SocketChannel humanChannel = mock(SocketChannel.class);
+        PlayerStrategy checkCall = (view, seat, cards) ->
+                view.getAmountToCall(seat) > 0 ? PlayerAction.call() : PlayerAction.check();
+        Game game = gameWithHumanAndBot(checkCall, humanChannel);
+
+        server.handleMessage("GAME1 HUMAN READY", humanChannel);
+        assertEquals("BOT1", game.getView().getCurrentPlayerId(), "Przy dwoch graczach zaczyna bot");
+
+        server.applyBotDecisions();
+
+        assertEquals("HUMAN", game.getView().getCurrentPlayerId(), "Po ruchu bota kolej czlowieka");
+        assertEquals(80, game.getPot(), "Bot powinien wyrownac do duzej ciemnej");
+    }
+
+    @Test
+    @DisplayName("Test bota - runda, w ktorej czlowiek i bot sprawdzili, konczy sie")
+    void testCheckAroundWithBotFinishesHand() {
+        SocketChannel humanChannel = mock(SocketChannel.class);
+        PlayerStrategy checkCall = (view, seat, cards) ->
+                view.getAmountToCall(seat) > 0 ? PlayerAction.call() : PlayerAction.check();
+        Game game = gameWithHumanAndBot(checkCall, humanChannel);
+
+        server.handleMessage("GAME1 HUMAN READY", humanChannel);
+        server.applyBotDecisions();
+        server.handleMessage("GAME1 HUMAN CHECK", humanChannel);
+        assertEquals(GameState.EXCHANGE_PHASE, game.getGameState());
+        server.handleMessage("GAME1 HUMAN EXCHANGE", humanChannel);
+        server.applyBotDecisions();
+        assertEquals(GameState.SECOND_BETTING_ROUND, game.getGameState());
+
+        for (int turn = 0; turn < 2 && game.getGameState() == GameState.SECOND_BETTING_ROUND; turn++) {
+            if ("HUMAN".equals(game.getView().getCurrentPlayerId())) {
+                server.handleMessage("GAME1 HUMAN CHECK", humanChannel);
+            } else {
+                server.applyBotDecisions();
+            }
+        }
+
+        assertEquals(GameState.WAITING_FOR_PLAYERS, game.getGameState(),
+                "Po checku obu graczy rozdanie powinno sie zakonczyc, a gra zresetowac");
+        assertEquals(2000, game.getPlayerById("HUMAN").getStack() + game.getPlayerById("BOT1").getStack());
+    }
+
+    @Test
+    @DisplayName("Test bota - blad strategii konczy sie pasem bota")
+    void testBotErrorFoldsBot() {
+        SocketChannel humanChannel = mock(SocketChannel.class);
+        PlayerStrategy failing = (view, seat, cards) -> {
+            throw new IllegalStateException("awaria");
+        };
+        Game game = gameWithHumanAndBot(failing, humanChannel);
+
+        server.handleMessage("GAME1 HUMAN READY", humanChannel);
+        server.applyBotDecisions();
+
+        assertEquals(GameState.WAITING_FOR_PLAYERS, game.getGameState(),
+                "Po pasie bota zostaje jeden gracz i rozdanie sie konczy");
+    }
+
+    @Test
+    @DisplayName("Test bota - stol bez ludzi jest usuwany razem z botami")
+    void testRemoveLastHumanRemovesBots() {
+        gameWithHumanAndBot(new RuleBasedStrategy(), mock(SocketChannel.class));
+
+        server.removePlayerFromGame("GAME1", "HUMAN");
+
+        assertFalse(server.getGames().containsKey("GAME1"));
+        Game game = new Game("GAME1");
+        server.getGames().put("GAME1", game);
+        server.addBot(game, "BOT1", new RuleBasedStrategy());
+        assertEquals(1, game.getPlayers().size(), "ID usunietego bota powinno byc znowu wolne");
+    }
 }
 
 